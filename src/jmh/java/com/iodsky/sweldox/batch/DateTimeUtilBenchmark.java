@@ -0,0 +1,36 @@
+package com.iodsky.sweldox.batch;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date parsing for the first supported format and for the last one, which is only reached
+ * after every other format has failed, with detection on every value and with the format
+ * detected once per column.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateTimeUtilBenchmark {
+
+    @Param({"2025-11-03", "11/03/2025", "23/11/2025"})
+    private String value;
+
+    private final DateTimeColumnParser<LocalDate> column = DateTimeColumnParser.dates();
+
+    @Benchmark
+    public LocalDate parseDate() {
+        return DateTimeUtil.parseDate(value);
+    }
+
+    @Benchmark
+    public LocalDate parseDateColumn() {
+        return column.parse(value);
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.iodsky.sweldox.employee;
+
+import com.iodsky.sweldox.organization.Department;
+import com.iodsky.sweldox.organization.Position;
+import com.iodsky.sweldox.payroll.Benefit;
+import com.iodsky.sweldox.payroll.BenefitMapper;
+import com.iodsky.sweldox.payroll.BenefitType;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeMapperBenchmark {
+
+    private EmployeeMapper employeeMapper;
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        employeeMapper = new EmployeeMapper(new BenefitMapper());
+
+        Department department = Department.builder().id("IT").title("Information Technology").build();
+        Position position = new Position();
+        position.setId("IT-DEV");
+        position.setTitle("Software Engineer");
+        position.setDepartment(department);
+
+        Employee supervisor = Employee.builder().id(10000L).firstName("Maria").lastName("Santos").build();
+
+        employee = Employee.builder()
+                .id(10001L)
+                .firstName("Juan")
+                .lastName("Dela Cruz")
+                .birthday(LocalDate.of(1990, 5, 17))
+                .address("123 Rizal St., Manila")
+                .phoneNumber("0917-123-4567")
+                .status(Status.REGULAR)
+                .supervisor(supervisor)
+                .department(department)
+                .position(position)
+                .startShift(LocalTime.of(8, 0))
+                .endShift(LocalTime.of(17, 0))
+                .basicSalary(new BigDecimal("30000.00"))
+                .hourlyRate(new BigDecimal("172.41"))
+                .semiMonthlyRate(new BigDecimal("15000.00"))
+                .build();
+        employee.setGovernmentId(GovernmentId.builder()
+                .employee(employee)
+                .sssNumber("34-1234567-8")
+                .tinNumber("123-456-789-000")
+                .philhealthNumber("12-345678901-2")
+                .pagIbigNumber("1234-5678-9012")
+                .build());
+        employee.setBenefits(List.of(
+                benefit(employee, "MEAL", "1500.00"),
+                benefit(employee, "PHONE", "800.00"),
+                benefit(employee, "CLOTHING", "1000.00")));
+    }
+
+    private static Benefit benefit(Employee employee, String type, String amount) {
+        return Benefit.builder()
+                .employee(employee)
+                .benefitType(BenefitType.builder().id(type).type(type).build())
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+    @Benchmark
+    public EmployeeDto toDto() {
+        return employeeMapper.toDto(employee);
+    }
+
+}
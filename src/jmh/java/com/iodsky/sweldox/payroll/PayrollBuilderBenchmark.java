@@ -0,0 +1,60 @@
+package com.iodsky.sweldox.payroll;
+
+import com.iodsky.sweldox.attendance.Attendance;
+import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.payroll.rate.StatutoryRateRegistry;
+import com.iodsky.sweldox.payroll.rate.StatutoryRates;
+import com.iodsky.sweldox.payroll.rate.StatutoryRatesFixture;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full context building and payroll assembly for one employee from in-memory inputs, in each
+ * calculation mode. No repositories are involved.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayrollBuilderBenchmark {
+
+    @Param({"BIGDECIMAL", "FIXED_POINT"})
+    private PayrollCalculationMode mode;
+
+    private PayrollBuilder payrollBuilder;
+    private Employee employee;
+    private List<Attendance> attendances;
+    private Map<String, DeductionType> deductionTypes;
+
+    @Setup
+    public void setUp() {
+        StatutoryRates rates = StatutoryRatesFixture.initialRates();
+        StatutoryRateRegistry registry = new StatutoryRateRegistry(null, null) {
+            @Override
+            public StatutoryRates getRates(LocalDate payDate) {
+                return rates;
+            }
+        };
+
+        payrollBuilder = new PayrollBuilder(null, null, null, registry);
+        ReflectionTestUtils.setField(payrollBuilder, "calculationMode", mode);
+
+        employee = PayrollFixtures.employee(10001L, "30000.00", "172.41");
+        attendances = PayrollFixtures.attendances(employee, 11);
+        deductionTypes = PayrollFixtures.deductionTypes();
+    }
+
+    @Benchmark
+    public Payroll buildPayroll() {
+        return payrollBuilder.buildPayroll(employee, attendances, deductionTypes,
+                PayrollFixtures.PERIOD_START, PayrollFixtures.PERIOD_END, PayrollFixtures.PAY_DATE);
+    }
+
+}
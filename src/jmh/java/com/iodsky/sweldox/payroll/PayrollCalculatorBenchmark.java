@@ -0,0 +1,75 @@
+package com.iodsky.sweldox.payroll;
+
+import com.iodsky.sweldox.payroll.rate.StatutoryRates;
+import com.iodsky.sweldox.payroll.rate.StatutoryRatesFixture;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statutory deductions and the withholding tax bracket lookup, for a salary in the lowest
+ * bracket, one in the middle of the tables and one above every cap.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayrollCalculatorBenchmark {
+
+    @Param({"12000.00", "30000.00", "250000.00"})
+    private String salary;
+
+    private StatutoryRates rates;
+    private BigDecimal basicSalary;
+    private BigDecimal taxableIncome;
+    private long basicSalaryCents;
+    private long taxableIncomeCents;
+
+    @Setup
+    public void setUp() {
+        rates = StatutoryRatesFixture.initialRates();
+        basicSalary = new BigDecimal(salary);
+        taxableIncome = basicSalary.multiply(new BigDecimal("0.9"));
+        basicSalaryCents = FixedPointPayrollCalculator.toHundredths(basicSalary);
+        taxableIncomeCents = FixedPointPayrollCalculator.toHundredths(taxableIncome.setScale(2));
+    }
+
+    @Benchmark
+    public BigDecimal sssDeduction() {
+        return PayrollCalculator.calculateSssDeduction(basicSalary, rates);
+    }
+
+    @Benchmark
+    public BigDecimal philhealthDeduction() {
+        return PayrollCalculator.calculatePhilhealthDeduction(basicSalary, rates);
+    }
+
+    @Benchmark
+    public BigDecimal pagibigDeduction() {
+        return PayrollCalculator.calculatePagibigDeduction(basicSalary, rates);
+    }
+
+    @Benchmark
+    public BigDecimal withholdingTax() {
+        return PayrollCalculator.calculateWithholdingTax(taxableIncome, rates);
+    }
+
+    @Benchmark
+    public int taxBracketLookup() {
+        return rates.taxBracketIndex(taxableIncomeCents);
+    }
+
+    @Benchmark
+    public long fixedPointSssDeduction() {
+        return FixedPointPayrollCalculator.calculateSssDeduction(basicSalaryCents, rates);
+    }
+
+    @Benchmark
+    public long fixedPointWithholdingTax() {
+        return FixedPointPayrollCalculator.calculateWithholdingTax(taxableIncomeCents, rates);
+    }
+
+}
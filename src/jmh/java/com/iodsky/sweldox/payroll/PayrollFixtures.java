@@ -0,0 +1,65 @@
+package com.iodsky.sweldox.payroll;
+
+import com.iodsky.sweldox.attendance.Attendance;
+import com.iodsky.sweldox.employee.Employee;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inputs shared by the payroll benchmarks, shaped like a typical semi-monthly run.
+ */
+final class PayrollFixtures {
+
+    static final LocalDate PERIOD_START = LocalDate.of(2025, 11, 1);
+    static final LocalDate PERIOD_END = LocalDate.of(2025, 11, 15);
+    static final LocalDate PAY_DATE = LocalDate.of(2025, 11, 20);
+
+    private PayrollFixtures() {}
+
+    static Employee employee(long id, String basicSalary, String hourlyRate) {
+        Employee employee = Employee.builder()
+                .id(id)
+                .basicSalary(new BigDecimal(basicSalary))
+                .hourlyRate(new BigDecimal(hourlyRate))
+                .build();
+        employee.setBenefits(List.of(
+                benefit(employee, "MEAL", "1500.00"),
+                benefit(employee, "PHONE", "800.00"),
+                benefit(employee, "CLOTHING", "1000.00")));
+        return employee;
+    }
+
+    static List<Attendance> attendances(Employee employee, int days) {
+        List<Attendance> attendances = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            attendances.add(Attendance.builder()
+                    .employee(employee)
+                    .date(PERIOD_START.plusDays(i))
+                    .totalHours(new BigDecimal(i % 3 == 0 ? "10.00" : "8.00"))
+                    .overtime(new BigDecimal(i % 3 == 0 ? "2.00" : "0.00"))
+                    .build());
+        }
+        return attendances;
+    }
+
+    static Map<String, DeductionType> deductionTypes() {
+        return List.of("SSS", "PHIC", "HDMF", "TAX").stream()
+                .map(code -> DeductionType.builder().code(code).type(code).build())
+                .collect(Collectors.toMap(DeductionType::getCode, Function.identity()));
+    }
+
+    private static Benefit benefit(Employee employee, String type, String amount) {
+        return Benefit.builder()
+                .employee(employee)
+                .benefitType(BenefitType.builder().id(type).type(type).build())
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+}
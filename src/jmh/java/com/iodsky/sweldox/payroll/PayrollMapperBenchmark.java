@@ -0,0 +1,45 @@
+package com.iodsky.sweldox.payroll;
+
+import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.payroll.rate.StatutoryRateRegistry;
+import com.iodsky.sweldox.payroll.rate.StatutoryRates;
+import com.iodsky.sweldox.payroll.rate.StatutoryRatesFixture;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayrollMapperBenchmark {
+
+    private PayrollMapper payrollMapper;
+    private Payroll payroll;
+
+    @Setup
+    public void setUp() {
+        StatutoryRates rates = StatutoryRatesFixture.initialRates();
+        StatutoryRateRegistry registry = new StatutoryRateRegistry(null, null) {
+            @Override
+            public StatutoryRates getRates(LocalDate payDate) {
+                return rates;
+            }
+        };
+
+        Employee employee = PayrollFixtures.employee(10001L, "30000.00", "172.41");
+        payroll = new PayrollBuilder(null, null, null, registry).buildPayroll(
+                employee, PayrollFixtures.attendances(employee, 11), PayrollFixtures.deductionTypes(),
+                PayrollFixtures.PERIOD_START, PayrollFixtures.PERIOD_END, PayrollFixtures.PAY_DATE);
+        payrollMapper = new PayrollMapper();
+    }
+
+    @Benchmark
+    public PayrollDto toDto() {
+        return payrollMapper.toDto(payroll);
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.iodsky.sweldox.security.jwt;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verification as done by the authentication filter on every request, for a token seen
+ * before and for one that has to be parsed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil parsingJwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = jwtUtil(10_000);
+        parsingJwtUtil = jwtUtil(0);
+
+        userDetails = new User("juan.delacruz@sweldox.com", "", List.of());
+        token = cachingJwtUtil.generateToken(userDetails);
+    }
+
+    private static JwtUtil jwtUtil(int cacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey",
+                Base64.getEncoder().encodeToString("benchmark-secret-key-of-at-least-256-bits!".getBytes()));
+        ReflectionTestUtils.setField(jwtUtil, "expirationTime", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheSize", cacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    @Benchmark
+    public boolean verifyCached() {
+        return cachingJwtUtil.isTokenValid(cachingJwtUtil.verify(token), userDetails);
+    }
+
+    @Benchmark
+    public boolean verifyUncached() {
+        return parsingJwtUtil.isTokenValid(parsingJwtUtil.verify(token), userDetails);
+    }
+
+}
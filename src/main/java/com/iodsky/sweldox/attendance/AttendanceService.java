@@ -4,6 +4,7 @@ import com.iodsky.sweldox.common.DateRange;
 import com.iodsky.sweldox.common.DateRangeResolver;
 import com.iodsky.sweldox.employee.EmployeeService;
 import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.payroll.PayrollRecomputeService;
 import com.iodsky.sweldox.security.user.User;
 import com.iodsky.sweldox.security.user.UserService;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +13,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
@@ -19,9 +21,8 @@ import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -31,7 +32,9 @@ public class AttendanceService {
     private final EmployeeService employeeService;
     private final UserService userService;
     private final DateRangeResolver dateRangeResolver;
+    private final PayrollRecomputeService payrollRecomputeService;
 
+    @Transactional
     public Attendance createAttendance(AttendanceDto attendanceDto) {
         User user = userService.getAuthenticatedUser();
 
@@ -82,9 +85,15 @@ public class AttendanceService {
                 .overtime(BigDecimal.ZERO)
                 .build();
 
-        return attendanceRepository.save(attendance);
+        Attendance saved = attendanceRepository.save(attendance);
+
+        // A late entry for an already generated period changes that payroll
+        payrollRecomputeService.markAffectedPayrolls(employeeId, List.of(attendanceDate));
+
+        return saved;
     }
 
+    @Transactional
     public Attendance updateAttendance(UUID id, AttendanceDto attendanceDto) {
         User user = userService.getAuthenticatedUser();
 
@@ -101,6 +110,8 @@ public class AttendanceService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You don't have the permissions to access this resource");
         }
 
+        LocalDate originalDate = attendance.getDate();
+
         if (attendanceDto == null) {
             if (attendance.getTimeOut() != null && !attendance.getTimeOut().equals(LocalTime.MIN)) {
                 throw new ResponseStatusException(HttpStatus.CONFLICT, "You have already clocked out for the day.");
@@ -161,7 +172,12 @@ public class AttendanceService {
             attendance.setOvertime(overtime);
         }
 
-        return attendanceRepository.save(attendance);
+        Attendance saved = attendanceRepository.save(attendance);
+
+        // Moving the record to another date affects the payrolls of both periods
+        payrollRecomputeService.markAffectedPayrolls(employeeId, Arrays.asList(originalDate, attendance.getDate()));
+
+        return saved;
     }
 
     public Page<Attendance> getAllAttendances(int page, int limit, LocalDate startDate, LocalDate endDate) {
@@ -201,4 +217,10 @@ public class AttendanceService {
         return attendanceRepository.findByEmployee_IdAndDateBetween(employeeId, startDate, endDate);
     }
 
+    public Map<Long, List<Attendance>> getEmployeesAttendances(Collection<Long> employeeIds, LocalDate startDate, LocalDate endDate) {
+        return attendanceRepository.findAllByEmployeeIdsAndDateBetween(employeeIds, startDate, endDate)
+                .stream()
+                .collect(Collectors.groupingBy(a -> a.getEmployee().getId(), HashMap::new, Collectors.toList()));
+    }
+
 }
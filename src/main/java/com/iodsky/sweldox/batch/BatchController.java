@@ -1,30 +1,47 @@
 package com.iodsky.sweldox.batch;
 
+import com.iodsky.sweldox.batch.employee.EmployeeImportValidator;
 import com.iodsky.sweldox.batch.response.JobDetailsResponse;
 import com.iodsky.sweldox.batch.response.JobLaunchResponse;
+import com.iodsky.sweldox.batch.response.StepDetailsResponse;
+import com.iodsky.sweldox.batch.user.UserImportValidator;
 import com.iodsky.sweldox.common.response.ApiResponse;
 import com.iodsky.sweldox.common.response.ResponseFactory;
+import com.iodsky.sweldox.employee.EmployeeService;
+import com.iodsky.sweldox.payroll.PayrollPreviewFormat;
+import com.iodsky.sweldox.payroll.PayrollPreviewService;
+import com.iodsky.sweldox.payroll.PayrollRecomputeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.*;
 import org.springframework.batch.core.explore.JobExplorer;
-import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.time.format.DateTimeFormatter;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 
 @RestController
 @RequestMapping("/job")
@@ -33,11 +50,18 @@ import java.util.Collection;
 @Tag(name = "Batch Jobs", description = "Batch job management endpoints")
 public class BatchController {
 
-    private final JobLauncher jobLauncher;
+    private final BatchJobLauncher batchJobLauncher;
+    private final JobProgressRegistry jobProgressRegistry;
     private final JobExplorer jobExplorer;
     private final Job employeeImportJob;
     private final Job userImportJob;
     private final Job generatePayrollJob;
+    private final Job recomputePayrollJob;
+    private final PayrollPreviewService payrollPreviewService;
+    private final PayrollRecomputeService payrollRecomputeService;
+    private final EmployeeService employeeService;
+    private final EmployeeImportValidator employeeImportValidator;
+    private final UserImportValidator userImportValidator;
 
     @Value("${batch.upload.directory}")
     private String uploadDirectory;
@@ -46,7 +70,7 @@ public class BatchController {
     @PostMapping(value = "/import-employees", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(
             summary = "Import employees from CSV file",
-            description = "Upload a CSV file to import employees via batch job. Returns job execution ID for tracking."
+            description = "Upload a CSV file to import employees via batch job. The job runs in the background; returns 202 with the job execution ID for tracking, or 429 when the job queue is full."
     )
     public ResponseEntity<ApiResponse<JobLaunchResponse>> importEmployees(
             @RequestPart("file") MultipartFile file) {
@@ -58,11 +82,13 @@ public class BatchController {
             JobLaunchResponse response = JobLaunchResponse.builder()
                     .jobExecutionId(jobExecution.getId())
                     .fileName(fileName)
-                    .message("Employee import job launched successfully")
+                    .message("Employee import job queued")
                     .build();
 
-            return ResponseFactory.ok("Job launched successfully", response);
+            return ResponseFactory.accepted("Job queued successfully", response);
 
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to launch employee import job", e);
             throw new RuntimeException("Failed to launch employee import job: " + e.getMessage(), e);
@@ -73,7 +99,7 @@ public class BatchController {
     @PostMapping(value = "/import-users", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(
             summary = "Import users from CSV file",
-            description = "Upload a CSV file to import users via batch job. Returns job execution ID for tracking. Restricted to IT role only."
+            description = "Upload a CSV file to import users via batch job. The job runs in the background; returns 202 with the job execution ID for tracking, or 429 when the job queue is full. Restricted to IT role only."
     )
     public ResponseEntity<ApiResponse<JobLaunchResponse>> importUsers(
             @RequestPart("file") MultipartFile file) {
@@ -85,22 +111,50 @@ public class BatchController {
             JobLaunchResponse response = JobLaunchResponse.builder()
                     .jobExecutionId(jobExecution.getId())
                     .fileName(fileName)
-                    .message("User import job launched successfully")
+                    .message("User import job queued")
                     .build();
 
-            return ResponseFactory.ok("Job launched successfully", response);
+            return ResponseFactory.accepted("Job queued successfully", response);
 
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to launch user import job", e);
             throw new RuntimeException("Failed to launch user import job: " + e.getMessage(), e);
         }
     }
 
+    @PreAuthorize("hasAnyRole('HR', 'IT')")
+    @PostMapping(value = "/import-employees/validate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+            summary = "Validate an employee import CSV file",
+            description = "Check every row of an employee import file without importing anything: formats, reference data, supervisors, and government IDs, phone numbers and addresses already used in the file or by existing employees. Returns the findings as a CSV report with the row, invalid row and warning counts in the X-Import-* headers."
+    )
+    public ResponseEntity<StreamingResponseBody> validateEmployeeImport(
+            @RequestPart("file") MultipartFile file) throws Exception {
+
+        requireCsvFile(file);
+        return validationReport(employeeImportValidator.validate(file.getResource()), file);
+    }
+
+    @PreAuthorize("hasRole('IT')")
+    @PostMapping(value = "/import-users/validate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+            summary = "Validate a user import CSV file",
+            description = "Check every row of a user import file without importing anything: employees, roles, and emails already used in the file or by existing users. Returns the findings as a CSV report with the row, invalid row and warning counts in the X-Import-* headers. Restricted to IT role only."
+    )
+    public ResponseEntity<StreamingResponseBody> validateUserImport(
+            @RequestPart("file") MultipartFile file) throws Exception {
+
+        requireCsvFile(file);
+        return validationReport(userImportValidator.validate(file.getResource()), file);
+    }
+
     @PreAuthorize("hasAnyRole('HR', 'PAYROLL')")
     @PostMapping("/generate-payroll")
     @Operation(
             summary = "Generate payroll for all active employees",
-            description = "Launch a batch job to generate payroll for all active employees for the specified period. Returns job execution ID for tracking."
+            description = "Launch a batch job to generate payroll for all active employees for the specified period. The job runs in the background; returns 202 with the job execution ID for tracking, or 429 when the job queue is full."
     )
     public ResponseEntity<ApiResponse<JobLaunchResponse>> generatePayroll(
             @RequestParam String periodStartDate,
@@ -113,23 +167,131 @@ public class BatchController {
                     .addString("periodEndDate", periodEndDate)
                     .addString("payDate", payDate)
                     .addLong("timestamp", System.currentTimeMillis())
+                    .addLong(JobProgressRegistry.TOTAL_ITEMS_PARAMETER, employeeService.countActiveEmployees(), false)
                     .toJobParameters();
 
-            JobExecution jobExecution = jobLauncher.run(generatePayrollJob, jobParameters);
+            JobExecution jobExecution = batchJobLauncher.launch(generatePayrollJob, jobParameters);
 
             JobLaunchResponse response = JobLaunchResponse.builder()
                     .jobExecutionId(jobExecution.getId())
-                    .message("Payroll generation job launched successfully")
+                    .message("Payroll generation job queued")
                     .build();
 
-            return ResponseFactory.ok("Job launched successfully", response);
+            return ResponseFactory.accepted("Job queued successfully", response);
 
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to launch payroll generation job", e);
             throw new RuntimeException("Failed to launch payroll generation job: " + e.getMessage(), e);
         }
     }
 
+    @PreAuthorize("hasAnyRole('HR', 'PAYROLL')")
+    @PostMapping("/generate-payroll/preview")
+    @Operation(
+            summary = "Preview payroll for all active employees",
+            description = "Compute the payroll of every active employee for the specified period without saving anything. Streams one line per employee followed by the run totals, as NDJSON or CSV."
+    )
+    public ResponseEntity<StreamingResponseBody> previewPayroll(
+            @RequestParam String periodStartDate,
+            @RequestParam String periodEndDate,
+            @RequestParam String payDate,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        PayrollPreviewFormat previewFormat;
+        LocalDate start;
+        LocalDate end;
+        LocalDate pay;
+        try {
+            previewFormat = PayrollPreviewFormat.valueOf(format.toUpperCase());
+            start = LocalDate.parse(periodStartDate);
+            end = LocalDate.parse(periodEndDate);
+            pay = LocalDate.parse(payDate);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid preview parameters: " + e.getMessage());
+        }
+
+        StreamingResponseBody body = outputStream ->
+                payrollPreviewService.writePreview(start, end, pay, previewFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(previewFormat.getContentType()))
+                .body(body);
+    }
+
+    @PreAuthorize("hasAnyRole('HR', 'PAYROLL')")
+    @PostMapping("/recompute-payroll")
+    @Operation(
+            summary = "Recompute stale payrolls",
+            description = "Launch a batch job that recomputes only the generated payrolls whose attendance changed after they were generated, replacing their deductions and benefits. The job runs in the background; returns 202 with the job execution ID for tracking, or 429 when the job queue is full."
+    )
+    public ResponseEntity<ApiResponse<JobLaunchResponse>> recomputePayroll() {
+
+        long pending = payrollRecomputeService.countPendingRecomputes();
+
+        try {
+            JobParameters jobParameters = new JobParametersBuilder()
+                    .addLong("timestamp", System.currentTimeMillis())
+                    .addLong(JobProgressRegistry.TOTAL_ITEMS_PARAMETER, pending, false)
+                    .toJobParameters();
+
+            JobExecution jobExecution = batchJobLauncher.launch(recomputePayrollJob, jobParameters);
+
+            JobLaunchResponse response = JobLaunchResponse.builder()
+                    .jobExecutionId(jobExecution.getId())
+                    .message("Payroll recompute job queued for " + pending + " payrolls")
+                    .build();
+
+            return ResponseFactory.accepted("Job queued successfully", response);
+
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to launch payroll recompute job", e);
+            throw new RuntimeException("Failed to launch payroll recompute job: " + e.getMessage(), e);
+        }
+    }
+
+    @PreAuthorize("hasAnyRole('HR', 'PAYROLL')")
+    @PostMapping("/{jobExecutionId}/restart")
+    @Operation(
+            summary = "Restart a payroll generation job",
+            description = "Restart a failed or stopped payroll generation job execution with its original parameters. Employees already processed by the previous run are not read again."
+    )
+    public ResponseEntity<ApiResponse<JobLaunchResponse>> restartPayrollJob(
+            @PathVariable Long jobExecutionId) {
+
+        JobExecution previousExecution = jobExplorer.getJobExecution(jobExecutionId);
+        if (previousExecution == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Job execution " + jobExecutionId + " not found");
+        }
+
+        if (!generatePayrollJob.getName().equals(previousExecution.getJobInstance().getJobName())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Job execution " + jobExecutionId + " is not a payroll generation job");
+        }
+
+        if (previousExecution.getStatus() != BatchStatus.FAILED && previousExecution.getStatus() != BatchStatus.STOPPED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Job execution " + jobExecutionId + " is " + previousExecution.getStatus() + "; only failed or stopped executions can be restarted");
+        }
+
+        try {
+            JobExecution jobExecution = batchJobLauncher.launch(generatePayrollJob, previousExecution.getJobParameters());
+
+            JobLaunchResponse response = JobLaunchResponse.builder()
+                    .jobExecutionId(jobExecution.getId())
+                    .message("Payroll generation job restart queued")
+                    .build();
+
+            return ResponseFactory.accepted("Job restart queued successfully", response);
+
+        } catch (JobExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
     @PreAuthorize("hasAnyRole('HR', 'IT')")
     @GetMapping("/{jobExecutionId}")
     @Operation(
@@ -141,18 +303,35 @@ public class BatchController {
 
         JobExecution jobExecution = jobExplorer.getJobExecution(jobExecutionId);
 
-        // Get step execution metrics
+        // Only the worker partitions are counted when the job ran partitioned
         Collection<StepExecution> stepExecutions = jobExecution.getStepExecutions();
+        Collection<StepExecution> countedExecutions = JobProgressRegistry.countedSteps(stepExecutions);
+        List<StepExecution> partitionExecutions = countedExecutions == stepExecutions
+                ? List.of()
+                : countedExecutions.stream().sorted(Comparator.comparing(StepExecution::getStepName)).toList();
+
         long readCount = 0;
         long writeCount = 0;
         long skipCount = 0;
 
-        for (StepExecution stepExecution : stepExecutions) {
+        for (StepExecution stepExecution : countedExecutions) {
             readCount += stepExecution.getReadCount();
             writeCount += stepExecution.getWriteCount();
             skipCount += stepExecution.getSkipCount();
         }
 
+        List<StepDetailsResponse> partitions = partitionExecutions.isEmpty() ? null : partitionExecutions.stream()
+                .map(stepExecution -> StepDetailsResponse.builder()
+                        .stepName(stepExecution.getStepName())
+                        .status(stepExecution.getStatus())
+                        .startTime(stepExecution.getStartTime())
+                        .endTime(stepExecution.getEndTime())
+                        .readCount(stepExecution.getReadCount())
+                        .writeCount(stepExecution.getWriteCount())
+                        .skipCount(stepExecution.getSkipCount())
+                        .build())
+                .toList();
+
         String fileName = jobExecution.getJobParameters().getString("fileName");
 
         JobDetailsResponse details = JobDetailsResponse.builder()
@@ -165,11 +344,61 @@ public class BatchController {
                 .writeCount(writeCount)
                 .skipCount(skipCount)
                 .exitDescription(jobExecution.getExitStatus().getExitDescription())
+                .partitions(partitions)
                 .build();
 
         return ResponseFactory.ok("Job execution details retrieved successfully", details);
     }
 
+    @PreAuthorize("hasAnyRole('HR', 'IT', 'PAYROLL')")
+    @GetMapping(value = "/{jobExecutionId}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream job execution progress",
+            description = "Server-Sent Events stream of \"progress\" events for a job execution: items processed, written and skipped, items per second and the estimated seconds remaining. Running executions push an event every few hundred milliseconds from the job itself, so clients do not need to poll; the stream completes after the final event."
+    )
+    public SseEmitter streamJobProgress(@PathVariable Long jobExecutionId) {
+        JobExecution jobExecution = jobExplorer.getJobExecution(jobExecutionId);
+        if (jobExecution == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Job execution " + jobExecutionId + " not found");
+        }
+
+        return jobProgressRegistry.subscribe(jobExecution);
+    }
+
+    /**
+     * Reject an empty upload or one that is not a CSV file.
+     *
+     * @param file the uploaded file
+     */
+    private void requireCsvFile(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File cannot be empty");
+        }
+
+        if (file.getOriginalFilename() == null || !file.getOriginalFilename().endsWith(".csv")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only CSV files are supported");
+        }
+    }
+
+    /**
+     * Send a validation report as a CSV attachment named after the uploaded file.
+     *
+     * @param report the validation report
+     * @param file the validated file
+     * @return the report response
+     */
+    private ResponseEntity<StreamingResponseBody> validationReport(ImportValidationReport report, MultipartFile file) {
+        String reportName = file.getOriginalFilename().replaceFirst("\\.csv$", "") + "_validation.csv";
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(reportName).build().toString())
+                .header("X-Import-Rows", String.valueOf(report.getRows()))
+                .header("X-Import-Invalid-Rows", String.valueOf(report.getInvalidRows()))
+                .header("X-Import-Warnings", String.valueOf(report.getWarnings()))
+                .body(report::writeCsv);
+    }
+
     /**
      * Upload a CSV file to the upload directory with a timestamped filename.
      *
@@ -178,13 +407,7 @@ public class BatchController {
      * @throws Exception if file upload fails
      */
     private String uploadCsvFile(MultipartFile file) throws Exception {
-        if (file.isEmpty()) {
-            throw new IllegalArgumentException("File cannot be empty");
-        }
-
-        if (!file.getOriginalFilename().endsWith(".csv")) {
-            throw new IllegalArgumentException("Only CSV files are supported");
-        }
+        requireCsvFile(file);
 
         // Create upload directory if it doesn't exist
         File uploadDir = new File(uploadDirectory);
@@ -209,7 +432,8 @@ public class BatchController {
     }
 
     /**
-     * Launch a batch job with the given filename parameter.
+     * Launch a batch job with the given filename parameter. The uploaded file is removed if the
+     * job cannot be queued.
      *
      * @param job the batch job to launch
      * @param fileName the filename parameter for the job
@@ -220,8 +444,25 @@ public class BatchController {
         JobParameters jobParameters = new JobParametersBuilder()
                 .addString("fileName", fileName)
                 .addLong("timestamp", System.currentTimeMillis())
+                .addLong(JobProgressRegistry.TOTAL_ITEMS_PARAMETER, countDataRows(fileName), false)
                 .toJobParameters();
 
-        return jobLauncher.run(job, jobParameters);
+        try {
+            return batchJobLauncher.launch(job, jobParameters);
+        } catch (Exception e) {
+            Files.deleteIfExists(Paths.get(uploadDirectory, fileName));
+            throw e;
+        }
+    }
+
+    /**
+     * Count the records of an uploaded CSV file, excluding the header, for progress reporting.
+     *
+     * @param fileName the uploaded filename
+     * @return the number of data rows
+     * @throws Exception if the file cannot be read
+     */
+    private long countDataRows(String fileName) throws Exception {
+        return CsvItemReader.countRecords(new FileSystemResource(Paths.get(uploadDirectory, fileName)));
     }
 }
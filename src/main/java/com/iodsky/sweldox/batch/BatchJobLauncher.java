@@ -0,0 +1,114 @@
+package com.iodsky.sweldox.batch;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionException;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Launches jobs asynchronously on {@code batchJobExecutor} and returns as soon as the execution
+ * is created. Admission is bounded twice: by the executor's threads plus queue slots across all
+ * jobs, and by {@code batch.launcher.max-per-job} queued or running executions of the same job.
+ * A launch beyond either limit is rejected with 429 before any execution is created.
+ * <p>
+ * The caller's security context is carried over to the job thread so audit columns keep
+ * recording the user who launched the job.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BatchJobLauncher {
+
+    private final JobRepository jobRepository;
+    private final TaskExecutor batchJobExecutor;
+
+    @Value("${batch.launcher.threads}")
+    private int threads;
+
+    @Value("${batch.launcher.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${batch.launcher.max-per-job}")
+    private int maxPerJob;
+
+    private final Map<String, Semaphore> jobPermits = new ConcurrentHashMap<>();
+    private Semaphore permits;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(threads + queueCapacity);
+    }
+
+    /**
+     * Queues the job and returns its execution, usually still {@code STARTING}.
+     *
+     * @throws ResponseStatusException with 429 if the queue or the job's limit is full
+     * @throws JobExecutionException if the job cannot be launched with these parameters
+     */
+    public JobExecution launch(Job job, JobParameters jobParameters) throws JobExecutionException {
+        Semaphore jobPermit = jobPermits.computeIfAbsent(job.getName(), name -> new Semaphore(maxPerJob));
+        if (!jobPermit.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many " + job.getName() + " executions are queued or running, try again later");
+        }
+        if (!permits.tryAcquire()) {
+            jobPermit.release();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "The job queue is full, try again later");
+        }
+
+        AtomicBoolean submitted = new AtomicBoolean();
+        Runnable release = () -> {
+            jobPermit.release();
+            permits.release();
+        };
+
+        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.setTaskExecutor(task -> {
+            batchJobExecutor.execute(new DelegatingSecurityContextRunnable(() -> {
+                try {
+                    task.run();
+                } finally {
+                    release.run();
+                }
+            }));
+            submitted.set(true);
+        });
+
+        JobExecution jobExecution;
+        try {
+            jobExecution = jobLauncher.run(job, jobParameters);
+        } catch (JobExecutionException | RuntimeException ex) {
+            if (!submitted.get()) {
+                release.run();
+            }
+            throw ex;
+        }
+
+        // TaskExecutorJobLauncher records a rejected task as a failed execution instead of throwing
+        if (!submitted.get()) {
+            release.run();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "The job queue is full, try again later");
+        }
+
+        log.info("Queued {} execution {}", job.getName(), jobExecution.getId());
+        return jobExecution;
+    }
+
+}
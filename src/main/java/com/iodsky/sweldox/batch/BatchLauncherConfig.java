@@ -0,0 +1,31 @@
+package com.iodsky.sweldox.batch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class BatchLauncherConfig {
+
+    @Value("${batch.launcher.threads}")
+    private int threads;
+
+    @Value("${batch.launcher.queue-capacity}")
+    private int queueCapacity;
+
+    /**
+     * Executor running launched jobs off the request threads. {@link BatchJobLauncher} admits
+     * at most as many jobs as there are threads and queue slots, so it never rejects a task.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor batchJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("batch-job-");
+        return executor;
+    }
+
+}
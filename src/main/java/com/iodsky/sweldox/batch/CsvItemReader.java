@@ -0,0 +1,202 @@
+package com.iodsky.sweldox.batch;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.NonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Streaming reader for the import CSV files. Each record is split into its fields and handed to
+ * a row mapper that builds the item by column position, so there is no tokenizer or bean
+ * wrapper in between. The first line is a header and is skipped.
+ * <p>
+ * Fields are separated by commas and may be quoted; a quoted field may contain commas, line
+ * breaks and doubled quotes. Blank lines are ignored. A record with a different number of
+ * fields than expected fails with a {@link FlatFileParseException}, like
+ * {@code FlatFileItemReader}. Not thread-safe and does not save its position; multi-threaded
+ * steps wrap it in a {@code SynchronizedItemStreamReader}.
+ */
+public class CsvItemReader<T> implements ItemStreamReader<T> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Resource resource;
+    private final int columns;
+    private final Function<String[], T> rowMapper;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+
+    private BufferedReader reader;
+    private int lineNumber;
+
+    public CsvItemReader(Resource resource, int columns, Function<String[], T> rowMapper) {
+        this.resource = resource;
+        this.columns = columns;
+        this.rowMapper = rowMapper;
+    }
+
+    @Override
+    public void open(@NonNull ExecutionContext executionContext) {
+        try {
+            reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+            lineNumber = 0;
+            // Header
+            readRecord();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open " + resource, e);
+        }
+    }
+
+    @Override
+    public T read() throws Exception {
+        if (reader == null) {
+            throw new IllegalStateException("Reader must be open before it can be read");
+        }
+
+        String record = readRecord();
+        if (record == null) {
+            return null;
+        }
+
+        if (fields.size() != columns) {
+            throw new FlatFileParseException("Expected " + columns + " fields but found " + fields.size()
+                    + " at line " + lineNumber + " of " + resource.getFilename(), record, lineNumber);
+        }
+        return rowMapper.apply(fields.toArray(new String[0]));
+    }
+
+    @Override
+    public void close() {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close " + resource, e);
+        } finally {
+            reader = null;
+        }
+    }
+
+    /**
+     * Counts the records after the header the way they would be read, so quoted fields spanning
+     * several lines count once. Field counts are not checked.
+     */
+    static long countRecords(Resource resource) throws IOException {
+        CsvItemReader<Void> counter = new CsvItemReader<>(resource, 0, fields -> null);
+        counter.open(new ExecutionContext());
+        long records = 0;
+        try {
+            while (counter.readRecord() != null) {
+                records++;
+            }
+        } catch (FlatFileParseException e) {
+            // An unterminated quote runs to the end of the file as a single record
+            records++;
+        } finally {
+            counter.close();
+        }
+        return records;
+    }
+
+    /**
+     * Reads the next non-blank record into {@link #fields} and returns its raw text, or
+     * {@code null} at the end of the file.
+     */
+    private String readRecord() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+        } while (line.isBlank());
+
+        fields.clear();
+        if (line.indexOf('"') < 0) {
+            splitUnquoted(line);
+            return line;
+        }
+        return splitQuoted(line);
+    }
+
+    private void splitUnquoted(String line) {
+        int start = 0;
+        int comma;
+        while ((comma = line.indexOf(',', start)) >= 0) {
+            fields.add(line.substring(start, comma));
+            start = comma + 1;
+        }
+        fields.add(line.substring(start));
+    }
+
+    /**
+     * Splits a record with quoted fields, reading further lines while a quoted field is still
+     * open.
+     */
+    private String splitQuoted(String firstLine) throws IOException {
+        StringBuilder record = new StringBuilder(firstLine);
+        String line = firstLine;
+        int i = 0;
+        boolean quoted = false;
+        boolean fieldStart = true;
+        field.setLength(0);
+
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return record.toString();
+                }
+                line = reader.readLine();
+                if (line == null) {
+                    throw new FlatFileParseException("Unterminated quoted field at line " + lineNumber
+                            + " of " + resource.getFilename(), record.toString(), lineNumber);
+                }
+                lineNumber++;
+                record.append('\n').append(line);
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                continue;
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+            fieldStart = false;
+        }
+    }
+
+}
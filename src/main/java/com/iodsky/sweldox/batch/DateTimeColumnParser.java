@@ -0,0 +1,60 @@
+package com.iodsky.sweldox.batch;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalQuery;
+
+/**
+ * Parses the values of one date or time column of an import file. The format is detected from
+ * the first value, as {@link DateTimeUtil} does, and tried first for every later value, so a
+ * column costs a single parse per value. A value that does not fit falls back to detection and
+ * its format becomes the one tried first. Ambiguous values such as {@code 03-11-2025} are
+ * therefore read in the format already seen in the file. Safe for concurrent use; create one
+ * per column per file.
+ */
+public class DateTimeColumnParser<T> {
+
+    private final DateTimeFormatter[] formatters;
+    private final TemporalQuery<T> query;
+    private volatile DateTimeFormatter detected;
+
+    private DateTimeColumnParser(DateTimeFormatter[] formatters, TemporalQuery<T> query) {
+        this.formatters = formatters;
+        this.query = query;
+    }
+
+    public static DateTimeColumnParser<LocalDate> dates() {
+        return new DateTimeColumnParser<>(DateTimeUtil.DATE_FORMATTERS, LocalDate::from);
+    }
+
+    public static DateTimeColumnParser<LocalTime> times() {
+        return new DateTimeColumnParser<>(DateTimeUtil.TIME_FORMATTERS, LocalTime::from);
+    }
+
+    public T parse(String value) {
+        if (value == null || value.isBlank()) return null;
+        String text = value.trim();
+
+        DateTimeFormatter formatter = detected;
+        if (formatter != null) {
+            T parsed = DateTimeUtil.tryParse(formatter, text, query);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+
+        for (DateTimeFormatter candidate : formatters) {
+            if (candidate == formatter) {
+                continue;
+            }
+            T parsed = DateTimeUtil.tryParse(candidate, text, query);
+            if (parsed != null) {
+                detected = candidate;
+                return parsed;
+            }
+        }
+        throw new IllegalArgumentException("An error has occurred while parsing date: " + value);
+    }
+
+}
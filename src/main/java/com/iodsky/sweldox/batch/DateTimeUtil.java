@@ -2,15 +2,18 @@ package com.iodsky.sweldox.batch;
 
 import lombok.experimental.UtilityClass;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.text.ParsePosition;
 
 @UtilityClass
 public class DateTimeUtil {
 
-    private static final DateTimeFormatter[] DATE_FORMATTERS = {
+    static final DateTimeFormatter[] DATE_FORMATTERS = {
             DateTimeFormatter.ofPattern("yyyy-MM-dd"),
             DateTimeFormatter.ofPattern("MM-dd-yyyy"),
             DateTimeFormatter.ofPattern("dd-MM-yyyy"),
@@ -19,7 +22,7 @@ public class DateTimeUtil {
             DateTimeFormatter.ofPattern("dd/MM/yyyy")
     };
 
-    private static final DateTimeFormatter[] TIME_FORMATTERS = {
+    static final DateTimeFormatter[] TIME_FORMATTERS = {
             DateTimeFormatter.ofPattern("H:mm"),
             DateTimeFormatter.ofPattern("HH:mm"),
             DateTimeFormatter.ofPattern("h:mm a"),
@@ -28,10 +31,11 @@ public class DateTimeUtil {
 
     public static LocalDate parseDate(String value) {
         if (value == null || value.isBlank()) return null;
-        for (var formatter : DATE_FORMATTERS) {
-            try {
-                return LocalDate.parse(value.trim(), formatter);
-            } catch (Exception ignored) {
+        String text = value.trim();
+        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
+            LocalDate date = tryParse(formatter, text, LocalDate::from);
+            if (date != null) {
+                return date;
             }
         }
         throw new IllegalArgumentException("An error has occurred while parsing date: " + value);
@@ -39,16 +43,32 @@ public class DateTimeUtil {
 
     public static LocalTime parseTime(String value) {
         if (value == null || value.isBlank()) return null;
-
+        String text = value.trim();
         for (DateTimeFormatter formatter : TIME_FORMATTERS) {
-            try {
-                return LocalTime.parse(value.trim(), formatter);
-            } catch (DateTimeParseException ignored) {
-
+            LocalTime time = tryParse(formatter, text, LocalTime::from);
+            if (time != null) {
+                return time;
             }
         }
-
         throw new IllegalArgumentException("An error has occurred while parsing date: " + value);
     }
 
+    /**
+     * Parses the whole text with the formatter, or returns {@code null} when it does not match.
+     * The text is matched without resolving first, so a format that does not fit costs no
+     * exception; only a value that fits the pattern but is out of range (month 13) throws.
+     */
+    static <T> T tryParse(DateTimeFormatter formatter, String text, TemporalQuery<T> query) {
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = formatter.parseUnresolved(text, position);
+        if (parsed == null || position.getIndex() != text.length()) {
+            return null;
+        }
+        try {
+            return formatter.parse(text, query);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
 }
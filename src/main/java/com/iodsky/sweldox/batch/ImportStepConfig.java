@@ -0,0 +1,46 @@
+package com.iodsky.sweldox.batch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImportStepConfig {
+
+    @Value("${batch.import.threads}")
+    private int threads;
+
+    @Value("${batch.import.hash-threads}")
+    private int hashThreads;
+
+    /**
+     * Executor running the chunks of the CSV import steps in parallel. Shared by all import
+     * steps, so concurrent imports also share its {@code batch.import.threads} threads (and
+     * database connections).
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("import-");
+        return executor;
+    }
+
+    /**
+     * Executor hashing imported passwords, one thread per core unless
+     * {@code batch.import.hash-threads} is set. Hashing is CPU bound, so more threads than cores
+     * would only add contention.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor() {
+        int poolSize = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("password-hash-");
+        return executor;
+    }
+
+}
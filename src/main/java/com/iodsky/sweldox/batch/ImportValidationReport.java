@@ -0,0 +1,87 @@
+package com.iodsky.sweldox.batch;
+
+import com.iodsky.sweldox.common.CsvRowWriter;
+import lombok.Getter;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Outcome of validating an import file without importing it: one finding per problem, sorted by
+ * row. An {@link Level#ERROR} means the import would skip the row or fail on it; a
+ * {@link Level#WARNING} means the row would be imported with the field left out. Rows are the
+ * 1-based data rows of the file, header excluded, as in {@code #<row>} supervisor references.
+ */
+@Getter
+public class ImportValidationReport {
+
+    public enum Level { ERROR, WARNING }
+
+    public record Finding(int row, Level level, String field, String value, String message) {}
+
+    private static final Comparator<Finding> ORDER = Comparator.comparingInt(Finding::row)
+            .thenComparing(Finding::level)
+            .thenComparing(finding -> finding.field() == null ? "" : finding.field());
+
+    private final int rows;
+    private final List<Finding> findings;
+
+    public ImportValidationReport(int rows, Collection<Finding> findings) {
+        this.rows = rows;
+        this.findings = findings.stream().sorted(ORDER).toList();
+    }
+
+    public long getInvalidRows() {
+        return findings.stream().filter(finding -> finding.level() == Level.ERROR).mapToInt(Finding::row).distinct().count();
+    }
+
+    public long getWarnings() {
+        return findings.stream().filter(finding -> finding.level() == Level.WARNING).count();
+    }
+
+    /**
+     * Writes the findings as CSV with a {@code row,level,field,value,message} header.
+     */
+    public void writeCsv(OutputStream outputStream) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        CsvRowWriter writer = new CsvRowWriter(out);
+        writer.row("row", "level", "field", "value", "message");
+        for (Finding finding : findings) {
+            writer.row(finding.row(), finding.level(), finding.field(), finding.value(), finding.message());
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads every row of the file. Rows that cannot be split into the expected fields are
+     * reported and left {@code null}, so list index {@code i} is always data row {@code i + 1}.
+     */
+    public static <T> List<T> readRows(CsvItemReader<T> reader, List<Finding> findings) throws Exception {
+        List<T> rows = new ArrayList<>();
+        reader.open(new ExecutionContext());
+        try {
+            while (true) {
+                try {
+                    T row = reader.read();
+                    if (row == null) {
+                        return rows;
+                    }
+                    rows.add(row);
+                } catch (FlatFileParseException e) {
+                    rows.add(null);
+                    findings.add(new Finding(rows.size(), Level.ERROR, null, e.getInput(), e.getMessage()));
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+}
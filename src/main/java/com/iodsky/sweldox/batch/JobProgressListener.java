@@ -0,0 +1,36 @@
+package com.iodsky.sweldox.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds {@link JobProgressRegistry} with the step counts after every chunk, including chunks
+ * that failed and were skipped, and with the final counts when the job ends. Register it on the
+ * chunk step (the worker step for partitioned jobs) and on the job.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobProgressListener implements ChunkListener, JobExecutionListener {
+
+    private final JobProgressRegistry jobProgressRegistry;
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        jobProgressRegistry.update(context.getStepContext().getStepExecution());
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        jobProgressRegistry.update(context.getStepContext().getStepExecution());
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        jobProgressRegistry.finish(jobExecution);
+    }
+
+}
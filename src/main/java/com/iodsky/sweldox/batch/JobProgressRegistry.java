@@ -0,0 +1,260 @@
+package com.iodsky.sweldox.batch;
+
+import com.iodsky.sweldox.batch.response.JobProgressResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds the live progress of the job executions running in this instance and pushes it to
+ * Server-Sent Event subscribers. Counts are fed by {@link JobProgressListener} after every chunk,
+ * so subscribers never read the job repository while a job runs. Pushes are throttled to one per
+ * {@code batch.progress.publish-interval} per execution, and the final state of the last
+ * {@code batch.progress.retained-finished} executions is kept for late subscribers.
+ */
+@Component
+@Slf4j
+public class JobProgressRegistry {
+
+    public static final String TOTAL_ITEMS_PARAMETER = "totalItems";
+    static final String EVENT_NAME = "progress";
+
+    private final Map<Long, ExecutionProgress> executions = new ConcurrentHashMap<>();
+    private final Queue<Long> finishedExecutionIds = new ConcurrentLinkedQueue<>();
+
+    @Value("${batch.progress.publish-interval}")
+    private long publishInterval;
+
+    @Value("${batch.progress.emitter-timeout}")
+    private long emitterTimeout;
+
+    @Value("${batch.progress.retained-finished}")
+    private int retainedFinished;
+
+    /**
+     * Opens an event stream for the execution. The current progress is sent right away; running
+     * executions keep pushing until they finish, finished ones complete the stream after one event.
+     */
+    public SseEmitter subscribe(JobExecution jobExecution) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+
+        ExecutionProgress progress = jobExecution.isRunning()
+                ? executions.computeIfAbsent(jobExecution.getId(), id -> new ExecutionProgress(jobExecution))
+                : executions.get(jobExecution.getId());
+
+        if (progress == null) {
+            // Finished before this instance tracked it, so the repository state is final
+            send(emitter, snapshot(jobExecution.getId(), jobExecution.getStatus(), jobExecution.getStartTime(),
+                    jobExecution.getEndTime(), totalItems(jobExecution), countedSteps(jobExecution.getStepExecutions())));
+            emitter.complete();
+            return emitter;
+        }
+
+        JobProgressResponse finalSnapshot = progress.addEmitter(emitter);
+        if (finalSnapshot != null) {
+            send(emitter, finalSnapshot);
+            emitter.complete();
+            return emitter;
+        }
+
+        emitter.onCompletion(() -> progress.removeEmitter(emitter));
+        emitter.onTimeout(() -> progress.removeEmitter(emitter));
+        emitter.onError(ex -> progress.removeEmitter(emitter));
+        send(emitter, progress.snapshot());
+        return emitter;
+    }
+
+    /**
+     * Records the counts of a step after a chunk and pushes them if the last push for the
+     * execution is older than the publish interval.
+     */
+    void update(StepExecution stepExecution) {
+        JobExecution jobExecution = stepExecution.getJobExecution();
+        ExecutionProgress progress = executions.computeIfAbsent(jobExecution.getId(),
+                id -> new ExecutionProgress(jobExecution));
+
+        JobProgressResponse snapshot = progress.record(stepExecution, publishInterval);
+        if (snapshot != null) {
+            publish(progress, snapshot);
+        }
+    }
+
+    /**
+     * Pushes the final counts of the execution and completes every subscriber.
+     */
+    void finish(JobExecution jobExecution) {
+        ExecutionProgress progress = executions.computeIfAbsent(jobExecution.getId(),
+                id -> new ExecutionProgress(jobExecution));
+
+        JobProgressResponse snapshot = progress.finish(jobExecution);
+        for (SseEmitter emitter : progress.drainEmitters()) {
+            send(emitter, snapshot);
+            emitter.complete();
+        }
+
+        finishedExecutionIds.add(jobExecution.getId());
+        while (finishedExecutionIds.size() > retainedFinished) {
+            Long evicted = finishedExecutionIds.poll();
+            if (evicted != null) {
+                executions.remove(evicted);
+            }
+        }
+    }
+
+    private void publish(ExecutionProgress progress, JobProgressResponse snapshot) {
+        for (SseEmitter emitter : progress.emitters) {
+            if (!send(emitter, snapshot)) {
+                progress.removeEmitter(emitter);
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, JobProgressResponse snapshot) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(snapshot, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            // The client went away or the stream already completed
+            log.debug("Dropping progress subscriber of job execution {}: {}", snapshot.getJobExecutionId(), ex.getMessage());
+            emitter.completeWithError(ex);
+            return false;
+        }
+    }
+
+    /**
+     * Partitioned steps report one execution per worker plus a manager that aggregates them, so
+     * totals are taken over the workers only.
+     */
+    static Collection<StepExecution> countedSteps(Collection<StepExecution> stepExecutions) {
+        List<StepExecution> partitionExecutions = stepExecutions.stream()
+                .filter(stepExecution -> stepExecution.getStepName().contains(":"))
+                .toList();
+        return partitionExecutions.isEmpty() ? stepExecutions : partitionExecutions;
+    }
+
+    private static Long totalItems(JobExecution jobExecution) {
+        return jobExecution.getJobParameters().getLong(TOTAL_ITEMS_PARAMETER);
+    }
+
+    private static JobProgressResponse snapshot(Long jobExecutionId, BatchStatus status, LocalDateTime startTime,
+                                                LocalDateTime endTime, Long totalItems,
+                                                Collection<StepExecution> stepExecutions) {
+        long processed = 0;
+        long written = 0;
+        long skipped = 0;
+        for (StepExecution stepExecution : stepExecutions) {
+            processed += stepExecution.getReadCount() + stepExecution.getReadSkipCount();
+            written += stepExecution.getWriteCount();
+            skipped += stepExecution.getSkipCount();
+        }
+
+        double elapsedSeconds = startTime == null ? 0
+                : Duration.between(startTime, endTime != null ? endTime : LocalDateTime.now()).toMillis() / 1000.0;
+        double itemsPerSecond = elapsedSeconds > 0 ? processed / elapsedSeconds : 0;
+
+        Long etaSeconds = null;
+        if (!status.isRunning()) {
+            etaSeconds = 0L;
+        } else if (totalItems != null && itemsPerSecond > 0) {
+            etaSeconds = (long) Math.ceil(Math.max(totalItems - processed, 0) / itemsPerSecond);
+        }
+
+        return JobProgressResponse.builder()
+                .jobExecutionId(jobExecutionId)
+                .status(status)
+                .processedCount(processed)
+                .writeCount(written)
+                .skipCount(skipped)
+                .totalItems(totalItems)
+                .itemsPerSecond(Math.round(itemsPerSecond * 10) / 10.0)
+                .etaSeconds(etaSeconds)
+                .build();
+    }
+
+    /**
+     * Progress of one execution. Partition workers call {@link #record} concurrently, so the step
+     * counts are only touched under the instance lock; emitters are sent to outside of it.
+     */
+    private static final class ExecutionProgress {
+
+        private final Long jobExecutionId;
+        private final LocalDateTime startTime;
+        private final Long totalItems;
+        private final Map<Long, StepExecution> steps = new HashMap<>();
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private long lastPublished;
+        private JobProgressResponse finalSnapshot;
+
+        private ExecutionProgress(JobExecution jobExecution) {
+            this.jobExecutionId = jobExecution.getId();
+            this.startTime = jobExecution.getStartTime() != null ? jobExecution.getStartTime() : LocalDateTime.now();
+            this.totalItems = totalItems(jobExecution);
+            for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+                steps.put(stepExecution.getId(), stepExecution);
+            }
+        }
+
+        private synchronized JobProgressResponse record(StepExecution stepExecution, long publishInterval) {
+            if (finalSnapshot != null) {
+                return null;
+            }
+            steps.put(stepExecution.getId(), stepExecution);
+
+            long now = System.nanoTime();
+            if (lastPublished != 0 && now - lastPublished < publishInterval * 1_000_000) {
+                return null;
+            }
+            lastPublished = now;
+            return snapshot();
+        }
+
+        private synchronized JobProgressResponse snapshot() {
+            if (finalSnapshot != null) {
+                return finalSnapshot;
+            }
+            return JobProgressRegistry.snapshot(jobExecutionId, BatchStatus.STARTED, startTime, null, totalItems,
+                    countedSteps(steps.values()));
+        }
+
+        private synchronized JobProgressResponse finish(JobExecution jobExecution) {
+            finalSnapshot = JobProgressRegistry.snapshot(jobExecutionId, jobExecution.getStatus(), startTime,
+                    jobExecution.getEndTime(), totalItems, countedSteps(jobExecution.getStepExecutions()));
+            return finalSnapshot;
+        }
+
+        /**
+         * Returns the final snapshot instead of registering the emitter when the execution has
+         * already finished.
+         */
+        private synchronized JobProgressResponse addEmitter(SseEmitter emitter) {
+            if (finalSnapshot == null) {
+                emitters.add(emitter);
+            }
+            return finalSnapshot;
+        }
+
+        private void removeEmitter(SseEmitter emitter) {
+            emitters.remove(emitter);
+        }
+
+        private synchronized List<SseEmitter> drainEmitters() {
+            List<SseEmitter> drained = List.copyOf(emitters);
+            emitters.clear();
+            return drained;
+        }
+    }
+
+}
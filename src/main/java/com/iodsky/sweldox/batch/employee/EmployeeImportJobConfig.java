@@ -1,6 +1,8 @@
 package com.iodsky.sweldox.batch.employee;
 
+import com.iodsky.sweldox.batch.CsvItemReader;
 import com.iodsky.sweldox.batch.ImportJobExecutionListener;
+import com.iodsky.sweldox.batch.JobProgressListener;
 import com.iodsky.sweldox.employee.Employee;
 import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
@@ -15,15 +17,17 @@ import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.database.JpaItemWriter;
 import org.springframework.batch.item.database.builder.JpaItemWriterBuilder;
-import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.support.SynchronizedItemStreamReader;
+import org.springframework.batch.item.support.builder.SynchronizedItemStreamReaderBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.nio.file.Path;
 import java.nio.file.Paths;
 
 @Configuration
@@ -33,25 +37,38 @@ public class EmployeeImportJobConfig {
     private final EmployeeImportProcessor employeeCsvRowProcessor;
     private final EmployeeImportSkipListener skipListener;
     private final ImportJobExecutionListener jobCompletionListener;
+    private final JobProgressListener jobProgressListener;
+    private final EmployeeImportPrescanTasklet employeeImportPrescanTasklet;
+    private final EmployeeSupervisorLinkTasklet employeeSupervisorLinkTasklet;
 
     @Value("${batch.upload.directory}")
     private String uploadDirectory;
 
+    @Value("${batch.import.chunk-size}")
+    private int chunkSize;
+
+    /**
+     * Reads the uploaded file for all chunk threads of the step. Reads are serialized, and the
+     * read position is not saved since chunks finish out of order; imports are not restartable.
+     */
     @Bean
     @StepScope
-    public FlatFileItemReader<EmployeeImportRecord> employeeCsvReader(
+    public SynchronizedItemStreamReader<EmployeeImportRecord> employeeCsvReader(
             @Value("#{jobParameters['fileName']}") String fileName) {
-        return new FlatFileItemReaderBuilder<EmployeeImportRecord>()
-                .linesToSkip(1)
-                .name("employeeCsvItemReader")
-                .resource(new FileSystemResource(Paths.get(uploadDirectory, fileName).toFile()))
-                .delimited()
-                .delimiter(",")
-                .names(EmployeeImportRecord.CSV_COLUMN_NAMES)
-                .targetType(EmployeeImportRecord.class)
+        return new SynchronizedItemStreamReaderBuilder<EmployeeImportRecord>()
+                .delegate(csvReader(Paths.get(uploadDirectory, fileName)))
                 .build();
     }
 
+    /**
+     * Reader over an employee CSV file, shared by the import step and the passes before and
+     * after it so they all number the rows the same way.
+     */
+    static CsvItemReader<EmployeeImportRecord> csvReader(Path file) {
+        return new CsvItemReader<>(new FileSystemResource(file.toFile()),
+                EmployeeImportRecord.CSV_COLUMN_NAMES.length, EmployeeImportRecord::fromCsv);
+    }
+
     @Bean
     public ItemProcessor<EmployeeImportRecord, Employee> employeeProcessor() {
         return employeeCsvRowProcessor;
@@ -68,10 +85,11 @@ public class EmployeeImportJobConfig {
     public Step employeeImportStep(ItemReader<EmployeeImportRecord> employeeCsvReader,
                                    ItemProcessor<EmployeeImportRecord, Employee> employeeProcessor,
                                    JpaItemWriter<Employee> employeeWriter,
+                                   ThreadPoolTaskExecutor importTaskExecutor,
                                    JobRepository jobRepository,
                                    PlatformTransactionManager transactionManager) {
         return new StepBuilder("importEmployeesStep", jobRepository)
-                .<EmployeeImportRecord, Employee>chunk(10, transactionManager)
+                .<EmployeeImportRecord, Employee>chunk(chunkSize, transactionManager)
                 .reader(employeeCsvReader)
                 .processor(employeeProcessor)
                 .writer(employeeWriter)
@@ -79,16 +97,38 @@ public class EmployeeImportJobConfig {
                 .skip(DataIntegrityViolationException.class)
                 .skipLimit(100)
                 .listener(skipListener)
+                .listener(jobProgressListener)
+                .taskExecutor(importTaskExecutor)
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    @Bean
+    public Step employeePrescanStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        return new StepBuilder("prescanEmployeesStep", jobRepository)
+                .tasklet(employeeImportPrescanTasklet, transactionManager)
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    @Bean
+    public Step employeeSupervisorLinkStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        return new StepBuilder("linkEmployeeSupervisorsStep", jobRepository)
+                .tasklet(employeeSupervisorLinkTasklet, transactionManager)
                 .allowStartIfComplete(true)
                 .build();
     }
 
     @Bean
-    public Job employeeImportJob(Step employeeImportStep, JobRepository jobRepository) {
+    public Job employeeImportJob(Step employeePrescanStep, Step employeeImportStep, Step employeeSupervisorLinkStep,
+                                 JobRepository jobRepository) {
         return new JobBuilder("importEmployeesJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .listener(jobCompletionListener)
-                .start(employeeImportStep)
+                .listener(jobProgressListener)
+                .start(employeePrescanStep)
+                .next(employeeImportStep)
+                .next(employeeSupervisorLinkStep)
                 .build();
     }
 
@@ -0,0 +1,86 @@
+package com.iodsky.sweldox.batch.employee;
+
+import com.iodsky.sweldox.employee.EmployeeRepository;
+import com.iodsky.sweldox.batch.CsvItemReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * First pass of the employee import. Reads the whole file once, collects the distinct employee ids
+ * used as supervisors and resolves which exist with one {@code IN} query per
+ * {@value #ID_BATCH_SIZE} ids. The existing ids are put in the job execution context for
+ * {@link EmployeeImportProcessor}.
+ */
+@Component
+@StepScope
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeImportPrescanTasklet implements Tasklet {
+
+    public static final String SUPERVISOR_IDS_KEY = "supervisorIds";
+
+    private static final int ID_BATCH_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+
+    @Value("${batch.upload.directory}")
+    private String uploadDirectory;
+
+    @Value("#{jobParameters['fileName']}")
+    private String fileName;
+
+    @Override
+    public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) throws Exception {
+        Set<Long> referencedIds = new HashSet<>();
+        long rows = 0;
+
+        CsvItemReader<EmployeeImportRecord> reader =
+                EmployeeImportJobConfig.csvReader(Paths.get(uploadDirectory, fileName));
+        reader.open(new ExecutionContext());
+        try {
+            EmployeeImportRecord item;
+            while ((item = reader.read()) != null) {
+                rows++;
+                String supervisorId = item.getSupervisorId();
+                if (supervisorId == null || supervisorId.isBlank()) {
+                    continue;
+                }
+                try {
+                    if (item.supervisorRowReference() == null) {
+                        referencedIds.add(Long.parseLong(supervisorId.trim()));
+                    }
+                } catch (NumberFormatException e) {
+                    // Reported per row by the processor, including malformed row references
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        List<Long> ids = new ArrayList<>(referencedIds);
+        HashSet<Long> existingIds = new HashSet<>();
+        for (int i = 0; i < ids.size(); i += ID_BATCH_SIZE) {
+            existingIds.addAll(employeeRepository.findIdsByIdIn(ids.subList(i, Math.min(i + ID_BATCH_SIZE, ids.size()))));
+        }
+
+        ExecutionContext jobContext = contribution.getStepExecution().getJobExecution().getExecutionContext();
+        jobContext.put(SUPERVISOR_IDS_KEY, existingIds);
+
+        log.info("Prescanned {} rows of {}: {} supervisor ids referenced, {} found",
+                rows, fileName, referencedIds.size(), existingIds.size());
+        return RepeatStatus.FINISHED;
+    }
+
+}
@@ -1,51 +1,54 @@
 package com.iodsky.sweldox.batch.employee;
 
+import com.iodsky.sweldox.batch.DateTimeColumnParser;
+import com.iodsky.sweldox.common.ReferenceDataCache;
 import com.iodsky.sweldox.employee.Employee;
 import com.iodsky.sweldox.employee.EmployeeRepository;
-import com.iodsky.sweldox.organization.Department;
-import com.iodsky.sweldox.organization.DepartmentRepository;
 import com.iodsky.sweldox.organization.Position;
-import com.iodsky.sweldox.organization.PositionRepository;
 import com.iodsky.sweldox.payroll.Benefit;
 import com.iodsky.sweldox.payroll.BenefitType;
-import com.iodsky.sweldox.payroll.BenefitTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.*;
 
 /**
  * ItemProcessor for transforming EmployeeImportRecord to Employee entity with validation.
- * Uses in-memory caching to optimize database lookups for reference data.
+ * Reference data comes from the shared {@link ReferenceDataCache}. Supervisor ids were resolved in
+ * bulk by {@link EmployeeImportPrescanTasklet}, so existing supervisors are set as references
+ * without a query; supervisors listed in the same file are linked by
+ * {@link EmployeeSupervisorLinkTasklet} after the import. Holds no mutable state, so the import
+ * step may call it from several chunk threads at once.
  */
 @Component
+@StepScope
 @RequiredArgsConstructor
 @Slf4j
 public class EmployeeImportProcessor implements ItemProcessor<EmployeeImportRecord, Employee> {
 
-    private final PositionRepository positionRepository;
-    private final DepartmentRepository departmentRepository;
-    private final BenefitTypeRepository benefitTypeRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final EmployeeRepository employeeRepository;
 
-    // Cache for reference data to avoid repeated database queries
-    private Map<String, Position> positionCache;
-    private Map<String, Department> departmentCache;
-    private Map<String, BenefitType> benefitTypeCache;
-    private Map<Long, Employee> supervisorCache;
+    @Value("#{jobExecutionContext['" + EmployeeImportPrescanTasklet.SUPERVISOR_IDS_KEY + "']}")
+    private Set<Long> supervisorIds;
+
+    // One instance per step execution, so the date and time formats are detected once per file
+    private final DateTimeColumnParser<LocalDate> dates = DateTimeColumnParser.dates();
+    private final DateTimeColumnParser<LocalTime> times = DateTimeColumnParser.times();
 
     @Override
     public Employee process(EmployeeImportRecord item) {
         log.debug("Processing employee: {} {}", item.getFirstName(), item.getLastName());
 
-        // Initialize caches on first run (lazy loading)
-        initializeCaches();
-
         // Convert CSV record to Employee entity
-        Employee employee = EmployeeImportRecord.toEntity(item);
+        Employee employee = EmployeeImportRecord.toEntity(item, dates, times);
 
         // Validate and set Position
         validateEmployeePosition(item, employee);
@@ -62,7 +65,7 @@ public class EmployeeImportProcessor implements ItemProcessor<EmployeeImportReco
 
     private void validateEmployeePosition(EmployeeImportRecord item, Employee entity) {
         if (item.getPosition() != null && !item.getPosition().isEmpty()) {
-            Position position = positionCache.get(item.getPosition().toUpperCase());
+            Position position = referenceDataCache.findPositionByTitle(item.getPosition()).orElse(null);
             if (position == null) {
                 log.warn("Position '{}' not found for employee {} {}. Setting position and department to null.",
                         item.getPosition(), item.getFirstName(), item.getLastName());
@@ -81,19 +84,18 @@ public class EmployeeImportProcessor implements ItemProcessor<EmployeeImportReco
     private void validateEmployeeSupervisor(EmployeeImportRecord item, Employee entity) {
         if (item.getSupervisorId() != null && !item.getSupervisorId().isEmpty()) {
             try {
-                Long supervisorId = Long.parseLong(item.getSupervisorId());
-                Employee supervisor = supervisorCache.get(supervisorId);
-
-                if (supervisor == null) {
-                    supervisor = employeeRepository.findById(supervisorId).orElse(null);
-                    if (supervisor != null) {
-                        supervisorCache.put(supervisorId, supervisor);
-                    } else {
-                        log.warn("Supervisor with ID '{}' not found for employee {} {}. Setting supervisor to null.",
-                                supervisorId, item.getFirstName(), item.getLastName());
-                    }
+                if (item.supervisorRowReference() != null) {
+                    // Linked once the supervisor row has been imported too
+                    return;
+                }
+
+                Long supervisorId = Long.parseLong(item.getSupervisorId().trim());
+                if (supervisorIds != null && supervisorIds.contains(supervisorId)) {
+                    entity.setSupervisor(employeeRepository.getReferenceById(supervisorId));
+                } else {
+                    log.warn("Supervisor with ID '{}' not found for employee {} {}. Setting supervisor to null.",
+                            supervisorId, item.getFirstName(), item.getLastName());
                 }
-                entity.setSupervisor(supervisor);
             } catch (NumberFormatException e) {
                 log.warn("Invalid supervisor ID '{}' for employee {} {}.",
                         item.getSupervisorId(), item.getFirstName(), item.getLastName());
@@ -120,52 +122,13 @@ public class EmployeeImportProcessor implements ItemProcessor<EmployeeImportReco
         entity.setBenefits(benefits);
     }
 
-    /**
-     * Initialize caches with reference data from database.
-     * This is called once before processing the first item.
-     */
-    private void initializeCaches() {
-        if (positionCache == null) {
-            log.info("Initializing reference data caches...");
-
-            // Load all positions into cache
-            positionCache = new HashMap<>();
-            List<Position> positions = positionRepository.findAll();
-            for (Position position : positions) {
-                positionCache.put(position.getTitle().toUpperCase(), position);
-            }
-            log.info("Loaded {} positions into cache", positions.size());
-
-            // Load all departments into cache
-            departmentCache = new HashMap<>();
-            List<Department> departments = departmentRepository.findAll();
-            for (Department department : departments) {
-                departmentCache.put(department.getTitle().toUpperCase(), department);
-            }
-            log.info("Loaded {} departments into cache", departments.size());
-
-            // Load all benefit types into cache
-            benefitTypeCache = new HashMap<>();
-            List<BenefitType> benefitTypes = benefitTypeRepository.findAll();
-            for (BenefitType benefitType : benefitTypes) {
-                benefitTypeCache.put(benefitType.getId().toUpperCase(), benefitType);
-            }
-            log.info("Loaded {} benefit types into cache", benefitTypes.size());
-
-            // Initialize supervisor cache (will be populated on-demand)
-            supervisorCache = new HashMap<>();
-
-            log.info("Reference data caches initialized successfully");
-        }
-    }
-
     /**
      * Helper method to add a benefit with validation.
      */
     private void addBenefit(List<Benefit> benefits, Employee employee, String benefitTypeId,
                            String amountStr, EmployeeImportRecord csvRow) {
         try {
-            BenefitType benefitType = benefitTypeCache.get(benefitTypeId.toUpperCase());
+            BenefitType benefitType = referenceDataCache.findBenefitType(benefitTypeId.toUpperCase()).orElse(null);
 
             if (benefitType == null) {
                 log.warn("Benefit type '{}' not found for employee {} {}. Skipping this benefit.",
@@ -188,19 +151,4 @@ public class EmployeeImportProcessor implements ItemProcessor<EmployeeImportReco
         }
     }
 
-
-    public void clearCaches() {
-        if (positionCache != null) positionCache.clear();
-        if (departmentCache != null) departmentCache.clear();
-        if (benefitTypeCache != null) benefitTypeCache.clear();
-        if (supervisorCache != null) supervisorCache.clear();
-
-        positionCache = null;
-        departmentCache = null;
-        benefitTypeCache = null;
-        supervisorCache = null;
-
-        log.info("Caches cleared");
-    }
-
 }
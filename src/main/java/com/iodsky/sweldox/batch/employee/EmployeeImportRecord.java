@@ -1,7 +1,7 @@
 package com.iodsky.sweldox.batch.employee;
 
 
-import com.iodsky.sweldox.batch.DateTimeUtil;
+import com.iodsky.sweldox.batch.DateTimeColumnParser;
 import com.iodsky.sweldox.employee.Employee;
 import com.iodsky.sweldox.employee.GovernmentId;
 import com.iodsky.sweldox.employee.Status;
@@ -9,6 +9,8 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Getter
 @Setter
@@ -57,7 +59,55 @@ public class EmployeeImportRecord {
     private String phoneAllowance;
     private String clothingAllowance;
 
-    public static Employee toEntity(EmployeeImportRecord record) {
+    /**
+     * Binds the fields of a CSV row, in {@link #CSV_COLUMN_NAMES} order.
+     */
+    public static EmployeeImportRecord fromCsv(String[] fields) {
+        return EmployeeImportRecord.builder()
+                .lastName(fields[0])
+                .firstName(fields[1])
+                .birthday(fields[2])
+                .address(fields[3])
+                .phoneNumber(fields[4])
+                .sssNumber(fields[5])
+                .philhealthNumber(fields[6])
+                .tinNumber(fields[7])
+                .pagIbigNumber(fields[8])
+                .status(fields[9])
+                .position(fields[10])
+                .supervisorId(fields[11])
+                .startShift(fields[12])
+                .endShift(fields[13])
+                .basicSalary(fields[14])
+                .mealAllowance(fields[15])
+                .phoneAllowance(fields[16])
+                .clothingAllowance(fields[17])
+                .build();
+    }
+
+    /**
+     * Prefix of a supervisorId that refers to another row of the same file by its 1-based data
+     * row number (header excluded), e.g. {@code #3}, instead of an existing employee id.
+     */
+    public static final String ROW_REFERENCE_PREFIX = "#";
+
+    /**
+     * Returns the data row number of the supervisor when it is listed in the same file, or
+     * {@code null} when the supervisorId is empty or an employee id.
+     */
+    public Integer supervisorRowReference() {
+        if (supervisorId == null || !supervisorId.trim().startsWith(ROW_REFERENCE_PREFIX)) {
+            return null;
+        }
+        return Integer.parseInt(supervisorId.trim().substring(ROW_REFERENCE_PREFIX.length()));
+    }
+
+    /**
+     * Converts the record to an employee. Dates and shift times are parsed with the given
+     * parsers, which keep the format detected for the file.
+     */
+    public static Employee toEntity(EmployeeImportRecord record, DateTimeColumnParser<LocalDate> dates,
+                                    DateTimeColumnParser<LocalTime> times) {
 
         GovernmentId governmentId = GovernmentId.builder()
                 .sssNumber(record.getSssNumber())
@@ -73,13 +123,13 @@ public class EmployeeImportRecord {
         Employee employee = Employee.builder()
                 .lastName(record.getLastName())
                 .firstName(record.getFirstName())
-                .birthday(DateTimeUtil.parseDate(record.getBirthday()))
+                .birthday(dates.parse(record.getBirthday()))
                 .address(record.getAddress())
                 .phoneNumber(record.getPhoneNumber())
                 .governmentId(governmentId)
                 .status(Status.valueOf(record.getStatus().toUpperCase()))
-                .startShift(DateTimeUtil.parseTime(record.getStartShift()))
-                .endShift(DateTimeUtil.parseTime(record.getEndShift()))
+                .startShift(times.parse(record.getStartShift()))
+                .endShift(times.parse(record.getEndShift()))
                 .basicSalary(basicSalary)
                 .semiMonthlyRate(semiMonthlyRate)
                 .hourlyRate(hourlyRate)
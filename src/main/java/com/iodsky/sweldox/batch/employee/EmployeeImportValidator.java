@@ -0,0 +1,225 @@
+package com.iodsky.sweldox.batch.employee;
+
+import com.iodsky.sweldox.batch.DateTimeColumnParser;
+import com.iodsky.sweldox.batch.ImportValidationReport;
+import com.iodsky.sweldox.batch.ImportValidationReport.Finding;
+import com.iodsky.sweldox.batch.ImportValidationReport.Level;
+import com.iodsky.sweldox.batch.CsvItemReader;
+import com.iodsky.sweldox.common.ReferenceDataCache;
+import com.iodsky.sweldox.employee.EmployeeRepository;
+import com.iodsky.sweldox.employee.Status;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Checks an employee import file the way the import would process it, without writing
+ * anything. Rows are checked in parallel; supervisors and the unique columns are then checked
+ * against the file and the database with one query per column.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeImportValidator {
+
+    private static final int ID_BATCH_SIZE = 1000;
+
+    private static final List<UniqueColumn> UNIQUE_COLUMNS = List.of(
+            new UniqueColumn("sssNumber", "SSS number", "government_id", "sss_no", EmployeeImportRecord::getSssNumber),
+            new UniqueColumn("tinNumber", "TIN", "government_id", "tin_no", EmployeeImportRecord::getTinNumber),
+            new UniqueColumn("philhealthNumber", "PhilHealth number", "government_id", "philhealth_no", EmployeeImportRecord::getPhilhealthNumber),
+            new UniqueColumn("pagIbigNumber", "Pag-IBIG number", "government_id", "pagibig_no", EmployeeImportRecord::getPagIbigNumber),
+            new UniqueColumn("phoneNumber", "phone number", "employee", "phone_number", EmployeeImportRecord::getPhoneNumber),
+            new UniqueColumn("address", "address", "employee", "address", EmployeeImportRecord::getAddress)
+    );
+
+    private final ReferenceDataCache referenceDataCache;
+    private final EmployeeRepository employeeRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImportValidationReport validate(Resource file) throws Exception {
+        List<Finding> findings = new ArrayList<>();
+        List<EmployeeImportRecord> records = ImportValidationReport.readRows(
+                new CsvItemReader<>(file, EmployeeImportRecord.CSV_COLUMN_NAMES.length, EmployeeImportRecord::fromCsv),
+                findings);
+
+        DateTimeColumnParser<LocalDate> dates = DateTimeColumnParser.dates();
+        DateTimeColumnParser<LocalTime> times = DateTimeColumnParser.times();
+        findings.addAll(IntStream.range(0, records.size())
+                .parallel()
+                .filter(i -> records.get(i) != null)
+                .mapToObj(i -> checkRow(i + 1, records.get(i), records.size(), dates, times))
+                .flatMap(List::stream)
+                .toList());
+
+        checkSupervisors(records, findings);
+        for (UniqueColumn column : UNIQUE_COLUMNS) {
+            checkUnique(records, column, findings);
+        }
+
+        ImportValidationReport report = new ImportValidationReport(records.size(), findings);
+        log.info("Validated employee import of {} rows: {} invalid rows, {} warnings",
+                report.getRows(), report.getInvalidRows(), report.getWarnings());
+        return report;
+    }
+
+    private List<Finding> checkRow(int row, EmployeeImportRecord item, int rows,
+                                   DateTimeColumnParser<LocalDate> dates, DateTimeColumnParser<LocalTime> times) {
+        List<Finding> findings = new ArrayList<>();
+
+        parse(row, "birthday", item.getBirthday(), dates::parse, findings);
+        parse(row, "startShift", item.getStartShift(), times::parse, findings);
+        parse(row, "endShift", item.getEndShift(), times::parse, findings);
+
+        if (isBlank(item.getStatus())) {
+            findings.add(new Finding(row, Level.ERROR, "status", item.getStatus(), "Status is required"));
+        } else if (Arrays.stream(Status.values()).noneMatch(status -> status.name().equalsIgnoreCase(item.getStatus()))) {
+            findings.add(new Finding(row, Level.ERROR, "status", item.getStatus(), "Unknown status"));
+        }
+
+        if (isBlank(item.getBasicSalary())) {
+            findings.add(new Finding(row, Level.ERROR, "basicSalary", item.getBasicSalary(), "Basic salary is required"));
+        } else if (!isDecimal(item.getBasicSalary())) {
+            findings.add(new Finding(row, Level.ERROR, "basicSalary", item.getBasicSalary(), "Invalid amount"));
+        }
+
+        if (!isBlank(item.getPosition()) && referenceDataCache.findPositionByTitle(item.getPosition()).isEmpty()) {
+            findings.add(new Finding(row, Level.WARNING, "position", item.getPosition(),
+                    "Unknown position; imported without position and department"));
+        }
+
+        checkAllowance(row, "mealAllowance", item.getMealAllowance(), findings);
+        checkAllowance(row, "phoneAllowance", item.getPhoneAllowance(), findings);
+        checkAllowance(row, "clothingAllowance", item.getClothingAllowance(), findings);
+
+        if (!isBlank(item.getSupervisorId())) {
+            try {
+                Integer supervisorRow = item.supervisorRowReference();
+                if (supervisorRow == null) {
+                    Long.parseLong(item.getSupervisorId().trim());
+                } else if (supervisorRow < 1 || supervisorRow > rows || supervisorRow == row) {
+                    findings.add(new Finding(row, Level.WARNING, "supervisorId", item.getSupervisorId(),
+                            "Not another row of this file; imported without supervisor"));
+                }
+            } catch (NumberFormatException e) {
+                findings.add(new Finding(row, Level.WARNING, "supervisorId", item.getSupervisorId(),
+                        "Invalid supervisor ID; imported without supervisor"));
+            }
+        }
+
+        return findings;
+    }
+
+    private void checkSupervisors(List<EmployeeImportRecord> records, List<Finding> findings) {
+        Map<Long, List<Integer>> rowsBySupervisor = new HashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            EmployeeImportRecord item = records.get(i);
+            if (item == null || isBlank(item.getSupervisorId())) {
+                continue;
+            }
+            try {
+                if (item.supervisorRowReference() == null) {
+                    rowsBySupervisor.computeIfAbsent(Long.parseLong(item.getSupervisorId().trim()), id -> new ArrayList<>())
+                            .add(i + 1);
+                }
+            } catch (NumberFormatException e) {
+                // Reported by checkRow
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(rowsBySupervisor.keySet());
+        Set<Long> existing = new HashSet<>();
+        for (int i = 0; i < ids.size(); i += ID_BATCH_SIZE) {
+            existing.addAll(employeeRepository.findIdsByIdIn(ids.subList(i, Math.min(i + ID_BATCH_SIZE, ids.size()))));
+        }
+
+        rowsBySupervisor.forEach((id, rows) -> {
+            if (!existing.contains(id)) {
+                for (Integer row : rows) {
+                    findings.add(new Finding(row, Level.WARNING, "supervisorId", id.toString(),
+                            "Supervisor not found; imported without supervisor"));
+                }
+            }
+        });
+    }
+
+    /**
+     * Reports values of a unique column repeated within the file and values already used by an
+     * existing employee. Either makes the import skip the row.
+     */
+    private void checkUnique(List<EmployeeImportRecord> records, UniqueColumn column, List<Finding> findings) {
+        Map<String, Integer> firstRows = new HashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            EmployeeImportRecord item = records.get(i);
+            String value = item == null ? null : column.value().apply(item);
+            if (isBlank(value)) {
+                continue;
+            }
+            Integer firstRow = firstRows.putIfAbsent(value, i + 1);
+            if (firstRow != null) {
+                findings.add(new Finding(i + 1, Level.ERROR, column.field(), value,
+                        "Duplicate " + column.label() + ", also on row " + firstRow));
+            }
+        }
+
+        if (firstRows.isEmpty()) {
+            return;
+        }
+
+        String sql = "SELECT " + column.dbColumn() + " FROM " + column.table() + " WHERE " + column.dbColumn() + " = ANY(?)";
+        List<String> taken = jdbcTemplate.queryForList(sql, String.class, (Object) firstRows.keySet().toArray(String[]::new));
+        if (taken.isEmpty()) {
+            return;
+        }
+
+        Set<String> takenValues = new HashSet<>(taken);
+        for (int i = 0; i < records.size(); i++) {
+            EmployeeImportRecord item = records.get(i);
+            String value = item == null ? null : column.value().apply(item);
+            if (value != null && takenValues.contains(value)) {
+                findings.add(new Finding(i + 1, Level.ERROR, column.field(), value,
+                        "An existing employee already has this " + column.label()));
+            }
+        }
+    }
+
+    private static <T> void parse(int row, String field, String value, Function<String, T> parser, List<Finding> findings) {
+        try {
+            parser.apply(value);
+        } catch (IllegalArgumentException e) {
+            findings.add(new Finding(row, Level.ERROR, field, value, "Unsupported date or time format"));
+        }
+    }
+
+    private static void checkAllowance(int row, String field, String value, List<Finding> findings) {
+        if (!isBlank(value) && !isDecimal(value)) {
+            findings.add(new Finding(row, Level.WARNING, field, value, "Invalid amount; imported without this benefit"));
+        }
+    }
+
+    private static boolean isDecimal(String value) {
+        try {
+            new BigDecimal(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record UniqueColumn(String field, String label, String table, String dbColumn,
+                                Function<EmployeeImportRecord, String> value) {}
+
+}
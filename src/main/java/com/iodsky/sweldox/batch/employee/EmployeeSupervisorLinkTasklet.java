@@ -0,0 +1,124 @@
+package com.iodsky.sweldox.batch.employee;
+
+import com.iodsky.sweldox.batch.CsvItemReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Last pass of the employee import. Rows whose supervisorId refers to another row of the same
+ * file ({@code #<row>}) are imported without a supervisor; this reads the file again, pairs each
+ * such row with its supervisor row by SSS number and sets all the links with a single
+ * {@code UPDATE}. Only employees created since the job started are linked, so a row skipped as a
+ * duplicate never changes an existing employee. Creation time is used rather than ids because
+ * pooled ids are not allocated in order across instances.
+ */
+@Component
+@StepScope
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeSupervisorLinkTasklet implements Tasklet {
+
+    private static final String LINK_SUPERVISORS = """
+            UPDATE employee e
+            SET supervisor_id = gs.employee_id
+            FROM unnest(?, ?) AS link(employee_sss_no, supervisor_sss_no)
+            JOIN government_id ge ON ge.sss_no = link.employee_sss_no
+            JOIN government_id gs ON gs.sss_no = link.supervisor_sss_no
+            JOIN employee s ON s.id = gs.employee_id
+            WHERE e.id = ge.employee_id
+              AND e.created_at >= ?
+              AND s.created_at >= ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${batch.upload.directory}")
+    private String uploadDirectory;
+
+    @Value("#{jobParameters['fileName']}")
+    private String fileName;
+
+    @Override
+    public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) throws Exception {
+        List<String> sssNumbers = new ArrayList<>();
+        List<int[]> references = new ArrayList<>();
+
+        CsvItemReader<EmployeeImportRecord> reader =
+                EmployeeImportJobConfig.csvReader(Paths.get(uploadDirectory, fileName));
+        reader.open(new ExecutionContext());
+        try {
+            EmployeeImportRecord item;
+            while ((item = reader.read()) != null) {
+                sssNumbers.add(item.getSssNumber());
+                try {
+                    Integer supervisorRow = item.supervisorRowReference();
+                    if (supervisorRow != null) {
+                        references.add(new int[]{sssNumbers.size(), supervisorRow});
+                    }
+                } catch (NumberFormatException e) {
+                    // Reported per row by the processor
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        List<String> employeeSssNumbers = new ArrayList<>(references.size());
+        List<String> supervisorSssNumbers = new ArrayList<>(references.size());
+        for (int[] reference : references) {
+            int row = reference[0];
+            int supervisorRow = reference[1];
+            if (supervisorRow < 1 || supervisorRow > sssNumbers.size() || supervisorRow == row) {
+                log.warn("Row {} refers to supervisor row {} which is not another row of {}", row, supervisorRow, fileName);
+                continue;
+            }
+            String employeeSss = sssNumbers.get(row - 1);
+            String supervisorSss = sssNumbers.get(supervisorRow - 1);
+            if (employeeSss == null || employeeSss.isBlank() || supervisorSss == null || supervisorSss.isBlank()) {
+                log.warn("Cannot link row {} to supervisor row {} of {} without SSS numbers on both rows",
+                        row, supervisorRow, fileName);
+                continue;
+            }
+            employeeSssNumbers.add(employeeSss);
+            supervisorSssNumbers.add(supervisorSss);
+        }
+
+        if (employeeSssNumbers.isEmpty()) {
+            return RepeatStatus.FINISHED;
+        }
+
+        Timestamp jobStartTime = Timestamp.valueOf(contribution.getStepExecution().getJobExecution().getStartTime());
+
+        int linked = jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LINK_SUPERVISORS);
+            Array employees = connection.createArrayOf("varchar", employeeSssNumbers.toArray());
+            Array supervisors = connection.createArrayOf("varchar", supervisorSssNumbers.toArray());
+            statement.setArray(1, employees);
+            statement.setArray(2, supervisors);
+            statement.setTimestamp(3, jobStartTime);
+            statement.setTimestamp(4, jobStartTime);
+            return statement;
+        });
+
+        log.info("Linked {} of {} in-file supervisor references of {}", linked, employeeSssNumbers.size(), fileName);
+        return RepeatStatus.FINISHED;
+    }
+
+}
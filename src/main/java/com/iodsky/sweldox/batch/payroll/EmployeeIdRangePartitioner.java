@@ -0,0 +1,52 @@
+package com.iodsky.sweldox.batch.payroll;
+
+import com.iodsky.sweldox.employee.EmployeeIdRange;
+import com.iodsky.sweldox.employee.EmployeeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partitioner that splits the active employees into contiguous id ranges of roughly
+ * equal size. Each partition receives its bounds as {@code minId} and {@code maxId}
+ * in the step execution context.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeIdRangePartitioner implements Partitioner {
+
+    public static final String MIN_ID_KEY = "minId";
+    public static final String MAX_ID_KEY = "maxId";
+
+    private final EmployeeService employeeService;
+
+    @Override
+    @NonNull
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        List<EmployeeIdRange> ranges = employeeService.getActiveEmployeeIdRanges(gridSize);
+
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        for (int i = 0; i < ranges.size(); i++) {
+            EmployeeIdRange range = ranges.get(i);
+
+            ExecutionContext context = new ExecutionContext();
+            context.putLong(MIN_ID_KEY, range.getMinId());
+            context.putLong(MAX_ID_KEY, range.getMaxId());
+            partitions.put("partition" + i, context);
+
+            log.debug("Partition {} covers employees {} to {}", i, range.getMinId(), range.getMaxId());
+        }
+
+        log.info("Split active employees into {} partitions", partitions.size());
+        return partitions;
+    }
+
+}
@@ -1,65 +1,126 @@
 package com.iodsky.sweldox.batch.payroll;
 
-import com.iodsky.sweldox.employee.EmployeeService;
-import com.iodsky.sweldox.payroll.Payroll;
-import jakarta.persistence.EntityManagerFactory;
-import lombok.RequiredArgsConstructor;
+import com.iodsky.sweldox.batch.JobProgressListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.ItemReader;
-import org.springframework.batch.item.database.JpaItemWriter;
-import org.springframework.batch.item.database.builder.JpaItemWriterBuilder;
-import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
-@RequiredArgsConstructor
 public class GeneratePayrollJobConfig {
 
-    private final EmployeeService employeeService;
+    @Value("${batch.payroll.chunk-size}")
+    private int chunkSize;
 
-    @Bean
-    public ItemReader<Long> employeeIdReader() {
-        return new ListItemReader<>(employeeService.getAllActiveEmployeeIds());
-    }
+    @Value("${batch.payroll.partitioned}")
+    private boolean partitioned;
+
+    @Value("${batch.payroll.partitions}")
+    private int partitions;
 
+    @Value("${batch.payroll.threads}")
+    private int threads;
 
+    /**
+     * Pages through the active employee ids in key order, restricted to the current
+     * partition's id range when the step runs partitioned. The last read position is
+     * saved in the step execution context so a restarted run resumes after it.
+     */
     @Bean
-    public JpaItemWriter<Payroll> payrollWriter(EntityManagerFactory entityManagerFactory) {
-        return new JpaItemWriterBuilder<Payroll>()
-                .entityManagerFactory(entityManagerFactory)
+    @StepScope
+    public JdbcPagingItemReader<Long> employeeIdReader(
+            DataSource dataSource,
+            @Value("#{stepExecutionContext['minId']}") Long minId,
+            @Value("#{stepExecutionContext['maxId']}") Long maxId) {
+        String whereClause = "status NOT IN ('RESIGNED', 'TERMINATED')";
+        Map<String, Object> parameterValues = new HashMap<>();
+
+        if (minId != null && maxId != null) {
+            whereClause += " AND id BETWEEN :minId AND :maxId";
+            parameterValues.put("minId", minId);
+            parameterValues.put("maxId", maxId);
+        }
+
+        return new JdbcPagingItemReaderBuilder<Long>()
+                .name("employeeIdReader")
+                .dataSource(dataSource)
+                .selectClause("id")
+                .fromClause("employee")
+                .whereClause(whereClause)
+                .sortKeys(Map.of("id", Order.ASCENDING))
+                .parameterValues(parameterValues)
+                .pageSize(chunkSize)
+                .rowMapper((rs, rowNum) -> rs.getLong("id"))
                 .build();
     }
 
+    /**
+     * Bounded executor for the partition workers. Every partition gets a queue slot so the
+     * whole grid can be submitted at once while at most {@code batch.payroll.threads}
+     * partitions (and database connections) are busy at a time.
+     */
     @Bean
-    public Step generatePayrollStep(ItemReader<Long> employeeIdReader,
-                                    PayrollitemProcessor payrollItemProcessor,
-                                    JpaItemWriter<Payroll> payrollWriter,
+    public ThreadPoolTaskExecutor payrollTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(partitions);
+        executor.setThreadNamePrefix("payroll-");
+        return executor;
+    }
+
+    @Bean
+    public Step generatePayrollStep(JdbcPagingItemReader<Long> employeeIdReader,
+                                    PayrollGenerationWriter payrollGenerationWriter,
+                                    JobProgressListener jobProgressListener,
                                     JobRepository jobRepository,
                                     PlatformTransactionManager transactionManager) {
         return new StepBuilder("generatePayrollStep", jobRepository)
-                .<Long, Payroll>chunk(10, transactionManager)
+                .<Long, Long>chunk(chunkSize, transactionManager)
                 .reader(employeeIdReader)
-                .processor(payrollItemProcessor)
-                .writer(payrollWriter)
+                .writer(payrollGenerationWriter)
                 .faultTolerant()
                 .skip(RuntimeException.class)
                 .skipLimit(100)
-                .allowStartIfComplete(true)
+                .listener(jobProgressListener)
+                .build();
+    }
+
+    @Bean
+    public Step generatePayrollManagerStep(Step generatePayrollStep,
+                                           EmployeeIdRangePartitioner employeeIdRangePartitioner,
+                                           ThreadPoolTaskExecutor payrollTaskExecutor,
+                                           JobRepository jobRepository) {
+        return new StepBuilder("generatePayrollManagerStep", jobRepository)
+                .partitioner(generatePayrollStep.getName(), employeeIdRangePartitioner)
+                .step(generatePayrollStep)
+                .gridSize(partitions)
+                .taskExecutor(payrollTaskExecutor)
                 .build();
     }
 
     @Bean
-    public Job generatePayrollJob(Step generatePayrollStep, JobRepository jobRepository) {
+    public Job generatePayrollJob(Step generatePayrollStep, Step generatePayrollManagerStep,
+                                  JobProgressListener jobProgressListener, JobRepository jobRepository) {
         return new JobBuilder("generatePayrollJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
-                .start(generatePayrollStep)
+                .listener(jobProgressListener)
+                .start(partitioned ? generatePayrollManagerStep : generatePayrollStep)
                 .build();
     }
 
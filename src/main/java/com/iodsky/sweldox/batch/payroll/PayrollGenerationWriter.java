@@ -0,0 +1,84 @@
+package com.iodsky.sweldox.batch.payroll;
+
+import com.iodsky.sweldox.payroll.Payroll;
+import com.iodsky.sweldox.payroll.PayrollBuilder;
+import com.iodsky.sweldox.payroll.PayrollRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates and persists the payrolls of a whole chunk of employee ids at once.
+ * Existing payrolls are filtered out and every input of the remaining employees is
+ * preloaded by {@link PayrollBuilder#buildPayrolls} so a chunk costs a handful of
+ * queries instead of several per employee.
+ */
+@Component
+@StepScope
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollGenerationWriter implements ItemWriter<Long> {
+
+    private final PayrollBuilder payrollBuilder;
+    private final PayrollRepository payrollRepository;
+    private final PayrollJdbcItemWriter payrollJdbcItemWriter;
+
+    @Value("#{jobParameters['periodStartDate']}")
+    private String periodStartDateStr;
+
+    @Value("#{jobParameters['periodEndDate']}")
+    private String periodEndDateStr;
+
+    @Value("#{jobParameters['payDate']}")
+    private String payDateStr;
+
+    @Override
+    public void write(@NonNull Chunk<? extends Long> chunk) throws Exception {
+        LocalDate periodStartDate = LocalDate.parse(periodStartDateStr);
+        LocalDate periodEndDate = LocalDate.parse(periodEndDateStr);
+        LocalDate payDate = LocalDate.parse(payDateStr);
+
+        List<Long> employeeIds = new ArrayList<>(chunk.getItems());
+
+        // Skip employees that already have a payroll for this period
+        Set<Long> existing = new HashSet<>(payrollRepository.findEmployeeIdsWithPayrollForPeriod(
+                employeeIds, periodStartDate, periodEndDate));
+        existing.forEach(employeeId -> log.warn(
+                "Payroll already exists for employee {} for period {} to {}. Skipping...",
+                employeeId, periodStartDate, periodEndDate));
+
+        List<Long> pending = new ArrayList<>(employeeIds.size());
+        for (Long employeeId : employeeIds) {
+            if (!existing.contains(employeeId)) {
+                pending.add(employeeId);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Payroll> payrolls;
+        try {
+            payrolls = payrollBuilder.buildPayrolls(pending, periodStartDate, periodEndDate, payDate);
+            log.debug("Successfully built payroll for employees {}", pending);
+        } catch (Exception ex) {
+            log.error("Failed to process payroll for employees {}. Reason: {}", pending, ex.getMessage());
+            throw new RuntimeException("Failed to process payroll for employees " + pending, ex);
+        }
+
+        payrollJdbcItemWriter.write(new Chunk<>(payrolls));
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.iodsky.sweldox.batch.payroll;
+
+import com.iodsky.sweldox.payroll.Deduction;
+import com.iodsky.sweldox.payroll.Payroll;
+import com.iodsky.sweldox.payroll.PayrollBenefit;
+import com.iodsky.sweldox.security.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes payrolls together with their deductions and benefits as three JDBC batch
+ * inserts per chunk instead of persisting and cascading every row through JPA.
+ * Ids, audit columns and versions are filled in the same way Hibernate would, so
+ * the rows are indistinguishable from ones saved through the entities.
+ * {@link #replace} rewrites already stored payrolls the same way.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollJdbcItemWriter implements ItemWriter<Payroll> {
+
+    private static final String INSERT_PAYROLL = """
+            INSERT INTO payroll (id, employee_id, period_start_date, period_end_date, pay_date,
+                                 days_worked, overtime, monthly_rate, daily_rate, gross_pay,
+                                 total_benefits, total_deductions, net_pay,
+                                 created_at, updated_at, created_by, last_modified_by, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private static final String INSERT_DEDUCTION = """
+            INSERT INTO deduction (id, payroll_id, deduction_code, amount,
+                                   created_at, updated_at, created_by, last_modified_by, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private static final String INSERT_PAYROLL_BENEFIT = """
+            INSERT INTO payroll_benefits (id, payroll_id, benefit_type_id, amount,
+                                          created_at, updated_at, created_by, last_modified_by, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private static final String UPDATE_PAYROLL = """
+            UPDATE payroll
+            SET period_start_date = ?, period_end_date = ?,
+                days_worked = ?, overtime = ?, monthly_rate = ?, daily_rate = ?, gross_pay = ?,
+                total_benefits = ?, total_deductions = ?, net_pay = ?,
+                updated_at = ?, last_modified_by = ?, version = version + 1
+            WHERE id = ?
+            """;
+
+    private static final String DELETE_DEDUCTIONS = "DELETE FROM deduction WHERE payroll_id = ?";
+
+    private static final String DELETE_PAYROLL_BENEFITS = "DELETE FROM payroll_benefits WHERE payroll_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<User> auditorProvider;
+
+    @Override
+    public void write(@NonNull Chunk<? extends Payroll> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        UUID auditor = auditorProvider.getCurrentAuditor().map(User::getId).orElse(null);
+
+        List<Object[]> payrollRows = new ArrayList<>(chunk.size());
+
+        for (Payroll payroll : chunk) {
+            if (payroll.getId() == null) {
+                payroll.setId(UUID.randomUUID());
+            }
+
+            payrollRows.add(new Object[]{
+                    payroll.getId(), payroll.getEmployee().getId(),
+                    payroll.getPeriodStartDate(), payroll.getPeriodEndDate(), payroll.getPayDate(),
+                    payroll.getDaysWorked(), payroll.getOvertime(), payroll.getMonthlyRate(),
+                    payroll.getDailyRate(), payroll.getGrossPay(), payroll.getTotalBenefits(),
+                    payroll.getTotalDeductions(), payroll.getNetPay(),
+                    now, now, auditor, auditor
+            });
+        }
+
+        // Parents first so the foreign keys of the child rows resolve
+        jdbcTemplate.batchUpdate(INSERT_PAYROLL, payrollRows);
+        insertChildren(chunk.getItems(), now, auditor);
+
+        log.debug("Inserted {} payrolls", payrollRows.size());
+    }
+
+    /**
+     * Overwrites the period and amounts of payrolls that are already stored, matched by id, and
+     * replaces their deductions and benefits.
+     */
+    public void replace(List<? extends Payroll> payrolls) {
+        if (payrolls.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        UUID auditor = auditorProvider.getCurrentAuditor().map(User::getId).orElse(null);
+
+        List<Object[]> payrollRows = new ArrayList<>(payrolls.size());
+        List<Object[]> payrollIds = new ArrayList<>(payrolls.size());
+
+        for (Payroll payroll : payrolls) {
+            payrollRows.add(new Object[]{
+                    payroll.getPeriodStartDate(), payroll.getPeriodEndDate(),
+                    payroll.getDaysWorked(), payroll.getOvertime(), payroll.getMonthlyRate(),
+                    payroll.getDailyRate(), payroll.getGrossPay(), payroll.getTotalBenefits(),
+                    payroll.getTotalDeductions(), payroll.getNetPay(),
+                    now, auditor, payroll.getId()
+            });
+            payrollIds.add(new Object[]{payroll.getId()});
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_PAYROLL, payrollRows);
+        jdbcTemplate.batchUpdate(DELETE_DEDUCTIONS, payrollIds);
+        jdbcTemplate.batchUpdate(DELETE_PAYROLL_BENEFITS, payrollIds);
+        insertChildren(payrolls, now, auditor);
+
+        log.debug("Replaced {} payrolls", payrollRows.size());
+    }
+
+    private void insertChildren(List<? extends Payroll> payrolls, Timestamp now, UUID auditor) {
+        List<Object[]> deductionRows = new ArrayList<>(payrolls.size() * 4);
+        List<Object[]> benefitRows = new ArrayList<>();
+
+        for (Payroll payroll : payrolls) {
+            if (payroll.getDeductions() != null) {
+                for (Deduction deduction : payroll.getDeductions()) {
+                    deductionRows.add(new Object[]{
+                            UUID.randomUUID(), payroll.getId(), deduction.getDeductionType().getCode(),
+                            deduction.getAmount(), now, now, auditor, auditor
+                    });
+                }
+            }
+
+            if (payroll.getBenefits() != null) {
+                for (PayrollBenefit benefit : payroll.getBenefits()) {
+                    benefitRows.add(new Object[]{
+                            UUID.randomUUID(), payroll.getId(), benefit.getBenefitType().getId(),
+                            benefit.getAmount(), now, now, auditor, auditor
+                    });
+                }
+            }
+        }
+
+        if (!deductionRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DEDUCTION, deductionRows);
+        }
+        if (!benefitRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PAYROLL_BENEFIT, benefitRows);
+        }
+
+        log.debug("Inserted {} deductions and {} benefits", deductionRows.size(), benefitRows.size());
+    }
+
+}
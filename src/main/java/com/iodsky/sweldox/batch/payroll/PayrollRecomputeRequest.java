@@ -0,0 +1,17 @@
+package com.iodsky.sweldox.batch.payroll;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A queued stale payroll together with the inputs needed to rebuild it.
+ */
+public record PayrollRecomputeRequest(
+        UUID payrollId,
+        Long employeeId,
+        LocalDate periodStartDate,
+        LocalDate periodEndDate,
+        LocalDate payDate,
+        Timestamp requestedAt
+) {}
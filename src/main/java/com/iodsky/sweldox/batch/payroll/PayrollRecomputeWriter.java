@@ -0,0 +1,78 @@
+package com.iodsky.sweldox.batch.payroll;
+
+import com.iodsky.sweldox.payroll.Payroll;
+import com.iodsky.sweldox.payroll.PayrollBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds a chunk of queued payrolls from the current attendance and overwrites the stored
+ * rows in place, then clears their queue entries. Requests are grouped by pay period so each
+ * period costs a single {@link PayrollBuilder#buildPayrolls} call.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollRecomputeWriter implements ItemWriter<PayrollRecomputeRequest> {
+
+    // Only clears the request that was read; a newer one queued meanwhile stays for the next run
+    private static final String DELETE_REQUEST =
+            "DELETE FROM payroll_recompute_request WHERE payroll_id = ? AND requested_at = ?";
+
+    private final PayrollBuilder payrollBuilder;
+    private final PayrollJdbcItemWriter payrollJdbcItemWriter;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void write(@NonNull Chunk<? extends PayrollRecomputeRequest> chunk) {
+        Map<Period, List<PayrollRecomputeRequest>> byPeriod = new LinkedHashMap<>();
+        for (PayrollRecomputeRequest request : chunk) {
+            Period period = new Period(request.periodStartDate(), request.periodEndDate(), request.payDate());
+            byPeriod.computeIfAbsent(period, p -> new ArrayList<>()).add(request);
+        }
+
+        List<Payroll> payrolls = new ArrayList<>(chunk.size());
+        for (Map.Entry<Period, List<PayrollRecomputeRequest>> entry : byPeriod.entrySet()) {
+            Period period = entry.getKey();
+            List<PayrollRecomputeRequest> requests = entry.getValue();
+            List<Long> employeeIds = requests.stream().map(PayrollRecomputeRequest::employeeId).toList();
+
+            List<Payroll> rebuilt;
+            try {
+                rebuilt = payrollBuilder.buildPayrolls(employeeIds, period.startDate(), period.endDate(), period.payDate());
+            } catch (Exception ex) {
+                log.error("Failed to recompute payroll for employees {}. Reason: {}", employeeIds, ex.getMessage());
+                throw new RuntimeException("Failed to recompute payroll for employees " + employeeIds, ex);
+            }
+
+            // buildPayrolls keeps the order of the ids, so the stored payroll ids line up
+            for (int i = 0; i < rebuilt.size(); i++) {
+                Payroll payroll = rebuilt.get(i);
+                payroll.setId(requests.get(i).payrollId());
+                payrolls.add(payroll);
+            }
+        }
+
+        payrollJdbcItemWriter.replace(payrolls);
+
+        jdbcTemplate.batchUpdate(DELETE_REQUEST, chunk.getItems().stream()
+                .map(request -> new Object[]{request.payrollId(), request.requestedAt()})
+                .toList());
+
+        log.debug("Recomputed {} payrolls", payrolls.size());
+    }
+
+    private record Period(LocalDate startDate, LocalDate endDate, LocalDate payDate) {}
+
+}
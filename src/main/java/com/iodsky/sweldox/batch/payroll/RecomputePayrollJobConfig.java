@@ -0,0 +1,80 @@
+package com.iodsky.sweldox.batch.payroll;
+
+import com.iodsky.sweldox.batch.JobProgressListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+
+@Configuration
+public class RecomputePayrollJobConfig {
+
+    @Value("${batch.payroll.chunk-size}")
+    private int chunkSize;
+
+    /**
+     * Pages through the queued payrolls in payroll id order. Processed requests are deleted
+     * by the writer, which does not disturb keyset paging over the ones still ahead.
+     */
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<PayrollRecomputeRequest> payrollRecomputeRequestReader(DataSource dataSource) {
+        return new JdbcPagingItemReaderBuilder<PayrollRecomputeRequest>()
+                .name("payrollRecomputeRequestReader")
+                .dataSource(dataSource)
+                .selectClause("r.payroll_id, r.requested_at, p.employee_id, p.period_start_date, p.period_end_date, p.pay_date")
+                .fromClause("payroll_recompute_request r JOIN payroll p ON p.id = r.payroll_id")
+                .sortKeys(Map.of("r.payroll_id", Order.ASCENDING))
+                .pageSize(chunkSize)
+                .rowMapper((rs, rowNum) -> new PayrollRecomputeRequest(
+                        rs.getObject("payroll_id", UUID.class),
+                        rs.getLong("employee_id"),
+                        rs.getDate("period_start_date").toLocalDate(),
+                        rs.getDate("period_end_date").toLocalDate(),
+                        rs.getDate("pay_date").toLocalDate(),
+                        rs.getTimestamp("requested_at")))
+                .build();
+    }
+
+    @Bean
+    public Step recomputePayrollStep(JdbcPagingItemReader<PayrollRecomputeRequest> payrollRecomputeRequestReader,
+                                     PayrollRecomputeWriter payrollRecomputeWriter,
+                                     JobProgressListener jobProgressListener,
+                                     JobRepository jobRepository,
+                                     PlatformTransactionManager transactionManager) {
+        return new StepBuilder("recomputePayrollStep", jobRepository)
+                .<PayrollRecomputeRequest, PayrollRecomputeRequest>chunk(chunkSize, transactionManager)
+                .reader(payrollRecomputeRequestReader)
+                .writer(payrollRecomputeWriter)
+                .faultTolerant()
+                .skip(RuntimeException.class)
+                .skipLimit(100)
+                .listener(jobProgressListener)
+                .build();
+    }
+
+    @Bean
+    public Job recomputePayrollJob(Step recomputePayrollStep, JobProgressListener jobProgressListener,
+                                   JobRepository jobRepository) {
+        return new JobBuilder("recomputePayrollJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(jobProgressListener)
+                .start(recomputePayrollStep)
+                .build();
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.iodsky.sweldox.batch.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,6 +8,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.batch.core.BatchStatus;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -22,4 +24,6 @@ public class JobDetailsResponse {
     private Long writeCount;
     private Long skipCount;
     private String exitDescription;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<StepDetailsResponse> partitions;
 }
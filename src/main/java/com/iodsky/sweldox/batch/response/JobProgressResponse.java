@@ -0,0 +1,25 @@
+package com.iodsky.sweldox.batch.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.batch.core.BatchStatus;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobProgressResponse {
+    private Long jobExecutionId;
+    private BatchStatus status;
+    private Long processedCount;
+    private Long writeCount;
+    private Long skipCount;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalItems;
+    private Double itemsPerSecond;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long etaSeconds;
+}
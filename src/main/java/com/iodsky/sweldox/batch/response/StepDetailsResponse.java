@@ -0,0 +1,23 @@
+package com.iodsky.sweldox.batch.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.batch.core.BatchStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StepDetailsResponse {
+    private String stepName;
+    private BatchStatus status;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long readCount;
+    private Long writeCount;
+    private Long skipCount;
+}
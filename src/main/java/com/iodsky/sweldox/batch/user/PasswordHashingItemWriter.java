@@ -0,0 +1,50 @@
+package com.iodsky.sweldox.batch.user;
+
+import com.iodsky.sweldox.security.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Hashes the raw passwords of a chunk of imported users in parallel on
+ * {@code passwordHashExecutor}, then hands the chunk to the delegate writer. BCrypt is slow on
+ * purpose, so hashing row by row on the step thread would make the import CPU bound on one core.
+ * <p>
+ * Relies on the step reprocessing items after a rolled back write (the default for a
+ * transactional processor), so every chunk reaching this writer carries raw passwords.
+ */
+@RequiredArgsConstructor
+public class PasswordHashingItemWriter implements ItemWriter<User> {
+
+    private final ItemWriter<User> delegate;
+    private final PasswordEncoder passwordEncoder;
+    private final TaskExecutor passwordHashExecutor;
+
+    @Override
+    public void write(Chunk<? extends User> chunk) throws Exception {
+        List<CompletableFuture<Void>> hashes = new ArrayList<>(chunk.size());
+        for (User user : chunk) {
+            hashes.add(CompletableFuture.runAsync(
+                    () -> user.setPassword(passwordEncoder.encode(user.getPassword())), passwordHashExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(hashes.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+
+        delegate.write(chunk);
+    }
+
+}
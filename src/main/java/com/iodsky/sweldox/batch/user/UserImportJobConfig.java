@@ -1,6 +1,8 @@
 package com.iodsky.sweldox.batch.user;
 
+import com.iodsky.sweldox.batch.CsvItemReader;
 import com.iodsky.sweldox.batch.ImportJobExecutionListener;
+import com.iodsky.sweldox.batch.JobProgressListener;
 import com.iodsky.sweldox.security.user.User;
 import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
@@ -13,15 +15,18 @@ import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.JpaItemWriter;
 import org.springframework.batch.item.database.builder.JpaItemWriterBuilder;
-import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.support.SynchronizedItemStreamReader;
+import org.springframework.batch.item.support.builder.SynchronizedItemStreamReaderBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import java.nio.file.Paths;
@@ -33,22 +38,26 @@ public class UserImportJobConfig {
     private final UserImportProcessor userImportProcessor;
     private final UserImportSkipListener skipListener;
     private final ImportJobExecutionListener jobCompletetionListener;
+    private final JobProgressListener jobProgressListener;
+    private final PasswordEncoder passwordEncoder;
 
     @Value("${batch.upload.directory}")
     private String uploadDirectory;
 
+    @Value("${batch.import.chunk-size}")
+    private int chunkSize;
+
+    /**
+     * Reads the uploaded file for all chunk threads of the step. Reads are serialized, and the
+     * read position is not saved since chunks finish out of order; imports are not restartable.
+     */
     @Bean
     @StepScope
-    public FlatFileItemReader<UserImportRecord> userCsvReader(
+    public SynchronizedItemStreamReader<UserImportRecord> userCsvReader(
             @Value("#{jobParameters['fileName']}") String fileName) {
-        return new FlatFileItemReaderBuilder<UserImportRecord>()
-                .linesToSkip(1)
-                .name("userCsvReader")
-                .resource(new FileSystemResource(Paths.get(uploadDirectory, fileName).toFile()))
-                .delimited()
-                .delimiter(",")
-                .names(UserImportRecord.CSV_COLUMN_NAMES)
-                .targetType(UserImportRecord.class)
+        return new SynchronizedItemStreamReaderBuilder<UserImportRecord>()
+                .delegate(new CsvItemReader<>(new FileSystemResource(Paths.get(uploadDirectory, fileName).toFile()),
+                        UserImportRecord.CSV_COLUMN_NAMES.length, UserImportRecord::fromCsv))
                 .build();
     }
 
@@ -64,21 +73,30 @@ public class UserImportJobConfig {
                 .build();
     }
 
+    @Bean
+    public ItemWriter<User> passwordHashingUserWriter(JpaItemWriter<User> userWritier,
+                                                      ThreadPoolTaskExecutor passwordHashExecutor) {
+        return new PasswordHashingItemWriter(userWritier, passwordEncoder, passwordHashExecutor);
+    }
+
     @Bean
     public Step userImportStep(ItemReader<UserImportRecord> userCsvReader,
                                    ItemProcessor<UserImportRecord, User> userProcessor,
-                                   JpaItemWriter<User> userWriter,
+                                   ItemWriter<User> passwordHashingUserWriter,
+                                   ThreadPoolTaskExecutor importTaskExecutor,
                                    JobRepository jobRepository,
                                    PlatformTransactionManager transactionManager) {
         return new StepBuilder("importUsersStep", jobRepository)
-                .<UserImportRecord, User>chunk(10, transactionManager)
+                .<UserImportRecord, User>chunk(chunkSize, transactionManager)
                 .reader(userCsvReader)
                 .processor(userProcessor)
-                .writer(userWriter)
+                .writer(passwordHashingUserWriter)
                 .faultTolerant()
                 .skip(DataIntegrityViolationException.class)
                 .skipLimit(100)
                 .listener(skipListener)
+                .listener(jobProgressListener)
+                .taskExecutor(importTaskExecutor)
                 .allowStartIfComplete(true)
                 .build();
     }
@@ -89,6 +107,7 @@ public class UserImportJobConfig {
                 .incrementer(new RunIdIncrementer())
                 .start(userImportStep)
                 .listener(jobCompletetionListener)
+                .listener(jobProgressListener)
                 .build();
     }
 
@@ -1,23 +1,20 @@
 package com.iodsky.sweldox.batch.user;
 
+import com.iodsky.sweldox.common.ReferenceDataCache;
 import com.iodsky.sweldox.employee.Employee;
 import com.iodsky.sweldox.employee.EmployeeService;
 import com.iodsky.sweldox.security.user.User;
 import com.iodsky.sweldox.security.user.UserRole;
-import com.iodsky.sweldox.security.user.UserRoleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.item.ItemProcessor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 /**
  * ItemProcessor for transforming UserImportRecord to User entity with validation.
- * Uses in-memory caching to optimize database lookups for reference data.
+ * User roles are resolved from the shared {@link ReferenceDataCache}. Holds no per-run state, so
+ * the import step may call it from several chunk threads at once. Passwords are left raw and
+ * hashed a chunk at a time by {@link PasswordHashingItemWriter}.
  */
 @Component
 @RequiredArgsConstructor
@@ -25,18 +22,12 @@ import java.util.Map;
 public class UserImportProcessor implements ItemProcessor<UserImportRecord, User> {
 
     private final EmployeeService employeeService;
-    private final UserRoleRepository userRoleRepository;
-    private final PasswordEncoder passwordEncoder;
-
-    private Map<String, UserRole> userRoleCache;
+    private final ReferenceDataCache referenceDataCache;
 
     @Override
     public User process(UserImportRecord item) throws Exception {
         log.debug("Processing user: {} {}", item.getEmployeeId(), item.getEmail());
 
-        // Initialize cache on first run (lazy loading)
-        initializeCache();
-
         User user = User.builder()
                 .email(item.getEmail())
                 .build();
@@ -47,36 +38,15 @@ public class UserImportProcessor implements ItemProcessor<UserImportRecord, User
         user.setEmployee(employee);
 
         // Validate and set role using cache
-        UserRole role = userRoleCache.get(item.getRole());
-        if (role == null) {
-            throw new IllegalArgumentException("Invalid user role: " + item.getRole());
-        }
+        UserRole role = referenceDataCache.findUserRole(item.getRole())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid user role: " + item.getRole()));
         user.setUserRole(role);
 
-        // Encode password
-        String password = passwordEncoder.encode(item.getPassword());
-        user.setPassword(password);
+        // Hashed by the writer
+        user.setPassword(item.getPassword());
 
         log.debug("Successfully processed user: {} {}", item.getEmployeeId(), item.getEmail());
         return user;
     }
 
-    /**
-     * Initialize cache with user roles from database.
-     * This is called once before processing the first item.
-     */
-    private void initializeCache() {
-        if (userRoleCache == null) {
-            log.info("Initializing user role cache...");
-
-            userRoleCache = new HashMap<>();
-            List<UserRole> userRoles = userRoleRepository.findAll();
-            for (UserRole userRole : userRoles) {
-                userRoleCache.put(userRole.getRole(), userRole);
-            }
-            log.info("Loaded {} user roles into cache", userRoles.size());
-        }
-    }
-
 }
-
@@ -21,5 +21,12 @@ public class UserImportRecord {
     private String email;
     private String password;
 
+    /**
+     * Binds the fields of a CSV row, in {@link #CSV_COLUMN_NAMES} order.
+     */
+    public static UserImportRecord fromCsv(String[] fields) {
+        return new UserImportRecord(fields[0], fields[1], fields[2], fields[3]);
+    }
+
 }
 
@@ -0,0 +1,145 @@
+package com.iodsky.sweldox.batch.user;
+
+import com.iodsky.sweldox.batch.CsvItemReader;
+import com.iodsky.sweldox.batch.ImportValidationReport;
+import com.iodsky.sweldox.batch.ImportValidationReport.Finding;
+import com.iodsky.sweldox.batch.ImportValidationReport.Level;
+import com.iodsky.sweldox.common.ReferenceDataCache;
+import com.iodsky.sweldox.employee.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Checks a user import file the way the import would process it, without writing anything.
+ * Employees and emails are looked up in bulk rather than per row.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportValidator {
+
+    private static final int ID_BATCH_SIZE = 1000;
+
+    private final ReferenceDataCache referenceDataCache;
+    private final EmployeeRepository employeeRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImportValidationReport validate(Resource file) throws Exception {
+        List<Finding> findings = new ArrayList<>();
+        List<UserImportRecord> records = ImportValidationReport.readRows(
+                new CsvItemReader<>(file, UserImportRecord.CSV_COLUMN_NAMES.length, UserImportRecord::fromCsv),
+                findings);
+
+        findings.addAll(IntStream.range(0, records.size())
+                .parallel()
+                .filter(i -> records.get(i) != null)
+                .mapToObj(i -> checkRow(i + 1, records.get(i)))
+                .flatMap(List::stream)
+                .toList());
+
+        checkEmployees(records, findings);
+        checkEmails(records, findings);
+
+        ImportValidationReport report = new ImportValidationReport(records.size(), findings);
+        log.info("Validated user import of {} rows: {} invalid rows, {} warnings",
+                report.getRows(), report.getInvalidRows(), report.getWarnings());
+        return report;
+    }
+
+    private List<Finding> checkRow(int row, UserImportRecord item) {
+        List<Finding> findings = new ArrayList<>();
+
+        if (isBlank(item.getEmployeeId())) {
+            findings.add(new Finding(row, Level.ERROR, "employeeId", item.getEmployeeId(), "Employee ID is required"));
+        } else if (parseId(item.getEmployeeId()) == null) {
+            findings.add(new Finding(row, Level.ERROR, "employeeId", item.getEmployeeId(), "Invalid employee ID"));
+        }
+
+        if (isBlank(item.getRole()) || referenceDataCache.findUserRole(item.getRole()).isEmpty()) {
+            findings.add(new Finding(row, Level.ERROR, "role", item.getRole(), "Invalid user role"));
+        }
+
+        if (isBlank(item.getEmail())) {
+            findings.add(new Finding(row, Level.ERROR, "email", item.getEmail(), "Email is required"));
+        }
+
+        if (isBlank(item.getPassword())) {
+            findings.add(new Finding(row, Level.WARNING, "password", item.getPassword(), "No password; the user cannot log in"));
+        }
+
+        return findings;
+    }
+
+    private void checkEmployees(List<UserImportRecord> records, List<Finding> findings) {
+        Map<Long, List<Integer>> rowsByEmployee = new HashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            UserImportRecord item = records.get(i);
+            Long id = item == null ? null : parseId(item.getEmployeeId());
+            if (id != null) {
+                rowsByEmployee.computeIfAbsent(id, key -> new ArrayList<>()).add(i + 1);
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(rowsByEmployee.keySet());
+        Set<Long> existing = new HashSet<>();
+        for (int i = 0; i < ids.size(); i += ID_BATCH_SIZE) {
+            existing.addAll(employeeRepository.findIdsByIdIn(ids.subList(i, Math.min(i + ID_BATCH_SIZE, ids.size()))));
+        }
+
+        rowsByEmployee.forEach((id, rows) -> {
+            if (!existing.contains(id)) {
+                for (Integer row : rows) {
+                    findings.add(new Finding(row, Level.ERROR, "employeeId", id.toString(), "Employee not found"));
+                }
+            }
+        });
+    }
+
+    private void checkEmails(List<UserImportRecord> records, List<Finding> findings) {
+        Map<String, Integer> firstRows = new HashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            UserImportRecord item = records.get(i);
+            if (item == null || isBlank(item.getEmail())) {
+                continue;
+            }
+            Integer firstRow = firstRows.putIfAbsent(item.getEmail(), i + 1);
+            if (firstRow != null) {
+                findings.add(new Finding(i + 1, Level.ERROR, "email", item.getEmail(),
+                        "Duplicate email, also on row " + firstRow));
+            }
+        }
+
+        if (firstRows.isEmpty()) {
+            return;
+        }
+
+        Set<String> taken = new HashSet<>(jdbcTemplate.queryForList("SELECT email FROM users WHERE email = ANY(?)",
+                String.class, (Object) firstRows.keySet().toArray(String[]::new)));
+        for (int i = 0; i < records.size(); i++) {
+            UserImportRecord item = records.get(i);
+            if (item != null && item.getEmail() != null && taken.contains(item.getEmail())) {
+                findings.add(new Finding(i + 1, Level.ERROR, "email", item.getEmail(),
+                        "A user with this email already exists"));
+            }
+        }
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return value == null ? null : Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+}
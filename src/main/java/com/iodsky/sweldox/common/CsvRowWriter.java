@@ -0,0 +1,57 @@
+package com.iodsky.sweldox.common;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * Writes rows in the CSV dialect understood by both PostgreSQL's {@code COPY ... (FORMAT csv)}
+ * and the import jobs. Nulls are written as empty unquoted fields, which COPY reads as NULL.
+ */
+public class CsvRowWriter implements Closeable {
+
+    private final Writer writer;
+    private long rows;
+
+    public CsvRowWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void row(Object... values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write('\n');
+            rows++;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.isEmpty() || text.contains(",") || text.contains("\"") || text.contains("\n")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+}
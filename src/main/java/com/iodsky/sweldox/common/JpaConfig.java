@@ -1,6 +1,7 @@
 package com.iodsky.sweldox.common;
 
 import com.iodsky.sweldox.security.user.User;
+import jakarta.persistence.EntityManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
@@ -15,7 +16,7 @@ import java.util.Optional;
 public class JpaConfig {
 
     @Bean
-    public AuditorAware<User> auditorProvider() {
+    public AuditorAware<User> auditorProvider(EntityManager entityManager) {
         return () -> {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             if (auth == null || !auth.isAuthenticated()
@@ -23,7 +24,8 @@ public class JpaConfig {
                 return Optional.empty();
             }
 
-            return Optional.of((User) auth.getPrincipal());
+            // The principal is built from the token and is not managed
+            return Optional.of(entityManager.getReference(User.class, ((User) auth.getPrincipal()).getId()));
         };
     }
 
@@ -0,0 +1,157 @@
+package com.iodsky.sweldox.common;
+
+import com.iodsky.sweldox.organization.Department;
+import com.iodsky.sweldox.organization.DepartmentRepository;
+import com.iodsky.sweldox.organization.Position;
+import com.iodsky.sweldox.organization.PositionRepository;
+import com.iodsky.sweldox.payroll.BenefitType;
+import com.iodsky.sweldox.payroll.BenefitTypeRepository;
+import com.iodsky.sweldox.payroll.DeductionType;
+import com.iodsky.sweldox.payroll.DeductionTypeRepository;
+import com.iodsky.sweldox.security.user.UserRole;
+import com.iodsky.sweldox.security.user.UserRoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Process-wide cache of the small reference tables: departments, positions, benefit types,
+ * deduction types and user roles. The tables are loaded together into an immutable snapshot
+ * at startup. {@link ReferenceDataListener} marks the snapshot stale whenever one of their rows
+ * is written, and the next lookup after the writing transaction commits reloads it.
+ * <p>
+ * Cached entities are detached and shared between threads, so callers must treat them as
+ * read-only and only use them as references.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCache {
+
+    private final DepartmentRepository departmentRepository;
+    private final PositionRepository positionRepository;
+    private final BenefitTypeRepository benefitTypeRepository;
+    private final DeductionTypeRepository deductionTypeRepository;
+    private final UserRoleRepository userRoleRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        snapshot();
+    }
+
+    public Optional<Department> findDepartment(String id) {
+        return Optional.ofNullable(snapshot().departments().get(id));
+    }
+
+    public Optional<Position> findPosition(String id) {
+        return Optional.ofNullable(snapshot().positions().get(id));
+    }
+
+    /**
+     * Looks up a position by its title, ignoring case.
+     */
+    public Optional<Position> findPositionByTitle(String title) {
+        return Optional.ofNullable(snapshot().positionsByTitle().get(title.toUpperCase()));
+    }
+
+    public Optional<BenefitType> findBenefitType(String id) {
+        return Optional.ofNullable(snapshot().benefitTypes().get(id));
+    }
+
+    public Optional<DeductionType> findDeductionType(String code) {
+        return Optional.ofNullable(snapshot().deductionTypes().get(code));
+    }
+
+    public Optional<UserRole> findUserRole(String role) {
+        return Optional.ofNullable(snapshot().userRoles().get(role));
+    }
+
+    /**
+     * Marks the snapshot stale. Inside a transaction this takes effect after commit so that a
+     * concurrent reload cannot cache the rows as they were before the change.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stale.set(true);
+                }
+            });
+        } else {
+            stale.set(true);
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null || stale.get()) {
+            reload();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private synchronized void reload() {
+        if (snapshot != null && !stale.get()) {
+            return;
+        }
+
+        // Cleared before loading so an invalidation arriving mid-load triggers another reload
+        stale.set(false);
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            snapshot = transactionTemplate.execute(status -> {
+                List<Position> positions = positionRepository.findAll();
+                return new Snapshot(
+                        index(departmentRepository.findAll(), Department::getId),
+                        index(positions, Position::getId),
+                        index(positions, position -> position.getTitle().toUpperCase()),
+                        index(benefitTypeRepository.findAll(), BenefitType::getId),
+                        index(deductionTypeRepository.findAll(), DeductionType::getCode),
+                        index(userRoleRepository.findAll(), UserRole::getRole)
+                );
+            });
+        } catch (RuntimeException ex) {
+            stale.set(true);
+            throw ex;
+        }
+
+        log.info("Loaded reference data: {} departments, {} positions, {} benefit types, {} deduction types, {} user roles",
+                snapshot.departments().size(), snapshot.positions().size(), snapshot.benefitTypes().size(),
+                snapshot.deductionTypes().size(), snapshot.userRoles().size());
+    }
+
+    private static <T> Map<String, T> index(Collection<T> rows, Function<T, String> key) {
+        return Map.copyOf(rows.stream().collect(Collectors.toMap(key, Function.identity())));
+    }
+
+    private record Snapshot(
+            Map<String, Department> departments,
+            Map<String, Position> positions,
+            Map<String, Position> positionsByTitle,
+            Map<String, BenefitType> benefitTypes,
+            Map<String, DeductionType> deductionTypes,
+            Map<String, UserRole> userRoles
+    ) {}
+
+}
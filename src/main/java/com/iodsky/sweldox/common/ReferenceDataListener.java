@@ -0,0 +1,29 @@
+package com.iodsky.sweldox.common;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener for the reference tables held by {@link ReferenceDataCache}. Any insert,
+ * update or delete of one of their rows invalidates the cache.
+ */
+@Component
+public class ReferenceDataListener {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    public ReferenceDataListener(@Lazy ReferenceDataCache referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        referenceDataCache.invalidate();
+    }
+
+}
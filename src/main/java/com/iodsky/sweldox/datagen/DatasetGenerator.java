@@ -0,0 +1,418 @@
+package com.iodsky.sweldox.datagen;
+
+import com.iodsky.sweldox.attendance.Attendance;
+import com.iodsky.sweldox.batch.employee.EmployeeImportRecord;
+import com.iodsky.sweldox.batch.user.UserImportRecord;
+import com.iodsky.sweldox.common.CsvRowWriter;
+import com.iodsky.sweldox.common.DateRange;
+import com.iodsky.sweldox.common.ReferenceDataCache;
+import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.employee.GovernmentId;
+import com.iodsky.sweldox.leave.LeaveCredit;
+import com.iodsky.sweldox.leave.LeaveRequest;
+import com.iodsky.sweldox.organization.PositionRepository;
+import com.iodsky.sweldox.payroll.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads a synthetic dataset of employees with years of attendance, leave and payroll history
+ * for load and scale testing, and writes matching files for the employee and user import jobs.
+ * Runs on startup with the {@code datagen} profile, configured under {@code datagen.*}.
+ * <p>
+ * Rows are streamed into each table with {@code COPY} in a single transaction, so a failed run
+ * leaves the database untouched. The same seed and settings always produce the same data.
+ */
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+@Slf4j
+public class DatasetGenerator implements CommandLineRunner {
+
+    private static final int PROGRESS_INTERVAL = 5_000;
+    private static final List<String> STATUTORY_DEDUCTION_CODES = List.of("SSS", "PHIC", "HDMF", "TAX");
+
+    private final DataSource dataSource;
+    private final PositionRepository positionRepository;
+    private final BenefitTypeRepository benefitTypeRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final PayrollBuilder payrollBuilder;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${datagen.seed}")
+    private long seed;
+
+    @Value("${datagen.employees}")
+    private int employees;
+
+    @Value("${datagen.first-employee-id}")
+    private long firstEmployeeId;
+
+    @Value("${datagen.start-date}")
+    private LocalDate startDate;
+
+    @Value("${datagen.end-date}")
+    private LocalDate endDate;
+
+    @Value("${datagen.password}")
+    private String password;
+
+    @Value("${datagen.load}")
+    private boolean load;
+
+    @Value("${datagen.csv.directory}")
+    private String csvDirectory;
+
+    @Value("${datagen.csv.employees}")
+    private int csvEmployees;
+
+    @Override
+    public void run(String... args) throws Exception {
+        SyntheticDataset dataset = new SyntheticDataset(seed, firstEmployeeId, startDate, endDate,
+                positionRepository.findAll(Sort.by("id")),
+                benefitTypeRepository.findAll().stream().collect(Collectors.toMap(BenefitType::getId, Function.identity())));
+
+        if (load) {
+            load(dataset);
+        }
+
+        if (csvEmployees > 0) {
+            writeImportFiles(dataset);
+        }
+    }
+
+    private void load(SyntheticDataset dataset) throws SQLException, IOException {
+        long started = System.nanoTime();
+        log.info("Generating {} employees with history from {} to {} (seed {})", employees, startDate, endDate, seed);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                checkEmployeeIdsAreFree(connection);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                copyEmployees(pgConnection, dataset);
+                copyGovernmentIds(pgConnection, dataset);
+                copyBenefits(pgConnection, dataset);
+                copyUsers(pgConnection, dataset);
+                copyLeaves(pgConnection, dataset);
+                copyAttendances(pgConnection, dataset);
+                copyPayrolls(pgConnection, dataset);
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT setval('employee_id_seq', (SELECT max(id) FROM employee))");
+                }
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute("ANALYZE");
+            }
+        }
+
+        log.info("Generated dataset in {} s", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private void checkEmployeeIdsAreFree(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT count(*) FROM employee WHERE id BETWEEN ? AND ?")) {
+            statement.setLong(1, firstEmployeeId);
+            statement.setLong(2, firstEmployeeId + employees - 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                if (resultSet.getLong(1) > 0) {
+                    throw new IllegalStateException("Employee ids " + firstEmployeeId + " to " + (firstEmployeeId + employees - 1)
+                            + " are already in use. Generate into a fresh database or change datagen.first-employee-id");
+                }
+            }
+        }
+    }
+
+    private void copyEmployees(PGConnection connection, SyntheticDataset dataset) throws SQLException, IOException {
+        LocalDateTime createdAt = onboardedAt();
+        try (CsvRowWriter rows = copyIn(connection, "employee", "id", "first_name", "last_name", "birthday", "address",
+                "phone_number", "supervisor_id", "position_id", "department_id", "status", "basic_salary", "hourly_rate",
+                "semi_monthly_rate", "start_shift", "end_shift", "created_at", "updated_at", "version")) {
+            for (int i = 0; i < employees; i++) {
+                Employee employee = dataset.employee(i);
+                rows.row(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getBirthday(),
+                        employee.getAddress(), employee.getPhoneNumber(),
+                        employee.getSupervisor() == null ? null : employee.getSupervisor().getId(),
+                        employee.getPosition().getId(), employee.getDepartment().getId(), employee.getStatus(),
+                        employee.getBasicSalary(), employee.getHourlyRate(), employee.getSemiMonthlyRate(),
+                        employee.getStartShift(), employee.getEndShift(), createdAt, createdAt, 0);
+                logProgress("employee", i);
+            }
+            log.info("Copied {} rows into employee", rows.getRows());
+        }
+    }
+
+    private void copyGovernmentIds(PGConnection connection, SyntheticDataset dataset) throws SQLException, IOException {
+        LocalDateTime createdAt = onboardedAt();
+        try (CsvRowWriter rows = copyIn(connection, "government_id", "id", "employee_id", "sss_no", "tin_no",
+                "philhealth_no", "pagibig_no", "created_at", "updated_at", "version")) {
+            for (int i = 0; i < employees; i++) {
+                GovernmentId governmentId = dataset.employee(i).getGovernmentId();
+                rows.row(governmentId.getId(), governmentId.getEmployee().getId(), governmentId.getSssNumber(),
+                        governmentId.getTinNumber(), governmentId.getPhilhealthNumber(), governmentId.getPagIbigNumber(),
+                        createdAt, createdAt, 0);
+            }
+            log.info("Copied {} rows into government_id", rows.getRows());
+        }
+    }
+
+    private void copyBenefits(PGConnection connection, SyntheticDataset dataset) throws SQLException, IOException {
+        LocalDateTime createdAt = onboardedAt();
+        try (CsvRowWriter rows = copyIn(connection, "benefit", "id", "employee_id", "benefit_type_id", "amount",
+                "created_at", "updated_at", "version")) {
+            for (int i = 0; i < employees; i++) {
+                for (Benefit benefit : dataset.employee(i).getBenefits()) {
+                    rows.row(benefit.getId(), benefit.getEmployee().getId(), benefit.getBenefitType().getId(),
+                            benefit.getAmount(), createdAt, createdAt, 0);
+                }
+            }
+            log.info("Copied {} rows into benefit", rows.getRows());
+        }
+    }
+
+    private void copyUsers(PGConnection connection, SyntheticDataset dataset) throws SQLException, IOException {
+        // Hashed once: BCrypt is deliberately slow and every generated user shares the password
+        String passwordHash = passwordEncoder.encode(password);
+        LocalDateTime createdAt = onboardedAt();
+
+        try (CsvRowWriter rows = copyIn(connection, "users", "id", "employee_id", "email", "password", "role_id",
+                "created_at", "updated_at", "version")) {
+            for (int i = 0; i < employees; i++) {
+                Employee employee = dataset.employee(i);
+                rows.row(dataset.uuid("user", employee.getId()), employee.getId(), dataset.email(employee),
+                        passwordHash, dataset.role(employee), createdAt, createdAt, 0);
+            }
+            log.info("Copied {} rows into users", rows.getRows());
+        }
+    }
+
+    private void copyLeaves(PGConnection connection, SyntheticDataset dataset) throws SQLException, IOException {
+        LocalDateTime creditsCreatedAt = onboardedAt();
+
+        // Two tables from one pass over the employees, so the credits are spooled to a file first
+        Path creditsFile = Files.createTempFile("datagen-leave-credit", ".csv");
+        try {
+            try (CsvRowWriter requests = copyIn(connection, "leave_request", "id", "employee_id", "leave_type",
+                    "start_date", "end_date", "note", "leave_status", "created_at", "updated_at", "version");
+                 CsvRowWriter credits = new CsvRowWriter(Files.newBufferedWriter(creditsFile))) {
+                for (int i = 0; i < employees; i++) {
+                    Employee employee = dataset.employee(i);
+                    List<LeaveRequest> leaveRequests = dataset.leaveRequests(employee, i);
+
+                    for (LeaveRequest request : leaveRequests) {
+                        LocalDateTime createdAt = LocalDateTime.ofInstant(request.getCreatedAt(), ZoneOffset.UTC);
+                        requests.row(request.getId(), employee.getId(), request.getLeaveType(), request.getStartDate(),
+                                request.getEndDate(), request.getNote(), request.getLeaveStatus(), createdAt, createdAt, 0);
+                    }
+
+                    for (LeaveCredit credit : dataset.leaveCredits(employee, leaveRequests)) {
+                        credits.row(credit.getId(), employee.getId(), credit.getType(), credit.getCredits(),
+                                credit.getFiscalYear(), creditsCreatedAt, creditsCreatedAt, 0);
+                    }
+                    logProgress("leave", i);
+                }
+                log.info("Copied {} rows into leave_request", requests.getRows());
+            }
+
+            long copied = copyIn(connection, creditsFile, "leave_credit", "id", "employee_id", "type", "credits",
+                    "fiscal_year", "created_at", "updated_at", "version");
+            log.info("Copied {} rows into leave_credit", copied);
+        } finally {
+            Files.deleteIfExists(creditsFile);
+        }
+    }
+
+    private void copyAttendances(PGConnection connection, SyntheticDataset dataset) throws SQLException, IOException {
+        try (CsvRowWriter rows = copyIn(connection, "attendance", "id", "employee_id", "date", "time_in", "time_out",
+                "total_hours", "overtime", "created_at", "updated_at", "version")) {
+            for (int i = 0; i < employees; i++) {
+                Employee employee = dataset.employee(i);
+                List<LeaveRequest> leaveRequests = dataset.leaveRequests(employee, i);
+
+                for (Attendance attendance : dataset.attendances(employee, i, leaveRequests, startDate, endDate)) {
+                    rows.row(attendance.getId(), employee.getId(), attendance.getDate(), attendance.getTimeIn(),
+                            attendance.getTimeOut(), attendance.getTotalHours(), attendance.getOvertime(),
+                            LocalDateTime.ofInstant(attendance.getCreatedAt(), ZoneOffset.UTC),
+                            LocalDateTime.ofInstant(attendance.getUpdatedAt(), ZoneOffset.UTC), 0);
+                }
+                logProgress("attendance", i);
+            }
+            log.info("Copied {} rows into attendance", rows.getRows());
+        }
+    }
+
+    /**
+     * Builds every semi-monthly payroll with {@link PayrollBuilder}, so the history matches what
+     * the payroll job would have produced from the generated attendances.
+     */
+    private void copyPayrolls(PGConnection connection, SyntheticDataset dataset) throws SQLException, IOException {
+        Map<String, DeductionType> deductionTypes = STATUTORY_DEDUCTION_CODES.stream()
+                .map(code -> referenceDataCache.findDeductionType(code)
+                        .orElseThrow(() -> new IllegalStateException("Deduction type " + code + " not found")))
+                .collect(Collectors.toMap(DeductionType::getCode, Function.identity()));
+        List<DateRange> periods = dataset.payPeriods();
+
+        Path deductionsFile = Files.createTempFile("datagen-deduction", ".csv");
+        Path benefitsFile = Files.createTempFile("datagen-payroll-benefits", ".csv");
+        try {
+            try (CsvRowWriter payrolls = copyIn(connection, "payroll", "id", "employee_id", "period_start_date",
+                    "period_end_date", "pay_date", "days_worked", "overtime", "monthly_rate", "daily_rate", "gross_pay",
+                    "total_benefits", "total_deductions", "net_pay", "created_at", "updated_at", "version");
+                 CsvRowWriter deductions = new CsvRowWriter(Files.newBufferedWriter(deductionsFile));
+                 CsvRowWriter benefits = new CsvRowWriter(Files.newBufferedWriter(benefitsFile))) {
+                for (int i = 0; i < employees; i++) {
+                    Employee employee = dataset.employee(i);
+                    List<Attendance> attendances = dataset.attendances(employee, i, dataset.leaveRequests(employee, i), startDate, endDate);
+
+                    int from = 0;
+                    for (DateRange period : periods) {
+                        while (from < attendances.size() && attendances.get(from).getDate().isBefore(period.startDate())) {
+                            from++;
+                        }
+                        int to = from;
+                        while (to < attendances.size() && !attendances.get(to).getDate().isAfter(period.endDate())) {
+                            to++;
+                        }
+                        if (to == from) {
+                            continue;
+                        }
+
+                        LocalDate payDate = period.endDate().plusDays(5);
+                        Payroll payroll = payrollBuilder.buildPayroll(employee, attendances.subList(from, to), deductionTypes,
+                                period.startDate(), period.endDate(), payDate);
+                        UUID payrollId = dataset.uuid("payroll", employee.getId(), period.startDate());
+                        LocalDateTime createdAt = period.endDate().plusDays(1).atTime(18, 0);
+                        from = to;
+
+                        payrolls.row(payrollId, employee.getId(), payroll.getPeriodStartDate(), payroll.getPeriodEndDate(),
+                                payroll.getPayDate(), payroll.getDaysWorked(), payroll.getOvertime(), payroll.getMonthlyRate(),
+                                payroll.getDailyRate(), payroll.getGrossPay(), payroll.getTotalBenefits(),
+                                payroll.getTotalDeductions(), payroll.getNetPay(), createdAt, createdAt, 0);
+
+                        for (Deduction deduction : payroll.getDeductions()) {
+                            String code = deduction.getDeductionType().getCode();
+                            deductions.row(dataset.uuid("deduction", payrollId, code), payrollId, code,
+                                    deduction.getAmount(), createdAt, createdAt, 0);
+                        }
+                        for (PayrollBenefit benefit : payroll.getBenefits()) {
+                            String benefitTypeId = benefit.getBenefitType().getId();
+                            benefits.row(dataset.uuid("payroll-benefit", payrollId, benefitTypeId), payrollId, benefitTypeId,
+                                    benefit.getAmount(), createdAt, createdAt, 0);
+                        }
+                    }
+                    logProgress("payroll", i);
+                }
+                log.info("Copied {} rows into payroll", payrolls.getRows());
+            }
+
+            log.info("Copied {} rows into deduction", copyIn(connection, deductionsFile, "deduction",
+                    "id", "payroll_id", "deduction_code", "amount", "created_at", "updated_at", "version"));
+            log.info("Copied {} rows into payroll_benefits", copyIn(connection, benefitsFile, "payroll_benefits",
+                    "id", "payroll_id", "benefit_type_id", "amount", "created_at", "updated_at", "version"));
+        } finally {
+            Files.deleteIfExists(deductionsFile);
+            Files.deleteIfExists(benefitsFile);
+        }
+    }
+
+    /**
+     * Writes an employee import file for {@code datagen.csv.employees} employees beyond the loaded
+     * ones, reporting to loaded supervisors, and a user import file for the same employees. The
+     * user file assumes the employees are imported into the generated database first, so that
+     * they receive the next ids of the employee sequence in file order.
+     */
+    private void writeImportFiles(SyntheticDataset dataset) throws IOException {
+        Path directory = Paths.get(csvDirectory);
+        Files.createDirectories(directory);
+        Path employeesFile = directory.resolve("employees.csv");
+        Path usersFile = directory.resolve("users.csv");
+
+        try (CsvRowWriter employeeRows = new CsvRowWriter(Files.newBufferedWriter(employeesFile));
+             CsvRowWriter userRows = new CsvRowWriter(Files.newBufferedWriter(usersFile))) {
+            employeeRows.row((Object[]) EmployeeImportRecord.CSV_COLUMN_NAMES);
+            userRows.row((Object[]) UserImportRecord.CSV_COLUMN_NAMES);
+
+            for (int i = employees; i < employees + csvEmployees; i++) {
+                Employee employee = dataset.employee(i);
+                GovernmentId governmentId = employee.getGovernmentId();
+                Map<String, BigDecimal> benefits = employee.getBenefits().stream()
+                        .collect(Collectors.toMap(benefit -> benefit.getBenefitType().getId(), Benefit::getAmount));
+
+                employeeRows.row(employee.getLastName(), employee.getFirstName(), employee.getBirthday(),
+                        employee.getAddress(), employee.getPhoneNumber(), governmentId.getSssNumber(),
+                        governmentId.getPhilhealthNumber(), governmentId.getTinNumber(), governmentId.getPagIbigNumber(),
+                        employee.getStatus(), employee.getPosition().getTitle(), employee.getSupervisor().getId(),
+                        employee.getStartShift(), employee.getEndShift(), employee.getBasicSalary(),
+                        benefits.get("MEAL"), benefits.get("PHONE"), benefits.get("CLOTHING"));
+                userRows.row(employee.getId(), dataset.role(employee), dataset.email(employee), password);
+            }
+        }
+
+        log.info("Wrote {} employees to {} and {}", csvEmployees, employeesFile.toAbsolutePath(), usersFile.toAbsolutePath());
+    }
+
+    private static CsvRowWriter copyIn(PGConnection connection, String table, String... columns) throws SQLException {
+        PGCopyOutputStream out = new PGCopyOutputStream(connection, copySql(table, columns), 1 << 16);
+        return new CsvRowWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16));
+    }
+
+    private static long copyIn(PGConnection connection, Path file, String table, String... columns) throws SQLException, IOException {
+        CopyManager copyManager = connection.getCopyAPI();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            return copyManager.copyIn(copySql(table, columns), reader);
+        }
+    }
+
+    private static String copySql(String table, String... columns) {
+        return "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN (FORMAT csv)";
+    }
+
+    private LocalDateTime onboardedAt() {
+        return startDate.minusDays(1).atTime(8, 0);
+    }
+
+    private void logProgress(String table, int index) {
+        if ((index + 1) % PROGRESS_INTERVAL == 0) {
+            log.info("Generated {} of {} employees for {}", index + 1, employees, table);
+        }
+    }
+
+}
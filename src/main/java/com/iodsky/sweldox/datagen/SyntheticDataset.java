@@ -0,0 +1,437 @@
+package com.iodsky.sweldox.datagen;
+
+import com.iodsky.sweldox.attendance.Attendance;
+import com.iodsky.sweldox.common.DateRange;
+import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.employee.GovernmentId;
+import com.iodsky.sweldox.employee.Status;
+import com.iodsky.sweldox.leave.LeaveCredit;
+import com.iodsky.sweldox.leave.LeaveRequest;
+import com.iodsky.sweldox.leave.LeaveStatus;
+import com.iodsky.sweldox.leave.LeaveType;
+import com.iodsky.sweldox.organization.Position;
+import com.iodsky.sweldox.payroll.Benefit;
+import com.iodsky.sweldox.payroll.BenefitType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Deterministic generator of synthetic employees and their history. Every value is derived from
+ * the seed and the employee's index alone, so any employee, and any part of its history, can be
+ * regenerated independently and always comes out the same. This lets the loader stream one table
+ * at a time without keeping the dataset in memory.
+ * <p>
+ * Employees form a tree with {@value #SPAN_OF_CONTROL} direct reports per supervisor. The first
+ * employees fill the positions of the {@code CORP} department, everyone else gets one of the
+ * remaining positions.
+ */
+public class SyntheticDataset {
+
+    static final int SPAN_OF_CONTROL = 8;
+
+    private static final String EXECUTIVE_DEPARTMENT = "CORP";
+    private static final int STANDARD_SHIFT_HOURS = 9;
+
+    private static final String[] FIRST_NAMES = {
+            "Juan", "Maria", "Jose", "Ana", "Antonio", "Rosa", "Pedro", "Carmen", "Manuel", "Elena",
+            "Ramon", "Luz", "Carlos", "Teresa", "Miguel", "Josefina", "Francisco", "Cristina", "Roberto", "Angelica",
+            "Mark", "Kristine", "John Paul", "Mary Grace", "Rafael", "Patricia", "Gabriel", "Nicole", "Daniel", "Bea"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Santos", "Reyes", "Cruz", "Bautista", "Ocampo", "Garcia", "Mendoza", "Torres", "Tomas", "Andrada",
+            "Castillo", "Flores", "Villanueva", "Ramos", "Castro", "Rivera", "Aquino", "Navarro", "Salazar", "Mercado",
+            "Dela Cruz", "De Leon", "Gonzales", "Lopez", "Aguilar", "Pascual", "Domingo", "Soriano", "Manalo", "Fernandez"
+    };
+
+    private static final String[] STREETS = {
+            "Rizal", "Mabini", "Bonifacio", "Quezon", "Luna", "Del Pilar", "Aguinaldo", "Burgos", "Roxas", "Osmeña"
+    };
+
+    private static final String[] CITIES = {
+            "Manila", "Quezon City", "Makati", "Pasig", "Taguig", "Mandaluyong", "Caloocan", "Parañaque", "Cebu City", "Davao City"
+    };
+
+    private static final Map<LeaveType, Double> LEAVE_CREDITS = Map.of(
+            LeaveType.VACATION, 14.0,
+            LeaveType.SICK, 7.0,
+            LeaveType.BEREAVEMENT, 5.0
+    );
+
+    // Random streams, so that each part of an employee's data has its own sequence
+    private static final int EMPLOYEE = 1;
+    private static final int LEAVE = 2;
+    private static final int ATTENDANCE = 3;
+    private static final int SEPARATION = 4;
+
+    private final long seed;
+    private final long firstEmployeeId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final List<Position> executivePositions;
+    private final List<Position> staffPositions;
+    private final Map<String, BenefitType> benefitTypes;
+
+    /**
+     * @param positions all positions, in a stable order, since the order feeds the generated data
+     * @param benefitTypes the benefit types keyed by id, at least MEAL, PHONE and CLOTHING
+     */
+    public SyntheticDataset(long seed, long firstEmployeeId, LocalDate startDate, LocalDate endDate,
+                            List<Position> positions, Map<String, BenefitType> benefitTypes) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date " + endDate + " is before start date " + startDate);
+        }
+
+        this.seed = seed;
+        this.firstEmployeeId = firstEmployeeId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.executivePositions = positions.stream()
+                .filter(position -> EXECUTIVE_DEPARTMENT.equals(position.getDepartment().getId()))
+                .toList();
+        this.staffPositions = positions.stream()
+                .filter(position -> !EXECUTIVE_DEPARTMENT.equals(position.getDepartment().getId()))
+                .toList();
+        this.benefitTypes = benefitTypes;
+
+        if (staffPositions.isEmpty()) {
+            throw new IllegalArgumentException("At least one position outside " + EXECUTIVE_DEPARTMENT + " is required");
+        }
+    }
+
+    public long employeeId(int index) {
+        return firstEmployeeId + index;
+    }
+
+    /**
+     * Returns the employee at the index with its government ids and benefits. The supervisor is a
+     * reference holding only the id.
+     */
+    public Employee employee(int index) {
+        SplittableRandom random = random(index, EMPLOYEE);
+
+        Position position = index < executivePositions.size()
+                ? executivePositions.get(index)
+                : staffPositions.get(random.nextInt(staffPositions.size()));
+        boolean executive = index < executivePositions.size();
+
+        BigDecimal basicSalary = executive
+                ? BigDecimal.valueOf(250_000 + 5_000L * random.nextInt(31))
+                // Skewed towards the lower end, as salaries are
+                : BigDecimal.valueOf(18_000 + 500L * (long) (Math.pow(random.nextDouble(), 2) * 145));
+        basicSalary = basicSalary.setScale(2, RoundingMode.UNNECESSARY);
+
+        LocalTime startShift = LocalTime.of(7 + random.nextInt(3), 0);
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        long id = employeeId(index);
+
+        Employee employee = Employee.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .birthday(LocalDate.of(1965, 1, 1).plusDays(random.nextInt(38 * 365)))
+                // The index keeps addresses, phone numbers and government ids unique
+                .address("Unit " + (index + 1) + ", " + (1 + random.nextInt(999)) + " "
+                        + STREETS[random.nextInt(STREETS.length)] + " St., " + CITIES[random.nextInt(CITIES.length)])
+                .phoneNumber(String.format("+63917%07d", index))
+                .supervisor(index == 0 ? null : Employee.builder().id(employeeId((index - 1) / SPAN_OF_CONTROL)).build())
+                .position(position)
+                .department(position.getDepartment())
+                .status(status(random))
+                .startShift(startShift)
+                .endShift(startShift.plusHours(STANDARD_SHIFT_HOURS))
+                .basicSalary(basicSalary)
+                .semiMonthlyRate(basicSalary.divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP))
+                .hourlyRate(basicSalary.divide(BigDecimal.valueOf(21.75).multiply(BigDecimal.valueOf(8)), 2, RoundingMode.HALF_UP))
+                .build();
+
+        employee.setGovernmentId(GovernmentId.builder()
+                .id(uuid("government-id", id))
+                .employee(employee)
+                .sssNumber(String.format("35-%07d-%d", index, index % 10))
+                .tinNumber(String.format("%03d-%03d-%03d-000", index / 1_000_000 % 1000, index / 1000 % 1000, index % 1000))
+                .philhealthNumber(String.format("13-%09d-%d", index, index % 10))
+                .pagIbigNumber(String.format("2%03d-%04d-%04d", index / 100_000_000 % 1000, index / 10_000 % 10_000, index % 10_000))
+                .build());
+
+        int band = basicSalary.compareTo(BigDecimal.valueOf(50_000)) < 0 ? 0 : 1;
+        employee.setBenefits(List.of(
+                benefit(employee, "MEAL", band == 0 ? "1500.00" : "2000.00"),
+                benefit(employee, "PHONE", executive ? "2000.00" : band == 0 ? "500.00" : "1000.00"),
+                benefit(employee, "CLOTHING", "1000.00")
+        ));
+
+        return employee;
+    }
+
+    public String email(Employee employee) {
+        return (employee.getFirstName() + "." + employee.getLastName()).toLowerCase().replace(" ", "")
+                + "." + employee.getId() + "@sweldox.com";
+    }
+
+    /**
+     * HR, PAYROLL and IT staff get the role of their department, everyone else is an EMPLOYEE.
+     */
+    public String role(Employee employee) {
+        return switch (employee.getDepartment().getId()) {
+            case "HR" -> "HR";
+            case "PAY" -> "PAYROLL";
+            case "IT" -> "IT";
+            default -> "EMPLOYEE";
+        };
+    }
+
+    /**
+     * Returns the employee's leave requests, a few vacation and sick leaves per year that never
+     * overlap, ordered by start date.
+     */
+    public List<LeaveRequest> leaveRequests(Employee employee, int index) {
+        SplittableRandom random = random(index, LEAVE);
+        List<LeaveRequest> leaveRequests = new ArrayList<>();
+
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            LocalDate from = max(startDate, LocalDate.of(year, 1, 1));
+            LocalDate to = min(endDate, LocalDate.of(year, 12, 31));
+            int vacations = 1 + random.nextInt(3);
+            int sickLeaves = random.nextInt(3);
+
+            for (int i = 0; i < vacations + sickLeaves; i++) {
+                LeaveType type = i < vacations ? LeaveType.VACATION : LeaveType.SICK;
+                int days = type == LeaveType.VACATION ? 1 + random.nextInt(3) : 1 + random.nextInt(2);
+                LocalDate start = nextWeekday(from.plusDays(random.nextLong(ChronoUnit.DAYS.between(from, to) + 1)));
+                LocalDate end = plusWeekdays(start, days - 1);
+
+                if (end.isAfter(to) || overlaps(leaveRequests, start, end)) {
+                    continue;
+                }
+
+                int roll = random.nextInt(100);
+                LeaveStatus status = roll < 85 ? LeaveStatus.APPROVED : roll < 95 ? LeaveStatus.REJECTED : LeaveStatus.PENDING;
+                Instant filedAt = start.minusDays(3 + random.nextInt(28)).atTime(9, 0).toInstant(ZoneOffset.UTC);
+
+                LeaveRequest leaveRequest = LeaveRequest.builder()
+                        // Same shape as LeaveRequestIdGenerator
+                        .id(filedAt + "-" + employee.getId() + "-" + uuid("leave-request", employee.getId(), start).toString().substring(0, 8))
+                        .employee(employee)
+                        .leaveType(type)
+                        .startDate(start)
+                        .endDate(end)
+                        .note(type == LeaveType.VACATION ? "Family vacation" : "Medical consultation")
+                        .leaveStatus(status)
+                        .build();
+                leaveRequest.setCreatedAt(filedAt);
+                leaveRequests.add(leaveRequest);
+            }
+        }
+
+        leaveRequests.sort(Comparator.comparing(LeaveRequest::getStartDate));
+        return leaveRequests;
+    }
+
+    /**
+     * Returns the employee's leave credits for every fiscal year the dataset touches, less the
+     * days taken on approved leave that year.
+     */
+    public List<LeaveCredit> leaveCredits(Employee employee, List<LeaveRequest> leaveRequests) {
+        List<LeaveCredit> leaveCredits = new ArrayList<>();
+
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            for (LeaveType type : List.of(LeaveType.VACATION, LeaveType.SICK, LeaveType.BEREAVEMENT)) {
+                int fiscalYear = year;
+                long used = leaveRequests.stream()
+                        .filter(request -> request.getLeaveStatus() == LeaveStatus.APPROVED
+                                && request.getLeaveType() == type
+                                && request.getStartDate().getYear() == fiscalYear)
+                        .mapToLong(request -> weekdaysBetween(request.getStartDate(), request.getEndDate()))
+                        .sum();
+
+                leaveCredits.add(LeaveCredit.builder()
+                        .id(uuid("leave-credit", employee.getId(), year, type))
+                        .employee(employee)
+                        .type(type)
+                        .fiscalYear(year + "-" + (year + 1))
+                        .credits(Math.max(0, LEAVE_CREDITS.get(type) - used))
+                        .build());
+            }
+        }
+
+        return leaveCredits;
+    }
+
+    /**
+     * Returns the employee's attendances on the weekdays between {@code from} and {@code to}, both
+     * inclusive, ordered by date. Days on approved leave and random absences have no record, and
+     * separated employees have none after their last working day. Hours and overtime are computed
+     * the way clocking out does.
+     */
+    public List<Attendance> attendances(Employee employee, int index, List<LeaveRequest> leaveRequests,
+                                        LocalDate from, LocalDate to) {
+        LocalDate lastWorkingDay = min(to, lastWorkingDay(employee, index));
+        List<Attendance> attendances = new ArrayList<>();
+        long shiftMinutes = Duration.between(employee.getStartShift(), employee.getEndShift()).toMinutes();
+        BigDecimal regularHours = BigDecimal.valueOf(shiftMinutes).divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+        long attendanceSeed = random(index, ATTENDANCE).nextLong();
+
+        for (LocalDate date = max(from, startDate); !date.isAfter(lastWorkingDay); date = date.plusDays(1)) {
+            if (isWeekend(date) || onApprovedLeave(leaveRequests, date)) {
+                continue;
+            }
+
+            // A stream per day keeps a day's record the same whatever range is asked for
+            SplittableRandom random = new SplittableRandom(attendanceSeed ^ (date.toEpochDay() * 0x94D049BB133111EBL));
+            if (random.nextInt(100) < 3) {
+                continue;
+            }
+
+            LocalTime timeIn = employee.getStartShift().plusMinutes(random.nextInt(-15, 21));
+            LocalTime timeOut = employee.getEndShift().plusMinutes(random.nextInt(-10, 31));
+            if (random.nextInt(100) < 10) {
+                timeOut = timeOut.plusMinutes(60 + random.nextInt(121));
+            }
+
+            BigDecimal totalHours = BigDecimal.valueOf(Duration.between(timeIn, timeOut).toMinutes())
+                    .divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+            BigDecimal overtime = totalHours.subtract(regularHours).max(BigDecimal.ZERO);
+
+            Attendance attendance = Attendance.builder()
+                    .id(uuid("attendance", employee.getId(), date))
+                    .employee(employee)
+                    .date(date)
+                    .timeIn(timeIn)
+                    .timeOut(timeOut)
+                    .totalHours(totalHours)
+                    .overtime(overtime)
+                    .build();
+            attendance.setCreatedAt(date.atTime(timeIn).toInstant(ZoneOffset.UTC));
+            attendance.setUpdatedAt(date.atTime(timeOut).toInstant(ZoneOffset.UTC));
+            attendances.add(attendance);
+        }
+
+        return attendances;
+    }
+
+    /**
+     * Returns the semi-monthly pay periods, the 1st to the 15th and the 16th to the end of the
+     * month, that fall entirely within the dataset.
+     */
+    public List<DateRange> payPeriods() {
+        List<DateRange> periods = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate)); month = month.plusMonths(1)) {
+            for (DateRange period : List.of(
+                    new DateRange(month.atDay(1), month.atDay(15)),
+                    new DateRange(month.atDay(16), month.atEndOfMonth()))) {
+                if (!period.startDate().isBefore(startDate) && !period.endDate().isAfter(endDate)) {
+                    periods.add(period);
+                }
+            }
+        }
+        return periods;
+    }
+
+    /**
+     * Returns a UUID derived from the seed and the parts, so generated ids are stable across runs.
+     */
+    public UUID uuid(String kind, Object... parts) {
+        StringBuilder name = new StringBuilder(kind).append(':').append(seed);
+        for (Object part : parts) {
+            name.append(':').append(part);
+        }
+        return UUID.nameUUIDFromBytes(name.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private LocalDate lastWorkingDay(Employee employee, int index) {
+        if (employee.getStatus() != Status.RESIGNED && employee.getStatus() != Status.TERMINATED) {
+            return endDate;
+        }
+        SplittableRandom random = random(index, SEPARATION);
+        return startDate.plusDays(random.nextLong(ChronoUnit.DAYS.between(startDate, endDate) + 1));
+    }
+
+    private Benefit benefit(Employee employee, String benefitTypeId, String amount) {
+        BenefitType benefitType = benefitTypes.get(benefitTypeId);
+        if (benefitType == null) {
+            throw new IllegalArgumentException("Benefit type " + benefitTypeId + " not found");
+        }
+
+        return Benefit.builder()
+                .id(uuid("benefit", employee.getId(), benefitTypeId))
+                .employee(employee)
+                .benefitType(benefitType)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+    private static Status status(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 80) return Status.REGULAR;
+        if (roll < 90) return Status.PROBATIONARY;
+        if (roll < 94) return Status.CONTRACTUAL;
+        if (roll < 97) return Status.PART_TIME;
+        if (roll < 99) return Status.RESIGNED;
+        return Status.TERMINATED;
+    }
+
+    private SplittableRandom random(int index, int stream) {
+        // SplitMix-style mixing so neighbouring indexes do not get correlated sequences
+        long mixed = seed ^ (index * 0x9E3779B97F4A7C15L) ^ (stream * 0xBF58476D1CE4E5B9L);
+        return new SplittableRandom(mixed);
+    }
+
+    private static boolean overlaps(List<LeaveRequest> leaveRequests, LocalDate start, LocalDate end) {
+        return leaveRequests.stream()
+                .anyMatch(request -> !start.isAfter(request.getEndDate()) && !end.isBefore(request.getStartDate()));
+    }
+
+    private static boolean onApprovedLeave(List<LeaveRequest> leaveRequests, LocalDate date) {
+        for (LeaveRequest request : leaveRequests) {
+            if (request.getLeaveStatus() == LeaveStatus.APPROVED
+                    && !date.isBefore(request.getStartDate()) && !date.isAfter(request.getEndDate())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+
+    private static LocalDate nextWeekday(LocalDate date) {
+        while (isWeekend(date)) {
+            date = date.plusDays(1);
+        }
+        return date;
+    }
+
+    private static LocalDate plusWeekdays(LocalDate date, int days) {
+        for (int i = 0; i < days; i++) {
+            date = nextWeekday(date.plusDays(1));
+        }
+        return date;
+    }
+
+    private static long weekdaysBetween(LocalDate start, LocalDate end) {
+        long days = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            if (!isWeekend(date)) {
+                days++;
+            }
+        }
+        return days;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+}
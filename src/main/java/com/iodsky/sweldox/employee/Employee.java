@@ -22,11 +22,13 @@ import java.util.List;
 @Builder
 public class Employee extends BaseModel {
 
+    // Ids come in blocks of allocationSize per nextval so inserts can be JDBC batched; the
+    // sequence increment must match (V6)
     @SequenceGenerator(
             name = "employee_id_seq",
             sequenceName = "employee_id_seq",
             initialValue = 10001,
-            allocationSize = 1
+            allocationSize = 50
     )
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_id_seq")
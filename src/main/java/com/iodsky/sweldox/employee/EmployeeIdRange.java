@@ -0,0 +1,6 @@
+package com.iodsky.sweldox.employee;
+
+public interface EmployeeIdRange {
+    Long getMinId();
+    Long getMaxId();
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -35,6 +36,43 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
        """)
     List<Long> findAllActiveEmployeeIds();
 
+    @Query("""
+        SELECT COUNT(e)
+        FROM Employee e
+        WHERE e.status NOT IN (
+        com.iodsky.sweldox.employee.Status.RESIGNED,
+         com.iodsky.sweldox.employee.Status.TERMINATED
+         )
+       """)
+    long countActiveEmployees();
+
+    @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids")
+    List<Long> findIdsByIdIn(Collection<Long> ids);
+
+    @Query(value = """
+        SELECT MIN(t.id) AS minId, MAX(t.id) AS maxId
+        FROM (
+            SELECT e.id, NTILE(:partitions) OVER (ORDER BY e.id) AS bucket
+            FROM employee e
+            WHERE e.status NOT IN ('RESIGNED', 'TERMINATED')
+        ) t
+        GROUP BY t.bucket
+        ORDER BY t.bucket
+       """, nativeQuery = true)
+    List<EmployeeIdRange> findActiveEmployeeIdRanges(int partitions);
+
+    @Query("""
+        SELECT DISTINCT e
+        FROM Employee e
+        LEFT JOIN FETCH e.benefits b
+        LEFT JOIN FETCH b.benefitType
+        LEFT JOIN FETCH e.governmentId
+        LEFT JOIN FETCH e.position
+        LEFT JOIN FETCH e.department
+        WHERE e.id IN :ids
+       """)
+    List<Employee> findAllWithBenefitsByIdIn(Collection<Long> ids);
+
     @Query("SELECT e FROM Employee  e WHERE e.deletedAt IS NULL AND e.supervisor.id = :supervisorId")
     List<Employee> findAllBySupervisor_Id(Long supervisorId);
 
@@ -82,12 +82,19 @@ public class EmployeeService {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
         if (principal instanceof User user) {
-            return user.getEmployee();
+            return getEmployeeById(user.getEmployee().getId());
         }
 
         throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authenticated user not found");
     }
 
+    /**
+     * Returns a reference to the employee for setting associations, without loading it.
+     */
+    public Employee getEmployeeReference(Long id) {
+        return employeeRepository.getReferenceById(id);
+    }
+
     public Employee getEmployeeById(Long id) {
         return employeeRepository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Employee " + id + " not found"));
     }
@@ -146,10 +153,34 @@ public class EmployeeService {
         employeeRepository.save(employee);
     }
 
+    public List<Employee> getEmployeesByIds(Collection<Long> ids) {
+        List<Employee> employees = employeeRepository.findAllWithBenefitsByIdIn(ids);
+
+        if (employees.size() < new HashSet<>(ids).size()) {
+            Set<Long> missing = new TreeSet<>(ids);
+            employees.forEach(e -> missing.remove(e.getId()));
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Employees " + missing + " not found");
+        }
+
+        return employees;
+    }
+
     public List<Long> getAllActiveEmployeeIds() {
         return employeeRepository.findAllActiveEmployeeIds();
     }
 
+    public long countActiveEmployees() {
+        return employeeRepository.countActiveEmployees();
+    }
+
+    /**
+     * Splits the active employees into at most {@code partitions} contiguous id ranges
+     * holding roughly the same number of employees each.
+     */
+    public List<EmployeeIdRange> getActiveEmployeeIdRanges(int partitions) {
+        return employeeRepository.findActiveEmployeeIdRanges(partitions);
+    }
+
     private DuplicateFieldException handleDataIntegrityViolation(DataIntegrityViolationException ex) {
         String message = "Field validation error";
         DuplicateField duplicateField = null;
@@ -1,5 +1,6 @@
 package com.iodsky.sweldox.leave;
 
+import com.iodsky.sweldox.employee.EmployeeService;
 import com.iodsky.sweldox.security.user.User;
 import com.iodsky.sweldox.security.user.UserService;
 import jakarta.persistence.OptimisticLockException;
@@ -25,6 +26,7 @@ public class LeaveRequestService {
     private final LeaveCreditService leaveCreditService;
     private final LeaveRequestMapper leaveRequestMapper;
     private final UserService userService;
+    private final EmployeeService employeeService;
 
     @Transactional
     public LeaveRequest createLeaveRequest(LeaveRequestDto dto) {
@@ -49,7 +51,7 @@ public class LeaveRequestService {
         }
 
         LeaveRequest leave = LeaveRequest.builder()
-                .employee(user.getEmployee())
+                .employee(employeeService.getEmployeeReference(employeeId))
                 .leaveType(type)
                 .startDate(dto.getStartDate())
                 .endDate(dto.getEndDate())
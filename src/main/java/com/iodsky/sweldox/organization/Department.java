@@ -1,13 +1,16 @@
 package com.iodsky.sweldox.organization;
 
 import com.iodsky.sweldox.common.BaseModel;
+import com.iodsky.sweldox.common.ReferenceDataListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.*;
 
 @Entity
+@EntityListeners(ReferenceDataListener.class)
 @Table(name = "department")
 @Getter
 @Setter
@@ -1,5 +1,6 @@
 package com.iodsky.sweldox.organization;
 
+import com.iodsky.sweldox.common.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -9,10 +10,10 @@ import org.springframework.web.server.ResponseStatusException;
 @RequiredArgsConstructor
 public class DepartmentService {
 
-    private final DepartmentRepository departmentRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     public Department getDepartmentById(String id) {
-        return departmentRepository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Department " + id + " not found"));
+        return referenceDataCache.findDepartment(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Department " + id + " not found"));
     }
 
 }
@@ -2,10 +2,12 @@ package com.iodsky.sweldox.organization;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.iodsky.sweldox.common.BaseModel;
+import com.iodsky.sweldox.common.ReferenceDataListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@EntityListeners(ReferenceDataListener.class)
 @Table(name = "position")
 @Getter
 @Setter
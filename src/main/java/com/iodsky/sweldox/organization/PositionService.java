@@ -1,11 +1,13 @@
 package com.iodsky.sweldox.organization;
 
+import com.iodsky.sweldox.common.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -13,17 +15,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PositionService {
 
-    private final PositionRepository positionRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     public Position getPositionById(String id) {
-        return positionRepository.findById(id)
+        return referenceDataCache.findPosition(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Position " + id + " not found"));
     }
 
     public Map<String, Position> getPositionsByTitles(Set<String> titles) {
-        return positionRepository.findByTitleIn(titles)
-                .stream()
-                .collect(Collectors.toMap(Position::getTitle, p -> p));
+        return titles.stream()
+                .map(referenceDataCache::findPositionByTitle)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toMap(Position::getTitle, p -> p, (a, b) -> a));
     }
 
 }
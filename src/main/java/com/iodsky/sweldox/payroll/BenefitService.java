@@ -1,5 +1,6 @@
 package com.iodsky.sweldox.payroll;
 
+import com.iodsky.sweldox.common.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -9,10 +10,10 @@ import org.springframework.web.server.ResponseStatusException;
 @RequiredArgsConstructor
 public class BenefitService {
 
-    private final BenefitTypeRepository benefitTypeRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     public BenefitType getBenefitTypeById(String id) {
-        return benefitTypeRepository.findById(id)
+        return referenceDataCache.findBenefitType(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Benefit type " + id + " not found"));
     }
 
@@ -0,0 +1,143 @@
+package com.iodsky.sweldox.payroll;
+
+import com.iodsky.sweldox.payroll.rate.StatutoryRates;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point counterpart of {@link PayrollCalculator}. Money is carried as long centavos and
+ * hours as long hundredths of an hour, matching the NUMERIC(19, 2) columns they are read from.
+ * Every rounding step mirrors the BigDecimal implementation and both read the same
+ * {@link StatutoryRates}, so the results are the same values with HALF_UP rounding applied at
+ * the same points.
+ * <p>
+ * Arithmetic that could overflow uses {@link Math#multiplyExact} and {@link Math#addExact};
+ * callers are expected to fall back to {@link PayrollCalculator} on {@link ArithmeticException}.
+ */
+public class FixedPointPayrollCalculator {
+
+    private static final long SEMI_MONTHLY_DIVISOR = 2;
+    private static final long OVERTIME_MULTIPLIER = 125;             // 1.25 in hundredths
+    private static final long STANDARD_WORK_HOURS = 8;
+
+    private FixedPointPayrollCalculator() {}
+
+    /**
+     * Converts a value with at most two decimal places to hundredths.
+     *
+     * @throws ArithmeticException if the value has more precision or does not fit in a long
+     */
+    public static long toHundredths(BigDecimal value) {
+        return value.movePointRight(2).longValueExact();
+    }
+
+    public static BigDecimal fromHundredths(long value) {
+        return BigDecimal.valueOf(value, 2);
+    }
+
+    /**
+     * Runs the full semi-monthly calculation.
+     *
+     * @param hourlyRate    in centavos
+     * @param basicSalary   in centavos
+     * @param totalHours    in hundredths of an hour
+     * @param overtimeHours in hundredths of an hour
+     * @param totalBenefits in centavos
+     * @param rates         the statutory rates effective on the pay date
+     */
+    public static Amounts calculate(long hourlyRate, long basicSalary,
+                                    long totalHours, long overtimeHours, long totalBenefits,
+                                    StatutoryRates rates) {
+        long regularHours = Math.subtractExact(totalHours, overtimeHours);
+
+        // regular pay is exact in 1e-4 and overtime pay in 1e-6, as the BigDecimal products are
+        long regularPay = Math.multiplyExact(hourlyRate, regularHours);
+        long overtimePay = Math.multiplyExact(Math.multiplyExact(hourlyRate, overtimeHours), OVERTIME_MULTIPLIER);
+        long grossPay = divideHalfUp(Math.addExact(Math.multiplyExact(regularPay, 100), overtimePay), 10_000);
+
+        long sss = calculateSssDeduction(basicSalary, rates);
+        long philhealth = calculatePhilhealthDeduction(basicSalary, rates);
+        long pagibig = calculatePagibigDeduction(basicSalary, rates);
+        long statutoryDeductions = sss + philhealth + pagibig;
+
+        long taxableIncome = Math.subtractExact(grossPay, statutoryDeductions);
+        long withholdingTax = calculateWithholdingTax(taxableIncome, rates);
+        long totalDeductions = withholdingTax + statutoryDeductions;
+
+        long netPay = Math.subtractExact(Math.addExact(grossPay, totalBenefits), totalDeductions);
+
+        return new Amounts(totalHours, overtimeHours, regularHours, regularPay, overtimePay, grossPay,
+                totalBenefits, sss, philhealth, pagibig, taxableIncome, withholdingTax, totalDeductions, netPay);
+    }
+
+    public static long calculateDailyRate(long hourlyRate) {
+        return Math.multiplyExact(hourlyRate, STANDARD_WORK_HOURS);
+    }
+
+    // Rates are in ten-thousandths, so salary times rate is in millionths of a peso
+    public static long calculatePhilhealthDeduction(long basicSalary, StatutoryRates rates) {
+        long monthlyPremium = Math.min(
+                Math.multiplyExact(basicSalary, rates.getPhilhealthRate()),
+                Math.multiplyExact(rates.getPhilhealthMaxPremium(), 10_000));
+        long employeeShare = divideHalfUp(monthlyPremium, 2 * 10_000);
+        return divideHalfUp(employeeShare, SEMI_MONTHLY_DIVISOR);
+    }
+
+    public static long calculatePagibigDeduction(long basicSalary, StatutoryRates rates) {
+        long rate = basicSalary > rates.getPagibigThreshold()
+                ? rates.getPagibigRateAboveThreshold()
+                : rates.getPagibigRateBelowThreshold();
+        long contribution = Math.min(
+                Math.multiplyExact(basicSalary, rate),
+                Math.multiplyExact(rates.getPagibigMaxContribution(), 10_000));
+        return divideHalfUp(contribution, SEMI_MONTHLY_DIVISOR * 10_000);
+    }
+
+    public static long calculateSssDeduction(long basicSalary, StatutoryRates rates) {
+        return divideHalfUp(rates.sssContribution(basicSalary), SEMI_MONTHLY_DIVISOR);
+    }
+
+    public static long calculateWithholdingTax(long taxableIncome, StatutoryRates rates) {
+        int bracket = rates.taxBracketIndex(taxableIncome);
+        if (bracket < 0 || taxableIncome > rates.taxUpperBound(bracket)) {
+            // Incomes below the first bracket or between two brackets are not taxed
+            return 0;
+        }
+        long excessTax = Math.multiplyExact(taxableIncome - rates.taxExcessOver(bracket), rates.taxRate(bracket));
+        long tax = Math.addExact(Math.multiplyExact(rates.taxBase(bracket), 10_000), excessTax);
+        return divideHalfUp(tax, SEMI_MONTHLY_DIVISOR * 10_000);
+    }
+
+    /**
+     * Divides and rounds half away from zero, like {@link java.math.RoundingMode#HALF_UP}.
+     */
+    static long divideHalfUp(long value, long divisor) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(value);
+        }
+        return quotient;
+    }
+
+    /**
+     * Result of {@link #calculate}. Hours are in hundredths, regular pay in ten-thousandths,
+     * overtime pay in millionths and every other amount in centavos.
+     */
+    public record Amounts(
+            long totalHours,
+            long overtimeHours,
+            long regularHours,
+            long regularPay,
+            long overtimePay,
+            long grossPay,
+            long totalBenefits,
+            long sss,
+            long philhealth,
+            long pagibig,
+            long taxableIncome,
+            long withholdingTax,
+            long totalDeductions,
+            long netPay
+    ) {}
+}
@@ -2,36 +2,119 @@ package com.iodsky.sweldox.payroll;
 
 import com.iodsky.sweldox.attendance.Attendance;
 import com.iodsky.sweldox.attendance.AttendanceService;
+import com.iodsky.sweldox.common.ReferenceDataCache;
 import com.iodsky.sweldox.employee.Employee;
 import com.iodsky.sweldox.employee.EmployeeService;
+import com.iodsky.sweldox.payroll.rate.StatutoryRateRegistry;
+import com.iodsky.sweldox.payroll.rate.StatutoryRates;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class PayrollBuilder {
 
+    private static final List<String> STATUTORY_DEDUCTION_CODES = List.of("SSS", "PHIC", "HDMF", "TAX");
+
     private final EmployeeService employeeService;
     private final AttendanceService attendanceService;
-    private final DeductionTypeRepository deductionTypeRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final StatutoryRateRegistry statutoryRateRegistry;
+
+    @Value("${payroll.calculator.mode:bigdecimal}")
+    private PayrollCalculationMode calculationMode = PayrollCalculationMode.BIGDECIMAL;
+
+    @Value("${payroll.calculator.verify-sample-rate:0.01}")
+    private double verifySampleRate = 0.01;
 
     public Payroll buildPayroll(Long employeeId, LocalDate periodStart, LocalDate periodEnd, LocalDate payDate) {
-        // Build context with all necessary data
-        PayrollContext context = buildContext(employeeId, periodStart, periodEnd);
+        return buildPayrolls(List.of(employeeId), periodStart, periodEnd, payDate).getFirst();
+    }
+
+    /**
+     * Builds the payroll of every given employee for the period using a fixed number of queries:
+     * one for the employees with their benefits, one for all attendances in the period and one for
+     * the deduction types. The calculation itself then runs entirely from memory.
+     *
+     * @return the payrolls, in the iteration order of {@code employeeIds}, each covering the whole
+     * period even when the employee has no attendance in it
+     */
+    @Transactional(readOnly = true)
+    public List<Payroll> buildPayrolls(Collection<Long> employeeIds, LocalDate periodStart, LocalDate periodEnd, LocalDate payDate) {
+        Map<Long, Employee> employees = employeeService.getEmployeesByIds(employeeIds)
+                .stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        Map<Long, List<Attendance>> attendances = attendanceService.getEmployeesAttendances(employeeIds, periodStart, periodEnd);
+        Map<String, DeductionType> deductionTypes = getDeductionTypes();
+        StatutoryRates rates = statutoryRateRegistry.getRates(payDate);
+
+        List<Payroll> payrolls = new ArrayList<>(employeeIds.size());
+        for (Long employeeId : employeeIds) {
+            payrolls.add(buildPayroll(
+                    employees.get(employeeId),
+                    attendances.getOrDefault(employeeId, List.of()),
+                    deductionTypes,
+                    periodStart,
+                    periodEnd,
+                    payDate,
+                    rates
+            ));
+        }
+
+        return payrolls;
+    }
+
+    /**
+     * Builds a payroll from already loaded inputs without touching the database.
+     *
+     * @param attendances the employee's attendances for the period, ordered by date
+     * @param deductionTypes the statutory deduction types keyed by code
+     * @param periodStart first day of the pay period, recorded on the payroll whatever days were worked
+     * @param periodEnd last day of the pay period
+     */
+    public Payroll buildPayroll(Employee employee, List<Attendance> attendances, Map<String, DeductionType> deductionTypes,
+                                LocalDate periodStart, LocalDate periodEnd, LocalDate payDate) {
+        return buildPayroll(employee, attendances, deductionTypes, periodStart, periodEnd, payDate,
+                statutoryRateRegistry.getRates(payDate));
+    }
+
+    private Payroll buildPayroll(Employee employee, List<Attendance> attendances, Map<String, DeductionType> deductionTypes,
+                                 LocalDate periodStart, LocalDate periodEnd, LocalDate payDate, StatutoryRates rates) {
+        PayrollContext context = switch (calculationMode) {
+            case BIGDECIMAL -> buildContext(employee, attendances, rates);
+            case FIXED_POINT -> buildFixedPointContext(employee, attendances, rates)
+                    .orElseGet(() -> buildContext(employee, attendances, rates));
+            case VERIFY -> buildVerifiedContext(employee, attendances, rates);
+        };
+        return buildPayrollFromContext(context, deductionTypes, periodStart, periodEnd, payDate);
+    }
+
+    private Map<String, DeductionType> getDeductionTypes() {
+        Map<String, DeductionType> deductionTypes = STATUTORY_DEDUCTION_CODES.stream()
+                .map(referenceDataCache::findDeductionType)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toMap(DeductionType::getCode, Function.identity()));
 
-        // Build and return payroll entity
-        return buildPayrollFromContext(context, payDate);
+        if (deductionTypes.size() < STATUTORY_DEDUCTION_CODES.size()) {
+            throw new NoSuchElementException("Missing statutory deduction types, found " + deductionTypes.keySet());
+        }
+
+        return deductionTypes;
     }
 
-    private PayrollContext buildContext(Long employeeId, LocalDate periodStart, LocalDate periodEnd) {
-        Employee employee = employeeService.getEmployeeById(employeeId);
-        List<Attendance> attendances = attendanceService.getEmployeeAttendances(employeeId, periodStart, periodEnd);
+    private PayrollContext buildContext(Employee employee, List<Attendance> attendances, StatutoryRates rates) {
         List<Benefit> benefits = employee.getBenefits();
 
         BigDecimal basicSalary = employee.getBasicSalary();
@@ -51,21 +134,21 @@ public class PayrollBuilder {
         BigDecimal totalBenefits = PayrollCalculator.calculateTotalBenefits(benefits);
 
         // Calculate statutory deductions
-        BigDecimal sss = PayrollCalculator.calculateSssDeduction(basicSalary);
-        BigDecimal philhealth = PayrollCalculator.calculatePhilhealthDeduction(basicSalary);
-        BigDecimal pagibig = PayrollCalculator.calculatePagibigDeduction(basicSalary);
+        BigDecimal sss = PayrollCalculator.calculateSssDeduction(basicSalary, rates);
+        BigDecimal philhealth = PayrollCalculator.calculatePhilhealthDeduction(basicSalary, rates);
+        BigDecimal pagibig = PayrollCalculator.calculatePagibigDeduction(basicSalary, rates);
 
         // Calculate tax
         BigDecimal statutoryDeductions = PayrollCalculator.calculateTotalStatutoryDeductions(sss, philhealth, pagibig);
         BigDecimal taxableIncome = PayrollCalculator.calculateTaxableIncome(grossPay, statutoryDeductions);
-        BigDecimal withholdingTax = PayrollCalculator.calculateWithholdingTax(taxableIncome);
+        BigDecimal withholdingTax = PayrollCalculator.calculateWithholdingTax(taxableIncome, rates);
         BigDecimal totalDeductions = withholdingTax.add(statutoryDeductions).setScale(2, RoundingMode.HALF_UP);
 
         // Calculate net pay
         BigDecimal netPay = PayrollCalculator.calculateNetPay(grossPay, totalBenefits, statutoryDeductions, withholdingTax);
 
         return PayrollContext.builder()
-                .employeeId(employeeId)
+                .employeeId(employee.getId())
                 .employee(employee)
                 .attendances(attendances)
                 .benefits(benefits)
@@ -88,28 +171,112 @@ public class PayrollBuilder {
                 .build();
     }
 
-    private Payroll buildPayrollFromContext(PayrollContext context, LocalDate payDate) {
+    /**
+     * Computes the context in long centavos through {@link FixedPointPayrollCalculator}.
+     * Returns empty when an input has more than two decimal places or an intermediate
+     * amount would overflow, in which case the BigDecimal path has to be used.
+     */
+    private Optional<PayrollContext> buildFixedPointContext(Employee employee, List<Attendance> attendances, StatutoryRates rates) {
+        try {
+            long hourlyRate = FixedPointPayrollCalculator.toHundredths(employee.getHourlyRate());
+            long basicSalary = FixedPointPayrollCalculator.toHundredths(employee.getBasicSalary());
+
+            long totalHours = 0;
+            long overtimeHours = 0;
+            for (Attendance attendance : attendances) {
+                totalHours = Math.addExact(totalHours, FixedPointPayrollCalculator.toHundredths(attendance.getTotalHours()));
+                overtimeHours = Math.addExact(overtimeHours, FixedPointPayrollCalculator.toHundredths(attendance.getOvertime()));
+            }
+
+            long totalBenefits = 0;
+            for (Benefit benefit : employee.getBenefits()) {
+                totalBenefits = Math.addExact(totalBenefits, FixedPointPayrollCalculator.toHundredths(benefit.getAmount()));
+            }
+
+            FixedPointPayrollCalculator.Amounts amounts = FixedPointPayrollCalculator.calculate(
+                    hourlyRate, basicSalary, totalHours, overtimeHours, totalBenefits, rates);
+
+            return Optional.of(PayrollContext.builder()
+                    .employeeId(employee.getId())
+                    .employee(employee)
+                    .attendances(attendances)
+                    .benefits(employee.getBenefits())
+                    .hourlyRate(employee.getHourlyRate())
+                    .basicSalary(employee.getBasicSalary())
+                    .totalHours(FixedPointPayrollCalculator.fromHundredths(amounts.totalHours()))
+                    .overtimeHours(FixedPointPayrollCalculator.fromHundredths(amounts.overtimeHours()))
+                    .regularHours(FixedPointPayrollCalculator.fromHundredths(amounts.regularHours()))
+                    .regularPay(BigDecimal.valueOf(amounts.regularPay(), 4))
+                    .overtimePay(BigDecimal.valueOf(amounts.overtimePay(), 6))
+                    .grossPay(FixedPointPayrollCalculator.fromHundredths(amounts.grossPay()))
+                    .totalBenefits(FixedPointPayrollCalculator.fromHundredths(amounts.totalBenefits()))
+                    .sss(FixedPointPayrollCalculator.fromHundredths(amounts.sss()))
+                    .philhealth(FixedPointPayrollCalculator.fromHundredths(amounts.philhealth()))
+                    .pagibig(FixedPointPayrollCalculator.fromHundredths(amounts.pagibig()))
+                    .taxableIncome(FixedPointPayrollCalculator.fromHundredths(amounts.taxableIncome()))
+                    .withholdingTax(FixedPointPayrollCalculator.fromHundredths(amounts.withholdingTax()))
+                    .totalDeductions(FixedPointPayrollCalculator.fromHundredths(amounts.totalDeductions()))
+                    .netPay(FixedPointPayrollCalculator.fromHundredths(amounts.netPay()))
+                    .build());
+        } catch (ArithmeticException ex) {
+            log.debug("Falling back to BigDecimal calculation for employee {}: {}", employee.getId(), ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Computes the context with BigDecimal and, for a sample of employees, also with fixed-point
+     * arithmetic, logging every amount on which the two disagree. The BigDecimal result is kept.
+     */
+    private PayrollContext buildVerifiedContext(Employee employee, List<Attendance> attendances, StatutoryRates rates) {
+        PayrollContext context = buildContext(employee, attendances, rates);
+        if (ThreadLocalRandom.current().nextDouble() >= verifySampleRate) {
+            return context;
+        }
+
+        buildFixedPointContext(employee, attendances, rates).ifPresent(fixedPoint -> {
+            Map<String, BigDecimal[]> amounts = new LinkedHashMap<>();
+            amounts.put("overtimeHours", new BigDecimal[]{context.getOvertimeHours(), fixedPoint.getOvertimeHours()});
+            amounts.put("grossPay", new BigDecimal[]{context.getGrossPay(), fixedPoint.getGrossPay()});
+            amounts.put("totalBenefits", new BigDecimal[]{context.getTotalBenefits(), fixedPoint.getTotalBenefits()});
+            amounts.put("sss", new BigDecimal[]{context.getSss(), fixedPoint.getSss()});
+            amounts.put("philhealth", new BigDecimal[]{context.getPhilhealth(), fixedPoint.getPhilhealth()});
+            amounts.put("pagibig", new BigDecimal[]{context.getPagibig(), fixedPoint.getPagibig()});
+            amounts.put("taxableIncome", new BigDecimal[]{context.getTaxableIncome(), fixedPoint.getTaxableIncome()});
+            amounts.put("withholdingTax", new BigDecimal[]{context.getWithholdingTax(), fixedPoint.getWithholdingTax()});
+            amounts.put("totalDeductions", new BigDecimal[]{context.getTotalDeductions(), fixedPoint.getTotalDeductions()});
+            amounts.put("netPay", new BigDecimal[]{context.getNetPay(), fixedPoint.getNetPay()});
+
+            amounts.forEach((field, values) -> {
+                if (values[0].compareTo(values[1]) != 0) {
+                    log.warn("Fixed-point payroll diverges for employee {} on {}: BigDecimal={}, fixed-point={}",
+                            employee.getId(), field, values[0], values[1]);
+                }
+            });
+        });
+
+        return context;
+    }
+
+    private Payroll buildPayrollFromContext(PayrollContext context, Map<String, DeductionType> deductionTypes,
+                                            LocalDate periodStart, LocalDate periodEnd, LocalDate payDate) {
         BigDecimal dailyRate = PayrollCalculator.calculateDailyRate(context.getHourlyRate());
 
         // Build deduction list
-        List<Deduction> deductions = buildDeductions(context);
+        List<Deduction> deductions = buildDeductions(context, deductionTypes);
 
         // Build payroll benefits
         List<PayrollBenefit> payrollBenefits = buildPayrollBenefits(context.getBenefits());
 
-        // Determine period dates from attendances
-        LocalDate periodStartDate = context.getAttendances().isEmpty() ? null :
-                context.getAttendances().getFirst().getDate();
-        LocalDate periodEndDate = context.getAttendances().isEmpty() ? null :
-                context.getAttendances().getLast().getDate();
-
         // Build payroll entity
         Payroll payroll = Payroll.builder()
                 .employee(context.getEmployee())
                 .monthlyRate(context.getBasicSalary())
                 .dailyRate(dailyRate)
-                .periodStartDate(periodStartDate)
-                .periodEndDate(periodEndDate)
+                // The pay period rather than the first and last days worked, so attendance added
+                // later anywhere in the period still matches the payroll
+                .periodStartDate(periodStart)
+                .periodEndDate(periodEnd)
                 .payDate(payDate)
                 .daysWorked(context.getAttendances().size())
                 .overtime(context.getOvertimeHours())
@@ -127,26 +294,26 @@ public class PayrollBuilder {
         return payroll;
     }
 
-    private List<Deduction> buildDeductions(PayrollContext context) {
+    private List<Deduction> buildDeductions(PayrollContext context, Map<String, DeductionType> deductionTypes) {
         List<Deduction> deductions = new ArrayList<>();
 
         deductions.add(Deduction.builder()
-                .deductionType(deductionTypeRepository.findByCode("SSS").orElseThrow())
+                .deductionType(deductionTypes.get("SSS"))
                 .amount(context.getSss())
                 .build());
 
         deductions.add(Deduction.builder()
-                .deductionType(deductionTypeRepository.findByCode("PHIC").orElseThrow())
+                .deductionType(deductionTypes.get("PHIC"))
                 .amount(context.getPhilhealth())
                 .build());
 
         deductions.add(Deduction.builder()
-                .deductionType(deductionTypeRepository.findByCode("HDMF").orElseThrow())
+                .deductionType(deductionTypes.get("HDMF"))
                 .amount(context.getPagibig())
                 .build());
 
         deductions.add(Deduction.builder()
-                .deductionType(deductionTypeRepository.findByCode("TAX").orElseThrow())
+                .deductionType(deductionTypes.get("TAX"))
                 .amount(context.getWithholdingTax())
                 .build());
 
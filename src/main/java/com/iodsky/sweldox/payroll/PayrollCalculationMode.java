@@ -0,0 +1,7 @@
+package com.iodsky.sweldox.payroll;
+
+public enum PayrollCalculationMode {
+    BIGDECIMAL,
+    FIXED_POINT,
+    VERIFY
+}
@@ -1,48 +1,18 @@
 package com.iodsky.sweldox.payroll;
 
 import com.iodsky.sweldox.attendance.Attendance;
+import com.iodsky.sweldox.payroll.rate.StatutoryRates;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Arrays;
 import java.util.List;
-import java.util.TreeMap;
 
 public class PayrollCalculator {
 
-    private static final BigDecimal PHILHEALTH_RATE = BigDecimal.valueOf(0.03);
-    private static final BigDecimal PHILHEALTH_MAX_PREMIUM = BigDecimal.valueOf(1800);
-
-    private static final BigDecimal PAGIBIG_EMPLOYEE_RATE_BELOW_1500 = BigDecimal.valueOf(0.01);
-    private static final BigDecimal PAGIBIG_EMPLOYEE_RATE_ABOVE_1500 = BigDecimal.valueOf(0.02);
-    private static final BigDecimal PAGIBIG_MAX_EMPLOYEE_CONTRIBUTION = BigDecimal.valueOf(100);
-
-    private static final TreeMap<BigDecimal, BigDecimal> SSS_TABLE = new TreeMap<>();
-    private static final BigDecimal SSS_STARTING_MSC = BigDecimal.valueOf(3250);
-    private static final BigDecimal SSS_MIN_CONTRIBUTION = BigDecimal.valueOf(135);
-    private static final BigDecimal SSS_INCREMENT_RATE = BigDecimal.valueOf(22.5);
-
-    private static final List<TaxBracket> TAX_BRACKETS = Arrays.asList(
-        new TaxBracket("0", "20832", "0", "0", "0"),
-        new TaxBracket("20833", "33332", "0", "0.20", "20833"),
-        new TaxBracket("33333", "66666", "2500", "0.25", "33333"),
-        new TaxBracket("66667", "166666", "10833", "0.30", "66667"),
-        new TaxBracket("166667", "666666", "40833.33", "0.32", "166667"),
-        new TaxBracket("666667", "MAX", "200833.33", "0.35", "666667")
-    );
-
     private static final BigDecimal SEMI_MONTHLY_DIVISOR = BigDecimal.valueOf(2);
     private static final BigDecimal OVERTIME_MULTIPLIER = BigDecimal.valueOf(1.25);
     private static final int STANDARD_WORK_HOURS = 8;
 
-    static {
-        for (int i = 0; i < 44; i++) {
-            BigDecimal range = SSS_STARTING_MSC.add(BigDecimal.valueOf(i).multiply(BigDecimal.valueOf(500)));
-            BigDecimal amount = SSS_MIN_CONTRIBUTION.add(SSS_INCREMENT_RATE.multiply(BigDecimal.valueOf(i)));
-            SSS_TABLE.put(range, amount);
-        }
-    }
-
     private PayrollCalculator() {}
 
     public static BigDecimal calculateTotalHours(List<Attendance> attendances) {
@@ -89,41 +59,39 @@ public class PayrollCalculator {
                 .orElse(BigDecimal.ZERO);
     }
 
-    public static BigDecimal calculatePhilhealthDeduction(BigDecimal basicSalary) {
-        BigDecimal monthlyPremium = basicSalary.multiply(PHILHEALTH_RATE)
-                .min(PHILHEALTH_MAX_PREMIUM);
+    public static BigDecimal calculatePhilhealthDeduction(BigDecimal basicSalary, StatutoryRates rates) {
+        BigDecimal monthlyPremium = basicSalary.multiply(BigDecimal.valueOf(rates.getPhilhealthRate(), 4))
+                .min(BigDecimal.valueOf(rates.getPhilhealthMaxPremium(), 2));
         BigDecimal employeeShare = monthlyPremium.divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
         return employeeShare.divide(SEMI_MONTHLY_DIVISOR, 2, RoundingMode.HALF_UP);
     }
 
-    public static BigDecimal calculatePagibigDeduction(BigDecimal basicSalary) {
-        BigDecimal contribution;
-        if (basicSalary.compareTo(BigDecimal.valueOf(1500)) > 0) {
-            contribution = basicSalary.multiply(PAGIBIG_EMPLOYEE_RATE_ABOVE_1500);
+    public static BigDecimal calculatePagibigDeduction(BigDecimal basicSalary, StatutoryRates rates) {
+        long rate;
+        if (basicSalary.compareTo(BigDecimal.valueOf(rates.getPagibigThreshold(), 2)) > 0) {
+            rate = rates.getPagibigRateAboveThreshold();
         } else {
-            contribution = basicSalary.multiply(PAGIBIG_EMPLOYEE_RATE_BELOW_1500);
+            rate = rates.getPagibigRateBelowThreshold();
         }
-        return contribution.min(PAGIBIG_MAX_EMPLOYEE_CONTRIBUTION)
+        return basicSalary.multiply(BigDecimal.valueOf(rate, 4))
+                .min(BigDecimal.valueOf(rates.getPagibigMaxContribution(), 2))
                 .divide(SEMI_MONTHLY_DIVISOR, 2, RoundingMode.HALF_UP);
     }
 
-    public static BigDecimal calculateSssDeduction(BigDecimal basicSalary) {
-        if (basicSalary.compareTo(SSS_STARTING_MSC) < 0) {
-            return SSS_MIN_CONTRIBUTION.divide(SEMI_MONTHLY_DIVISOR, 2, RoundingMode.HALF_UP);
-        }
-        var entry = SSS_TABLE.floorEntry(basicSalary);
-        if (entry == null) {
-            return BigDecimal.ZERO;
-        }
-        return entry.getValue().divide(SEMI_MONTHLY_DIVISOR, 2, RoundingMode.HALF_UP);
+    public static BigDecimal calculateSssDeduction(BigDecimal basicSalary, StatutoryRates rates) {
+        long contribution = rates.sssContribution(toFlooredCentavos(basicSalary));
+        return BigDecimal.valueOf(contribution, 2).divide(SEMI_MONTHLY_DIVISOR, 2, RoundingMode.HALF_UP);
     }
 
-    public static BigDecimal calculateWithholdingTax(BigDecimal taxableIncome) {
-        BigDecimal tax = TAX_BRACKETS.stream()
-                .filter(bracket -> bracket.isInBracket(taxableIncome))
-                .findFirst()
-                .map(bracket -> bracket.calculateTax(taxableIncome))
-                .orElse(BigDecimal.ZERO);
+    public static BigDecimal calculateWithholdingTax(BigDecimal taxableIncome, StatutoryRates rates) {
+        BigDecimal tax = BigDecimal.ZERO;
+
+        int bracket = rates.taxBracketIndex(toFlooredCentavos(taxableIncome));
+        if (bracket >= 0 && taxableIncome.compareTo(BigDecimal.valueOf(rates.taxUpperBound(bracket), 2)) <= 0) {
+            BigDecimal excessAmount = taxableIncome.subtract(BigDecimal.valueOf(rates.taxExcessOver(bracket), 2));
+            BigDecimal excessTax = excessAmount.multiply(BigDecimal.valueOf(rates.taxRate(bracket), 4));
+            tax = BigDecimal.valueOf(rates.taxBase(bracket), 2).add(excessTax);
+        }
 
         return tax.divide(SEMI_MONTHLY_DIVISOR, 2, RoundingMode.HALF_UP);
     }
@@ -146,29 +114,7 @@ public class PayrollCalculator {
                 .setScale(2, RoundingMode.HALF_UP);
     }
 
-    public static class TaxBracket {
-        private final BigDecimal lowerBound;
-        private final BigDecimal upperBound;
-        private final BigDecimal baseTax;
-        private final BigDecimal rate;
-        private final BigDecimal excessOver;
-
-        public TaxBracket(String lowerBound, String upperBound, String baseTax, String rate, String excessOver) {
-            this.lowerBound = new BigDecimal(lowerBound);
-            this.upperBound = upperBound.equals("MAX") ? new BigDecimal(Long.MAX_VALUE) : new BigDecimal(upperBound);
-            this.baseTax = new BigDecimal(baseTax);
-            this.rate = new BigDecimal(rate);
-            this.excessOver = new BigDecimal(excessOver);
-        }
-
-        public boolean isInBracket(BigDecimal income) {
-            return income.compareTo(lowerBound) >= 0 && income.compareTo(upperBound) <= 0;
-        }
-
-        public BigDecimal calculateTax(BigDecimal income) {
-            BigDecimal excessAmount = income.subtract(excessOver);
-            BigDecimal excessTax = excessAmount.multiply(rate);
-            return baseTax.add(excessTax);
-        }
+    private static long toFlooredCentavos(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValueExact();
     }
-}
\ No newline at end of file
+}
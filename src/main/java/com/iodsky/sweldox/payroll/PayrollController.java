@@ -50,11 +50,9 @@ public class PayrollController {
             @Parameter(description = "Filter by period end date") @RequestParam(required = false) LocalDate periodEndDate
     ) {
 
-        Page<Payroll> page = payrollService.getAllPayroll(pageNo, limit, periodStartDate, periodEndDate);
+        Page<PayrollDto> page = payrollService.getAllPayrollDtos(pageNo, limit, periodStartDate, periodEndDate);
 
-        List<PayrollDto> payroll = page.getContent().stream().map(payrollMapper::toDto).toList();
-
-        return ResponseFactory.ok("Payroll retrieved successfully", payroll, PaginationMeta.of(page));
+        return ResponseFactory.ok("Payroll retrieved successfully", page.getContent(), PaginationMeta.of(page));
     }
 
     @GetMapping("/me")
@@ -65,11 +63,9 @@ public class PayrollController {
             @Parameter(description = "Filter by period start date") @RequestParam(required = false) LocalDate periodStartDate,
             @Parameter(description = "Filter by period end date") @RequestParam(required = false) LocalDate periodEndDate
     ) {
-        Page<Payroll> page = payrollService.getAllEmployeePayroll(pageNo, limit, periodStartDate, periodEndDate);
-
-        List<PayrollDto> payroll = page.getContent().stream().map(payrollMapper::toDto).toList();
+        Page<PayrollDto> page = payrollService.getAllEmployeePayrollDtos(pageNo, limit, periodStartDate, periodEndDate);
 
-        return ResponseFactory.ok("Payroll retrieved successfully", payroll, PaginationMeta.of(page));
+        return ResponseFactory.ok("Payroll retrieved successfully", page.getContent(), PaginationMeta.of(page));
     }
 
     @GetMapping("/{id}")
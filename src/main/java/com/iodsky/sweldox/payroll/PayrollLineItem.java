@@ -0,0 +1,15 @@
+package com.iodsky.sweldox.payroll;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A deduction or benefit amount of a payroll. {@code kind} is {@code D} for deductions,
+ * with the deduction code as {@code code}, and {@code B} for benefits, with the benefit type id.
+ */
+public interface PayrollLineItem {
+    UUID getPayrollId();
+    String getKind();
+    String getCode();
+    BigDecimal getAmount();
+}
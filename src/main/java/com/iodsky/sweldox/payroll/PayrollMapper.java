@@ -3,6 +3,7 @@ package com.iodsky.sweldox.payroll;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.*;
 
 @Component
 public class PayrollMapper {
@@ -42,6 +43,80 @@ public class PayrollMapper {
                 .build();
     }
 
+    /**
+     * Builds the DTOs of a page of payrolls from their flat rows and line items in a single pass
+     * over each, keeping the order of {@code payrolls}. Amounts without a line item are zero.
+     */
+    public List<PayrollDto> toDtos(List<PayrollSummary> payrolls, List<PayrollLineItem> lineItems) {
+        List<PayrollDto> dtos = new ArrayList<>(payrolls.size());
+        Map<UUID, PayrollDto> byId = new HashMap<>(payrolls.size() * 2);
+
+        for (PayrollSummary payroll : payrolls) {
+            PayrollDto dto = PayrollDto.builder()
+                    .id(payroll.getId())
+                    .employeeId(payroll.getEmployeeId())
+                    .periodStartDate(payroll.getPeriodStartDate())
+                    .periodEndDate(payroll.getPeriodEndDate())
+                    .payDate(payroll.getPayDate())
+                    .daysWorked(payroll.getDaysWorked())
+                    .overtime(payroll.getOvertime())
+                    .monthlyRate(payroll.getMonthlyRate())
+                    .dailyRate(payroll.getDailyRate())
+                    .grossPay(payroll.getGrossPay())
+                    .benefits(
+                            BenefitsDto.builder()
+                                    .mealAllowance(BigDecimal.ZERO)
+                                    .clothingAllowance(BigDecimal.ZERO)
+                                    .phoneAllowance(BigDecimal.ZERO)
+                                    .totalBenefits(payroll.getTotalBenefits())
+                                    .build()
+                    )
+                    .deductions(
+                            DeductionsDto.builder()
+                                    .sssDeduction(BigDecimal.ZERO)
+                                    .philhealthDeduction(BigDecimal.ZERO)
+                                    .pagibigDeduction(BigDecimal.ZERO)
+                                    .withholdingTax(BigDecimal.ZERO)
+                                    .totalDeductions(payroll.getTotalDeductions())
+                                    .build()
+                    )
+                    .netPay(payroll.getNetPay())
+                    .build();
+
+            dtos.add(dto);
+            byId.put(dto.getId(), dto);
+        }
+
+        for (PayrollLineItem item : lineItems) {
+            PayrollDto dto = byId.get(item.getPayrollId());
+            if (dto == null) {
+                continue;
+            }
+
+            String code = item.getCode().toUpperCase();
+            if ("D".equals(item.getKind())) {
+                DeductionsDto deductions = dto.getDeductions();
+                switch (code) {
+                    case "SSS" -> deductions.setSssDeduction(item.getAmount());
+                    case "PHIC" -> deductions.setPhilhealthDeduction(item.getAmount());
+                    case "HDMF" -> deductions.setPagibigDeduction(item.getAmount());
+                    case "TAX" -> deductions.setWithholdingTax(item.getAmount());
+                    default -> { }
+                }
+            } else {
+                BenefitsDto benefits = dto.getBenefits();
+                switch (code) {
+                    case "MEAL" -> benefits.setMealAllowance(item.getAmount());
+                    case "CLOTHING" -> benefits.setClothingAllowance(item.getAmount());
+                    case "PHONE" -> benefits.setPhoneAllowance(item.getAmount());
+                    default -> { }
+                }
+            }
+        }
+
+        return dtos;
+    }
+
     private BigDecimal getDeductionAmount(Payroll payroll, String type) {
         return payroll.getDeductions().stream()
                 .filter(d -> d.getDeductionType().getCode().equalsIgnoreCase(type))
@@ -0,0 +1,32 @@
+package com.iodsky.sweldox.payroll;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PayrollPreviewConfig {
+
+    @Value("${payroll.preview.threads}")
+    private int threads;
+
+    /**
+     * Executor computing preview chunks. Each preview keeps at most two chunks per thread in
+     * flight; when several previews overlap, the request thread computes the chunk itself
+     * instead of queueing without bound.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor payrollPreviewExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 2);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("payroll-preview-");
+        return executor;
+    }
+
+}
@@ -0,0 +1,261 @@
+package com.iodsky.sweldox.payroll;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iodsky.sweldox.employee.EmployeeService;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Computes the payroll of every active employee for a period without persisting anything and
+ * streams the results, one employee per line, followed by the run totals. Chunks of employees
+ * are built in parallel on {@code payrollPreviewExecutor} and written in employee id order as
+ * they complete, so memory stays bounded by the number of chunks in flight.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollPreviewService {
+
+    private static final String[] CSV_HEADER = {
+            "employeeId", "periodStartDate", "periodEndDate", "payDate", "daysWorked", "overtime",
+            "monthlyRate", "dailyRate", "grossPay", "mealAllowance", "clothingAllowance", "phoneAllowance",
+            "totalBenefits", "sssDeduction", "philhealthDeduction", "pagibigDeduction", "withholdingTax",
+            "totalDeductions", "netPay", "error"
+    };
+
+    private final EmployeeService employeeService;
+    private final PayrollBuilder payrollBuilder;
+    private final PayrollMapper payrollMapper;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor payrollPreviewExecutor;
+
+    @Value("${payroll.preview.chunk-size}")
+    private int chunkSize;
+
+    @Value("${payroll.preview.threads}")
+    private int threads;
+
+    /**
+     * Writes the preview of a pay run to the stream. Employees whose payroll cannot be computed
+     * are reported on their own line with the reason instead of failing the whole preview.
+     */
+    public void writePreview(LocalDate periodStartDate, LocalDate periodEndDate, LocalDate payDate,
+                             PayrollPreviewFormat format, OutputStream outputStream) throws IOException {
+        List<Long> employeeIds = new ArrayList<>(employeeService.getAllActiveEmployeeIds());
+        Collections.sort(employeeIds);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        PreviewWriter previewWriter = format == PayrollPreviewFormat.CSV
+                ? new CsvPreviewWriter(writer)
+                : new NdjsonPreviewWriter(writer, objectMapper);
+
+        Totals totals = new Totals();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Deque<CompletableFuture<List<PreviewLine>>> inFlight = new ArrayDeque<>();
+        int window = Math.max(threads, 1) * 2;
+        int next = 0;
+
+        try {
+            previewWriter.writeHeader();
+            while (next < employeeIds.size() || !inFlight.isEmpty()) {
+                while (next < employeeIds.size() && inFlight.size() < window) {
+                    List<Long> chunk = List.copyOf(employeeIds.subList(next, Math.min(next + chunkSize, employeeIds.size())));
+                    next += chunk.size();
+                    inFlight.add(CompletableFuture.supplyAsync(
+                            () -> buildChunk(chunk, periodStartDate, periodEndDate, payDate, cancelled),
+                            payrollPreviewExecutor));
+                }
+
+                for (PreviewLine line : inFlight.poll().join()) {
+                    if (line.error() == null) {
+                        totals.add(line.payroll());
+                        previewWriter.writePayroll(line.payroll());
+                    } else {
+                        totals.failed++;
+                        previewWriter.writeError(line.employeeId(), line.error());
+                    }
+                }
+                writer.flush();
+            }
+
+            previewWriter.writeTotals(totals);
+            writer.flush();
+            log.info("Previewed payroll for {} employees for period {} to {}, {} failed",
+                    totals.employees, periodStartDate, periodEndDate, totals.failed);
+        } finally {
+            // Lets chunks that have not started yet return immediately if the client went away
+            cancelled.set(true);
+        }
+    }
+
+    private List<PreviewLine> buildChunk(List<Long> employeeIds, LocalDate periodStartDate, LocalDate periodEndDate,
+                                         LocalDate payDate, AtomicBoolean cancelled) {
+        if (cancelled.get()) {
+            return List.of();
+        }
+
+        try {
+            return payrollBuilder.buildPayrolls(employeeIds, periodStartDate, periodEndDate, payDate)
+                    .stream()
+                    .map(payroll -> new PreviewLine(payroll.getEmployee().getId(), payrollMapper.toDto(payroll), null))
+                    .toList();
+        } catch (RuntimeException ex) {
+            log.debug("Preview of employees {} failed, retrying one by one. Reason: {}", employeeIds, ex.getMessage());
+        }
+
+        // Retry each employee on its own so one bad record does not hide the rest of the chunk
+        List<PreviewLine> lines = new ArrayList<>(employeeIds.size());
+        for (Long employeeId : employeeIds) {
+            try {
+                Payroll payroll = payrollBuilder.buildPayrolls(List.of(employeeId), periodStartDate, periodEndDate, payDate)
+                        .getFirst();
+                lines.add(new PreviewLine(employeeId, payrollMapper.toDto(payroll), null));
+            } catch (RuntimeException ex) {
+                lines.add(new PreviewLine(employeeId, null, ex.getMessage()));
+            }
+        }
+        return lines;
+    }
+
+    private record PreviewLine(Long employeeId, PayrollDto payroll, String error) {}
+
+    @Getter
+    static class Totals {
+        private int employees;
+        private int failed;
+        private BigDecimal grossPay = BigDecimal.ZERO;
+        private BigDecimal totalBenefits = BigDecimal.ZERO;
+        private BigDecimal totalDeductions = BigDecimal.ZERO;
+        private BigDecimal netPay = BigDecimal.ZERO;
+
+        private void add(PayrollDto payroll) {
+            employees++;
+            grossPay = grossPay.add(payroll.getGrossPay());
+            totalBenefits = totalBenefits.add(payroll.getBenefits().getTotalBenefits());
+            totalDeductions = totalDeductions.add(payroll.getDeductions().getTotalDeductions());
+            netPay = netPay.add(payroll.getNetPay());
+        }
+    }
+
+    private interface PreviewWriter {
+        void writeHeader() throws IOException;
+
+        void writePayroll(PayrollDto payroll) throws IOException;
+
+        void writeError(Long employeeId, String error) throws IOException;
+
+        void writeTotals(Totals totals) throws IOException;
+    }
+
+    /**
+     * One JSON document per line: a {@link PayrollDto} per employee, an
+     * {@code {"employeeId", "error"}} object per failure and a final {@code {"totals"}} object.
+     */
+    private record NdjsonPreviewWriter(Writer writer, ObjectMapper objectMapper) implements PreviewWriter {
+
+        @Override
+        public void writeHeader() {
+        }
+
+        @Override
+        public void writePayroll(PayrollDto payroll) throws IOException {
+            writeLine(payroll);
+        }
+
+        @Override
+        public void writeError(Long employeeId, String error) throws IOException {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("employeeId", employeeId);
+            line.put("error", error);
+            writeLine(line);
+        }
+
+        @Override
+        public void writeTotals(Totals totals) throws IOException {
+            writeLine(Map.of("totals", totals));
+        }
+
+        private void writeLine(Object value) throws IOException {
+            writer.write(objectMapper.writeValueAsString(value));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * One row per employee with the error column set for failures, and a final row with
+     * {@code TOTAL} in the employeeId column.
+     */
+    private record CsvPreviewWriter(Writer writer) implements PreviewWriter {
+
+        @Override
+        public void writeHeader() throws IOException {
+            writeRow((Object[]) CSV_HEADER);
+        }
+
+        @Override
+        public void writePayroll(PayrollDto payroll) throws IOException {
+            BenefitsDto benefits = payroll.getBenefits();
+            DeductionsDto deductions = payroll.getDeductions();
+            writeRow(payroll.getEmployeeId(), payroll.getPeriodStartDate(), payroll.getPeriodEndDate(),
+                    payroll.getPayDate(), payroll.getDaysWorked(), payroll.getOvertime(), payroll.getMonthlyRate(),
+                    payroll.getDailyRate(), payroll.getGrossPay(), benefits.getMealAllowance(),
+                    benefits.getClothingAllowance(), benefits.getPhoneAllowance(), benefits.getTotalBenefits(),
+                    deductions.getSssDeduction(), deductions.getPhilhealthDeduction(), deductions.getPagibigDeduction(),
+                    deductions.getWithholdingTax(), deductions.getTotalDeductions(), payroll.getNetPay(), null);
+        }
+
+        @Override
+        public void writeError(Long employeeId, String error) throws IOException {
+            Object[] row = new Object[CSV_HEADER.length];
+            row[0] = employeeId;
+            row[row.length - 1] = error;
+            writeRow(row);
+        }
+
+        @Override
+        public void writeTotals(Totals totals) throws IOException {
+            Object[] row = new Object[CSV_HEADER.length];
+            row[0] = "TOTAL";
+            row[8] = totals.getGrossPay();
+            row[12] = totals.getTotalBenefits();
+            row[17] = totals.getTotalDeductions();
+            row[18] = totals.getNetPay();
+            row[19] = totals.getFailed() > 0 ? totals.getFailed() + " employees failed" : null;
+            writeRow(row);
+        }
+
+        private void writeRow(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write('\n');
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            if (text.contains(",") || text.contains("\"") || text.contains("\n")) {
+                return "\"" + text.replace("\"", "\"\"") + "\"";
+            }
+            return text;
+        }
+    }
+
+}
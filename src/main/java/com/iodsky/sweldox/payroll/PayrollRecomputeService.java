@@ -0,0 +1,48 @@
+package com.iodsky.sweldox.payroll;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
+/**
+ * Tracks generated payrolls that went stale because their inputs changed after the run.
+ * The queued payrolls are rebuilt by {@code recomputePayrollJob}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollRecomputeService {
+
+    private final PayrollRepository payrollRepository;
+
+    /**
+     * Queues every generated payroll of the employee whose period covers one of the dates.
+     * Dates outside any generated period are ignored.
+     *
+     * @return the number of payrolls queued
+     */
+    @Transactional
+    public int markAffectedPayrolls(Long employeeId, Collection<LocalDate> dates) {
+        int marked = 0;
+        for (LocalDate date : new LinkedHashSet<>(dates)) {
+            if (date != null) {
+                marked += payrollRepository.markForRecompute(employeeId, date);
+            }
+        }
+
+        if (marked > 0) {
+            log.info("Queued {} payrolls of employee {} for recomputation", marked, employeeId);
+        }
+        return marked;
+    }
+
+    public long countPendingRecomputes() {
+        return payrollRepository.countPendingRecompute();
+    }
+
+}
@@ -3,17 +3,75 @@ package com.iodsky.sweldox.payroll;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface PayrollRepository extends JpaRepository<Payroll, UUID> {
 
-    Page<Payroll> findAllByPeriodStartDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+    boolean existsByEmployee_IdAndPeriodStartDateAndPeriodEndDate(Long employeeId, LocalDate startDate, LocalDate endDate);
 
-    Page<Payroll> findAllByEmployee_IdAndPeriodStartDateBetween(Long employeeId, LocalDate startDate, LocalDate endDate, Pageable pageable);
+    @Query("""
+        SELECT p.employee.id
+        FROM Payroll p
+        WHERE p.employee.id IN :employeeIds
+        AND p.periodStartDate = :startDate
+        AND p.periodEndDate = :endDate
+       """)
+    List<Long> findEmployeeIdsWithPayrollForPeriod(Collection<Long> employeeIds, LocalDate startDate, LocalDate endDate);
 
-    boolean existsByEmployee_IdAndPeriodStartDateAndPeriodEndDate(Long employeeId, LocalDate startDate, LocalDate endDate);
+    @Query(value = """
+        SELECT p.id AS id, p.employee.id AS employeeId, p.periodStartDate AS periodStartDate,
+               p.periodEndDate AS periodEndDate, p.payDate AS payDate, p.daysWorked AS daysWorked,
+               p.overtime AS overtime, p.monthlyRate AS monthlyRate, p.dailyRate AS dailyRate,
+               p.grossPay AS grossPay, p.totalBenefits AS totalBenefits,
+               p.totalDeductions AS totalDeductions, p.netPay AS netPay
+        FROM Payroll p
+        WHERE p.periodStartDate BETWEEN :startDate AND :endDate
+        AND (:employeeId IS NULL OR p.employee.id = :employeeId)
+        ORDER BY p.periodStartDate, p.employee.id
+       """, countQuery = """
+        SELECT COUNT(p)
+        FROM Payroll p
+        WHERE p.periodStartDate BETWEEN :startDate AND :endDate
+        AND (:employeeId IS NULL OR p.employee.id = :employeeId)
+       """)
+    Page<PayrollSummary> findSummariesByPeriodStartDateBetween(Long employeeId, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    @Query(value = """
+        SELECT d.payroll_id AS payrollId, 'D' AS kind, d.deduction_code AS code, d.amount AS amount
+        FROM deduction d
+        WHERE d.payroll_id IN (:payrollIds)
+        UNION ALL
+        SELECT b.payroll_id AS payrollId, 'B' AS kind, b.benefit_type_id AS code, b.amount AS amount
+        FROM payroll_benefits b
+        WHERE b.payroll_id IN (:payrollIds)
+       """, nativeQuery = true)
+    List<PayrollLineItem> findLineItemsByPayrollIds(Collection<UUID> payrollIds);
+
+    /**
+     * Queues the employee's generated payroll whose period covers the date for recomputation.
+     * A payroll that is already queued gets its request time refreshed, so a recompute run
+     * that read the older request does not clear the newer one.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO payroll_recompute_request (payroll_id, requested_at)
+        SELECT p.id, clock_timestamp()
+        FROM payroll p
+        WHERE p.employee_id = :employeeId
+        AND :date BETWEEN p.period_start_date AND p.period_end_date
+        AND p.deleted_at IS NULL
+        ON CONFLICT (payroll_id) DO UPDATE SET requested_at = EXCLUDED.requested_at
+       """, nativeQuery = true)
+    int markForRecompute(Long employeeId, LocalDate date);
+
+    @Query(value = "SELECT COUNT(*) FROM payroll_recompute_request", nativeQuery = true)
+    long countPendingRecompute();
 }
@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -27,6 +29,7 @@ public class PayrollService {
     private final PayrollBuilder payrollBuilder;
     private final UserService userService;
     private final DateRangeResolver dateRangeResolver;
+    private final PayrollMapper payrollMapper;
 
     public Payroll createPayroll(Long employeeId, LocalDate periodStartDate, LocalDate periodEndDate, LocalDate payDate) {
 
@@ -68,26 +71,39 @@ public class PayrollService {
         return payroll;
     }
 
-    public Page<Payroll> getAllPayroll(int page, int limit, LocalDate periodStartDate, LocalDate periodEndDate) {
-        Pageable pageable = PageRequest.of(page, limit);
+    /**
+     * Lists the payrolls of every employee whose period starts within the range, read as DTOs with
+     * two queries per page regardless of its size: one for the payroll rows and one for all of
+     * their deductions and benefits.
+     */
+    public Page<PayrollDto> getAllPayrollDtos(int page, int limit, LocalDate periodStartDate, LocalDate periodEndDate) {
         DateRange dateRange = dateRangeResolver.resolve(periodStartDate, periodEndDate);
-
-        return payrollRepository.findAllByPeriodStartDateBetween(dateRange.startDate(), dateRange.endDate(), pageable);
+        return getPayrollDtos(null, page, limit, dateRange);
     }
 
-    public Page<Payroll> getAllEmployeePayroll(int page, int limit, LocalDate periodStartDate, LocalDate periodEndDate) {
+    /**
+     * Same listing as {@link #getAllPayrollDtos}, restricted to the authenticated user's payrolls.
+     */
+    public Page<PayrollDto> getAllEmployeePayrollDtos(int page, int limit, LocalDate periodStartDate, LocalDate periodEndDate) {
         User user = userService.getAuthenticatedUser();
+        DateRange dateRange = dateRangeResolver.resolve(periodStartDate, periodEndDate);
+        return getPayrollDtos(user.getEmployee().getId(), page, limit, dateRange);
+    }
 
+    private Page<PayrollDto> getPayrollDtos(Long employeeId, int page, int limit, DateRange dateRange) {
         Pageable pageable = PageRequest.of(page, limit);
-        DateRange range = dateRangeResolver.resolve(periodStartDate, periodEndDate);
-
-        Long id = user.getEmployee().getId();
-        return payrollRepository.findAllByEmployee_IdAndPeriodStartDateBetween(
-                id,
-                range.startDate(),
-                range.endDate(),
-                pageable
-        );
+        Page<PayrollSummary> summaries = payrollRepository.findSummariesByPeriodStartDateBetween(
+                employeeId, dateRange.startDate(), dateRange.endDate(), pageable);
+
+        if (summaries.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, summaries.getTotalElements());
+        }
+
+        List<UUID> payrollIds = summaries.getContent().stream().map(PayrollSummary::getId).toList();
+        List<PayrollDto> dtos = payrollMapper.toDtos(
+                summaries.getContent(), payrollRepository.findLineItemsByPayrollIds(payrollIds));
+
+        return new PageImpl<>(dtos, pageable, summaries.getTotalElements());
     }
 
 }
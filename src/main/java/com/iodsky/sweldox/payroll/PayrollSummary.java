@@ -0,0 +1,24 @@
+package com.iodsky.sweldox.payroll;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Flat projection of a payroll row, read without loading the employee or any line items.
+ */
+public interface PayrollSummary {
+    UUID getId();
+    Long getEmployeeId();
+    LocalDate getPeriodStartDate();
+    LocalDate getPeriodEndDate();
+    LocalDate getPayDate();
+    int getDaysWorked();
+    BigDecimal getOvertime();
+    BigDecimal getMonthlyRate();
+    BigDecimal getDailyRate();
+    BigDecimal getGrossPay();
+    BigDecimal getTotalBenefits();
+    BigDecimal getTotalDeductions();
+    BigDecimal getNetPay();
+}
@@ -0,0 +1,38 @@
+package com.iodsky.sweldox.payroll.rate;
+
+import com.iodsky.sweldox.common.BaseModel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "sss_contribution_bracket")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SssContributionBracket extends BaseModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "rate_version_id")
+    private StatutoryRateVersion rateVersion;
+
+    /**
+     * Lowest monthly salary credit of the bracket. Salaries below the first bracket pay the
+     * first bracket's contribution.
+     */
+    @Column(name = "min_salary")
+    private BigDecimal minSalary;
+
+    /**
+     * Monthly employee contribution.
+     */
+    private BigDecimal contribution;
+
+}
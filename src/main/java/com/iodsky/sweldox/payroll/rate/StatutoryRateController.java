@@ -0,0 +1,72 @@
+package com.iodsky.sweldox.payroll.rate;
+
+import com.iodsky.sweldox.common.response.ApiResponse;
+import com.iodsky.sweldox.common.response.ResponseFactory;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/statutory-rates")
+@RequiredArgsConstructor
+@Tag(name = "Statutory Rates", description = "Effective-dated SSS, PhilHealth, Pag-IBIG and withholding tax rates")
+public class StatutoryRateController {
+
+    private final StatutoryRateService statutoryRateService;
+    private final StatutoryRateRegistry statutoryRateRegistry;
+    private final StatutoryRateMapper statutoryRateMapper;
+
+    @PreAuthorize("hasRole('PAYROLL')")
+    @GetMapping
+    @Operation(summary = "Get all statutory rate versions", description = "Retrieve every statutory rate version, published or not, latest effective date first. Requires PAYROLL role.")
+    public ResponseEntity<ApiResponse<List<StatutoryRateVersionDto>>> getAllVersions() {
+        List<StatutoryRateVersionDto> versions = statutoryRateService.getAllVersions()
+                .stream()
+                .map(statutoryRateMapper::toDto)
+                .toList();
+
+        return ResponseFactory.ok("Statutory rate versions retrieved successfully", versions);
+    }
+
+    @PreAuthorize("hasRole('PAYROLL')")
+    @GetMapping("/{id}")
+    @Operation(summary = "Get statutory rate version by ID", description = "Retrieve a statutory rate version with its SSS and withholding tax brackets. Requires PAYROLL role.")
+    public ResponseEntity<ApiResponse<StatutoryRateVersionDto>> getVersionById(
+            @Parameter(description = "Statutory rate version ID") @PathVariable Long id) {
+        StatutoryRateVersionDto dto = statutoryRateMapper.toDto(statutoryRateService.getVersionById(id));
+        return ResponseFactory.ok("Statutory rate version retrieved successfully", dto);
+    }
+
+    @PreAuthorize("hasRole('PAYROLL')")
+    @PostMapping
+    @Operation(summary = "Create statutory rate version", description = "Create an unpublished statutory rate version. It is not used by payroll until published. Requires PAYROLL role.")
+    public ResponseEntity<ApiResponse<StatutoryRateVersionDto>> createVersion(@Valid @RequestBody StatutoryRateVersionDto request) {
+        StatutoryRateVersion version = statutoryRateService.createVersion(statutoryRateMapper.toEntity(request));
+        return ResponseFactory.created("Statutory rate version created successfully", statutoryRateMapper.toDto(version));
+    }
+
+    @PreAuthorize("hasRole('PAYROLL')")
+    @PostMapping("/{id}/publish")
+    @Operation(summary = "Publish statutory rate version", description = "Publish a statutory rate version so payrolls with a pay date on or after its effective date use it. Requires PAYROLL role.")
+    public ResponseEntity<ApiResponse<StatutoryRateVersionDto>> publishVersion(
+            @Parameter(description = "Statutory rate version ID") @PathVariable Long id) {
+        StatutoryRateVersion version = statutoryRateService.publishVersion(id);
+        return ResponseFactory.ok("Statutory rate version published successfully", statutoryRateMapper.toDto(version));
+    }
+
+    @PreAuthorize("hasRole('PAYROLL')")
+    @PostMapping("/reload")
+    @Operation(summary = "Reload statutory rates", description = "Reload the published statutory rates from the database, e.g. after editing them directly. Requires PAYROLL role.")
+    public ResponseEntity<ApiResponse<Void>> reload() {
+        statutoryRateRegistry.reload();
+        return ResponseFactory.ok("Statutory rates reloaded successfully", null);
+    }
+
+}
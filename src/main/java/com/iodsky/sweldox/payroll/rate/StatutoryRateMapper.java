@@ -0,0 +1,71 @@
+package com.iodsky.sweldox.payroll.rate;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class StatutoryRateMapper {
+
+    public StatutoryRateVersionDto toDto(StatutoryRateVersion version) {
+        if (version == null) return null;
+
+        return StatutoryRateVersionDto.builder()
+                .id(version.getId())
+                .effectiveDate(version.getEffectiveDate())
+                .description(version.getDescription())
+                .published(version.isPublished())
+                .publishedAt(version.getPublishedAt())
+                .philhealthRate(version.getPhilhealthRate())
+                .philhealthMaxPremium(version.getPhilhealthMaxPremium())
+                .pagibigThreshold(version.getPagibigThreshold())
+                .pagibigRateBelowThreshold(version.getPagibigRateBelowThreshold())
+                .pagibigRateAboveThreshold(version.getPagibigRateAboveThreshold())
+                .pagibigMaxContribution(version.getPagibigMaxContribution())
+                .sssBrackets(version.getSssBrackets().stream()
+                        .map(bracket -> SssBracketDto.builder()
+                                .minSalary(bracket.getMinSalary())
+                                .contribution(bracket.getContribution())
+                                .build())
+                        .toList())
+                .taxBrackets(version.getTaxBrackets().stream()
+                        .map(bracket -> TaxBracketDto.builder()
+                                .lowerBound(bracket.getLowerBound())
+                                .upperBound(bracket.getUpperBound())
+                                .baseTax(bracket.getBaseTax())
+                                .rate(bracket.getRate())
+                                .excessOver(bracket.getExcessOver())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    public StatutoryRateVersion toEntity(StatutoryRateVersionDto dto) {
+        StatutoryRateVersion version = StatutoryRateVersion.builder()
+                .effectiveDate(dto.getEffectiveDate())
+                .description(dto.getDescription())
+                .philhealthRate(dto.getPhilhealthRate())
+                .philhealthMaxPremium(dto.getPhilhealthMaxPremium())
+                .pagibigThreshold(dto.getPagibigThreshold())
+                .pagibigRateBelowThreshold(dto.getPagibigRateBelowThreshold())
+                .pagibigRateAboveThreshold(dto.getPagibigRateAboveThreshold())
+                .pagibigMaxContribution(dto.getPagibigMaxContribution())
+                .build();
+
+        dto.getSssBrackets().forEach(bracket -> version.getSssBrackets().add(SssContributionBracket.builder()
+                .rateVersion(version)
+                .minSalary(bracket.getMinSalary())
+                .contribution(bracket.getContribution())
+                .build()));
+
+        dto.getTaxBrackets().forEach(bracket -> version.getTaxBrackets().add(WithholdingTaxBracket.builder()
+                .rateVersion(version)
+                .lowerBound(bracket.getLowerBound())
+                .upperBound(bracket.getUpperBound())
+                .baseTax(bracket.getBaseTax())
+                .rate(bracket.getRate())
+                .excessOver(bracket.getExcessOver())
+                .build()));
+
+        return version;
+    }
+
+}
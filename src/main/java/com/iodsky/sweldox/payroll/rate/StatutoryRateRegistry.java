@@ -0,0 +1,78 @@
+package com.iodsky.sweldox.payroll.rate;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the published statutory rates as an immutable snapshot ordered by effective date.
+ * Publishing a version rebuilds the snapshot and swaps it in atomically, so a payroll run in
+ * progress keeps a consistent view while new lookups see the new rates.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatutoryRateRegistry {
+
+    private final StatutoryRateVersionRepository statutoryRateVersionRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(List.of()));
+
+    @PostConstruct
+    public void reload() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        List<StatutoryRates> rates = transactionTemplate.execute(status -> {
+            // Both queries share the persistence context, so each version ends up with both collections
+            statutoryRateVersionRepository.findAllPublishedWithSssBrackets();
+            return statutoryRateVersionRepository.findAllPublishedWithTaxBrackets()
+                    .stream()
+                    .map(StatutoryRates::from)
+                    .toList();
+        });
+
+        snapshot.set(new Snapshot(rates));
+        log.info("Loaded {} published statutory rate versions", rates.size());
+    }
+
+    /**
+     * Returns the rates effective on the given pay date, that is the latest published version
+     * taking effect on or before it. Dates before the first version use the first version.
+     *
+     * @throws IllegalStateException if no version has been published
+     */
+    public StatutoryRates getRates(LocalDate payDate) {
+        return snapshot.get().forDate(payDate);
+    }
+
+    private static final class Snapshot {
+        private final long[] effectiveDays;
+        private final StatutoryRates[] rates;
+
+        private Snapshot(List<StatutoryRates> rates) {
+            this.rates = rates.toArray(StatutoryRates[]::new);
+            this.effectiveDays = new long[this.rates.length];
+            for (int i = 0; i < this.rates.length; i++) {
+                effectiveDays[i] = this.rates[i].getEffectiveDate().toEpochDay();
+            }
+        }
+
+        private StatutoryRates forDate(LocalDate date) {
+            if (rates.length == 0) {
+                throw new IllegalStateException("No statutory rates have been published");
+            }
+            int index = StatutoryRates.floorIndex(effectiveDays, date.toEpochDay());
+            return rates[Math.max(index, 0)];
+        }
+    }
+
+}
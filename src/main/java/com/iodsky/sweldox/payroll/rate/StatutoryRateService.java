@@ -0,0 +1,83 @@
+package com.iodsky.sweldox.payroll.rate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatutoryRateService {
+
+    private final StatutoryRateVersionRepository statutoryRateVersionRepository;
+    private final StatutoryRateRegistry statutoryRateRegistry;
+
+    public List<StatutoryRateVersion> getAllVersions() {
+        return statutoryRateVersionRepository.findAllByOrderByEffectiveDateDescIdDesc();
+    }
+
+    public StatutoryRateVersion getVersionById(Long id) {
+        return statutoryRateVersionRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Statutory rate version " + id + " not found"));
+    }
+
+    /**
+     * Saves a new, unpublished rate version after checking that its brackets can be loaded.
+     */
+    public StatutoryRateVersion createVersion(StatutoryRateVersion version) {
+        try {
+            StatutoryRates.from(version);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+
+        version.setPublished(false);
+        version.setPublishedAt(null);
+        return statutoryRateVersionRepository.save(version);
+    }
+
+    /**
+     * Publishes a version, replacing any published version with the same effective date. The
+     * in-memory rates are reloaded once the transaction commits.
+     */
+    @Transactional
+    public StatutoryRateVersion publishVersion(Long id) {
+        StatutoryRateVersion version = getVersionById(id);
+        if (version.isPublished()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Statutory rate version " + id + " is already published");
+        }
+
+        statutoryRateVersionRepository.findByEffectiveDateAndPublishedTrue(version.getEffectiveDate())
+                .ifPresent(superseded -> {
+                    log.info("Statutory rate version {} is superseded by version {}", superseded.getId(), id);
+                    superseded.setPublished(false);
+                    statutoryRateVersionRepository.saveAndFlush(superseded);
+                });
+
+        version.setPublished(true);
+        version.setPublishedAt(Instant.now());
+        StatutoryRateVersion published = statutoryRateVersionRepository.save(version);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    statutoryRateRegistry.reload();
+                }
+            });
+        } else {
+            statutoryRateRegistry.reload();
+        }
+
+        return published;
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.iodsky.sweldox.payroll.rate;
+
+import com.iodsky.sweldox.common.BaseModel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "statutory_rate_version")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StatutoryRateVersion extends BaseModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "effective_date", nullable = false)
+    private LocalDate effectiveDate;
+
+    private String description;
+
+    private boolean published;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    @Column(name = "philhealth_rate")
+    private BigDecimal philhealthRate;
+
+    @Column(name = "philhealth_max_premium")
+    private BigDecimal philhealthMaxPremium;
+
+    @Column(name = "pagibig_threshold")
+    private BigDecimal pagibigThreshold;
+
+    @Column(name = "pagibig_rate_below_threshold")
+    private BigDecimal pagibigRateBelowThreshold;
+
+    @Column(name = "pagibig_rate_above_threshold")
+    private BigDecimal pagibigRateAboveThreshold;
+
+    @Column(name = "pagibig_max_contribution")
+    private BigDecimal pagibigMaxContribution;
+
+    @OneToMany(mappedBy = "rateVersion", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("minSalary")
+    @Builder.Default
+    private List<SssContributionBracket> sssBrackets = new ArrayList<>();
+
+    @OneToMany(mappedBy = "rateVersion", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("lowerBound")
+    @Builder.Default
+    private List<WithholdingTaxBracket> taxBrackets = new ArrayList<>();
+
+}
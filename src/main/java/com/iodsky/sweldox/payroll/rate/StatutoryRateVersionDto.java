@@ -0,0 +1,106 @@
+package com.iodsky.sweldox.payroll.rate;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StatutoryRateVersionDto {
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long id;
+
+    @NotNull
+    private LocalDate effectiveDate;
+
+    private String description;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private boolean published;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant publishedAt;
+
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal philhealthRate;
+
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal philhealthMaxPremium;
+
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal pagibigThreshold;
+
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal pagibigRateBelowThreshold;
+
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal pagibigRateAboveThreshold;
+
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal pagibigMaxContribution;
+
+    @NotEmpty
+    @Valid
+    private List<SssBracketDto> sssBrackets;
+
+    @NotEmpty
+    @Valid
+    private List<TaxBracketDto> taxBrackets;
+
+}
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+class SssBracketDto {
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal minSalary;
+
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal contribution;
+}
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+class TaxBracketDto {
+    @NotNull
+    private BigDecimal lowerBound;
+
+    private BigDecimal upperBound;
+
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal baseTax;
+
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal rate;
+
+    @NotNull
+    private BigDecimal excessOver;
+}
@@ -0,0 +1,36 @@
+package com.iodsky.sweldox.payroll.rate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StatutoryRateVersionRepository extends JpaRepository<StatutoryRateVersion, Long> {
+
+    List<StatutoryRateVersion> findAllByOrderByEffectiveDateDescIdDesc();
+
+    Optional<StatutoryRateVersion> findByEffectiveDateAndPublishedTrue(LocalDate effectiveDate);
+
+    @Query("""
+        SELECT DISTINCT v
+        FROM StatutoryRateVersion v
+        LEFT JOIN FETCH v.sssBrackets
+        WHERE v.published = true
+        ORDER BY v.effectiveDate
+       """)
+    List<StatutoryRateVersion> findAllPublishedWithSssBrackets();
+
+    @Query("""
+        SELECT DISTINCT v
+        FROM StatutoryRateVersion v
+        LEFT JOIN FETCH v.taxBrackets
+        WHERE v.published = true
+        ORDER BY v.effectiveDate
+       """)
+    List<StatutoryRateVersion> findAllPublishedWithTaxBrackets();
+
+}
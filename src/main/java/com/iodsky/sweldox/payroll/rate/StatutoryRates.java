@@ -0,0 +1,174 @@
+package com.iodsky.sweldox.payroll.rate;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable, array-backed view of one published {@link StatutoryRateVersion}. Money is held in
+ * centavos and rates in ten-thousandths so lookups are a binary search over primitive arrays
+ * and never allocate.
+ */
+public final class StatutoryRates {
+
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
+    @Getter
+    private final Long versionId;
+    @Getter
+    private final LocalDate effectiveDate;
+
+    @Getter
+    private final long philhealthRate;
+    @Getter
+    private final long philhealthMaxPremium;
+
+    @Getter
+    private final long pagibigThreshold;
+    @Getter
+    private final long pagibigRateBelowThreshold;
+    @Getter
+    private final long pagibigRateAboveThreshold;
+    @Getter
+    private final long pagibigMaxContribution;
+
+    private final long[] sssMinSalaries;
+    private final long[] sssContributions;
+
+    private final long[] taxLowerBounds;
+    private final long[] taxUpperBounds;
+    private final long[] taxBase;
+    private final long[] taxRates;
+    private final long[] taxExcessOver;
+
+    private StatutoryRates(StatutoryRateVersion version) {
+        this.versionId = version.getId();
+        this.effectiveDate = version.getEffectiveDate();
+
+        this.philhealthRate = toTenThousandths(version.getPhilhealthRate(), "philhealthRate");
+        this.philhealthMaxPremium = toCentavos(version.getPhilhealthMaxPremium(), "philhealthMaxPremium");
+        this.pagibigThreshold = toCentavos(version.getPagibigThreshold(), "pagibigThreshold");
+        this.pagibigRateBelowThreshold = toTenThousandths(version.getPagibigRateBelowThreshold(), "pagibigRateBelowThreshold");
+        this.pagibigRateAboveThreshold = toTenThousandths(version.getPagibigRateAboveThreshold(), "pagibigRateAboveThreshold");
+        this.pagibigMaxContribution = toCentavos(version.getPagibigMaxContribution(), "pagibigMaxContribution");
+
+        List<SssContributionBracket> sssBrackets = version.getSssBrackets().stream()
+                .sorted(Comparator.comparing(SssContributionBracket::getMinSalary))
+                .toList();
+        if (sssBrackets.isEmpty()) {
+            throw new IllegalArgumentException("At least one SSS bracket is required");
+        }
+
+        this.sssMinSalaries = new long[sssBrackets.size()];
+        this.sssContributions = new long[sssBrackets.size()];
+        for (int i = 0; i < sssBrackets.size(); i++) {
+            sssMinSalaries[i] = toCentavos(sssBrackets.get(i).getMinSalary(), "sss.minSalary");
+            sssContributions[i] = toCentavos(sssBrackets.get(i).getContribution(), "sss.contribution");
+            if (i > 0 && sssMinSalaries[i] == sssMinSalaries[i - 1]) {
+                throw new IllegalArgumentException("Duplicate SSS bracket starting at " + sssBrackets.get(i).getMinSalary());
+            }
+        }
+
+        List<WithholdingTaxBracket> taxBrackets = version.getTaxBrackets().stream()
+                .sorted(Comparator.comparing(WithholdingTaxBracket::getLowerBound))
+                .toList();
+        if (taxBrackets.isEmpty()) {
+            throw new IllegalArgumentException("At least one withholding tax bracket is required");
+        }
+
+        int size = taxBrackets.size();
+        this.taxLowerBounds = new long[size];
+        this.taxUpperBounds = new long[size];
+        this.taxBase = new long[size];
+        this.taxRates = new long[size];
+        this.taxExcessOver = new long[size];
+        for (int i = 0; i < size; i++) {
+            WithholdingTaxBracket bracket = taxBrackets.get(i);
+            taxLowerBounds[i] = toCentavos(bracket.getLowerBound(), "tax.lowerBound");
+            taxUpperBounds[i] = bracket.getUpperBound() == null
+                    ? UNBOUNDED
+                    : toCentavos(bracket.getUpperBound(), "tax.upperBound");
+            taxBase[i] = toCentavos(bracket.getBaseTax(), "tax.baseTax");
+            taxRates[i] = toTenThousandths(bracket.getRate(), "tax.rate");
+            taxExcessOver[i] = toCentavos(bracket.getExcessOver(), "tax.excessOver");
+
+            if (taxUpperBounds[i] < taxLowerBounds[i]) {
+                throw new IllegalArgumentException("Tax bracket starting at " + bracket.getLowerBound() + " ends before it starts");
+            }
+            if (i > 0 && taxUpperBounds[i - 1] >= taxLowerBounds[i]) {
+                throw new IllegalArgumentException("Tax bracket starting at " + bracket.getLowerBound() + " overlaps the previous bracket");
+            }
+        }
+    }
+
+    /**
+     * Builds the lookup tables of a version, validating that its brackets are well formed.
+     *
+     * @throws IllegalArgumentException if a rate is missing, too precise, or brackets overlap
+     */
+    public static StatutoryRates from(StatutoryRateVersion version) {
+        return new StatutoryRates(version);
+    }
+
+    /**
+     * Monthly SSS employee contribution for the salary. Salaries below the first bracket pay the
+     * first bracket's contribution.
+     */
+    public long sssContribution(long monthlySalary) {
+        return sssContributions[Math.max(floorIndex(sssMinSalaries, monthlySalary), 0)];
+    }
+
+    /**
+     * Index of the tax bracket with the highest lower bound not above the income, or -1 if the
+     * income is below every bracket. Callers still have to check the bracket's upper bound since
+     * incomes falling between two brackets are not covered by either.
+     */
+    public int taxBracketIndex(long income) {
+        return floorIndex(taxLowerBounds, income);
+    }
+
+    public long taxUpperBound(int index) {
+        return taxUpperBounds[index];
+    }
+
+    public long taxBase(int index) {
+        return taxBase[index];
+    }
+
+    public long taxRate(int index) {
+        return taxRates[index];
+    }
+
+    public long taxExcessOver(int index) {
+        return taxExcessOver[index];
+    }
+
+    static int floorIndex(long[] keys, long key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static long toCentavos(BigDecimal value, String field) {
+        return toUnits(value, 2, field);
+    }
+
+    private static long toTenThousandths(BigDecimal value, String field) {
+        return toUnits(value, 4, field);
+    }
+
+    private static long toUnits(BigDecimal value, int scale, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        try {
+            return value.movePointRight(scale).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException(field + " must have at most " + scale + " decimal places");
+        }
+    }
+
+}
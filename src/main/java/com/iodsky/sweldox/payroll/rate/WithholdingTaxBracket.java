@@ -0,0 +1,43 @@
+package com.iodsky.sweldox.payroll.rate;
+
+import com.iodsky.sweldox.common.BaseModel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "withholding_tax_bracket")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WithholdingTaxBracket extends BaseModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "rate_version_id")
+    private StatutoryRateVersion rateVersion;
+
+    @Column(name = "lower_bound")
+    private BigDecimal lowerBound;
+
+    /**
+     * Inclusive upper bound, or {@code null} for the open-ended top bracket.
+     */
+    @Column(name = "upper_bound")
+    private BigDecimal upperBound;
+
+    @Column(name = "base_tax")
+    private BigDecimal baseTax;
+
+    private BigDecimal rate;
+
+    @Column(name = "excess_over")
+    private BigDecimal excessOver;
+
+}
@@ -3,15 +3,14 @@ package com.iodsky.sweldox.security.auth;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirements;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-import java.util.Map;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/auth")
@@ -22,11 +21,33 @@ public class AuthenticationController {
     private final AuthenticationService authenticationService;
 
     @PostMapping("/login")
-    @Operation(summary = "Login to get JWT token", description = "Authenticate with email and password to receive a JWT token for accessing protected endpoints")
+    @Operation(summary = "Login to get JWT token", description = "Authenticate with email and password to receive a short-lived JWT access token and a refresh token. Returns 429 when the email or client address has made too many attempts recently.")
+    @SecurityRequirements() // This endpoint doesn't require authentication
+    public ResponseEntity<AuthenticationResponse> authenticate(@Valid @RequestBody  LoginRequest loginRequest,
+                                                               HttpServletRequest request) {
+        return ResponseEntity.ok(authenticationService.authenticate(loginRequest, request.getRemoteAddr()));
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh JWT token", description = "Exchange a refresh token for a new access token and refresh token. Each refresh token can be used once; reusing one revokes every refresh token of the user.")
     @SecurityRequirements() // This endpoint doesn't require authentication
-    public ResponseEntity<Map<String, String>> authenticate(@Valid @RequestBody  LoginRequest loginRequest) {
-        String token = authenticationService.authenticate(loginRequest);
-        return ResponseEntity.ok(Map.of("token", token));
+    public ResponseEntity<AuthenticationResponse> refresh(@Valid @RequestBody RefreshRequest refreshRequest) {
+        return ResponseEntity.ok(authenticationService.refresh(refreshRequest.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the bearer access token immediately and, when given, the refresh token issued with it")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @RequestBody(required = false) RefreshRequest refreshRequest) {
+
+        if (!authorization.startsWith("Bearer ")) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Bearer token required");
+        }
+
+        authenticationService.logout(authorization.substring(7),
+                refreshRequest != null ? refreshRequest.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
     }
 
 }
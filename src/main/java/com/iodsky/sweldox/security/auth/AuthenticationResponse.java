@@ -0,0 +1,12 @@
+package com.iodsky.sweldox.security.auth;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AuthenticationResponse {
+
+    private String token;
+    private String refreshToken;
+}
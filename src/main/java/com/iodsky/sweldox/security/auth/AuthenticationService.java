@@ -1,14 +1,18 @@
 package com.iodsky.sweldox.security.auth;
 
 import com.iodsky.sweldox.security.jwt.JwtUtil;
+import com.iodsky.sweldox.security.jwt.TokenDenyList;
 import com.iodsky.sweldox.security.user.User;
 import com.iodsky.sweldox.security.user.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 
@@ -18,8 +22,17 @@ public class AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenDenyList tokenDenyList;
+    private final LoginRateLimiter loginRateLimiter;
 
-    public String authenticate(LoginRequest loginRequest) {
+    /**
+     * Checks the credentials and issues a token pair. Attempts over the login throttle are
+     * rejected with 429 before the password is checked.
+     */
+    public AuthenticationResponse authenticate(LoginRequest loginRequest, String clientAddress) {
+
+        loginRateLimiter.acquire(loginRequest.getEmail(), clientAddress);
 
         try {
             authenticationManager.authenticate(
@@ -35,8 +48,44 @@ public class AuthenticationService {
             }
         }
 
+        loginRateLimiter.succeeded(loginRequest.getEmail());
+
         User user = userService.getUserByEmail(loginRequest.getEmail());
-        return jwtUtil.generateToken(user);
+        return AuthenticationResponse.builder()
+                .token(jwtUtil.generateToken(user))
+                .refreshToken(refreshTokenService.issue(user))
+                .build();
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and refresh token. The presented refresh
+     * token is revoked.
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public AuthenticationResponse refresh(String refreshToken) {
+        User user = refreshTokenService.rotate(refreshToken);
+        return AuthenticationResponse.builder()
+                .token(jwtUtil.generateToken(user))
+                .refreshToken(refreshTokenService.issue(user))
+                .build();
+    }
+
+    /**
+     * Revokes the access token until it expires and, when given, the refresh token issued with
+     * it.
+     */
+    public void logout(String accessToken, String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtUtil.verify(accessToken);
+        } catch (JwtException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
+        }
+
+        tokenDenyList.deny(claims.getId(), claims.getExpiration().getTime());
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken, claims.getSubject());
+        }
     }
 
 }
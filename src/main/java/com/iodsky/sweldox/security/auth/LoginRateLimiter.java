@@ -0,0 +1,201 @@
+package com.iodsky.sweldox.security.auth;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits login attempts per email and per client address so that bursts are rejected before
+ * the password check. Each key counts attempts in a sliding window, estimated from the counts
+ * of the current and previous fixed windows, so it holds two counters however many attempts it
+ * sees. Keys are spread over lock stripes, each holding at most its share of
+ * {@code security.login-throttle.maximum-keys}; the least recently used key of a full stripe is
+ * dropped.
+ * <p>
+ * Rejected attempts are not counted, so a client is let through again as soon as its earlier
+ * attempts leave the window. A successful login clears the email's count.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    @Value("${security.login-throttle.window}")
+    private long window;
+
+    @Value("${security.login-throttle.max-attempts-per-email}")
+    private int maxAttemptsPerEmail;
+
+    @Value("${security.login-throttle.max-attempts-per-address}")
+    private int maxAttemptsPerAddress;
+
+    @Value("${security.login-throttle.maximum-keys}")
+    private int maximumKeys;
+
+    private Stripe[] emailStripes;
+    private Stripe[] addressStripes;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByEmail = new LongAdder();
+    private final LongAdder rejectedByAddress = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        emailStripes = stripes(maximumKeys / STRIPES);
+        addressStripes = stripes(maximumKeys / STRIPES);
+    }
+
+    /**
+     * Records a login attempt.
+     *
+     * @throws ResponseStatusException with 429 if the email or the address is over its limit
+     */
+    public void acquire(String email, String address) {
+        acquire(email, address, System.currentTimeMillis());
+    }
+
+    void acquire(String email, String address, long now) {
+        if (address != null && !stripe(addressStripes, address).tryAcquire(address, now, window, maxAttemptsPerAddress)) {
+            rejectedByAddress.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts, try again later");
+        }
+
+        String key = normalize(email);
+        if (key != null && !stripe(emailStripes, key).tryAcquire(key, now, window, maxAttemptsPerEmail)) {
+            // Give back the address slot taken above so the rejected attempt is not counted
+            if (address != null) {
+                stripe(addressStripes, address).release(address, now, window);
+            }
+            rejectedByEmail.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts, try again later");
+        }
+
+        allowed.increment();
+    }
+
+    public void succeeded(String email) {
+        String key = normalize(email);
+        if (key != null) {
+            stripe(emailStripes, key).reset(key);
+        }
+    }
+
+    public LoginThrottleStatsResponse getStats() {
+        return LoginThrottleStatsResponse.builder()
+                .windowMillis(window)
+                .maxAttemptsPerEmail(maxAttemptsPerEmail)
+                .maxAttemptsPerAddress(maxAttemptsPerAddress)
+                .trackedEmails(size(emailStripes))
+                .trackedAddresses(size(addressStripes))
+                .allowedAttempts(allowed.sum())
+                .rejectedByEmail(rejectedByEmail.sum())
+                .rejectedByAddress(rejectedByAddress.sum())
+                .build();
+    }
+
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Stripe[] stripes(int capacity) {
+        Stripe[] stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(Math.max(capacity, 1));
+        }
+        return stripes;
+    }
+
+    private static Stripe stripe(Stripe[] stripes, String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static long size(Stripe[] stripes) {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Windows of the keys hashed to one stripe, in access order so the eldest entry is the least
+     * recently used.
+     */
+    private static final class Stripe {
+
+        private final Map<String, Window> windows;
+
+        private Stripe(int capacity) {
+            this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private synchronized boolean tryAcquire(String key, long now, long length, int limit) {
+            Window window = windows.computeIfAbsent(key, k -> new Window());
+            window.advance(now, length);
+            if (window.estimate(now, length) >= limit) {
+                return false;
+            }
+            window.current++;
+            return true;
+        }
+
+        /**
+         * Takes back an attempt counted at {@code now}, unless its window has since been
+         * advanced or the key dropped.
+         */
+        private synchronized void release(String key, long now, long length) {
+            Window window = windows.get(key);
+            if (window != null && window.start == now - now % length && window.current > 0) {
+                window.current--;
+            }
+        }
+
+        private synchronized void reset(String key) {
+            windows.remove(key);
+        }
+
+        private synchronized int size() {
+            return windows.size();
+        }
+    }
+
+    private static final class Window {
+
+        private long start;
+        private int current;
+        private int previous;
+
+        private void advance(long now, long length) {
+            long currentStart = now - now % length;
+            if (currentStart == start) {
+                return;
+            }
+            previous = currentStart - start == length ? current : 0;
+            current = 0;
+            start = currentStart;
+        }
+
+        /**
+         * Attempts in the window ending now, weighting the previous window by how much of it
+         * still overlaps.
+         */
+        private double estimate(long now, long length) {
+            double overlap = 1.0 - (double) (now - start) / length;
+            return previous * overlap + current;
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.iodsky.sweldox.security.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoginThrottleStatsResponse {
+    private long windowMillis;
+    private int maxAttemptsPerEmail;
+    private int maxAttemptsPerAddress;
+    private long trackedEmails;
+    private long trackedAddresses;
+    private long allowedAttempts;
+    private long rejectedByEmail;
+    private long rejectedByAddress;
+}
@@ -0,0 +1,33 @@
+package com.iodsky.sweldox.security.auth;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Revokes the token if it is still active. Concurrent callers are serialized on the row, so
+     * exactly one of them gets 1 back.
+     */
+    @Modifying
+    @Query("""
+        UPDATE RefreshToken t SET t.revokedAt = :now
+        WHERE t.tokenHash = :tokenHash AND t.revokedAt IS NULL AND t.expiresAt > :now
+       """)
+    int claim(@Param("tokenHash") String tokenHash, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.user.id = :userId AND t.revokedAt IS NULL")
+    int revokeAllByUserId(@Param("userId") UUID userId, @Param("now") Instant now);
+
+}
@@ -0,0 +1,103 @@
+package com.iodsky.sweldox.security.auth;
+
+import com.iodsky.sweldox.security.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Issues, rotates and revokes refresh tokens. A token is 256 random bits and is looked up by its
+ * SHA-256, so no password hashing is involved. Every use rotates it; presenting a token that was
+ * already rotated or revoked is treated as theft and revokes all of the user's tokens.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${security.jwt.refresh-expiration-time}")
+    private long refreshExpirationTime;
+
+    @Transactional
+    public String issue(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(hash(token))
+                .expiresAt(Instant.now().plusMillis(refreshExpirationTime))
+                .build());
+
+        return token;
+    }
+
+    /**
+     * Revokes the token and returns its user, who is issued a new pair by the caller. The token
+     * is claimed with a conditional update, so of two concurrent rotations only one succeeds and
+     * the other is treated as reuse. Does not roll back on rejection, so a reuse revocation is
+     * kept.
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public User rotate(String token) {
+        Instant now = Instant.now();
+        String tokenHash = hash(token);
+
+        if (refreshTokenRepository.claim(tokenHash, now) == 1) {
+            return refreshTokenRepository.findByTokenHash(tokenHash).orElseThrow().getUser();
+        }
+
+        // Not claimed: unknown, already rotated or revoked, or expired
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
+
+        if (refreshToken.isRevoked()) {
+            int revoked = refreshTokenRepository.revokeAllByUserId(refreshToken.getUser().getId(), now);
+            log.warn("Reused refresh token of user {}; revoked {} active refresh tokens",
+                    refreshToken.getUser().getId(), revoked);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token expired");
+    }
+
+    /**
+     * Revokes the token if it belongs to the user. Unknown tokens are ignored so that logging out
+     * twice is harmless.
+     */
+    @Transactional
+    public void revoke(String token, String email) {
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .filter(refreshToken -> !refreshToken.isRevoked())
+                .filter(refreshToken -> refreshToken.getUser().getEmail().equals(email))
+                .ifPresent(refreshToken -> refreshToken.setRevokedAt(Instant.now()));
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
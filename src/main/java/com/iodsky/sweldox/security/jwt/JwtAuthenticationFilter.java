@@ -1,5 +1,7 @@
 package com.iodsky.sweldox.security.jwt;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +24,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenDenyList tokenDenyList;
 
     @Override
     protected void doFilterInternal(
@@ -31,6 +34,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
         final String token;
+        final Claims claims;
         final String username;
 
         if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
@@ -39,12 +43,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         token = authorizationHeader.substring(7);
-        username = jwtUtil.extractUserEmail(token);
+        try {
+            claims = jwtUtil.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Expired, forged or malformed; the request continues unauthenticated
+            filterChain.doFilter(request, response);
+            return;
+        }
+        username = claims.getSubject();
+
+        if (tokenDenyList.isDenied(claims.getId())) {
+            // Logged out; the request continues unauthenticated
+            filterChain.doFilter(request, response);
+            return;
+        }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = jwtUtil.principal(claims);
+            if (userDetails == null) {
+                // Issued before tokens carried the user's identity
+                userDetails = this.userDetailsService.loadUserByUsername(username);
+            }
 
-            if (jwtUtil.isTokenValid(token, userDetails)) {
+            if (jwtUtil.isTokenValid(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
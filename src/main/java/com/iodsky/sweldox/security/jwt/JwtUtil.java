@@ -1,10 +1,16 @@
 package com.iodsky.sweldox.security.jwt;
 
+import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.security.user.User;
+import com.iodsky.sweldox.security.user.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -13,26 +19,44 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String EMPLOYEE_ID_CLAIM = "eid";
+    public static final String ROLE_CLAIM = "role";
+
     @Value("${security.jwt.secret-key}")
     private String secretKey;
 
     @Value("${security.jwt.expiration-time}")
     private Long expirationTime;
 
+    @Value("${security.jwt.cache-size}")
+    private int cacheSize;
+
+    private Key signInKey;
+    private JwtParser parser;
+    private VerifiedTokenCache verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        verifiedTokens = new VerifiedTokenCache(cacheSize);
+    }
 
     public String generateToken(Map<String, Object> claims, UserDetails userDetails) {
         return Jwts
                 .builder()
                 .setClaims(claims)
                 .setSubject(userDetails.getUsername())
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -40,39 +64,68 @@ public class JwtUtil {
         return generateToken (new HashMap<>(), userDetails);
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String email = extractUserEmail(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    /**
+     * Issues a token that also carries the user's id, employee id and role, so requests bearing
+     * it are authenticated without loading the user.
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId().toString());
+        claims.put(EMPLOYEE_ID_CLAIM, user.getEmployee().getId());
+        claims.put(ROLE_CLAIM, user.getUserRole().getRole());
+        return generateToken(claims, user);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
+    /**
+     * Builds the principal from the identity claims of a verified token. The user, its employee
+     * and role only hold their ids and are not managed; services that need more load the entity
+     * by id. Returns {@code null} for tokens issued without the identity claims.
+     */
+    public User principal(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        Long employeeId = claims.get(EMPLOYEE_ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || employeeId == null || role == null) {
+            return null;
+        }
 
-    public String extractUserEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+        Employee employee = new Employee();
+        employee.setId(employeeId);
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return User.builder()
+                .id(UUID.fromString(userId))
+                .email(claims.getSubject())
+                .employee(employee)
+                .userRole(new UserRole(role))
+                .build();
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
+    /**
+     * Verifies the token's signature and expiry and returns its claims. Verified claims are
+     * cached until the token expires, so a token is parsed once rather than on every request.
+     *
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public Claims verify(String token) {
+        String key = VerifiedTokenCache.key(token);
+        long now = System.currentTimeMillis();
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = verifiedTokens.get(key, now);
+        if (claims != null) {
+            return claims;
+        }
+
+        claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() == null) {
+            throw new JwtException("Token has no expiration");
+        }
+        verifiedTokens.put(key, claims, now);
+        return claims;
     }
 
-    private Key getSignInKey() {
-        byte[] bytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(bytes);
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername())
+                && claims.getExpiration().after(new Date());
     }
+
 }
@@ -0,0 +1,57 @@
+package com.iodsky.sweldox.security.jwt;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ids of access tokens revoked before their expiry, checked by the JWT filter on every request.
+ * An id is only kept until its token expires, and access tokens are short-lived, so the list
+ * stays small. It is held in memory and is per instance; refresh tokens, which outlive a
+ * restart, are revoked in the database instead.
+ */
+@Component
+public class TokenDenyList {
+
+    private static final int PURGE_INTERVAL = 256;
+
+    private final Map<String, Long> denied = new ConcurrentHashMap<>();
+    private final AtomicInteger additions = new AtomicInteger();
+
+    public void deny(String tokenId, long expiresAt) {
+        if (tokenId == null || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        denied.put(tokenId, expiresAt);
+        if (additions.incrementAndGet() % PURGE_INTERVAL == 0) {
+            purge();
+        }
+    }
+
+    public boolean isDenied(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        Long expiresAt = denied.get(tokenId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            denied.remove(tokenId, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    int size() {
+        return denied.size();
+    }
+
+    void purge() {
+        long now = System.currentTimeMillis();
+        denied.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+}
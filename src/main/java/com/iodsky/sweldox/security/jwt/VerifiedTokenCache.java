@@ -0,0 +1,75 @@
+package com.iodsky.sweldox.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Claims of tokens whose signature has already been verified, keyed by the SHA-256 of the token
+ * so the tokens themselves are not kept in memory. An entry is dropped once its token expires.
+ * When the cache is full, expired entries are purged first and then arbitrary ones; an evicted
+ * token is simply verified again on its next use.
+ */
+final class VerifiedTokenCache {
+
+    private final int maximumSize;
+    private final Map<String, Claims> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    Claims get(String key, long now) {
+        Claims claims = entries.get(key);
+        if (claims == null) {
+            return null;
+        }
+        if (claims.getExpiration().getTime() <= now) {
+            entries.remove(key, claims);
+            return null;
+        }
+        return claims;
+    }
+
+    void put(String key, Claims claims, long now) {
+        if (maximumSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maximumSize) {
+            evict(now);
+        }
+        entries.put(key, claims);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private synchronized void evict(long now) {
+        if (entries.size() < maximumSize) {
+            return;
+        }
+        entries.values().removeIf(claims -> claims.getExpiration().getTime() <= now);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maximumSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    static String key(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(UserCacheListener.class)
 @Table(name = "users")
 @Getter
 @Setter
@@ -0,0 +1,106 @@
+package com.iodsky.sweldox.security.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of users by email, so repeated logins and lookups of the same user do not
+ * query the users table each time. Entries expire after {@code security.user-cache.ttl} and are
+ * evicted by {@link UserCacheListener} when the user or a role is written.
+ * <p>
+ * Cached users are detached and shared between threads, so callers must treat them as read-only.
+ */
+@Component
+public class UserCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Value("${security.user-cache.ttl}")
+    private long ttl;
+
+    @Value("${security.user-cache.maximum-size}")
+    private int maximumSize;
+
+    /**
+     * Returns the cached user or loads it with the loader. A user loaded while an eviction is
+     * in flight is returned but not cached, since it may have been read before the change.
+     */
+    public User get(String email, Function<String, User> loader) {
+        if (email == null) {
+            return loader.apply(null);
+        }
+
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.user();
+        }
+
+        long evictionsBefore = evictions.get();
+        User user = loader.apply(email);
+        if (maximumSize > 0 && evictions.get() == evictionsBefore) {
+            if (entries.size() >= maximumSize) {
+                trim(now);
+            }
+            entries.put(email, new Entry(user, now + ttl));
+        }
+        return user;
+    }
+
+    /**
+     * Evicts the user. Inside a transaction this takes effect after commit so that a concurrent
+     * lookup cannot cache the row as it was before the change.
+     */
+    public void evict(String email) {
+        if (email != null) {
+            afterCommit(() -> entries.remove(email));
+        }
+    }
+
+    public void evictAll() {
+        afterCommit(entries::clear);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void afterCommit(Runnable eviction) {
+        evictions.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictions.incrementAndGet();
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private synchronized void trim(long now) {
+        if (entries.size() < maximumSize) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        Iterator<String> emails = entries.keySet().iterator();
+        while (entries.size() >= maximumSize && emails.hasNext()) {
+            emails.next();
+            emails.remove();
+        }
+    }
+
+    private record Entry(User user, long expiresAt) {}
+
+}
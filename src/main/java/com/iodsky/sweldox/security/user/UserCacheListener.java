@@ -0,0 +1,33 @@
+package com.iodsky.sweldox.security.user;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener for users and user roles. Writing a user evicts it from {@link UserCache};
+ * writing a role evicts every user, since cached users hold their role.
+ */
+@Component
+public class UserCacheListener {
+
+    private final UserCache userCache;
+
+    public UserCacheListener(@Lazy UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof User user) {
+            userCache.evict(user.getEmail());
+        } else {
+            userCache.evictAll();
+        }
+    }
+
+}
@@ -3,6 +3,8 @@ package com.iodsky.sweldox.security.user;
 import com.iodsky.sweldox.common.response.ApiResponse;
 import com.iodsky.sweldox.common.response.PaginationMeta;
 import com.iodsky.sweldox.common.response.ResponseFactory;
+import com.iodsky.sweldox.security.auth.LoginRateLimiter;
+import com.iodsky.sweldox.security.auth.LoginThrottleStatsResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,6 +29,7 @@ public class UserController {
 
     private final UserService userService;
     private final UserMapper userMapper;
+    private final LoginRateLimiter loginRateLimiter;
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
@@ -52,6 +55,10 @@ public class UserController {
         return ResponseFactory.ok("Users retrieved successfully", data, PaginationMeta.of(page));
     }
 
-
+    @GetMapping("/login-throttle")
+    @Operation(summary = "Get login throttle counters", description = "Retrieve the login throttle limits, the number of emails and client addresses being tracked, and the allowed and rejected attempts since startup. Requires IT role.")
+    public ResponseEntity<ApiResponse<LoginThrottleStatsResponse>> getLoginThrottleStats() {
+        return ResponseFactory.ok("Login throttle counters retrieved successfully", loginRateLimiter.getStats());
+    }
 
 }
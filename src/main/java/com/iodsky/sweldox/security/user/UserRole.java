@@ -1,12 +1,15 @@
 package com.iodsky.sweldox.security.user;
 
 import com.iodsky.sweldox.common.BaseModel;
+import com.iodsky.sweldox.common.ReferenceDataListener;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.*;
 
 @Entity
+@EntityListeners({ReferenceDataListener.class, UserCacheListener.class})
 @Table(name = "user_role")
 @Getter
 @Setter
@@ -1,5 +1,6 @@
 package com.iodsky.sweldox.security.user;
 
+import com.iodsky.sweldox.common.ReferenceDataCache;
 import com.iodsky.sweldox.employee.EmployeeService;
 import com.iodsky.sweldox.employee.Employee;
 import lombok.RequiredArgsConstructor;
@@ -21,15 +22,15 @@ import org.springframework.web.server.ResponseStatusException;
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    private final UserRoleRepository userRoleRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final UserMapper userMapper;
     private final EmployeeService employeeService;
     private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByEmail(username)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User " + username + " not found"));
+        return getUserByEmail(username);
     }
 
     public User createUser(UserRequest userRequest) {
@@ -53,13 +54,18 @@ public class UserService implements UserDetailsService {
             return userRepository.findAll(pageable);
         }
 
-        if (!userRoleRepository.existsByRole(role)) {
+        if (referenceDataCache.findUserRole(role).isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + role);
         }
 
         return userRepository.findUserByUserRole_Role(role, pageable);
     }
 
+    /**
+     * Returns the principal of the current request. It is usually built from the token, in which
+     * case only its id, email, role and employee id are set; load the user or employee by id for
+     * anything else.
+     */
     public User getAuthenticatedUser() {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
@@ -71,12 +77,12 @@ public class UserService implements UserDetailsService {
     }
 
     public User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User " + email + " not found"));
+        return userCache.get(email, key -> userRepository.findByEmail(key)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User " + key + " not found")));
     }
 
     private UserRole getUserRole(String role) {
-        return userRoleRepository.findById(role)
+        return referenceDataCache.findUserRole(role)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid role " + role));
     }
 
@@ -0,0 +1,93 @@
+-- Effective-dated statutory rate tables
+
+-- Create statutory_rate_version table
+CREATE TABLE IF NOT EXISTS statutory_rate_version (
+    id BIGSERIAL PRIMARY KEY,
+    effective_date DATE NOT NULL,
+    description VARCHAR(255),
+    published BOOLEAN NOT NULL DEFAULT FALSE,
+    published_at TIMESTAMP,
+    philhealth_rate NUMERIC(7, 4) NOT NULL,
+    philhealth_max_premium NUMERIC(19, 2) NOT NULL,
+    pagibig_threshold NUMERIC(19, 2) NOT NULL,
+    pagibig_rate_below_threshold NUMERIC(7, 4) NOT NULL,
+    pagibig_rate_above_threshold NUMERIC(7, 4) NOT NULL,
+    pagibig_max_contribution NUMERIC(19, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    deleted_at TIMESTAMP,
+    created_by UUID,
+    last_modified_by UUID,
+    version BIGINT,
+    CONSTRAINT fk_statutory_rate_version_created_by FOREIGN KEY (created_by) REFERENCES users(id),
+    CONSTRAINT fk_statutory_rate_version_last_modified_by FOREIGN KEY (last_modified_by) REFERENCES users(id)
+);
+
+-- Only one published version may take effect on a given date
+CREATE UNIQUE INDEX uk_statutory_rate_version_published_date
+    ON statutory_rate_version(effective_date) WHERE published;
+
+-- Create sss_contribution_bracket table
+CREATE TABLE IF NOT EXISTS sss_contribution_bracket (
+    id BIGSERIAL PRIMARY KEY,
+    rate_version_id BIGINT NOT NULL,
+    min_salary NUMERIC(19, 2) NOT NULL,
+    contribution NUMERIC(19, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    deleted_at TIMESTAMP,
+    created_by UUID,
+    last_modified_by UUID,
+    version BIGINT,
+    CONSTRAINT fk_sss_contribution_bracket_rate_version FOREIGN KEY (rate_version_id) REFERENCES statutory_rate_version(id),
+    CONSTRAINT fk_sss_contribution_bracket_created_by FOREIGN KEY (created_by) REFERENCES users(id),
+    CONSTRAINT fk_sss_contribution_bracket_last_modified_by FOREIGN KEY (last_modified_by) REFERENCES users(id),
+    CONSTRAINT uk_sss_contribution_bracket_min_salary UNIQUE (rate_version_id, min_salary)
+);
+
+-- Create withholding_tax_bracket table
+CREATE TABLE IF NOT EXISTS withholding_tax_bracket (
+    id BIGSERIAL PRIMARY KEY,
+    rate_version_id BIGINT NOT NULL,
+    lower_bound NUMERIC(19, 2) NOT NULL,
+    upper_bound NUMERIC(19, 2),
+    base_tax NUMERIC(19, 2) NOT NULL,
+    rate NUMERIC(7, 4) NOT NULL,
+    excess_over NUMERIC(19, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    deleted_at TIMESTAMP,
+    created_by UUID,
+    last_modified_by UUID,
+    version BIGINT,
+    CONSTRAINT fk_withholding_tax_bracket_rate_version FOREIGN KEY (rate_version_id) REFERENCES statutory_rate_version(id),
+    CONSTRAINT fk_withholding_tax_bracket_created_by FOREIGN KEY (created_by) REFERENCES users(id),
+    CONSTRAINT fk_withholding_tax_bracket_last_modified_by FOREIGN KEY (last_modified_by) REFERENCES users(id),
+    CONSTRAINT uk_withholding_tax_bracket_lower_bound UNIQUE (rate_version_id, lower_bound)
+);
+
+CREATE INDEX idx_sss_contribution_bracket_rate_version ON sss_contribution_bracket(rate_version_id);
+CREATE INDEX idx_withholding_tax_bracket_rate_version ON withholding_tax_bracket(rate_version_id);
+
+-- Insert the rates previously hardcoded in PayrollCalculator
+INSERT INTO statutory_rate_version (id, effective_date, description, published, published_at,
+                                    philhealth_rate, philhealth_max_premium,
+                                    pagibig_threshold, pagibig_rate_below_threshold, pagibig_rate_above_threshold,
+                                    pagibig_max_contribution, created_at, updated_at, version)
+VALUES (1, '2025-01-01', 'Initial statutory rates', TRUE, NOW(),
+        0.03, 1800, 1500, 0.01, 0.02, 100, NOW(), NOW(), 0);
+
+SELECT setval('statutory_rate_version_id_seq', 1);
+
+INSERT INTO sss_contribution_bracket (rate_version_id, min_salary, contribution, created_at, updated_at, version)
+SELECT 1, 3250 + 500 * i, 135 + 22.5 * i, NOW(), NOW(), 0
+FROM generate_series(0, 43) AS i;
+
+INSERT INTO withholding_tax_bracket (rate_version_id, lower_bound, upper_bound, base_tax, rate, excess_over,
+                                     created_at, updated_at, version) VALUES
+                                                                          (1, 0, 20832, 0, 0, 0, NOW(), NOW(), 0),
+                                                                          (1, 20833, 33332, 0, 0.20, 20833, NOW(), NOW(), 0),
+                                                                          (1, 33333, 66666, 2500, 0.25, 33333, NOW(), NOW(), 0),
+                                                                          (1, 66667, 166666, 10833, 0.30, 66667, NOW(), NOW(), 0),
+                                                                          (1, 166667, 666666, 40833.33, 0.32, 166667, NOW(), NOW(), 0),
+                                                                          (1, 666667, NULL, 200833.33, 0.35, 666667, NOW(), NOW(), 0);
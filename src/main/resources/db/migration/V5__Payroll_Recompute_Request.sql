@@ -0,0 +1,7 @@
+-- Generated payrolls whose inputs changed after the run and must be recomputed
+
+CREATE TABLE IF NOT EXISTS payroll_recompute_request (
+    payroll_id UUID PRIMARY KEY,
+    requested_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_payroll_recompute_request_payroll FOREIGN KEY (payroll_id) REFERENCES payroll(id) ON DELETE CASCADE
+);
@@ -0,0 +1,5 @@
+-- Employee ids are allocated in blocks of 50 per nextval so Hibernate can batch inserts.
+-- Must match allocationSize on Employee.id. With the pooled optimizer each nextval value is
+-- the last id of its block, so allocation continues right after the current last_value.
+
+ALTER SEQUENCE employee_id_seq INCREMENT BY 50;
@@ -4,6 +4,7 @@ import com.iodsky.sweldox.common.DateRange;
 import com.iodsky.sweldox.common.DateRangeResolver;
 import com.iodsky.sweldox.employee.EmployeeService;
 import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.payroll.PayrollRecomputeService;
 import com.iodsky.sweldox.security.user.User;
 import com.iodsky.sweldox.security.user.UserRole;
 import com.iodsky.sweldox.security.user.UserService;
@@ -33,6 +34,7 @@ class AttendanceServiceTest {
     @Mock private EmployeeService employeeService;
     @Mock private UserService userService;
     @Mock private DateRangeResolver dateRangeResolver;
+    @Mock private PayrollRecomputeService payrollRecomputeService;
     @InjectMocks private AttendanceService attendanceService;
 
     private User hrUser;
@@ -102,6 +104,7 @@ class AttendanceServiceTest {
 
             assertNotNull(result);
             verify(attendanceRepository).save(any(Attendance.class));
+            verify(payrollRecomputeService).markAffectedPayrolls(1L, List.of(TODAY));
         }
 
         @Test
@@ -259,6 +262,28 @@ class AttendanceServiceTest {
             verify(attendanceRepository).save(existing);
         }
 
+        @Test
+        void shouldMarkPayrollsOfBothDatesWhenHrMovesAttendance() {
+            when(userService.getAuthenticatedUser()).thenReturn(hrUser);
+            Attendance existing = Attendance.builder()
+                    .id(UUID.randomUUID())
+                    .employee(currentEmployee)
+                    .date(TODAY)
+                    .timeIn(SHIFT_START)
+                    .timeOut(LocalTime.MIN)
+                    .build();
+
+            LocalDate corrected = TODAY.minusDays(1);
+            dto.setDate(corrected);
+
+            when(attendanceRepository.findById(any(UUID.class))).thenReturn(Optional.of(existing));
+            when(attendanceRepository.save(any())).thenReturn(existing);
+
+            attendanceService.updateAttendance(existing.getId(), dto);
+
+            verify(payrollRecomputeService).markAffectedPayrolls(1L, List.of(TODAY, corrected));
+        }
+
         @Test
         void shouldThrowForbiddenWhenNonHrTriesToEditAttendanceManually() {
             when(userService.getAuthenticatedUser()).thenReturn(normalUser);
@@ -0,0 +1,225 @@
+package com.iodsky.sweldox.batch;
+
+import com.iodsky.sweldox.batch.employee.EmployeeImportValidator;
+import com.iodsky.sweldox.batch.response.JobDetailsResponse;
+import com.iodsky.sweldox.batch.response.StepDetailsResponse;
+import com.iodsky.sweldox.batch.user.UserImportValidator;
+import com.iodsky.sweldox.employee.EmployeeService;
+import com.iodsky.sweldox.payroll.PayrollPreviewService;
+import com.iodsky.sweldox.payroll.PayrollRecomputeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.*;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchControllerTest {
+
+    @Mock private BatchJobLauncher batchJobLauncher;
+    @Mock private JobProgressRegistry jobProgressRegistry;
+    @Mock private JobExplorer jobExplorer;
+    @Mock private Job employeeImportJob;
+    @Mock private Job userImportJob;
+    @Mock private Job generatePayrollJob;
+    @Mock private Job recomputePayrollJob;
+    @Mock private PayrollPreviewService payrollPreviewService;
+    @Mock private PayrollRecomputeService payrollRecomputeService;
+    @Mock private EmployeeService employeeService;
+    @Mock private EmployeeImportValidator employeeImportValidator;
+    @Mock private UserImportValidator userImportValidator;
+
+    private BatchController batchController;
+
+    @BeforeEach
+    void setUp() {
+        batchController = new BatchController(batchJobLauncher, jobProgressRegistry, jobExplorer,
+                employeeImportJob, userImportJob, generatePayrollJob, recomputePayrollJob,
+                payrollPreviewService, payrollRecomputeService, employeeService,
+                employeeImportValidator, userImportValidator);
+    }
+
+    private static JobExecution jobExecution(long id, String jobName, JobParameters jobParameters) {
+        return new JobExecution(new JobInstance(1L, jobName), id, jobParameters);
+    }
+
+    private static StepExecution step(JobExecution jobExecution, String name, long read, long write, long skip) {
+        StepExecution stepExecution = jobExecution.createStepExecution(name);
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+        stepExecution.setReadCount(read);
+        stepExecution.setWriteCount(write);
+        stepExecution.setReadSkipCount(skip);
+        return stepExecution;
+    }
+
+    @Nested
+    class GetJobExecutionDetailsTests {
+
+        private JobDetailsResponse details(JobExecution jobExecution) {
+            when(jobExplorer.getJobExecution(jobExecution.getId())).thenReturn(jobExecution);
+            return batchController.getJobExecutionDetails(jobExecution.getId()).getBody().getData();
+        }
+
+        @Test
+        void shouldSumPartitionsWithoutCountingManagerStepTwice() {
+            JobExecution jobExecution = jobExecution(7L, "generatePayrollJob", new JobParameters());
+            // The manager aggregates the workers' counts
+            step(jobExecution, "generatePayrollManagerStep", 30, 27, 3);
+            step(jobExecution, "generatePayrollStep:partition1", 10, 9, 1);
+            step(jobExecution, "generatePayrollStep:partition0", 12, 12, 0);
+            step(jobExecution, "generatePayrollStep:partition2", 8, 6, 2);
+
+            JobDetailsResponse details = details(jobExecution);
+
+            assertEquals(30, details.getReadCount());
+            assertEquals(27, details.getWriteCount());
+            assertEquals(3, details.getSkipCount());
+
+            List<StepDetailsResponse> partitions = details.getPartitions();
+            assertEquals(List.of("generatePayrollStep:partition0", "generatePayrollStep:partition1",
+                            "generatePayrollStep:partition2"),
+                    partitions.stream().map(StepDetailsResponse::getStepName).toList());
+            assertEquals(12, partitions.getFirst().getReadCount());
+            assertEquals(2, partitions.getLast().getSkipCount());
+        }
+
+        @Test
+        void shouldSumStepsAndOmitPartitionsWhenNotPartitioned() {
+            JobExecution jobExecution = jobExecution(8L, "importEmployeesJob",
+                    new JobParametersBuilder().addString("fileName", "employees.csv").toJobParameters());
+            step(jobExecution, "prescanStep", 0, 0, 0);
+            step(jobExecution, "importEmployeesStep", 20, 18, 2);
+
+            JobDetailsResponse details = details(jobExecution);
+
+            assertEquals(20, details.getReadCount());
+            assertEquals(18, details.getWriteCount());
+            assertEquals(2, details.getSkipCount());
+            assertEquals("employees.csv", details.getFileName());
+            assertNull(details.getPartitions());
+        }
+    }
+
+    @Nested
+    class RestartPayrollJobTests {
+
+        private final JobParameters originalParameters = new JobParametersBuilder()
+                .addString("periodStartDate", "2025-01-01")
+                .addString("periodEndDate", "2025-01-15")
+                .addLong("run.id", 4L)
+                .toJobParameters();
+
+        private JobExecution givenExecution(String jobName, BatchStatus status) {
+            JobExecution previous = jobExecution(11L, jobName, originalParameters);
+            previous.setStatus(status);
+            when(jobExplorer.getJobExecution(11L)).thenReturn(previous);
+            return previous;
+        }
+
+        @Test
+        void shouldRelaunchWithOriginalParameters() throws Exception {
+            when(generatePayrollJob.getName()).thenReturn("generatePayrollJob");
+            givenExecution("generatePayrollJob", BatchStatus.FAILED);
+            when(batchJobLauncher.launch(generatePayrollJob, originalParameters))
+                    .thenReturn(jobExecution(12L, "generatePayrollJob", originalParameters));
+
+            var response = batchController.restartPayrollJob(11L);
+
+            assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+            assertEquals(12L, response.getBody().getData().getJobExecutionId());
+            verify(batchJobLauncher).launch(generatePayrollJob, originalParameters);
+        }
+
+        @Test
+        void shouldReturnNotFoundForUnknownExecution() throws Exception {
+            when(jobExplorer.getJobExecution(11L)).thenReturn(null);
+
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                    () -> batchController.restartPayrollJob(11L));
+
+            assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+            verify(batchJobLauncher, never()).launch(any(), any());
+        }
+
+        @Test
+        void shouldRejectExecutionOfAnotherJob() throws Exception {
+            when(generatePayrollJob.getName()).thenReturn("generatePayrollJob");
+            givenExecution("importEmployeesJob", BatchStatus.FAILED);
+
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                    () -> batchController.restartPayrollJob(11L));
+
+            assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+            verify(batchJobLauncher, never()).launch(any(), any());
+        }
+
+        @Test
+        void shouldRejectExecutionThatDidNotFail() throws Exception {
+            when(generatePayrollJob.getName()).thenReturn("generatePayrollJob");
+            givenExecution("generatePayrollJob", BatchStatus.COMPLETED);
+
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                    () -> batchController.restartPayrollJob(11L));
+
+            assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+            verify(batchJobLauncher, never()).launch(any(), any());
+        }
+
+        @Test
+        void shouldReturnConflictWhenLauncherRefusesRestart() throws Exception {
+            when(generatePayrollJob.getName()).thenReturn("generatePayrollJob");
+            givenExecution("generatePayrollJob", BatchStatus.STOPPED);
+            when(batchJobLauncher.launch(generatePayrollJob, originalParameters))
+                    .thenThrow(new JobInstanceAlreadyCompleteException("A job instance already exists and is complete"));
+
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                    () -> batchController.restartPayrollJob(11L));
+
+            assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        }
+    }
+
+    @Nested
+    class UploadTests {
+
+        @Test
+        void shouldRejectEmptyImportAsBadRequest() {
+            MockMultipartFile file = new MockMultipartFile("file", "employees.csv", "text/csv", new byte[0]);
+
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                    () -> batchController.importEmployees(file));
+
+            assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+            verifyNoInteractions(batchJobLauncher);
+        }
+
+        @Test
+        void shouldRejectNonCsvImportLikeValidation() throws Exception {
+            MockMultipartFile file = new MockMultipartFile("file", "users.xlsx", "text/plain", "a,b".getBytes());
+
+            ResponseStatusException importEx = assertThrows(ResponseStatusException.class,
+                    () -> batchController.importUsers(file));
+            ResponseStatusException validateEx = assertThrows(ResponseStatusException.class,
+                    () -> batchController.validateUserImport(file));
+
+            assertEquals(HttpStatus.BAD_REQUEST, importEx.getStatusCode());
+            assertEquals(validateEx.getStatusCode(), importEx.getStatusCode());
+            assertEquals(validateEx.getReason(), importEx.getReason());
+            verifyNoInteractions(batchJobLauncher, userImportValidator);
+        }
+    }
+
+}
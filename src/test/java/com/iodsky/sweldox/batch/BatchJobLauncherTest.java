@@ -0,0 +1,162 @@
+package com.iodsky.sweldox.batch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.batch.core.*;
+import org.springframework.batch.core.job.DefaultJobParametersValidator;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BatchJobLauncherTest {
+
+    @Mock private JobRepository jobRepository;
+    @Mock private Job payrollJob;
+    @Mock private Job importJob;
+
+    // Holds submitted tasks instead of running them, as a busy executor would
+    private final List<Runnable> submitted = new ArrayList<>();
+    private TaskExecutor executor = submitted::add;
+    private BatchJobLauncher batchJobLauncher;
+    private long nextExecutionId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        batchJobLauncher = new BatchJobLauncher(jobRepository, task -> executor.execute(task));
+        ReflectionTestUtils.setField(batchJobLauncher, "threads", 1);
+        ReflectionTestUtils.setField(batchJobLauncher, "queueCapacity", 2);
+        ReflectionTestUtils.setField(batchJobLauncher, "maxPerJob", 2);
+        batchJobLauncher.init();
+
+        for (Job job : List.of(payrollJob, importJob)) {
+            when(job.getJobParametersValidator()).thenReturn(new DefaultJobParametersValidator());
+        }
+        when(payrollJob.getName()).thenReturn("generatePayrollJob");
+        when(importJob.getName()).thenReturn("importEmployeesJob");
+        when(jobRepository.createJobExecution(anyString(), any())).thenAnswer(invocation ->
+                new JobExecution(++nextExecutionId, invocation.getArgument(1)));
+    }
+
+    private static JobParameters parameters(long timestamp) {
+        return new JobParametersBuilder().addLong("timestamp", timestamp).toJobParameters();
+    }
+
+    private static void assertTooManyRequests(Executable launch) {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, launch::run);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatusCode());
+    }
+
+    private interface Executable {
+        void run() throws Exception;
+    }
+
+    @Nested
+    class LaunchTests {
+
+        @Test
+        void shouldReturnExecutionWithoutRunningJobOnCallerThread() throws Exception {
+            JobExecution jobExecution = batchJobLauncher.launch(payrollJob, parameters(1));
+
+            assertEquals(1L, jobExecution.getId());
+            assertEquals(1, submitted.size());
+            verify(payrollJob, never()).execute(any());
+
+            submitted.getFirst().run();
+            verify(payrollJob).execute(jobExecution);
+        }
+
+        @Test
+        void shouldRejectLaunchBeyondPerJobLimit() throws Exception {
+            batchJobLauncher.launch(payrollJob, parameters(1));
+            batchJobLauncher.launch(payrollJob, parameters(2));
+
+            assertTooManyRequests(() -> batchJobLauncher.launch(payrollJob, parameters(3)));
+            verify(jobRepository, times(2)).createJobExecution(anyString(), any());
+
+            // Another job still fits in the queue
+            batchJobLauncher.launch(importJob, parameters(4));
+            assertEquals(3, submitted.size());
+        }
+
+        @Test
+        void shouldRejectLaunchWhenQueueIsFullAndAdmitAgainAfterJobFinishes() throws Exception {
+            batchJobLauncher.launch(payrollJob, parameters(1));
+            batchJobLauncher.launch(importJob, parameters(2));
+            batchJobLauncher.launch(importJob, parameters(3));
+
+            assertTooManyRequests(() -> batchJobLauncher.launch(payrollJob, parameters(4)));
+
+            submitted.getFirst().run();
+            batchJobLauncher.launch(payrollJob, parameters(5));
+            assertEquals(4, submitted.size());
+        }
+
+        @Test
+        void shouldReleasePermitsWhenLaunchFails() throws Exception {
+            when(jobRepository.createJobExecution(anyString(), any()))
+                    .thenThrow(new JobExecutionAlreadyRunningException("already running"));
+
+            for (int i = 0; i < 5; i++) {
+                assertThrows(JobExecutionAlreadyRunningException.class,
+                        () -> batchJobLauncher.launch(payrollJob, parameters(1)));
+            }
+            assertTrue(submitted.isEmpty());
+        }
+
+        @Test
+        void shouldRejectAndReleasePermitsWhenExecutorRejectsTask() throws Exception {
+            executor = task -> {
+                throw new TaskRejectedException("rejected");
+            };
+
+            for (int i = 0; i < 5; i++) {
+                long timestamp = i;
+                assertTooManyRequests(() -> batchJobLauncher.launch(payrollJob, parameters(timestamp)));
+            }
+        }
+
+        @Test
+        void shouldRunJobWithLaunchingUsersSecurityContext() throws Exception {
+            AtomicReference<Object> principal = new AtomicReference<>();
+            doAnswer(invocation -> {
+                principal.set(SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+                return null;
+            }).when(payrollJob).execute(any());
+
+            SecurityContextHolder.setContext(new SecurityContextImpl(
+                    new UsernamePasswordAuthenticationToken("hr@sweldox.com", null, List.of())));
+            try {
+                batchJobLauncher.launch(payrollJob, parameters(1));
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+
+            submitted.getFirst().run();
+            assertEquals("hr@sweldox.com", principal.get());
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.iodsky.sweldox.batch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvItemReaderTest {
+
+    private CsvItemReader<List<String>> reader;
+
+    @AfterEach
+    void tearDown() {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+    private List<List<String>> readAll(String csv, int columns) throws Exception {
+        reader = new CsvItemReader<>(new ByteArrayResource(csv.getBytes(StandardCharsets.UTF_8)), columns, List::of);
+        reader.open(new ExecutionContext());
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row;
+        while ((row = reader.read()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Test
+    void shouldSkipHeaderAndBlankLinesAndKeepEmptyFields() throws Exception {
+        List<List<String>> rows = readAll("\uFEFFa,b,c\n1,,3\n\n4,5,\r\n", 3);
+
+        assertEquals(List.of(List.of("1", "", "3"), List.of("4", "5", "")), rows);
+    }
+
+    @Test
+    void shouldUnquoteFieldsWithCommasQuotesAndLineBreaks() throws Exception {
+        List<List<String>> rows = readAll("a,b,c\n\"Makati, Metro Manila\",\"say \"\"hi\"\"\",\"line one\nline two\"\n\"\",x,y\n", 3);
+
+        assertEquals(List.of(
+                List.of("Makati, Metro Manila", "say \"hi\"", "line one\nline two"),
+                List.of("", "x", "y")), rows);
+    }
+
+    @Test
+    void shouldFailOnWrongFieldCountWithLineNumber() {
+        FlatFileParseException ex = assertThrows(FlatFileParseException.class, () -> readAll("a,b\n1,2\n1,2,3\n", 2));
+
+        assertEquals(3, ex.getLineNumber());
+        assertEquals("1,2,3", ex.getInput());
+    }
+
+    @Test
+    void shouldFailOnUnterminatedQuote() {
+        assertThrows(FlatFileParseException.class, () -> readAll("a,b\n\"1,2\n", 2));
+    }
+
+    @Test
+    void shouldCountRecordsRatherThanLines() throws Exception {
+        String csv = "a,b\n\"line one\nline two\",x\n\n1,2\n1,2,3\n";
+
+        assertEquals(3, CsvItemReader.countRecords(new ByteArrayResource(csv.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void shouldCountUnterminatedQuoteAsOneRecord() throws Exception {
+        String csv = "a,b\n1,2\n\"3,4\n5,6\n";
+
+        assertEquals(2, CsvItemReader.countRecords(new ByteArrayResource(csv.getBytes(StandardCharsets.UTF_8))));
+    }
+
+}
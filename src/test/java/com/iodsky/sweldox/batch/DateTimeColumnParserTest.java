@@ -0,0 +1,49 @@
+package com.iodsky.sweldox.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateTimeColumnParserTest {
+
+    @Test
+    void shouldParseEverySupportedDateFormat() {
+        DateTimeColumnParser<LocalDate> dates = DateTimeColumnParser.dates();
+        LocalDate expected = LocalDate.of(2025, 11, 23);
+
+        for (String value : new String[]{"2025-11-23", "11-23-2025", "23-11-2025", "2025/11/23", "11/23/2025", "23/11/2025"}) {
+            assertEquals(expected, dates.parse(value), value);
+        }
+    }
+
+    @Test
+    void shouldReadAmbiguousDatesInTheFormatAlreadySeen() {
+        DateTimeColumnParser<LocalDate> dates = DateTimeColumnParser.dates();
+
+        assertEquals(LocalDate.of(2025, 11, 23), dates.parse("23-11-2025"));
+        assertEquals(LocalDate.of(2025, 11, 3), dates.parse("03-11-2025"));
+
+        // Without a detected format the first matching one wins, as in DateTimeUtil
+        assertEquals(LocalDate.of(2025, 3, 11), DateTimeColumnParser.dates().parse("03-11-2025"));
+    }
+
+    @Test
+    void shouldParseTimesAndBlanks() {
+        DateTimeColumnParser<LocalTime> times = DateTimeColumnParser.times();
+
+        assertEquals(LocalTime.of(8, 0), times.parse("8:00"));
+        assertEquals(LocalTime.of(17, 30), times.parse(" 17:30 "));
+        assertNull(times.parse(""));
+        assertNull(times.parse(null));
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> DateTimeColumnParser.dates().parse("23.11.2025"));
+        assertThrows(IllegalArgumentException.class, () -> DateTimeUtil.parseDate("2025-13-45"));
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.iodsky.sweldox.batch;
+
+import com.iodsky.sweldox.batch.response.JobProgressResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobProgressRegistryTest {
+
+    private JobProgressRegistry jobProgressRegistry;
+
+    @BeforeEach
+    void setUp() {
+        jobProgressRegistry = new JobProgressRegistry();
+        ReflectionTestUtils.setField(jobProgressRegistry, "publishInterval", 60_000L);
+        ReflectionTestUtils.setField(jobProgressRegistry, "emitterTimeout", 60_000L);
+        ReflectionTestUtils.setField(jobProgressRegistry, "retainedFinished", 2);
+    }
+
+    private JobExecution runningJob(long id, Long totalItems) {
+        JobParametersBuilder parameters = new JobParametersBuilder().addLong("timestamp", id);
+        if (totalItems != null) {
+            parameters.addLong(JobProgressRegistry.TOTAL_ITEMS_PARAMETER, totalItems, false);
+        }
+        JobExecution jobExecution = new JobExecution(new JobInstance(id, "generatePayrollJob"), id, parameters.toJobParameters());
+        jobExecution.setStatus(BatchStatus.STARTED);
+        jobExecution.setStartTime(LocalDateTime.now().minusSeconds(10));
+        return jobExecution;
+    }
+
+    private StepExecution step(JobExecution jobExecution, long id, String name, long read, long write, long skip) {
+        StepExecution stepExecution = jobExecution.createStepExecution(name);
+        stepExecution.setId(id);
+        stepExecution.setReadCount(read);
+        stepExecution.setWriteCount(write);
+        stepExecution.setWriteSkipCount(skip);
+        return stepExecution;
+    }
+
+    private void complete(JobExecution jobExecution) {
+        jobExecution.setStatus(BatchStatus.COMPLETED);
+        jobExecution.setEndTime(LocalDateTime.now());
+    }
+
+    /**
+     * Events sent before the emitter is attached to a response are buffered, which lets the tests
+     * read them back without a servlet container.
+     */
+    @SuppressWarnings("unchecked")
+    private List<JobProgressResponse> events(SseEmitter emitter) {
+        Set<ResponseBodyEmitter.DataWithMediaType> sent =
+                (Set<ResponseBodyEmitter.DataWithMediaType>) ReflectionTestUtils.getField(emitter, "earlySendAttempts");
+        return sent.stream()
+                .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                .filter(JobProgressResponse.class::isInstance)
+                .map(JobProgressResponse.class::cast)
+                .toList();
+    }
+
+    private boolean isComplete(SseEmitter emitter) {
+        return (boolean) ReflectionTestUtils.getField(emitter, "complete");
+    }
+
+    @Nested
+    class RunningExecutionTests {
+
+        @Test
+        void shouldSendCurrentProgressOnSubscribe() {
+            JobExecution jobExecution = runningJob(1L, 200L);
+            step(jobExecution, 11L, "generatePayrollStep", 50, 45, 5);
+
+            SseEmitter emitter = jobProgressRegistry.subscribe(jobExecution);
+
+            List<JobProgressResponse> events = events(emitter);
+            assertEquals(1, events.size());
+            JobProgressResponse progress = events.getFirst();
+            assertEquals(1L, progress.getJobExecutionId());
+            assertEquals(BatchStatus.STARTED, progress.getStatus());
+            assertEquals(50L, progress.getProcessedCount());
+            assertEquals(45L, progress.getWriteCount());
+            assertEquals(5L, progress.getSkipCount());
+            assertEquals(200L, progress.getTotalItems());
+            assertTrue(progress.getItemsPerSecond() > 0);
+            // 150 items left at roughly 5 items per second
+            assertTrue(progress.getEtaSeconds() >= 25 && progress.getEtaSeconds() <= 35, "eta " + progress.getEtaSeconds());
+            assertFalse(isComplete(emitter));
+        }
+
+        @Test
+        void shouldThrottleChunkUpdatesToThePublishInterval() {
+            JobExecution jobExecution = runningJob(1L, 200L);
+            StepExecution stepExecution = step(jobExecution, 11L, "generatePayrollStep", 0, 0, 0);
+            SseEmitter emitter = jobProgressRegistry.subscribe(jobExecution);
+
+            stepExecution.setReadCount(10);
+            jobProgressRegistry.update(stepExecution);
+            stepExecution.setReadCount(20);
+            jobProgressRegistry.update(stepExecution);
+
+            List<JobProgressResponse> events = events(emitter);
+            assertEquals(2, events.size());
+            assertEquals(10L, events.get(1).getProcessedCount());
+        }
+
+        @Test
+        void shouldSumPartitionWorkersAndIgnoreTheManagerStep() {
+            JobExecution jobExecution = runningJob(1L, null);
+            step(jobExecution, 10L, "generatePayrollManagerStep", 0, 0, 0);
+            StepExecution partition0 = step(jobExecution, 11L, "generatePayrollStep:partition0", 30, 30, 0);
+            StepExecution partition1 = step(jobExecution, 12L, "generatePayrollStep:partition1", 20, 18, 2);
+
+            jobProgressRegistry.update(partition0);
+            jobProgressRegistry.update(partition1);
+            SseEmitter emitter = jobProgressRegistry.subscribe(jobExecution);
+
+            JobProgressResponse progress = events(emitter).getFirst();
+            assertEquals(50L, progress.getProcessedCount());
+            assertEquals(48L, progress.getWriteCount());
+            assertEquals(2L, progress.getSkipCount());
+            assertNull(progress.getTotalItems());
+            assertNull(progress.getEtaSeconds());
+        }
+    }
+
+    @Nested
+    class FinishedExecutionTests {
+
+        @Test
+        void shouldSendFinalProgressAndCompleteSubscribersWhenJobFinishes() {
+            JobExecution jobExecution = runningJob(1L, 100L);
+            StepExecution stepExecution = step(jobExecution, 11L, "generatePayrollStep", 10, 10, 0);
+            SseEmitter emitter = jobProgressRegistry.subscribe(jobExecution);
+
+            stepExecution.setReadCount(100);
+            stepExecution.setWriteCount(100);
+            complete(jobExecution);
+            jobProgressRegistry.finish(jobExecution);
+
+            List<JobProgressResponse> events = events(emitter);
+            JobProgressResponse last = events.getLast();
+            assertEquals(BatchStatus.COMPLETED, last.getStatus());
+            assertEquals(100L, last.getProcessedCount());
+            assertEquals(0L, last.getEtaSeconds());
+            assertTrue(isComplete(emitter));
+        }
+
+        @Test
+        void shouldSendFinalProgressToLateSubscriber() {
+            JobExecution jobExecution = runningJob(1L, 100L);
+            step(jobExecution, 11L, "generatePayrollStep", 100, 100, 0);
+            complete(jobExecution);
+            jobProgressRegistry.finish(jobExecution);
+
+            SseEmitter emitter = jobProgressRegistry.subscribe(jobExecution);
+
+            List<JobProgressResponse> events = events(emitter);
+            assertEquals(1, events.size());
+            assertEquals(BatchStatus.COMPLETED, events.getFirst().getStatus());
+            assertTrue(isComplete(emitter));
+        }
+
+        @Test
+        void shouldBuildProgressFromRepositoryForUntrackedExecution() {
+            JobExecution jobExecution = runningJob(1L, null);
+            step(jobExecution, 11L, "importEmployeesStep", 40, 38, 2);
+            jobExecution.setStatus(BatchStatus.FAILED);
+            jobExecution.setEndTime(LocalDateTime.now());
+
+            SseEmitter emitter = jobProgressRegistry.subscribe(jobExecution);
+
+            JobProgressResponse progress = events(emitter).getFirst();
+            assertEquals(BatchStatus.FAILED, progress.getStatus());
+            assertEquals(40L, progress.getProcessedCount());
+            assertTrue(isComplete(emitter));
+        }
+
+        @Test
+        void shouldKeepOnlyTheMostRecentFinishedExecutions() {
+            for (long id = 1; id <= 3; id++) {
+                JobExecution jobExecution = runningJob(id, null);
+                complete(jobExecution);
+                jobProgressRegistry.finish(jobExecution);
+            }
+
+            Map<?, ?> executions = (Map<?, ?>) ReflectionTestUtils.getField(jobProgressRegistry, "executions");
+            assertEquals(Set.of(2L, 3L), executions.keySet());
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.iodsky.sweldox.batch.employee;
+
+import com.iodsky.sweldox.employee.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportPrescanTaskletTest {
+
+    @Mock private EmployeeRepository employeeRepository;
+
+    @TempDir
+    Path uploadDirectory;
+
+    private EmployeeImportPrescanTasklet tasklet;
+
+    @BeforeEach
+    void setUp() {
+        tasklet = new EmployeeImportPrescanTasklet(employeeRepository);
+        ReflectionTestUtils.setField(tasklet, "uploadDirectory", uploadDirectory.toString());
+        ReflectionTestUtils.setField(tasklet, "fileName", "employees.csv");
+    }
+
+    private String row(String lastName, String sssNumber, String supervisorId) {
+        return lastName + ",Juan,1990-01-01,Address " + lastName + ",0917" + sssNumber + "," + sssNumber
+                + ",,,,REGULAR,,"  + supervisorId + ",08:00,17:00,30000,,,";
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldResolveDistinctSupervisorIdsInOneQuery() throws Exception {
+        Files.write(uploadDirectory.resolve("employees.csv"), List.of(
+                String.join(",", EmployeeImportRecord.CSV_COLUMN_NAMES),
+                row("Cruz", "111", "10001"),
+                row("Reyes", "222", "10001"),
+                row("Santos", "333", "99999"),
+                row("Lim", "444", "#1"),
+                row("Tan", "555", "")));
+        when(employeeRepository.findIdsByIdIn(anyCollection())).thenReturn(List.of(10001L));
+
+        JobExecution jobExecution = new JobExecution(1L, new JobParameters());
+        StepExecution stepExecution = jobExecution.createStepExecution("prescanEmployeesStep");
+
+        tasklet.execute(new StepContribution(stepExecution), null);
+
+        verify(employeeRepository).findIdsByIdIn(argThat((Collection<Long> ids) -> Set.copyOf(ids).equals(Set.of(10001L, 99999L))));
+        assertEquals(Set.of(10001L), jobExecution.getExecutionContext().get(EmployeeImportPrescanTasklet.SUPERVISOR_IDS_KEY));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldIgnoreMalformedRowReferences() throws Exception {
+        Files.write(uploadDirectory.resolve("employees.csv"), List.of(
+                String.join(",", EmployeeImportRecord.CSV_COLUMN_NAMES),
+                row("Cruz", "111", "#"),
+                row("Reyes", "222", "#abc"),
+                row("Santos", "333", "# 3"),
+                row("Lim", "444", "10001")));
+        when(employeeRepository.findIdsByIdIn(anyCollection())).thenReturn(List.of(10001L));
+
+        JobExecution jobExecution = new JobExecution(1L, new JobParameters());
+        StepExecution stepExecution = jobExecution.createStepExecution("prescanEmployeesStep");
+
+        tasklet.execute(new StepContribution(stepExecution), null);
+
+        verify(employeeRepository).findIdsByIdIn(argThat((Collection<Long> ids) -> Set.copyOf(ids).equals(Set.of(10001L))));
+        assertEquals(Set.of(10001L), jobExecution.getExecutionContext().get(EmployeeImportPrescanTasklet.SUPERVISOR_IDS_KEY));
+    }
+
+}
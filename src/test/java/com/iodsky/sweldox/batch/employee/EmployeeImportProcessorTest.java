@@ -0,0 +1,67 @@
+package com.iodsky.sweldox.batch.employee;
+
+import com.iodsky.sweldox.common.ReferenceDataCache;
+import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.employee.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportProcessorTest {
+
+    @Mock private ReferenceDataCache referenceDataCache;
+    @Mock private EmployeeRepository employeeRepository;
+
+    private EmployeeImportProcessor employeeImportProcessor;
+
+    @BeforeEach
+    void setUp() {
+        employeeImportProcessor = new EmployeeImportProcessor(referenceDataCache, employeeRepository);
+        ReflectionTestUtils.setField(employeeImportProcessor, "supervisorIds", Set.of(10001L));
+    }
+
+    private EmployeeImportRecord record(String supervisorId) {
+        return EmployeeImportRecord.builder()
+                .lastName("Garcia")
+                .firstName("Manuel")
+                .birthday("1983-10-11")
+                .status("REGULAR")
+                .supervisorId(supervisorId)
+                .basicSalary("90000")
+                .build();
+    }
+
+    @Test
+    void shouldReferencePrescannedSupervisorWithoutQuerying() {
+        Employee supervisor = Employee.builder().id(10001L).build();
+        when(employeeRepository.getReferenceById(10001L)).thenReturn(supervisor);
+
+        assertSame(supervisor, employeeImportProcessor.process(record("10001")).getSupervisor());
+
+        verify(employeeRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldLeaveSupervisorEmptyWhenPrescanDidNotFindIt() {
+        assertNull(employeeImportProcessor.process(record("99999")).getSupervisor());
+
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void shouldLeaveInFileSupervisorForTheLinkStep() {
+        assertNull(employeeImportProcessor.process(record("#2")).getSupervisor());
+
+        verifyNoInteractions(employeeRepository);
+    }
+
+}
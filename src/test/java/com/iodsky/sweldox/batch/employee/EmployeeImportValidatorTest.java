@@ -0,0 +1,161 @@
+package com.iodsky.sweldox.batch.employee;
+
+import com.iodsky.sweldox.batch.ImportValidationReport;
+import com.iodsky.sweldox.batch.ImportValidationReport.Finding;
+import com.iodsky.sweldox.batch.ImportValidationReport.Level;
+import com.iodsky.sweldox.common.ReferenceDataCache;
+import com.iodsky.sweldox.employee.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportValidatorTest {
+
+    @Mock private ReferenceDataCache referenceDataCache;
+    @Mock private EmployeeRepository employeeRepository;
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private EmployeeImportValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new EmployeeImportValidator(referenceDataCache, employeeRepository, jdbcTemplate);
+    }
+
+    private static String row(String lastName, String sssNumber, String status, String supervisorId, String basicSalary) {
+        return lastName + ",Juan,1990-01-01,Address " + lastName + ",0917" + sssNumber + "," + sssNumber
+                + ",,,," + status + ",," + supervisorId + ",08:00,17:00," + basicSalary + ",,,";
+    }
+
+    private ImportValidationReport validate(String... rows) throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.join(",", EmployeeImportRecord.CSV_COLUMN_NAMES));
+        lines.addAll(List.of(rows));
+        return validator.validate(new ByteArrayResource(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<Finding> findings(ImportValidationReport report, int row, String field) {
+        return report.getFindings().stream()
+                .filter(finding -> finding.row() == row && field.equals(finding.field()))
+                .toList();
+    }
+
+    @Nested
+    class RowTests {
+
+        @Test
+        void shouldReportNothingForValidFile() throws Exception {
+            ImportValidationReport report = validate(
+                    row("Cruz", "111", "REGULAR", "", "30000"),
+                    row("Reyes", "222", "probationary", "#1", "25000"));
+
+            assertEquals(2, report.getRows());
+            assertTrue(report.getFindings().isEmpty());
+            verifyNoInteractions(employeeRepository);
+        }
+
+        @Test
+        void shouldReportInvalidFieldsAsErrors() throws Exception {
+            ImportValidationReport report = validate(
+                    row("Cruz", "111", "RETIRED", "", "abc"),
+                    "Reyes,Juan,31/31/1990,Address,0917,222,,,,REGULAR,,,8am,17:00,30000,,,");
+
+            assertEquals(Level.ERROR, findings(report, 1, "status").getFirst().level());
+            assertEquals(Level.ERROR, findings(report, 1, "basicSalary").getFirst().level());
+            assertEquals(Level.ERROR, findings(report, 2, "birthday").getFirst().level());
+            assertEquals(Level.ERROR, findings(report, 2, "startShift").getFirst().level());
+            assertEquals(2, report.getInvalidRows());
+        }
+
+        @Test
+        void shouldReportMalformedRowAndKeepRowNumbers() throws Exception {
+            ImportValidationReport report = validate(
+                    "Cruz,Juan,too,few",
+                    row("Reyes", "222", "REGULAR", "", "abc"));
+
+            assertEquals(1, report.getFindings().getFirst().row());
+            assertNull(report.getFindings().getFirst().field());
+            assertEquals(1, findings(report, 2, "basicSalary").size());
+        }
+
+        @Test
+        void shouldWarnAboutMissingSupervisors() throws Exception {
+            when(employeeRepository.findIdsByIdIn(anyCollection())).thenReturn(List.of(10001L));
+
+            ImportValidationReport report = validate(
+                    row("Cruz", "111", "REGULAR", "10001", "30000"),
+                    row("Reyes", "222", "REGULAR", "99999", "30000"),
+                    row("Santos", "333", "REGULAR", "#3", "30000"),
+                    row("Lim", "444", "REGULAR", "boss", "30000"));
+
+            assertTrue(findings(report, 1, "supervisorId").isEmpty());
+            assertEquals(Level.WARNING, findings(report, 2, "supervisorId").getFirst().level());
+            assertEquals(Level.WARNING, findings(report, 3, "supervisorId").getFirst().level());
+            assertEquals(Level.WARNING, findings(report, 4, "supervisorId").getFirst().level());
+            assertEquals(0, report.getInvalidRows());
+            assertEquals(3, report.getWarnings());
+            verify(employeeRepository, times(1)).findIdsByIdIn(anyCollection());
+        }
+    }
+
+    @Nested
+    class DuplicateTests {
+
+        @Test
+        void shouldReportDuplicatesWithinFile() throws Exception {
+            ImportValidationReport report = validate(
+                    row("Cruz", "111", "REGULAR", "", "30000"),
+                    row("Reyes", "111", "REGULAR", "", "30000"));
+
+            List<Finding> sss = findings(report, 2, "sssNumber");
+            assertEquals(1, sss.size());
+            assertTrue(sss.getFirst().message().contains("row 1"));
+            assertEquals(1, findings(report, 2, "phoneNumber").size());
+            assertTrue(findings(report, 1, "sssNumber").isEmpty());
+        }
+
+        @Test
+        void shouldReportValuesTakenByExistingEmployeesWithOneQueryPerColumn() throws Exception {
+            when(jdbcTemplate.queryForList(contains("sss_no"), eq(String.class), any()))
+                    .thenReturn(List.of("222"));
+
+            ImportValidationReport report = validate(
+                    row("Cruz", "111", "REGULAR", "", "30000"),
+                    row("Reyes", "222", "REGULAR", "", "30000"));
+
+            assertTrue(findings(report, 1, "sssNumber").isEmpty());
+            assertEquals(Level.ERROR, findings(report, 2, "sssNumber").getFirst().level());
+            assertEquals(1, report.getInvalidRows());
+            // sss_no, phone_number and address; the other government ids are blank
+            verify(jdbcTemplate, times(3)).queryForList(anyString(), eq(String.class), any());
+        }
+    }
+
+    @Test
+    void shouldWriteReportAsCsv() throws Exception {
+        ImportValidationReport report = validate(row("Cruz", "111", "REGULAR", "", "abc"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        report.writeCsv(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r?\n");
+        assertEquals("row,level,field,value,message", lines[0]);
+        assertEquals("1,ERROR,basicSalary,abc,Invalid amount", lines[1]);
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.iodsky.sweldox.batch.employee;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.*;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSupervisorLinkTaskletTest {
+
+    private static final LocalDateTime JOB_START_TIME = LocalDateTime.of(2025, 11, 3, 9, 30);
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private Connection connection;
+    @Mock private PreparedStatement statement;
+
+    @TempDir
+    Path uploadDirectory;
+
+    private EmployeeSupervisorLinkTasklet tasklet;
+
+    @BeforeEach
+    void setUp() {
+        tasklet = new EmployeeSupervisorLinkTasklet(jdbcTemplate);
+        ReflectionTestUtils.setField(tasklet, "uploadDirectory", uploadDirectory.toString());
+        ReflectionTestUtils.setField(tasklet, "fileName", "employees.csv");
+    }
+
+    private String row(String lastName, String sssNumber, String supervisorId) {
+        return lastName + ",Juan,1990-01-01,Address " + lastName + ",0917" + sssNumber + "," + sssNumber
+                + ",,,,REGULAR,," + supervisorId + ",08:00,17:00,30000,,,";
+    }
+
+    private void writeFile(String... rows) throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.join(",", EmployeeImportRecord.CSV_COLUMN_NAMES));
+        lines.addAll(List.of(rows));
+        Files.write(uploadDirectory.resolve("employees.csv"), lines);
+    }
+
+    private RepeatStatus execute() throws Exception {
+        JobExecution jobExecution = new JobExecution(1L, new JobParameters());
+        jobExecution.setStartTime(JOB_START_TIME);
+        StepExecution stepExecution = jobExecution.createStepExecution("linkSupervisorsStep");
+        return tasklet.execute(new StepContribution(stepExecution), null);
+    }
+
+    /**
+     * Runs the statement the tasklet handed to the template against a mocked connection and
+     * returns the employee and supervisor SSS arrays it bound.
+     */
+    private List<Object[]> boundLinks() throws Exception {
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).update(creator.capture());
+
+        List<Object[]> arrays = new ArrayList<>();
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(connection.createArrayOf(eq("varchar"), any(Object[].class))).thenAnswer(invocation -> {
+            arrays.add(invocation.getArgument(1));
+            return mock(Array.class);
+        });
+
+        assertSame(statement, creator.getValue().createPreparedStatement(connection));
+        assertEquals(2, arrays.size());
+        return arrays;
+    }
+
+    @Test
+    void shouldPairRowReferencesWithSupervisorSssNumbers() throws Exception {
+        writeFile(
+                row("Cruz", "111", ""),
+                row("Reyes", "222", "#1"),
+                row("Santos", "333", "10001"),
+                row("Lim", "444", "#2"));
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenReturn(2);
+
+        assertEquals(RepeatStatus.FINISHED, execute());
+
+        List<Object[]> links = boundLinks();
+        assertArrayEquals(new Object[]{"222", "444"}, links.get(0));
+        assertArrayEquals(new Object[]{"111", "222"}, links.get(1));
+    }
+
+    @Test
+    void shouldSkipOutOfRangeAndSelfReferences() throws Exception {
+        writeFile(
+                row("Cruz", "111", "#0"),
+                row("Reyes", "222", "#5"),
+                row("Santos", "333", "#3"),
+                row("Lim", "444", "#1"));
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenReturn(1);
+
+        execute();
+
+        List<Object[]> links = boundLinks();
+        assertArrayEquals(new Object[]{"444"}, links.get(0));
+        assertArrayEquals(new Object[]{"111"}, links.get(1));
+    }
+
+    @Test
+    void shouldSkipRowsWithoutSssNumbers() throws Exception {
+        writeFile(
+                row("Cruz", "", ""),
+                row("Reyes", "222", "#1"),
+                row("Santos", "", "#2"),
+                row("Lim", "444", "#2"));
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenReturn(1);
+
+        execute();
+
+        List<Object[]> links = boundLinks();
+        assertArrayEquals(new Object[]{"444"}, links.get(0));
+        assertArrayEquals(new Object[]{"222"}, links.get(1));
+    }
+
+    @Test
+    void shouldNotFailOnMalformedRowReferences() throws Exception {
+        writeFile(
+                row("Cruz", "111", ""),
+                row("Reyes", "222", "#x"),
+                row("Santos", "333", "#1"));
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenReturn(1);
+
+        assertEquals(RepeatStatus.FINISHED, execute());
+
+        List<Object[]> links = boundLinks();
+        assertArrayEquals(new Object[]{"333"}, links.get(0));
+        assertArrayEquals(new Object[]{"111"}, links.get(1));
+    }
+
+    @Test
+    void shouldOnlyLinkEmployeesCreatedSinceJobStart() throws Exception {
+        // Reyes already exists and is skipped as a duplicate by the import, but is still in the file
+        writeFile(
+                row("Cruz", "111", ""),
+                row("Reyes", "222", "#1"),
+                row("Santos", "333", "#2"));
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenReturn(1);
+
+        execute();
+        boundLinks();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sql.capture());
+        assertTrue(sql.getValue().contains("e.created_at >= ?"));
+        assertTrue(sql.getValue().contains("s.created_at >= ?"));
+        verify(statement).setTimestamp(3, Timestamp.valueOf(JOB_START_TIME));
+        verify(statement).setTimestamp(4, Timestamp.valueOf(JOB_START_TIME));
+    }
+
+    @Test
+    void shouldNotUpdateWhenThereAreNoRowReferences() throws Exception {
+        writeFile(
+                row("Cruz", "111", ""),
+                row("Reyes", "222", "10001"),
+                row("Santos", "333", "#x"));
+
+        assertEquals(RepeatStatus.FINISHED, execute());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+}
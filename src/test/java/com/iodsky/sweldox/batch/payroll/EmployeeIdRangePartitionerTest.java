@@ -0,0 +1,118 @@
+package com.iodsky.sweldox.batch.payroll;
+
+import com.iodsky.sweldox.employee.EmployeeIdRange;
+import com.iodsky.sweldox.employee.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeIdRangePartitionerTest {
+
+    @Mock private EmployeeService employeeService;
+
+    private EmployeeIdRangePartitioner partitioner;
+
+    @BeforeEach
+    void setUp() {
+        partitioner = new EmployeeIdRangePartitioner(employeeService);
+    }
+
+    /**
+     * Answers the range query the way NTILE does: ids in order, split into at most the
+     * requested number of buckets with the first buckets one id larger.
+     */
+    private void givenActiveEmployees(List<Long> ids) {
+        when(employeeService.getActiveEmployeeIdRanges(anyInt())).thenAnswer(invocation -> {
+            int buckets = invocation.getArgument(0);
+            List<EmployeeIdRange> ranges = new ArrayList<>();
+            int from = 0;
+            for (int bucket = 0; bucket < buckets && from < ids.size(); bucket++) {
+                int size = ids.size() / buckets + (bucket < ids.size() % buckets ? 1 : 0);
+                ranges.add(range(ids.get(from), ids.get(from + size - 1)));
+                from += size;
+            }
+            return ranges;
+        });
+    }
+
+    private static EmployeeIdRange range(long minId, long maxId) {
+        return new EmployeeIdRange() {
+            @Override
+            public Long getMinId() {
+                return minId;
+            }
+
+            @Override
+            public Long getMaxId() {
+                return maxId;
+            }
+        };
+    }
+
+    private static Set<Long> idsIn(Map<String, ExecutionContext> partitions, List<Long> ids) {
+        Set<Long> covered = new TreeSet<>();
+        for (ExecutionContext context : partitions.values()) {
+            long minId = context.getLong(EmployeeIdRangePartitioner.MIN_ID_KEY);
+            long maxId = context.getLong(EmployeeIdRangePartitioner.MAX_ID_KEY);
+            for (Long id : ids) {
+                if (id >= minId && id <= maxId) {
+                    assertTrue(covered.add(id), "Employee " + id + " is in more than one partition");
+                }
+            }
+        }
+        return covered;
+    }
+
+    @Test
+    void shouldCoverEveryActiveEmployeeExactlyOnce() {
+        // Gaps left by resigned and terminated employees
+        List<Long> ids = LongStream.rangeClosed(10001, 10250).filter(id -> id % 7 != 0).boxed().toList();
+        givenActiveEmployees(ids);
+
+        Map<String, ExecutionContext> partitions = partitioner.partition(8);
+
+        assertEquals(8, partitions.size());
+        assertEquals(new TreeSet<>(ids), idsIn(partitions, ids));
+        for (int i = 0; i < 8; i++) {
+            assertTrue(partitions.containsKey("partition" + i));
+        }
+    }
+
+    @Test
+    void shouldCreateOnePartitionPerEmployeeWhenFewerEmployeesThanPartitions() {
+        List<Long> ids = List.of(10001L, 10005L, 10009L);
+        givenActiveEmployees(ids);
+
+        Map<String, ExecutionContext> partitions = partitioner.partition(8);
+
+        assertEquals(3, partitions.size());
+        assertEquals(new TreeSet<>(ids), idsIn(partitions, ids));
+        for (ExecutionContext context : partitions.values()) {
+            assertEquals(context.getLong(EmployeeIdRangePartitioner.MIN_ID_KEY),
+                    context.getLong(EmployeeIdRangePartitioner.MAX_ID_KEY));
+        }
+    }
+
+    @Test
+    void shouldCreateNoPartitionsWithoutActiveEmployees() {
+        givenActiveEmployees(List.of());
+
+        assertTrue(partitioner.partition(8).isEmpty());
+    }
+
+}
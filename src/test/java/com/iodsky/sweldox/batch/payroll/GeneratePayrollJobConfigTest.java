@@ -0,0 +1,67 @@
+package com.iodsky.sweldox.batch.payroll;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.PagingQueryProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GeneratePayrollJobConfigTest {
+
+    @Mock private DataSource dataSource;
+    @Mock private Connection connection;
+    @Mock private DatabaseMetaData metaData;
+
+    private GeneratePayrollJobConfig config;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config = new GeneratePayrollJobConfig();
+        ReflectionTestUtils.setField(config, "chunkSize", 50);
+
+        // The reader picks its paging dialect from the database product name
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+    }
+
+    private static String firstPageQuery(JdbcPagingItemReader<Long> reader) {
+        return ((PagingQueryProvider) ReflectionTestUtils.getField(reader, "queryProvider")).generateFirstPageQuery(50);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> parameterValues(JdbcPagingItemReader<Long> reader) {
+        return (Map<String, Object>) ReflectionTestUtils.getField(reader, "parameterValues");
+    }
+
+    @Test
+    void shouldRestrictReaderToPartitionRange() {
+        JdbcPagingItemReader<Long> reader = config.employeeIdReader(dataSource, 10001L, 10250L);
+
+        assertEquals("SELECT id FROM employee WHERE status NOT IN ('RESIGNED', 'TERMINATED') AND id BETWEEN :minId AND :maxId"
+                + " ORDER BY id ASC LIMIT 50", firstPageQuery(reader));
+        assertEquals(Map.of("minId", 10001L, "maxId", 10250L), parameterValues(reader));
+    }
+
+    @Test
+    void shouldReadAllActiveEmployeesWhenNotPartitioned() {
+        JdbcPagingItemReader<Long> reader = config.employeeIdReader(dataSource, null, null);
+
+        assertEquals("SELECT id FROM employee WHERE status NOT IN ('RESIGNED', 'TERMINATED') ORDER BY id ASC LIMIT 50",
+                firstPageQuery(reader));
+        assertTrue(parameterValues(reader).isEmpty());
+    }
+
+}
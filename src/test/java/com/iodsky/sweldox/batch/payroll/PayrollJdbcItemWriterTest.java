@@ -0,0 +1,197 @@
+package com.iodsky.sweldox.batch.payroll;
+
+import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.payroll.*;
+import com.iodsky.sweldox.security.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollJdbcItemWriterTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private AuditorAware<User> auditorProvider;
+
+    @Captor private ArgumentCaptor<String> sqlCaptor;
+    @Captor private ArgumentCaptor<List<Object[]>> rowsCaptor;
+
+    private PayrollJdbcItemWriter writer;
+    private UUID auditorId;
+
+    @BeforeEach
+    void setUp() {
+        writer = new PayrollJdbcItemWriter(jdbcTemplate, auditorProvider);
+
+        User auditor = new User();
+        auditorId = UUID.randomUUID();
+        auditor.setId(auditorId);
+        lenient().when(auditorProvider.getCurrentAuditor()).thenReturn(Optional.of(auditor));
+    }
+
+    private static Payroll payroll(UUID id, long employeeId) {
+        Employee employee = new Employee();
+        employee.setId(employeeId);
+
+        Payroll payroll = Payroll.builder()
+                .id(id)
+                .employee(employee)
+                .periodStartDate(LocalDate.of(2025, 1, 1))
+                .periodEndDate(LocalDate.of(2025, 1, 15))
+                .payDate(LocalDate.of(2025, 1, 20))
+                .daysWorked(11)
+                .overtime(new BigDecimal("2.50"))
+                .monthlyRate(new BigDecimal("30000.00"))
+                .dailyRate(new BigDecimal("1363.64"))
+                .grossPay(new BigDecimal("15000.00"))
+                .totalBenefits(new BigDecimal("1500.00"))
+                .totalDeductions(new BigDecimal("1100.00"))
+                .netPay(new BigDecimal("15400.00"))
+                .build();
+
+        payroll.setDeductions(List.of(
+                Deduction.builder().payroll(payroll).deductionType(DeductionType.builder().code("SSS").build())
+                        .amount(new BigDecimal("900.00")).build(),
+                Deduction.builder().payroll(payroll).deductionType(DeductionType.builder().code("PHIC").build())
+                        .amount(new BigDecimal("200.00")).build()));
+        payroll.setBenefits(List.of(
+                PayrollBenefit.builder().payroll(payroll).benefitType(BenefitType.builder().id("MEAL").build())
+                        .amount(new BigDecimal("1500.00")).build()));
+        return payroll;
+    }
+
+    /** Rows of every batch update by the table or statement it targets. */
+    private Map<String, List<Object[]>> batches(int statements) {
+        verify(jdbcTemplate, times(statements)).batchUpdate(sqlCaptor.capture(), rowsCaptor.capture());
+
+        Map<String, List<Object[]>> batches = new LinkedHashMap<>();
+        for (int i = 0; i < statements; i++) {
+            String statement = sqlCaptor.getAllValues().get(i).strip().lines().findFirst().orElseThrow();
+            batches.put(statement.split(" \\(")[0], rowsCaptor.getAllValues().get(i));
+        }
+        return batches;
+    }
+
+    @Nested
+    class WriteTests {
+
+        @Test
+        void shouldInsertPayrollBeforeItsDeductionsAndBenefits() {
+            UUID payrollId = UUID.randomUUID();
+
+            writer.write(new Chunk<>(List.of(payroll(payrollId, 10001L))));
+
+            Map<String, List<Object[]>> batches = batches(3);
+            assertEquals(List.of("INSERT INTO payroll", "INSERT INTO deduction", "INSERT INTO payroll_benefits"),
+                    List.copyOf(batches.keySet()));
+
+            Object[] payrollRow = batches.get("INSERT INTO payroll").getFirst();
+            assertEquals(payrollId, payrollRow[0]);
+            assertEquals(10001L, payrollRow[1]);
+            assertEquals(LocalDate.of(2025, 1, 1), payrollRow[2]);
+            assertEquals(LocalDate.of(2025, 1, 15), payrollRow[3]);
+            assertEquals(LocalDate.of(2025, 1, 20), payrollRow[4]);
+            assertEquals(11, payrollRow[5]);
+            assertEquals(new BigDecimal("15400.00"), payrollRow[12]);
+            assertEquals(payrollRow[13], payrollRow[14]);
+            assertEquals(auditorId, payrollRow[15]);
+            assertEquals(auditorId, payrollRow[16]);
+
+            List<Object[]> deductionRows = batches.get("INSERT INTO deduction");
+            assertEquals(2, deductionRows.size());
+            assertEquals(payrollId, deductionRows.getFirst()[1]);
+            assertEquals("SSS", deductionRows.getFirst()[2]);
+            assertEquals(new BigDecimal("900.00"), deductionRows.getFirst()[3]);
+            assertEquals("PHIC", deductionRows.getLast()[2]);
+            assertEquals(auditorId, deductionRows.getLast()[6]);
+
+            Object[] benefitRow = batches.get("INSERT INTO payroll_benefits").getFirst();
+            assertEquals(payrollId, benefitRow[1]);
+            assertEquals("MEAL", benefitRow[2]);
+            assertEquals(new BigDecimal("1500.00"), benefitRow[3]);
+        }
+
+        @Test
+        void shouldAssignIdsToNewPayrolls() {
+            Payroll payroll = payroll(null, 10001L);
+
+            writer.write(new Chunk<>(List.of(payroll)));
+
+            assertNotNull(payroll.getId());
+            assertEquals(payroll.getId(), batches(3).get("INSERT INTO deduction").getFirst()[1]);
+        }
+
+        @Test
+        void shouldSkipChildInsertsWithoutDeductionsOrBenefits() {
+            Payroll payroll = payroll(UUID.randomUUID(), 10001L);
+            payroll.setDeductions(null);
+            payroll.setBenefits(List.of());
+
+            writer.write(new Chunk<>(List.of(payroll)));
+
+            assertEquals(List.of("INSERT INTO payroll"), List.copyOf(batches(1).keySet()));
+        }
+
+        @Test
+        void shouldDoNothingForEmptyChunk() {
+            writer.write(new Chunk<>());
+
+            verifyNoInteractions(jdbcTemplate);
+        }
+    }
+
+    @Nested
+    class ReplaceTests {
+
+        @Test
+        void shouldUpdatePayrollPeriodAndAmountsAndReplaceItsDeductionsAndBenefits() {
+            UUID payrollId = UUID.randomUUID();
+
+            writer.replace(List.of(payroll(payrollId, 10001L)));
+
+            Map<String, List<Object[]>> batches = batches(5);
+            assertEquals(List.of("UPDATE payroll", "DELETE FROM deduction WHERE payroll_id = ?",
+                            "DELETE FROM payroll_benefits WHERE payroll_id = ?", "INSERT INTO deduction",
+                            "INSERT INTO payroll_benefits"),
+                    List.copyOf(batches.keySet()));
+
+            Object[] payrollRow = batches.get("UPDATE payroll").getFirst();
+            assertEquals(LocalDate.of(2025, 1, 1), payrollRow[0]);
+            assertEquals(LocalDate.of(2025, 1, 15), payrollRow[1]);
+            assertEquals(11, payrollRow[2]);
+            assertEquals(new BigDecimal("15400.00"), payrollRow[9]);
+            assertEquals(auditorId, payrollRow[11]);
+            assertEquals(payrollId, payrollRow[payrollRow.length - 1]);
+
+            assertArrayEquals(new Object[]{payrollId}, batches.get("DELETE FROM deduction WHERE payroll_id = ?").getFirst());
+            assertArrayEquals(new Object[]{payrollId}, batches.get("DELETE FROM payroll_benefits WHERE payroll_id = ?").getFirst());
+            assertEquals(2, batches.get("INSERT INTO deduction").size());
+            assertEquals(payrollId, batches.get("INSERT INTO payroll_benefits").getFirst()[1]);
+        }
+
+        @Test
+        void shouldDoNothingForNoPayrolls() {
+            writer.replace(List.of());
+
+            verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.iodsky.sweldox.batch.payroll;
+
+import com.iodsky.sweldox.payroll.Payroll;
+import com.iodsky.sweldox.payroll.PayrollBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollRecomputeWriterTest {
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2025, 11, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2025, 11, 15);
+    private static final LocalDate PAY_DATE = LocalDate.of(2025, 11, 20);
+
+    @Mock private PayrollBuilder payrollBuilder;
+    @Mock private PayrollJdbcItemWriter payrollJdbcItemWriter;
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private PayrollRecomputeWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new PayrollRecomputeWriter(payrollBuilder, payrollJdbcItemWriter, jdbcTemplate);
+    }
+
+    @Test
+    void shouldRebuildOverStoredPayPeriodAndKeepPayrollIds() {
+        UUID payrollId = UUID.randomUUID();
+        UUID otherPayrollId = UUID.randomUUID();
+        Timestamp requestedAt = Timestamp.valueOf("2025-11-25 08:00:00");
+        List<PayrollRecomputeRequest> requests = List.of(
+                new PayrollRecomputeRequest(payrollId, 10001L, PERIOD_START, PERIOD_END, PAY_DATE, requestedAt),
+                new PayrollRecomputeRequest(otherPayrollId, 10002L, PERIOD_START, PERIOD_END, PAY_DATE, requestedAt));
+        Payroll rebuilt = Payroll.builder().periodStartDate(PERIOD_START).periodEndDate(PERIOD_END).build();
+        Payroll otherRebuilt = Payroll.builder().periodStartDate(PERIOD_START).periodEndDate(PERIOD_END).build();
+        when(payrollBuilder.buildPayrolls(List.of(10001L, 10002L), PERIOD_START, PERIOD_END, PAY_DATE))
+                .thenReturn(List.of(rebuilt, otherRebuilt));
+
+        writer.write(new Chunk<>(requests));
+
+        // Attendance anywhere in the stored period is read again, not only the days worked before
+        verify(payrollBuilder).buildPayrolls(List.of(10001L, 10002L), PERIOD_START, PERIOD_END, PAY_DATE);
+        verify(payrollJdbcItemWriter).replace(List.of(rebuilt, otherRebuilt));
+        assertEquals(payrollId, rebuilt.getId());
+        assertEquals(otherPayrollId, otherRebuilt.getId());
+        verify(jdbcTemplate).batchUpdate(startsWith("DELETE FROM payroll_recompute_request"), anyList());
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.iodsky.sweldox.batch.user;
+
+import com.iodsky.sweldox.security.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordHashingItemWriterTest {
+
+    @Mock private ItemWriter<User> delegate;
+    @Mock private PasswordEncoder passwordEncoder;
+
+    private ThreadPoolTaskExecutor passwordHashExecutor;
+    private PasswordHashingItemWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        passwordHashExecutor = new ThreadPoolTaskExecutor();
+        passwordHashExecutor.setCorePoolSize(4);
+        passwordHashExecutor.initialize();
+        writer = new PasswordHashingItemWriter(delegate, passwordEncoder, passwordHashExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashExecutor.shutdown();
+    }
+
+    private User user(String password) {
+        return User.builder().email(password + "@example.com").password(password).build();
+    }
+
+    @Test
+    void shouldHashEveryPasswordInParallelBeforeWriting() throws Exception {
+        // Each hash waits until four are running at once, which only a parallel writer reaches
+        CountDownLatch running = new CountDownLatch(4);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            running.countDown();
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            return "hashed-" + invocation.getArgument(0);
+        });
+
+        Chunk<User> chunk = new Chunk<>(List.of(user("a"), user("b"), user("c"), user("d")));
+        writer.write(chunk);
+
+        assertEquals(List.of("hashed-a", "hashed-b", "hashed-c", "hashed-d"),
+                chunk.getItems().stream().map(User::getPassword).toList());
+        assertEquals(4, threads.size());
+        verify(delegate).write(chunk);
+    }
+
+    @Test
+    void shouldNotWriteChunkWhenHashingFails() {
+        when(passwordEncoder.encode(any())).thenThrow(new IllegalArgumentException("rawPassword cannot be null"));
+
+        Chunk<User> chunk = new Chunk<>(List.of(user("a")));
+
+        assertThrows(IllegalArgumentException.class, () -> writer.write(chunk));
+        verifyNoInteractions(delegate);
+    }
+
+}
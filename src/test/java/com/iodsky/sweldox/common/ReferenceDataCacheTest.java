@@ -0,0 +1,103 @@
+package com.iodsky.sweldox.common;
+
+import com.iodsky.sweldox.organization.Department;
+import com.iodsky.sweldox.organization.DepartmentRepository;
+import com.iodsky.sweldox.organization.Position;
+import com.iodsky.sweldox.organization.PositionRepository;
+import com.iodsky.sweldox.payroll.BenefitType;
+import com.iodsky.sweldox.payroll.BenefitTypeRepository;
+import com.iodsky.sweldox.payroll.DeductionType;
+import com.iodsky.sweldox.payroll.DeductionTypeRepository;
+import com.iodsky.sweldox.security.user.UserRole;
+import com.iodsky.sweldox.security.user.UserRoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheTest {
+
+    @Mock private DepartmentRepository departmentRepository;
+    @Mock private PositionRepository positionRepository;
+    @Mock private BenefitTypeRepository benefitTypeRepository;
+    @Mock private DeductionTypeRepository deductionTypeRepository;
+    @Mock private UserRoleRepository userRoleRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+    @InjectMocks private ReferenceDataCache referenceDataCache;
+
+    private Department department;
+    private Position position;
+
+    @BeforeEach
+    void setUp() {
+        department = Department.builder().id("IT").title("Information Technology").build();
+        position = new Position();
+        position.setId("IT-DEV");
+        position.setTitle("Software Engineer");
+        position.setDepartment(department);
+
+        when(departmentRepository.findAll()).thenReturn(List.of(department));
+        when(positionRepository.findAll()).thenReturn(List.of(position));
+        when(benefitTypeRepository.findAll()).thenReturn(List.of(BenefitType.builder().id("MEAL").type("Meal Allowance").build()));
+        when(deductionTypeRepository.findAll()).thenReturn(List.of(DeductionType.builder().code("SSS").type("SSS").build()));
+        when(userRoleRepository.findAll()).thenReturn(List.of(new UserRole("HR")));
+    }
+
+    @Nested
+    class LookupTests {
+
+        @Test
+        void shouldLoadAllTablesOnceForRepeatedLookups() {
+            for (int i = 0; i < 3; i++) {
+                assertSame(department, referenceDataCache.findDepartment("IT").orElseThrow());
+                assertSame(position, referenceDataCache.findPosition("IT-DEV").orElseThrow());
+                assertTrue(referenceDataCache.findBenefitType("MEAL").isPresent());
+                assertTrue(referenceDataCache.findDeductionType("SSS").isPresent());
+                assertTrue(referenceDataCache.findUserRole("HR").isPresent());
+            }
+
+            verify(departmentRepository, times(1)).findAll();
+            verify(positionRepository, times(1)).findAll();
+            verify(userRoleRepository, times(1)).findAll();
+        }
+
+        @Test
+        void shouldFindPositionByTitleIgnoringCase() {
+            assertSame(position, referenceDataCache.findPositionByTitle("software ENGINEER").orElseThrow());
+            assertTrue(referenceDataCache.findPositionByTitle("Accountant").isEmpty());
+        }
+
+        @Test
+        void shouldReturnEmptyForUnknownKeys() {
+            assertTrue(referenceDataCache.findDepartment("HR").isEmpty());
+            assertTrue(referenceDataCache.findUserRole("INVALID").isEmpty());
+        }
+    }
+
+    @Nested
+    class InvalidateTests {
+
+        @Test
+        void shouldReloadOnNextLookupAfterInvalidate() {
+            referenceDataCache.preload();
+            referenceDataCache.invalidate();
+
+            Department renamed = Department.builder().id("IT").title("Engineering").build();
+            when(departmentRepository.findAll()).thenReturn(List.of(renamed));
+
+            assertSame(renamed, referenceDataCache.findDepartment("IT").orElseThrow());
+            verify(departmentRepository, times(2)).findAll();
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+package com.iodsky.sweldox.datagen;
+
+import com.iodsky.sweldox.attendance.Attendance;
+import com.iodsky.sweldox.common.DateRange;
+import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.leave.LeaveCredit;
+import com.iodsky.sweldox.leave.LeaveRequest;
+import com.iodsky.sweldox.leave.LeaveStatus;
+import com.iodsky.sweldox.organization.Department;
+import com.iodsky.sweldox.organization.Position;
+import com.iodsky.sweldox.payroll.BenefitType;
+import com.iodsky.sweldox.payroll.DeductionType;
+import com.iodsky.sweldox.payroll.Payroll;
+import com.iodsky.sweldox.payroll.PayrollBuilder;
+import com.iodsky.sweldox.payroll.rate.StatutoryRateRegistry;
+import com.iodsky.sweldox.payroll.rate.StatutoryRates;
+import com.iodsky.sweldox.payroll.rate.StatutoryRatesFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDatasetTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    private List<Position> positions;
+    private Map<String, BenefitType> benefitTypes;
+
+    private static Position position(String id, String title, Department department) {
+        Position position = new Position();
+        position.setId(id);
+        position.setTitle(title);
+        position.setDepartment(department);
+        return position;
+    }
+
+    @BeforeEach
+    void setUp() {
+        Department corporate = Department.builder().id("CORP").title("CORPORATE").build();
+        Department it = Department.builder().id("IT").title("INFORMATION TECHNOLOGY").build();
+        Department sales = Department.builder().id("SAL").title("SALES").build();
+        positions = List.of(
+                position("CEO", "Chief Executive Officer", corporate),
+                position("ITOPSYS", "IT Operations and Systems", it),
+                position("SLMKT", "Sales and Marketing", sales));
+
+        benefitTypes = new HashMap<>();
+        for (String id : List.of("MEAL", "PHONE", "CLOTHING")) {
+            benefitTypes.put(id, BenefitType.builder().id(id).type(id).build());
+        }
+    }
+
+    private SyntheticDataset dataset(long seed) {
+        return new SyntheticDataset(seed, 20001L, START, END, positions, benefitTypes);
+    }
+
+    @Nested
+    class EmployeeTests {
+
+        @Test
+        void shouldGenerateSameEmployeeForSameSeedAndIndex() {
+            Employee first = dataset(42L).employee(123);
+            Employee second = dataset(42L).employee(123);
+
+            assertEquals(20124L, first.getId());
+            assertEquals(first.getFirstName(), second.getFirstName());
+            assertEquals(first.getLastName(), second.getLastName());
+            assertEquals(first.getBasicSalary(), second.getBasicSalary());
+            assertEquals(first.getPosition().getId(), second.getPosition().getId());
+            assertEquals(first.getGovernmentId().getId(), second.getGovernmentId().getId());
+        }
+
+        @Test
+        void shouldGenerateDifferentEmployeesForDifferentSeeds() {
+            List<Employee> first = IntStream.range(0, 20).mapToObj(dataset(1L)::employee).toList();
+            List<Employee> second = IntStream.range(0, 20).mapToObj(dataset(2L)::employee).toList();
+
+            assertNotEquals(first.stream().map(Employee::getBasicSalary).toList(),
+                    second.stream().map(Employee::getBasicSalary).toList());
+        }
+
+        @Test
+        void shouldKeepUniqueColumnsUniqueAcrossEmployees() {
+            SyntheticDataset dataset = dataset(42L);
+            Set<String> values = new HashSet<>();
+
+            for (int i = 0; i < 2000; i++) {
+                Employee employee = dataset.employee(i);
+                assertTrue(values.add(employee.getAddress()));
+                assertTrue(values.add(employee.getPhoneNumber()));
+                assertTrue(values.add(employee.getGovernmentId().getSssNumber()));
+                assertTrue(values.add(employee.getGovernmentId().getTinNumber()));
+                assertTrue(values.add(employee.getGovernmentId().getPhilhealthNumber()));
+                assertTrue(values.add(employee.getGovernmentId().getPagIbigNumber()));
+                assertTrue(values.add(dataset.email(employee)));
+            }
+        }
+
+        @Test
+        void shouldReportToEarlierEmployeesAndStaffExecutivePositionsFirst() {
+            SyntheticDataset dataset = dataset(42L);
+
+            Employee first = dataset.employee(0);
+            assertNull(first.getSupervisor());
+            assertEquals("CEO", first.getPosition().getId());
+
+            for (int i = 1; i < 500; i++) {
+                Employee employee = dataset.employee(i);
+                assertTrue(employee.getSupervisor().getId() < employee.getId());
+                assertNotEquals("CORP", employee.getDepartment().getId());
+                assertEquals(3, employee.getBenefits().size());
+            }
+        }
+    }
+
+    @Nested
+    class HistoryTests {
+
+        @Test
+        void shouldRecordWeekdaysOutsideApprovedLeaveWithOvertimeBeyondShift() {
+            SyntheticDataset dataset = dataset(42L);
+            Employee employee = dataset.employee(10);
+            List<LeaveRequest> leaveRequests = dataset.leaveRequests(employee, 10);
+
+            List<Attendance> attendances = dataset.attendances(employee, 10, leaveRequests, START, END);
+
+            assertFalse(attendances.isEmpty());
+            for (Attendance attendance : attendances) {
+                DayOfWeek day = attendance.getDate().getDayOfWeek();
+                assertNotEquals(DayOfWeek.SATURDAY, day);
+                assertNotEquals(DayOfWeek.SUNDAY, day);
+                assertTrue(leaveRequests.stream().noneMatch(request -> request.getLeaveStatus() == LeaveStatus.APPROVED
+                        && !attendance.getDate().isBefore(request.getStartDate())
+                        && !attendance.getDate().isAfter(request.getEndDate())));
+
+                BigDecimal expectedOvertime = attendance.getTotalHours().subtract(new BigDecimal("9.00")).max(BigDecimal.ZERO);
+                assertEquals(0, expectedOvertime.compareTo(attendance.getOvertime()));
+            }
+        }
+
+        @Test
+        void shouldGenerateSameDayRegardlessOfRequestedRange() {
+            SyntheticDataset dataset = dataset(42L);
+            Employee employee = dataset.employee(7);
+            List<LeaveRequest> leaveRequests = dataset.leaveRequests(employee, 7);
+
+            List<Attendance> fullYear = dataset.attendances(employee, 7, leaveRequests, START, END);
+            List<Attendance> march = dataset.attendances(employee, 7, leaveRequests,
+                    LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+
+            List<Attendance> marchFromFullYear = fullYear.stream()
+                    .filter(attendance -> attendance.getDate().getMonthValue() == 3)
+                    .toList();
+            assertEquals(marchFromFullYear.stream().map(Attendance::getId).toList(),
+                    march.stream().map(Attendance::getId).toList());
+            assertEquals(marchFromFullYear.stream().map(Attendance::getTimeOut).toList(),
+                    march.stream().map(Attendance::getTimeOut).toList());
+        }
+
+        @Test
+        void shouldNotOverlapLeaveRequestsAndDeductApprovedDaysFromCredits() {
+            SyntheticDataset dataset = dataset(42L);
+
+            for (int i = 0; i < 200; i++) {
+                Employee employee = dataset.employee(i);
+                List<LeaveRequest> leaveRequests = dataset.leaveRequests(employee, i);
+
+                for (int j = 1; j < leaveRequests.size(); j++) {
+                    assertTrue(leaveRequests.get(j).getStartDate().isAfter(leaveRequests.get(j - 1).getEndDate()));
+                }
+
+                List<LeaveCredit> credits = dataset.leaveCredits(employee, leaveRequests);
+                assertEquals(3, credits.size());
+                credits.forEach(credit -> {
+                    assertEquals("2024-2025", credit.getFiscalYear());
+                    assertTrue(credit.getCredits() >= 0);
+                });
+            }
+        }
+
+        @Test
+        void shouldBuildPayrollsCoveringWholeCalendarPeriods() {
+            SyntheticDataset dataset = dataset(42L);
+            Employee employee = dataset.employee(10);
+            List<Attendance> attendances = dataset.attendances(employee, 10, dataset.leaveRequests(employee, 10), START, END);
+            StatutoryRates rates = StatutoryRatesFixture.initialRates();
+            PayrollBuilder payrollBuilder = new PayrollBuilder(null, null, null, new StatutoryRateRegistry(null, null) {
+                @Override
+                public StatutoryRates getRates(LocalDate payDate) {
+                    return rates;
+                }
+            });
+            Map<String, DeductionType> deductionTypes = new HashMap<>();
+            for (String code : List.of("SSS", "PHIC", "HDMF", "TAX")) {
+                deductionTypes.put(code, DeductionType.builder().code(code).build());
+            }
+
+            // Built the way DatasetGenerator builds the payroll history
+            int periodsStartingOnDayOff = 0;
+            for (DateRange period : dataset.payPeriods()) {
+                List<Attendance> worked = attendances.stream()
+                        .filter(attendance -> !attendance.getDate().isBefore(period.startDate())
+                                && !attendance.getDate().isAfter(period.endDate()))
+                        .toList();
+                Payroll payroll = payrollBuilder.buildPayroll(employee, worked, deductionTypes,
+                        period.startDate(), period.endDate(), period.endDate().plusDays(5));
+
+                assertEquals(period.startDate(), payroll.getPeriodStartDate());
+                assertEquals(period.endDate(), payroll.getPeriodEndDate());
+                if (!worked.isEmpty() && worked.getFirst().getDate().isAfter(period.startDate())) {
+                    periodsStartingOnDayOff++;
+                }
+            }
+            assertTrue(periodsStartingOnDayOff > 0);
+        }
+
+        @Test
+        void shouldSplitEveryMonthIntoTwoPayPeriods() {
+            List<DateRange> periods = dataset(42L).payPeriods();
+
+            assertEquals(24, periods.size());
+            assertEquals(new DateRange(LocalDate.of(2024, 2, 16), LocalDate.of(2024, 2, 29)), periods.get(3));
+        }
+    }
+
+}
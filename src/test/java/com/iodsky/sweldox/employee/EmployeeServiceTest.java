@@ -176,9 +176,13 @@ class EmployeeServiceTest {
     @Nested
     class GetAuthenticatedEmployeeTests {
         @Test
-        void shouldReturnAuthenticatedEmployeeWhenPrincipalIsUser() {
+        void shouldLoadAuthenticatedEmployeeWhenPrincipalIsUser() {
+            employee.setId(10001L);
+            Employee principalEmployee = new Employee();
+            principalEmployee.setId(10001L);
             User user = new User();
-            user.setEmployee(employee);
+            user.setEmployee(principalEmployee);
+            when(employeeRepository.findById(10001L)).thenReturn(Optional.of(employee));
 
             Authentication authentication = mock(Authentication.class);
             SecurityContext context = mock(SecurityContext.class);
@@ -1,6 +1,7 @@
 package com.iodsky.sweldox.leave;
 
 import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.employee.EmployeeService;
 import com.iodsky.sweldox.security.user.User;
 import com.iodsky.sweldox.security.user.UserRole;
 import com.iodsky.sweldox.security.user.UserService;
@@ -36,6 +37,7 @@ class LeaveRequestServiceTest {
     @Mock private LeaveCreditService leaveCreditService;
     @Mock private LeaveRequestMapper leaveRequestMapper;
     @Mock private UserService userService;
+    @Mock private EmployeeService employeeService;
     @InjectMocks private LeaveRequestService leaveRequestService;
 
     private User hrUser;
@@ -115,6 +117,7 @@ class LeaveRequestServiceTest {
             when(leaveRequestRepository.existsByEmployee_IdAndLeaveStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
                     eq(1L), anyList(), any(), any()))
                     .thenReturn(false);
+            when(employeeService.getEmployeeReference(1L)).thenReturn(employee);
             when(leaveRequestRepository.save(any(LeaveRequest.class))).thenReturn(leaveRequest);
 
             LeaveRequest result = leaveRequestService.createLeaveRequest(leaveRequestDto);
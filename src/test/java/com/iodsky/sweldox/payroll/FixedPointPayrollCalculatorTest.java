@@ -0,0 +1,127 @@
+package com.iodsky.sweldox.payroll;
+
+import com.iodsky.sweldox.payroll.rate.StatutoryRates;
+import com.iodsky.sweldox.payroll.rate.StatutoryRatesFixture;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointPayrollCalculatorTest {
+
+    private static final StatutoryRates RATES = StatutoryRatesFixture.initialRates();
+
+    private static BigDecimal cents(long value) {
+        return BigDecimal.valueOf(value, 2);
+    }
+
+    private static void assertSameAmount(BigDecimal expected, long actual, String field) {
+        assertEquals(0, expected.compareTo(cents(actual)),
+                () -> field + ": expected " + expected + " but was " + cents(actual));
+    }
+
+    private static void assertParity(long hourlyRate, long basicSalary, long totalHours, long overtimeHours, long benefits) {
+        BigDecimal rate = cents(hourlyRate);
+        BigDecimal salary = cents(basicSalary);
+        BigDecimal overtime = cents(overtimeHours);
+        BigDecimal regular = cents(totalHours).subtract(overtime);
+
+        BigDecimal grossPay = PayrollCalculator.calculateGrossPay(
+                PayrollCalculator.calculateRegularPay(rate, regular),
+                PayrollCalculator.calculateOvertimePay(rate, overtime));
+        BigDecimal sss = PayrollCalculator.calculateSssDeduction(salary, RATES);
+        BigDecimal philhealth = PayrollCalculator.calculatePhilhealthDeduction(salary, RATES);
+        BigDecimal pagibig = PayrollCalculator.calculatePagibigDeduction(salary, RATES);
+        BigDecimal statutory = PayrollCalculator.calculateTotalStatutoryDeductions(sss, philhealth, pagibig);
+        BigDecimal taxableIncome = PayrollCalculator.calculateTaxableIncome(grossPay, statutory);
+        BigDecimal tax = PayrollCalculator.calculateWithholdingTax(taxableIncome, RATES);
+        BigDecimal totalDeductions = tax.add(statutory).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal netPay = PayrollCalculator.calculateNetPay(grossPay, cents(benefits), statutory, tax);
+
+        FixedPointPayrollCalculator.Amounts amounts = FixedPointPayrollCalculator.calculate(
+                hourlyRate, basicSalary, totalHours, overtimeHours, benefits, RATES);
+
+        assertSameAmount(grossPay, amounts.grossPay(), "grossPay");
+        assertSameAmount(sss, amounts.sss(), "sss");
+        assertSameAmount(philhealth, amounts.philhealth(), "philhealth");
+        assertSameAmount(pagibig, amounts.pagibig(), "pagibig");
+        assertSameAmount(taxableIncome, amounts.taxableIncome(), "taxableIncome");
+        assertSameAmount(tax, amounts.withholdingTax(), "withholdingTax");
+        assertSameAmount(totalDeductions, amounts.totalDeductions(), "totalDeductions");
+        assertSameAmount(netPay, amounts.netPay(), "netPay");
+    }
+
+    @Nested
+    class CalculateTests {
+
+        @Test
+        void shouldMatchBigDecimalCalculatorForRandomInputs() {
+            Random random = new Random(20251101L);
+            for (int i = 0; i < 20_000; i++) {
+                long hourlyRate = random.nextLong(5_000L, 2_000_000L);
+                long basicSalary = random.nextLong(100_000L, 100_000_000L);
+                long totalHours = random.nextLong(0L, 20_000L);
+                long overtimeHours = random.nextLong(0L, totalHours + 1);
+                long benefits = random.nextLong(0L, 1_000_000L);
+
+                assertParity(hourlyRate, basicSalary, totalHours, overtimeHours, benefits);
+            }
+        }
+
+        @Test
+        void shouldMatchBigDecimalCalculatorAtBracketBoundaries() {
+            long[] salaries = {100_00L, 1_500_00L, 1_500_01L, 3_249_99L, 3_250_00L, 3_749_99L, 3_750_00L,
+                    24_749_99L, 24_750_00L, 25_250_00L, 60_000_00L, 60_000_01L, 1_000_000_00L};
+            for (long salary : salaries) {
+                assertParity(172_41L, salary, 16_000L, 200L, 1_500_00L);
+            }
+        }
+
+        @Test
+        void shouldLeaveIncomeBetweenTaxBracketsUntaxed() {
+            // 20832.50 falls between the first and second bracket
+            assertEquals(0, FixedPointPayrollCalculator.calculateWithholdingTax(20_832_50L, RATES));
+            assertEquals(0, PayrollCalculator.calculateWithholdingTax(new BigDecimal("20832.50"), RATES).signum());
+        }
+
+        @Test
+        void shouldNotTaxNegativeIncome() {
+            assertEquals(0, FixedPointPayrollCalculator.calculateWithholdingTax(-1_00L, RATES));
+        }
+
+        @Test
+        void shouldThrowOnOverflow() {
+            assertThrows(ArithmeticException.class,
+                    () -> FixedPointPayrollCalculator.calculate(Long.MAX_VALUE / 2, 30_000_00L, 1_000L, 0L, 0L, RATES));
+        }
+    }
+
+    @Nested
+    class ConversionTests {
+
+        @Test
+        void shouldConvertTwoDecimalValuesExactly() {
+            assertEquals(17_241L, FixedPointPayrollCalculator.toHundredths(new BigDecimal("172.41")));
+            assertEquals(30_000_00L, FixedPointPayrollCalculator.toHundredths(new BigDecimal("30000")));
+        }
+
+        @Test
+        void shouldRejectValuesWithMoreThanTwoDecimals() {
+            assertThrows(ArithmeticException.class,
+                    () -> FixedPointPayrollCalculator.toHundredths(new BigDecimal("1.005")));
+        }
+
+        @Test
+        void shouldRoundHalfAwayFromZero() {
+            assertEquals(3, FixedPointPayrollCalculator.divideHalfUp(5, 2));
+            assertEquals(-3, FixedPointPayrollCalculator.divideHalfUp(-5, 2));
+            assertEquals(1, FixedPointPayrollCalculator.divideHalfUp(149, 100));
+            assertEquals(2, FixedPointPayrollCalculator.divideHalfUp(150, 100));
+        }
+    }
+
+}
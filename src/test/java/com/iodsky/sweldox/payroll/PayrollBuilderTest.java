@@ -0,0 +1,259 @@
+package com.iodsky.sweldox.payroll;
+
+import com.iodsky.sweldox.attendance.Attendance;
+import com.iodsky.sweldox.attendance.AttendanceService;
+import com.iodsky.sweldox.common.ReferenceDataCache;
+import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.employee.EmployeeService;
+import com.iodsky.sweldox.payroll.rate.StatutoryRateRegistry;
+import com.iodsky.sweldox.payroll.rate.StatutoryRatesFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollBuilderTest {
+
+    @Mock private EmployeeService employeeService;
+    @Mock private AttendanceService attendanceService;
+    @Mock private ReferenceDataCache referenceDataCache;
+    @Mock private StatutoryRateRegistry statutoryRateRegistry;
+    @InjectMocks private PayrollBuilder payrollBuilder;
+
+    private Employee employee;
+    private Employee otherEmployee;
+    private List<DeductionType> deductionTypes;
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2025, 11, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2025, 11, 15);
+    private static final LocalDate PAY_DATE = LocalDate.of(2025, 11, 20);
+
+    @BeforeEach
+    void setUp() {
+        BenefitType mealType = BenefitType.builder().id("MEAL").type("MEAL ALLOWANCE").build();
+
+        employee = Employee.builder()
+                .id(10001L)
+                .basicSalary(new BigDecimal("30000.00"))
+                .hourlyRate(new BigDecimal("172.41"))
+                .build();
+        employee.setBenefits(List.of(Benefit.builder()
+                .employee(employee)
+                .benefitType(mealType)
+                .amount(new BigDecimal("1500.00"))
+                .build()));
+
+        otherEmployee = Employee.builder()
+                .id(10002L)
+                .basicSalary(new BigDecimal("90000.00"))
+                .hourlyRate(new BigDecimal("517.24"))
+                .benefits(List.of())
+                .build();
+
+        deductionTypes = List.of(
+                DeductionType.builder().code("SSS").build(),
+                DeductionType.builder().code("PHIC").build(),
+                DeductionType.builder().code("HDMF").build(),
+                DeductionType.builder().code("TAX").build()
+        );
+
+        lenient().when(statutoryRateRegistry.getRates(any())).thenReturn(StatutoryRatesFixture.initialRates());
+    }
+
+    private void stubDeductionTypes(List<DeductionType> types) {
+        when(referenceDataCache.findDeductionType(anyString())).thenAnswer(invocation -> types.stream()
+                .filter(type -> type.getCode().equals(invocation.getArgument(0)))
+                .findFirst());
+    }
+
+    private Attendance attendance(Employee owner, LocalDate date, String hours, String overtime) {
+        return Attendance.builder()
+                .employee(owner)
+                .date(date)
+                .totalHours(new BigDecimal(hours))
+                .overtime(new BigDecimal(overtime))
+                .build();
+    }
+
+    private BigDecimal deductionAmount(Payroll payroll, String code) {
+        return payroll.getDeductions().stream()
+                .filter(d -> d.getDeductionType().getCode().equals(code))
+                .findFirst()
+                .orElseThrow()
+                .getAmount();
+    }
+
+    @Nested
+    class BuildPayrollsTests {
+
+        @Test
+        void shouldLoadInputsOnceForAllEmployees() {
+            List<Long> ids = List.of(employee.getId(), otherEmployee.getId());
+            when(employeeService.getEmployeesByIds(ids)).thenReturn(List.of(otherEmployee, employee));
+            when(attendanceService.getEmployeesAttendances(ids, PERIOD_START, PERIOD_END)).thenReturn(Map.of(
+                    employee.getId(), List.of(
+                            attendance(employee, PERIOD_START, "8.00", "0.00"),
+                            attendance(employee, PERIOD_START.plusDays(1), "10.00", "2.00"))
+            ));
+            stubDeductionTypes(deductionTypes);
+
+            List<Payroll> result = payrollBuilder.buildPayrolls(ids, PERIOD_START, PERIOD_END, PAY_DATE);
+
+            assertEquals(2, result.size());
+            assertSame(employee, result.get(0).getEmployee());
+            assertSame(otherEmployee, result.get(1).getEmployee());
+
+            verify(employeeService, times(1)).getEmployeesByIds(ids);
+            verify(attendanceService, times(1)).getEmployeesAttendances(ids, PERIOD_START, PERIOD_END);
+            verify(referenceDataCache, times(4)).findDeductionType(anyString());
+            verify(employeeService, never()).getEmployeeById(anyLong());
+            verify(attendanceService, never()).getEmployeeAttendances(anyLong(), any(), any());
+        }
+
+        @Test
+        void shouldCalculatePayrollFromPreloadedInputs() {
+            List<Long> ids = List.of(employee.getId());
+            when(employeeService.getEmployeesByIds(ids)).thenReturn(List.of(employee));
+            when(attendanceService.getEmployeesAttendances(ids, PERIOD_START, PERIOD_END)).thenReturn(Map.of(
+                    employee.getId(), List.of(
+                            attendance(employee, PERIOD_START, "8.00", "0.00"),
+                            attendance(employee, PERIOD_START.plusDays(1), "10.00", "2.00"))
+            ));
+            stubDeductionTypes(deductionTypes);
+
+            Payroll payroll = payrollBuilder.buildPayrolls(ids, PERIOD_START, PERIOD_END, PAY_DATE).getFirst();
+
+            // 16 regular hours + 2 overtime hours at 1.25x
+            assertEquals(0, new BigDecimal("3189.59").compareTo(payroll.getGrossPay()));
+            assertEquals(0, new BigDecimal("1500.00").compareTo(payroll.getTotalBenefits()));
+            assertEquals(0, new BigDecimal("1379.28").compareTo(payroll.getDailyRate()));
+            assertEquals(2, payroll.getDaysWorked());
+            assertEquals(PERIOD_START, payroll.getPeriodStartDate());
+            assertEquals(PERIOD_END, payroll.getPeriodEndDate());
+            assertEquals(PAY_DATE, payroll.getPayDate());
+            assertEquals(4, payroll.getDeductions().size());
+            assertEquals(1, payroll.getBenefits().size());
+            assertEquals(0, new BigDecimal("551.25").compareTo(deductionAmount(payroll, "SSS")));
+            assertEquals(0, new BigDecimal("225.00").compareTo(deductionAmount(payroll, "PHIC")));
+            assertEquals(0, new BigDecimal("50.00").compareTo(deductionAmount(payroll, "HDMF")));
+            assertTrue(payroll.getDeductions().stream().allMatch(d -> d.getPayroll() == payroll));
+        }
+
+        @Test
+        void shouldBuildEmptyPayrollForEmployeeWithoutAttendances() {
+            List<Long> ids = List.of(otherEmployee.getId());
+            when(employeeService.getEmployeesByIds(ids)).thenReturn(List.of(otherEmployee));
+            when(attendanceService.getEmployeesAttendances(ids, PERIOD_START, PERIOD_END)).thenReturn(Map.of());
+            stubDeductionTypes(deductionTypes);
+
+            Payroll payroll = payrollBuilder.buildPayrolls(ids, PERIOD_START, PERIOD_END, PAY_DATE).getFirst();
+
+            assertEquals(0, payroll.getDaysWorked());
+            assertEquals(0, BigDecimal.ZERO.compareTo(payroll.getGrossPay()));
+            assertEquals(PERIOD_START, payroll.getPeriodStartDate());
+            assertEquals(PERIOD_END, payroll.getPeriodEndDate());
+        }
+
+        @Test
+        void shouldThrowWhenDeductionTypesAreMissing() {
+            List<Long> ids = List.of(employee.getId());
+            when(employeeService.getEmployeesByIds(ids)).thenReturn(List.of(employee));
+            when(attendanceService.getEmployeesAttendances(ids, PERIOD_START, PERIOD_END)).thenReturn(Map.of());
+            stubDeductionTypes(deductionTypes.subList(0, 2));
+
+            assertThrows(NoSuchElementException.class,
+                    () -> payrollBuilder.buildPayrolls(ids, PERIOD_START, PERIOD_END, PAY_DATE));
+        }
+
+        @Test
+        void shouldPropagateNotFoundWhenEmployeeIsMissing() {
+            List<Long> ids = List.of(99999L);
+            when(employeeService.getEmployeesByIds(ids))
+                    .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Employees [99999] not found"));
+
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                    () -> payrollBuilder.buildPayrolls(ids, PERIOD_START, PERIOD_END, PAY_DATE));
+
+            assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+            verifyNoInteractions(attendanceService, referenceDataCache);
+        }
+    }
+
+    @Nested
+    class BuildPayrollTests {
+
+        @Test
+        void shouldBuildSamePayrollWithFixedPointCalculation() {
+            List<Attendance> attendances = List.of(
+                    attendance(employee, PERIOD_START, "8.00", "0.00"),
+                    attendance(employee, PERIOD_START.plusDays(1), "10.25", "2.25"));
+            Map<String, DeductionType> types = new HashMap<>();
+            deductionTypes.forEach(type -> types.put(type.getCode(), type));
+
+            Payroll expected = payrollBuilder.buildPayroll(employee, attendances, types, PERIOD_START, PERIOD_END, PAY_DATE);
+            ReflectionTestUtils.setField(payrollBuilder, "calculationMode", PayrollCalculationMode.FIXED_POINT);
+            Payroll actual = payrollBuilder.buildPayroll(employee, attendances, types, PERIOD_START, PERIOD_END, PAY_DATE);
+
+            assertEquals(PERIOD_START, actual.getPeriodStartDate());
+            assertEquals(PERIOD_END, actual.getPeriodEndDate());
+            assertEquals(0, expected.getGrossPay().compareTo(actual.getGrossPay()));
+            assertEquals(0, expected.getTotalBenefits().compareTo(actual.getTotalBenefits()));
+            assertEquals(0, expected.getTotalDeductions().compareTo(actual.getTotalDeductions()));
+            assertEquals(0, expected.getNetPay().compareTo(actual.getNetPay()));
+            assertEquals(0, expected.getOvertime().compareTo(actual.getOvertime()));
+            for (String code : List.of("SSS", "PHIC", "HDMF", "TAX")) {
+                assertEquals(0, deductionAmount(expected, code).compareTo(deductionAmount(actual, code)));
+            }
+        }
+
+        @Test
+        void shouldDelegateSingleEmployeeToBulkPath() {
+            List<Long> ids = List.of(employee.getId());
+            when(employeeService.getEmployeesByIds(ids)).thenReturn(List.of(employee));
+            when(attendanceService.getEmployeesAttendances(ids, PERIOD_START, PERIOD_END)).thenReturn(Map.of());
+            stubDeductionTypes(deductionTypes);
+
+            Payroll payroll = payrollBuilder.buildPayroll(employee.getId(), PERIOD_START, PERIOD_END, PAY_DATE);
+
+            assertSame(employee, payroll.getEmployee());
+            verify(employeeService).getEmployeesByIds(ids);
+        }
+
+        @Test
+        void shouldRecordPayPeriodSoLateAttendanceOutsideDaysWorkedStillMatches() {
+            List<Long> ids = List.of(employee.getId());
+            when(employeeService.getEmployeesByIds(ids)).thenReturn(List.of(employee));
+            when(attendanceService.getEmployeesAttendances(ids, PERIOD_START, PERIOD_END)).thenReturn(Map.of(
+                    employee.getId(), List.of(
+                            attendance(employee, PERIOD_START.plusDays(2), "8.00", "0.00"),
+                            attendance(employee, PERIOD_START.plusDays(3), "8.00", "0.00"))
+            ));
+            stubDeductionTypes(deductionTypes);
+
+            Payroll payroll = payrollBuilder.buildPayrolls(ids, PERIOD_START, PERIOD_END, PAY_DATE).getFirst();
+
+            // Filed after the payroll ran, before and after every recorded day
+            for (LocalDate lateAttendance : List.of(PERIOD_START, PERIOD_END.minusDays(1))) {
+                assertFalse(lateAttendance.isBefore(payroll.getPeriodStartDate()));
+                assertFalse(lateAttendance.isAfter(payroll.getPeriodEndDate()));
+            }
+            assertEquals(2, payroll.getDaysWorked());
+        }
+    }
+
+}
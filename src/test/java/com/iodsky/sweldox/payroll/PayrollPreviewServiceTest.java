@@ -0,0 +1,155 @@
+package com.iodsky.sweldox.payroll;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iodsky.sweldox.employee.EmployeeService;
+import com.iodsky.sweldox.employee.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollPreviewServiceTest {
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2025, 11, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2025, 11, 15);
+    private static final LocalDate PAY_DATE = LocalDate.of(2025, 11, 20);
+
+    @Mock private EmployeeService employeeService;
+    @Mock private PayrollBuilder payrollBuilder;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private PayrollPreviewService payrollPreviewService;
+
+    @BeforeEach
+    void setUp() {
+        payrollPreviewService = new PayrollPreviewService(
+                employeeService, payrollBuilder, new PayrollMapper(), objectMapper, new SyncTaskExecutor());
+        ReflectionTestUtils.setField(payrollPreviewService, "chunkSize", 2);
+        ReflectionTestUtils.setField(payrollPreviewService, "threads", 1);
+    }
+
+    private Payroll payroll(long employeeId, String grossPay, String totalDeductions, String netPay) {
+        return Payroll.builder()
+                .employee(Employee.builder().id(employeeId).build())
+                .periodStartDate(PERIOD_START)
+                .periodEndDate(PERIOD_END)
+                .payDate(PAY_DATE)
+                .grossPay(new BigDecimal(grossPay))
+                .totalBenefits(BigDecimal.ZERO)
+                .totalDeductions(new BigDecimal(totalDeductions))
+                .netPay(new BigDecimal(netPay))
+                .deductions(List.of())
+                .benefits(List.of())
+                .build();
+    }
+
+    private String preview(PayrollPreviewFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        payrollPreviewService.writePreview(PERIOD_START, PERIOD_END, PAY_DATE, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    class NdjsonTests {
+
+        @Test
+        void shouldStreamPayrollsInEmployeeOrderFollowedByTotals() throws Exception {
+            when(employeeService.getAllActiveEmployeeIds()).thenReturn(List.of(3L, 1L, 2L));
+            when(payrollBuilder.buildPayrolls(List.of(1L, 2L), PERIOD_START, PERIOD_END, PAY_DATE))
+                    .thenReturn(List.of(payroll(1L, "1000.00", "100.00", "900.00"), payroll(2L, "2000.00", "200.00", "1800.00")));
+            when(payrollBuilder.buildPayrolls(List.of(3L), PERIOD_START, PERIOD_END, PAY_DATE))
+                    .thenReturn(List.of(payroll(3L, "3000.00", "300.00", "2700.00")));
+
+            String[] lines = preview(PayrollPreviewFormat.NDJSON).split("\n");
+
+            assertEquals(4, lines.length);
+            assertEquals(1L, objectMapper.readTree(lines[0]).get("employeeId").asLong());
+            assertEquals(2L, objectMapper.readTree(lines[1]).get("employeeId").asLong());
+            assertEquals(3L, objectMapper.readTree(lines[2]).get("employeeId").asLong());
+
+            JsonNode totals = objectMapper.readTree(lines[3]).get("totals");
+            assertEquals(3, totals.get("employees").asInt());
+            assertEquals(0, totals.get("failed").asInt());
+            assertEquals(0, new BigDecimal("6000.00").compareTo(totals.get("grossPay").decimalValue()));
+            assertEquals(0, new BigDecimal("5400.00").compareTo(totals.get("netPay").decimalValue()));
+
+            verify(payrollBuilder, times(2)).buildPayrolls(anyList(), any(), any(), any());
+        }
+
+        @Test
+        void shouldReportFailingEmployeeWithoutDroppingTheRestOfItsChunk() throws Exception {
+            when(employeeService.getAllActiveEmployeeIds()).thenReturn(List.of(1L, 2L));
+            when(payrollBuilder.buildPayrolls(List.of(1L, 2L), PERIOD_START, PERIOD_END, PAY_DATE))
+                    .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Employees [2] not found"));
+            when(payrollBuilder.buildPayrolls(List.of(1L), PERIOD_START, PERIOD_END, PAY_DATE))
+                    .thenReturn(List.of(payroll(1L, "1000.00", "100.00", "900.00")));
+            when(payrollBuilder.buildPayrolls(List.of(2L), PERIOD_START, PERIOD_END, PAY_DATE))
+                    .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Employees [2] not found"));
+
+            String[] lines = preview(PayrollPreviewFormat.NDJSON).split("\n");
+
+            assertEquals(3, lines.length);
+            assertEquals(1L, objectMapper.readTree(lines[0]).get("employeeId").asLong());
+
+            JsonNode error = objectMapper.readTree(lines[1]);
+            assertEquals(2L, error.get("employeeId").asLong());
+            assertTrue(error.get("error").asText().contains("not found"));
+
+            JsonNode totals = objectMapper.readTree(lines[2]).get("totals");
+            assertEquals(1, totals.get("employees").asInt());
+            assertEquals(1, totals.get("failed").asInt());
+        }
+
+        @Test
+        void shouldWriteOnlyTotalsWhenThereAreNoActiveEmployees() throws Exception {
+            when(employeeService.getAllActiveEmployeeIds()).thenReturn(List.of());
+
+            String[] lines = preview(PayrollPreviewFormat.NDJSON).split("\n");
+
+            assertEquals(1, lines.length);
+            assertEquals(0, objectMapper.readTree(lines[0]).get("totals").get("employees").asInt());
+            verifyNoInteractions(payrollBuilder);
+        }
+    }
+
+    @Nested
+    class CsvTests {
+
+        @Test
+        void shouldWriteHeaderRowsAndTotalRow() throws Exception {
+            when(employeeService.getAllActiveEmployeeIds()).thenReturn(List.of(1L));
+            when(payrollBuilder.buildPayrolls(List.of(1L), PERIOD_START, PERIOD_END, PAY_DATE))
+                    .thenReturn(List.of(payroll(1L, "1000.00", "100.00", "900.00")));
+
+            String[] lines = preview(PayrollPreviewFormat.CSV).split("\n");
+
+            assertEquals(3, lines.length);
+            assertTrue(lines[0].startsWith("employeeId,periodStartDate,"));
+            assertTrue(lines[0].endsWith(",netPay,error"));
+            assertTrue(lines[1].startsWith("1,2025-11-01,2025-11-15,2025-11-20,"));
+            assertTrue(lines[1].endsWith(",900.00,"));
+            assertTrue(lines[2].startsWith("TOTAL,"));
+            assertEquals(lines[0].split(",", -1).length, lines[1].split(",", -1).length);
+            assertEquals(lines[0].split(",", -1).length, lines[2].split(",", -1).length);
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.iodsky.sweldox.payroll;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollRecomputeServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 11, 3);
+
+    @Mock private PayrollRepository payrollRepository;
+    @InjectMocks private PayrollRecomputeService payrollRecomputeService;
+
+    @Nested
+    class MarkAffectedPayrollsTests {
+
+        @Test
+        void shouldMarkEachDistinctDateOnce() {
+            LocalDate otherDate = LocalDate.of(2025, 10, 28);
+            when(payrollRepository.markForRecompute(1L, DATE)).thenReturn(1);
+            when(payrollRepository.markForRecompute(1L, otherDate)).thenReturn(1);
+
+            int marked = payrollRecomputeService.markAffectedPayrolls(1L, Arrays.asList(DATE, otherDate, DATE));
+
+            assertEquals(2, marked);
+            verify(payrollRepository, times(1)).markForRecompute(1L, DATE);
+            verify(payrollRepository, times(1)).markForRecompute(1L, otherDate);
+        }
+
+        @Test
+        void shouldIgnoreMissingDates() {
+            when(payrollRepository.markForRecompute(1L, DATE)).thenReturn(0);
+
+            int marked = payrollRecomputeService.markAffectedPayrolls(1L, Arrays.asList(null, DATE));
+
+            assertEquals(0, marked);
+            verify(payrollRepository, times(1)).markForRecompute(anyLong(), any());
+        }
+    }
+
+}
@@ -12,11 +12,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -34,6 +36,7 @@ class PayrollServiceTest {
     @Mock private UserService userService;
     @Mock private DateRangeResolver dateRangeResolver;
     @Mock private PayrollBuilder payrollBuilder;
+    @Spy private PayrollMapper payrollMapper = new PayrollMapper();
     @InjectMocks private PayrollService payrollService;
 
     private User payrollUser;
@@ -404,38 +407,60 @@ class PayrollServiceTest {
         }
     }
 
+    private final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    private PayrollSummary summary(UUID id, Long employeeId) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("employeeId", employeeId);
+        row.put("periodStartDate", PERIOD_START);
+        row.put("periodEndDate", PERIOD_END);
+        row.put("payDate", PAY_DATE);
+        row.put("daysWorked", 10);
+        row.put("grossPay", new BigDecimal("15000.00"));
+        row.put("totalBenefits", new BigDecimal("1500.00"));
+        row.put("totalDeductions", new BigDecimal("1200.00"));
+        row.put("netPay", new BigDecimal("15300.00"));
+        return projectionFactory.createProjection(PayrollSummary.class, row);
+    }
+
+    private PayrollLineItem lineItem(UUID payrollId, String kind, String code, String amount) {
+        return projectionFactory.createProjection(PayrollLineItem.class, Map.of(
+                "payrollId", payrollId, "kind", kind, "code", code, "amount", new BigDecimal(amount)));
+    }
+
     @Nested
-    class GetAllPayrollTests {
+    class GetAllPayrollDtosTests {
 
         @Test
         void shouldReturnAllPayrollWithinDateRange() {
-            List<Payroll> payrolls = List.of(payroll);
-            Page<Payroll> page = new PageImpl<>(payrolls);
+            UUID payrollId = UUID.randomUUID();
             Pageable pageable = PageRequest.of(0, 10);
             DateRange dateRange = new DateRange(PERIOD_START, PERIOD_END);
 
             when(dateRangeResolver.resolve(PERIOD_START, PERIOD_END)).thenReturn(dateRange);
-            when(payrollRepository.findAllByPeriodStartDateBetween(PERIOD_START, PERIOD_END, pageable))
-                    .thenReturn(page);
+            when(payrollRepository.findSummariesByPeriodStartDateBetween(null, PERIOD_START, PERIOD_END, pageable))
+                    .thenReturn(new PageImpl<>(List.of(summary(payrollId, 1L)), pageable, 1));
+            when(payrollRepository.findLineItemsByPayrollIds(List.of(payrollId))).thenReturn(List.of());
 
-            Page<Payroll> result = payrollService.getAllPayroll(0, 10, PERIOD_START, PERIOD_END);
+            Page<PayrollDto> result = payrollService.getAllPayrollDtos(0, 10, PERIOD_START, PERIOD_END);
 
             assertNotNull(result);
             assertEquals(1, result.getTotalElements());
-            verify(payrollRepository).findAllByPeriodStartDateBetween(PERIOD_START, PERIOD_END, pageable);
+            assertEquals(payrollId, result.getContent().getFirst().getId());
+            verify(payrollRepository).findSummariesByPeriodStartDateBetween(null, PERIOD_START, PERIOD_END, pageable);
         }
 
         @Test
         void shouldReturnEmptyPageWhenNoPayrollsFound() {
-            Page<Payroll> emptyPage = new PageImpl<>(Collections.emptyList());
             Pageable pageable = PageRequest.of(0, 10);
             DateRange dateRange = new DateRange(PERIOD_START, PERIOD_END);
 
             when(dateRangeResolver.resolve(PERIOD_START, PERIOD_END)).thenReturn(dateRange);
-            when(payrollRepository.findAllByPeriodStartDateBetween(PERIOD_START, PERIOD_END, pageable))
-                    .thenReturn(emptyPage);
+            when(payrollRepository.findSummariesByPeriodStartDateBetween(null, PERIOD_START, PERIOD_END, pageable))
+                    .thenReturn(new PageImpl<>(Collections.emptyList(), pageable, 0));
 
-            Page<Payroll> result = payrollService.getAllPayroll(0, 10, PERIOD_START, PERIOD_END);
+            Page<PayrollDto> result = payrollService.getAllPayrollDtos(0, 10, PERIOD_START, PERIOD_END);
 
             assertNotNull(result);
             assertEquals(0, result.getTotalElements());
@@ -443,18 +468,20 @@ class PayrollServiceTest {
 
         @Test
         void shouldHandlePaginationCorrectly() {
-            List<Payroll> payrolls = Arrays.asList(payroll, payroll, payroll);
-            Page<Payroll> page = new PageImpl<>(payrolls, PageRequest.of(1, 2), 5);
+            UUID firstId = UUID.randomUUID();
+            UUID secondId = UUID.randomUUID();
+            Pageable pageable = PageRequest.of(1, 2);
             DateRange dateRange = new DateRange(PERIOD_START, PERIOD_END);
 
             when(dateRangeResolver.resolve(PERIOD_START, PERIOD_END)).thenReturn(dateRange);
-            when(payrollRepository.findAllByPeriodStartDateBetween(
-                    eq(PERIOD_START), eq(PERIOD_END), any(Pageable.class))).thenReturn(page);
+            when(payrollRepository.findSummariesByPeriodStartDateBetween(null, PERIOD_START, PERIOD_END, pageable))
+                    .thenReturn(new PageImpl<>(List.of(summary(firstId, 1L), summary(secondId, 2L)), pageable, 5));
+            when(payrollRepository.findLineItemsByPayrollIds(List.of(firstId, secondId))).thenReturn(List.of());
 
-            Page<Payroll> result = payrollService.getAllPayroll(1, 2, PERIOD_START, PERIOD_END);
+            Page<PayrollDto> result = payrollService.getAllPayrollDtos(1, 2, PERIOD_START, PERIOD_END);
 
             assertNotNull(result);
-            assertEquals(3, result.getContent().size());
+            assertEquals(2, result.getContent().size());
             assertEquals(5, result.getTotalElements());
             assertEquals(1, result.getNumber());
         }
@@ -462,41 +489,92 @@ class PayrollServiceTest {
         @Test
         void shouldUseDateRangeResolver() {
             DateRange dateRange = new DateRange(PERIOD_START.minusDays(5), PERIOD_END.plusDays(5));
-            Page<Payroll> page = new PageImpl<>(Collections.emptyList());
 
             when(dateRangeResolver.resolve(PERIOD_START, PERIOD_END)).thenReturn(dateRange);
-            when(payrollRepository.findAllByPeriodStartDateBetween(
-                    eq(dateRange.startDate()), eq(dateRange.endDate()), any(Pageable.class))).thenReturn(page);
+            when(payrollRepository.findSummariesByPeriodStartDateBetween(
+                    isNull(), eq(dateRange.startDate()), eq(dateRange.endDate()), any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(Collections.emptyList()));
 
-            payrollService.getAllPayroll(0, 10, PERIOD_START, PERIOD_END);
+            payrollService.getAllPayrollDtos(0, 10, PERIOD_START, PERIOD_END);
 
             verify(dateRangeResolver).resolve(PERIOD_START, PERIOD_END);
-            verify(payrollRepository).findAllByPeriodStartDateBetween(
-                    eq(dateRange.startDate()), eq(dateRange.endDate()), any(Pageable.class));
+            verify(payrollRepository).findSummariesByPeriodStartDateBetween(
+                    isNull(), eq(dateRange.startDate()), eq(dateRange.endDate()), any(Pageable.class));
+        }
+
+        @Test
+        void shouldPivotLineItemsOfWholePageFromOneQuery() {
+            UUID firstId = UUID.randomUUID();
+            UUID secondId = UUID.randomUUID();
+            Pageable pageable = PageRequest.of(0, 10);
+            DateRange dateRange = new DateRange(PERIOD_START, PERIOD_END);
+
+            when(dateRangeResolver.resolve(PERIOD_START, PERIOD_END)).thenReturn(dateRange);
+            when(payrollRepository.findSummariesByPeriodStartDateBetween(null, PERIOD_START, PERIOD_END, pageable))
+                    .thenReturn(new PageImpl<>(List.of(summary(firstId, 1L), summary(secondId, 2L)), pageable, 2));
+            when(payrollRepository.findLineItemsByPayrollIds(List.of(firstId, secondId))).thenReturn(List.of(
+                    lineItem(firstId, "D", "SSS", "700.00"),
+                    lineItem(secondId, "D", "TAX", "300.00"),
+                    lineItem(firstId, "B", "MEAL", "1500.00"),
+                    lineItem(firstId, "D", "PHIC", "375.00")));
+
+            Page<PayrollDto> result = payrollService.getAllPayrollDtos(0, 10, PERIOD_START, PERIOD_END);
+
+            assertEquals(2, result.getTotalElements());
+            PayrollDto first = result.getContent().get(0);
+            assertEquals(firstId, first.getId());
+            assertEquals(1L, first.getEmployeeId());
+            assertEquals(new BigDecimal("700.00"), first.getDeductions().getSssDeduction());
+            assertEquals(new BigDecimal("375.00"), first.getDeductions().getPhilhealthDeduction());
+            assertEquals(BigDecimal.ZERO, first.getDeductions().getWithholdingTax());
+            assertEquals(new BigDecimal("1500.00"), first.getBenefits().getMealAllowance());
+            assertEquals(new BigDecimal("1200.00"), first.getDeductions().getTotalDeductions());
+
+            PayrollDto second = result.getContent().get(1);
+            assertEquals(secondId, second.getId());
+            assertEquals(new BigDecimal("300.00"), second.getDeductions().getWithholdingTax());
+            assertEquals(BigDecimal.ZERO, second.getBenefits().getMealAllowance());
+
+            verify(payrollRepository, times(1)).findLineItemsByPayrollIds(anyCollection());
+        }
+
+        @Test
+        void shouldNotLoadLineItemsForEmptyPage() {
+            Pageable pageable = PageRequest.of(3, 10);
+            DateRange dateRange = new DateRange(PERIOD_START, PERIOD_END);
+
+            when(dateRangeResolver.resolve(PERIOD_START, PERIOD_END)).thenReturn(dateRange);
+            when(payrollRepository.findSummariesByPeriodStartDateBetween(null, PERIOD_START, PERIOD_END, pageable))
+                    .thenReturn(new PageImpl<>(List.of(), pageable, 25));
+
+            Page<PayrollDto> result = payrollService.getAllPayrollDtos(3, 10, PERIOD_START, PERIOD_END);
+
+            assertTrue(result.getContent().isEmpty());
+            assertEquals(25, result.getTotalElements());
+            verify(payrollRepository, never()).findLineItemsByPayrollIds(anyCollection());
         }
     }
 
     @Nested
-    class GetAllEmployeePayrollTests {
+    class GetAllEmployeePayrollDtosTests {
 
         @Test
         void shouldReturnEmployeePayrolls() {
-            when(userService.getAuthenticatedUser()).thenReturn(normalUser);
-            List<Payroll> payrolls = List.of(payroll);
-            Page<Payroll> page = new PageImpl<>(payrolls);
+            UUID payrollId = UUID.randomUUID();
+            Pageable pageable = PageRequest.of(0, 10);
             DateRange dateRange = new DateRange(PERIOD_START, PERIOD_END);
 
+            when(userService.getAuthenticatedUser()).thenReturn(normalUser);
             when(dateRangeResolver.resolve(PERIOD_START, PERIOD_END)).thenReturn(dateRange);
-            when(payrollRepository.findAllByEmployee_IdAndPeriodStartDateBetween(
-                    eq(employee.getId()), eq(PERIOD_START), eq(PERIOD_END), any(Pageable.class)))
-                    .thenReturn(page);
+            when(payrollRepository.findSummariesByPeriodStartDateBetween(employee.getId(), PERIOD_START, PERIOD_END, pageable))
+                    .thenReturn(new PageImpl<>(List.of(summary(payrollId, employee.getId())), pageable, 1));
+            when(payrollRepository.findLineItemsByPayrollIds(List.of(payrollId))).thenReturn(List.of());
 
-            Page<Payroll> result = payrollService.getAllEmployeePayroll(0, 10, PERIOD_START, PERIOD_END);
+            Page<PayrollDto> result = payrollService.getAllEmployeePayrollDtos(0, 10, PERIOD_START, PERIOD_END);
 
             assertNotNull(result);
             assertEquals(1, result.getTotalElements());
-            verify(payrollRepository).findAllByEmployee_IdAndPeriodStartDateBetween(
-                    eq(employee.getId()), eq(PERIOD_START), eq(PERIOD_END), any(Pageable.class));
+            assertEquals(employee.getId(), result.getContent().getFirst().getEmployeeId());
         }
 
         @Test
@@ -504,62 +582,64 @@ class PayrollServiceTest {
             when(userService.getAuthenticatedUser()).thenThrow(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized"));
 
             ResponseStatusException ex = assertThrows(ResponseStatusException.class,
-                    () -> payrollService.getAllEmployeePayroll(0, 10, PERIOD_START, PERIOD_END));
+                    () -> payrollService.getAllEmployeePayrollDtos(0, 10, PERIOD_START, PERIOD_END));
             assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
 
-            verify(payrollRepository, never()).findAllByEmployee_IdAndPeriodStartDateBetween(
-                    anyLong(), any(), any(), any());
+            verify(payrollRepository, never()).findSummariesByPeriodStartDateBetween(any(), any(), any(), any());
         }
 
         @Test
         void shouldReturnEmptyPageWhenEmployeeHasNoPayrolls() {
-            when(userService.getAuthenticatedUser()).thenReturn(normalUser);
-            Page<Payroll> emptyPage = new PageImpl<>(Collections.emptyList());
+            Pageable pageable = PageRequest.of(0, 10);
             DateRange dateRange = new DateRange(PERIOD_START, PERIOD_END);
 
+            when(userService.getAuthenticatedUser()).thenReturn(normalUser);
             when(dateRangeResolver.resolve(PERIOD_START, PERIOD_END)).thenReturn(dateRange);
-            when(payrollRepository.findAllByEmployee_IdAndPeriodStartDateBetween(
-                    eq(employee.getId()), eq(PERIOD_START), eq(PERIOD_END), any(Pageable.class)))
-                    .thenReturn(emptyPage);
+            when(payrollRepository.findSummariesByPeriodStartDateBetween(employee.getId(), PERIOD_START, PERIOD_END, pageable))
+                    .thenReturn(new PageImpl<>(Collections.emptyList(), pageable, 0));
 
-            Page<Payroll> result = payrollService.getAllEmployeePayroll(0, 10, PERIOD_START, PERIOD_END);
+            Page<PayrollDto> result = payrollService.getAllEmployeePayrollDtos(0, 10, PERIOD_START, PERIOD_END);
 
             assertNotNull(result);
             assertEquals(0, result.getTotalElements());
+            verify(payrollRepository, never()).findLineItemsByPayrollIds(anyCollection());
         }
 
         @Test
         void shouldOnlyReturnPayrollsForAuthenticatedEmployee() {
-            when(userService.getAuthenticatedUser()).thenReturn(normalUser);
+            Pageable pageable = PageRequest.of(0, 10);
             DateRange dateRange = new DateRange(PERIOD_START, PERIOD_END);
-            Page<Payroll> page = new PageImpl<>(List.of(payroll));
 
+            when(userService.getAuthenticatedUser()).thenReturn(normalUser);
             when(dateRangeResolver.resolve(PERIOD_START, PERIOD_END)).thenReturn(dateRange);
-            when(payrollRepository.findAllByEmployee_IdAndPeriodStartDateBetween(
-                    eq(employee.getId()), eq(PERIOD_START), eq(PERIOD_END), any(Pageable.class)))
-                    .thenReturn(page);
+            when(payrollRepository.findSummariesByPeriodStartDateBetween(employee.getId(), PERIOD_START, PERIOD_END, pageable))
+                    .thenReturn(new PageImpl<>(List.of(), pageable, 0));
 
-            payrollService.getAllEmployeePayroll(0, 10, PERIOD_START, PERIOD_END);
+            Page<PayrollDto> result = payrollService.getAllEmployeePayrollDtos(0, 10, PERIOD_START, PERIOD_END);
 
-            verify(payrollRepository).findAllByEmployee_IdAndPeriodStartDateBetween(
-                    eq(employee.getId()), eq(PERIOD_START), eq(PERIOD_END), any(Pageable.class));
-            verify(payrollRepository, never()).findAllByEmployee_IdAndPeriodStartDateBetween(
+            assertTrue(result.isEmpty());
+            verify(payrollRepository).findSummariesByPeriodStartDateBetween(employee.getId(), PERIOD_START, PERIOD_END, pageable);
+            verify(payrollRepository, never()).findSummariesByPeriodStartDateBetween(
+                    isNull(), any(), any(), any());
+            verify(payrollRepository, never()).findSummariesByPeriodStartDateBetween(
                     eq(otherEmployee.getId()), any(), any(), any());
         }
 
         @Test
         void shouldHandlePaginationForEmployeePayrolls() {
-            when(userService.getAuthenticatedUser()).thenReturn(normalUser);
-            List<Payroll> payrolls = Arrays.asList(payroll, payroll);
-            Page<Payroll> page = new PageImpl<>(payrolls, PageRequest.of(0, 2), 10);
+            UUID firstId = UUID.randomUUID();
+            UUID secondId = UUID.randomUUID();
+            Pageable pageable = PageRequest.of(0, 2);
             DateRange dateRange = new DateRange(PERIOD_START, PERIOD_END);
 
+            when(userService.getAuthenticatedUser()).thenReturn(normalUser);
             when(dateRangeResolver.resolve(PERIOD_START, PERIOD_END)).thenReturn(dateRange);
-            when(payrollRepository.findAllByEmployee_IdAndPeriodStartDateBetween(
-                    eq(employee.getId()), eq(PERIOD_START), eq(PERIOD_END), any(Pageable.class)))
-                    .thenReturn(page);
+            when(payrollRepository.findSummariesByPeriodStartDateBetween(employee.getId(), PERIOD_START, PERIOD_END, pageable))
+                    .thenReturn(new PageImpl<>(List.of(summary(firstId, employee.getId()), summary(secondId, employee.getId())),
+                            pageable, 10));
+            when(payrollRepository.findLineItemsByPayrollIds(List.of(firstId, secondId))).thenReturn(List.of());
 
-            Page<Payroll> result = payrollService.getAllEmployeePayroll(0, 2, PERIOD_START, PERIOD_END);
+            Page<PayrollDto> result = payrollService.getAllEmployeePayrollDtos(0, 2, PERIOD_START, PERIOD_END);
 
             assertNotNull(result);
             assertEquals(2, result.getContent().size());
@@ -568,19 +648,18 @@ class PayrollServiceTest {
 
         @Test
         void shouldUseDateRangeResolverForEmployeePayrolls() {
-            when(userService.getAuthenticatedUser()).thenReturn(normalUser);
             DateRange customRange = new DateRange(PERIOD_START.minusDays(10), PERIOD_END.plusDays(10));
-            Page<Payroll> page = new PageImpl<>(Collections.emptyList());
 
+            when(userService.getAuthenticatedUser()).thenReturn(normalUser);
             when(dateRangeResolver.resolve(PERIOD_START, PERIOD_END)).thenReturn(customRange);
-            when(payrollRepository.findAllByEmployee_IdAndPeriodStartDateBetween(
+            when(payrollRepository.findSummariesByPeriodStartDateBetween(
                     eq(employee.getId()), eq(customRange.startDate()), eq(customRange.endDate()), any(Pageable.class)))
-                    .thenReturn(page);
+                    .thenReturn(new PageImpl<>(Collections.emptyList()));
 
-            payrollService.getAllEmployeePayroll(0, 10, PERIOD_START, PERIOD_END);
+            payrollService.getAllEmployeePayrollDtos(0, 10, PERIOD_START, PERIOD_END);
 
             verify(dateRangeResolver).resolve(PERIOD_START, PERIOD_END);
-            verify(payrollRepository).findAllByEmployee_IdAndPeriodStartDateBetween(
+            verify(payrollRepository).findSummariesByPeriodStartDateBetween(
                     eq(employee.getId()), eq(customRange.startDate()), eq(customRange.endDate()), any(Pageable.class));
         }
     }
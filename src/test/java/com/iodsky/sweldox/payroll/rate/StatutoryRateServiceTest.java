@@ -0,0 +1,120 @@
+package com.iodsky.sweldox.payroll.rate;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatutoryRateServiceTest {
+
+    @Mock private StatutoryRateVersionRepository statutoryRateVersionRepository;
+    @Mock private StatutoryRateRegistry statutoryRateRegistry;
+    @InjectMocks private StatutoryRateService statutoryRateService;
+
+    private StatutoryRateVersion draft(Long id) {
+        StatutoryRateVersion version = StatutoryRatesFixture.initialVersion();
+        version.setId(id);
+        version.setEffectiveDate(LocalDate.of(2026, 1, 1));
+        version.setPublished(false);
+        return version;
+    }
+
+    @Nested
+    class CreateVersionTests {
+
+        @Test
+        void shouldSaveValidVersionAsUnpublished() {
+            StatutoryRateVersion version = draft(null);
+            version.setPublished(true);
+            when(statutoryRateVersionRepository.save(version)).thenReturn(version);
+
+            StatutoryRateVersion result = statutoryRateService.createVersion(version);
+
+            assertFalse(result.isPublished());
+            verify(statutoryRateVersionRepository).save(version);
+        }
+
+        @Test
+        void shouldRejectInvalidBrackets() {
+            StatutoryRateVersion version = draft(null);
+            version.getTaxBrackets().clear();
+
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                    () -> statutoryRateService.createVersion(version));
+
+            assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+            verify(statutoryRateVersionRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    class PublishVersionTests {
+
+        @Test
+        void shouldPublishAndReloadRates() {
+            StatutoryRateVersion version = draft(2L);
+            when(statutoryRateVersionRepository.findById(2L)).thenReturn(Optional.of(version));
+            when(statutoryRateVersionRepository.findByEffectiveDateAndPublishedTrue(version.getEffectiveDate()))
+                    .thenReturn(Optional.empty());
+            when(statutoryRateVersionRepository.save(version)).thenReturn(version);
+
+            StatutoryRateVersion result = statutoryRateService.publishVersion(2L);
+
+            assertTrue(result.isPublished());
+            assertNotNull(result.getPublishedAt());
+            verify(statutoryRateRegistry).reload();
+        }
+
+        @Test
+        void shouldUnpublishVersionWithSameEffectiveDate() {
+            StatutoryRateVersion version = draft(3L);
+            StatutoryRateVersion superseded = draft(2L);
+            superseded.setPublished(true);
+            when(statutoryRateVersionRepository.findById(3L)).thenReturn(Optional.of(version));
+            when(statutoryRateVersionRepository.findByEffectiveDateAndPublishedTrue(version.getEffectiveDate()))
+                    .thenReturn(Optional.of(superseded));
+            when(statutoryRateVersionRepository.save(version)).thenReturn(version);
+
+            statutoryRateService.publishVersion(3L);
+
+            assertFalse(superseded.isPublished());
+            verify(statutoryRateVersionRepository).saveAndFlush(superseded);
+        }
+
+        @Test
+        void shouldRejectAlreadyPublishedVersion() {
+            StatutoryRateVersion version = draft(2L);
+            version.setPublished(true);
+            when(statutoryRateVersionRepository.findById(2L)).thenReturn(Optional.of(version));
+
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                    () -> statutoryRateService.publishVersion(2L));
+
+            assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+            verify(statutoryRateRegistry, never()).reload();
+        }
+
+        @Test
+        void shouldThrowNotFoundForUnknownVersion() {
+            when(statutoryRateVersionRepository.findById(99L)).thenReturn(Optional.empty());
+
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                    () -> statutoryRateService.publishVersion(99L));
+
+            assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.iodsky.sweldox.payroll.rate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Builds the rate version seeded by V4__Statutory_Rate_Tables.sql.
+ */
+public final class StatutoryRatesFixture {
+
+    private StatutoryRatesFixture() {}
+
+    public static StatutoryRateVersion initialVersion() {
+        StatutoryRateVersion version = StatutoryRateVersion.builder()
+                .id(1L)
+                .effectiveDate(LocalDate.of(2025, 1, 1))
+                .published(true)
+                .philhealthRate(new BigDecimal("0.03"))
+                .philhealthMaxPremium(new BigDecimal("1800"))
+                .pagibigThreshold(new BigDecimal("1500"))
+                .pagibigRateBelowThreshold(new BigDecimal("0.01"))
+                .pagibigRateAboveThreshold(new BigDecimal("0.02"))
+                .pagibigMaxContribution(new BigDecimal("100"))
+                .build();
+
+        for (int i = 0; i < 44; i++) {
+            version.getSssBrackets().add(SssContributionBracket.builder()
+                    .rateVersion(version)
+                    .minSalary(BigDecimal.valueOf(3250 + 500L * i))
+                    .contribution(new BigDecimal("135").add(new BigDecimal("22.5").multiply(BigDecimal.valueOf(i))))
+                    .build());
+        }
+
+        addTaxBracket(version, "0", "20832", "0", "0", "0");
+        addTaxBracket(version, "20833", "33332", "0", "0.20", "20833");
+        addTaxBracket(version, "33333", "66666", "2500", "0.25", "33333");
+        addTaxBracket(version, "66667", "166666", "10833", "0.30", "66667");
+        addTaxBracket(version, "166667", "666666", "40833.33", "0.32", "166667");
+        addTaxBracket(version, "666667", null, "200833.33", "0.35", "666667");
+
+        return version;
+    }
+
+    public static StatutoryRates initialRates() {
+        return StatutoryRates.from(initialVersion());
+    }
+
+    public static void addTaxBracket(StatutoryRateVersion version, String lowerBound, String upperBound,
+                                     String baseTax, String rate, String excessOver) {
+        version.getTaxBrackets().add(WithholdingTaxBracket.builder()
+                .rateVersion(version)
+                .lowerBound(new BigDecimal(lowerBound))
+                .upperBound(upperBound == null ? null : new BigDecimal(upperBound))
+                .baseTax(new BigDecimal(baseTax))
+                .rate(new BigDecimal(rate))
+                .excessOver(new BigDecimal(excessOver))
+                .build());
+    }
+
+}
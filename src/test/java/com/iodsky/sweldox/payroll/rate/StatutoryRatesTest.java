@@ -0,0 +1,87 @@
+package com.iodsky.sweldox.payroll.rate;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatutoryRatesTest {
+
+    private final StatutoryRates rates = StatutoryRatesFixture.initialRates();
+
+    @Nested
+    class SssContributionTests {
+
+        @Test
+        void shouldUseFirstBracketBelowStartingSalary() {
+            assertEquals(135_00L, rates.sssContribution(1_000_00L));
+        }
+
+        @Test
+        void shouldUseFloorBracket() {
+            assertEquals(135_00L, rates.sssContribution(3_250_00L));
+            assertEquals(135_00L, rates.sssContribution(3_749_99L));
+            assertEquals(157_50L, rates.sssContribution(3_750_00L));
+        }
+
+        @Test
+        void shouldUseLastBracketAboveMaximumSalary() {
+            assertEquals(1_102_50L, rates.sssContribution(1_000_000_00L));
+        }
+    }
+
+    @Nested
+    class TaxBracketTests {
+
+        @Test
+        void shouldFindBracketByLowerBound() {
+            assertEquals(0, rates.taxBracketIndex(0L));
+            assertEquals(1, rates.taxBracketIndex(20_833_00L));
+            assertEquals(5, rates.taxBracketIndex(10_000_000_00L));
+            assertEquals(StatutoryRates.UNBOUNDED, rates.taxUpperBound(5));
+        }
+
+        @Test
+        void shouldReturnNegativeIndexBelowFirstBracket() {
+            assertEquals(-1, rates.taxBracketIndex(-1L));
+        }
+
+        @Test
+        void shouldKeepGapsBetweenBrackets() {
+            int index = rates.taxBracketIndex(20_832_50L);
+            assertEquals(0, index);
+            assertTrue(20_832_50L > rates.taxUpperBound(index));
+        }
+    }
+
+    @Nested
+    class ValidationTests {
+
+        @Test
+        void shouldRejectOverlappingTaxBrackets() {
+            StatutoryRateVersion version = StatutoryRatesFixture.initialVersion();
+            StatutoryRatesFixture.addTaxBracket(version, "20000", "20500", "0", "0.10", "20000");
+
+            assertThrows(IllegalArgumentException.class, () -> StatutoryRates.from(version));
+        }
+
+        @Test
+        void shouldRejectMissingSssBrackets() {
+            StatutoryRateVersion version = StatutoryRatesFixture.initialVersion();
+            version.getSssBrackets().clear();
+
+            assertThrows(IllegalArgumentException.class, () -> StatutoryRates.from(version));
+        }
+
+        @Test
+        void shouldRejectRatesWithMoreThanFourDecimals() {
+            StatutoryRateVersion version = StatutoryRatesFixture.initialVersion();
+            version.setPhilhealthRate(new BigDecimal("0.03125"));
+
+            assertThrows(IllegalArgumentException.class, () -> StatutoryRates.from(version));
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.iodsky.sweldox.security.auth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private static final long WINDOW = 60_000L;
+    private static final long START = 1_000_000 * WINDOW;
+
+    private LoginRateLimiter loginRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        loginRateLimiter = new LoginRateLimiter();
+        ReflectionTestUtils.setField(loginRateLimiter, "window", WINDOW);
+        ReflectionTestUtils.setField(loginRateLimiter, "maxAttemptsPerEmail", 3);
+        ReflectionTestUtils.setField(loginRateLimiter, "maxAttemptsPerAddress", 5);
+        ReflectionTestUtils.setField(loginRateLimiter, "maximumKeys", 128);
+        loginRateLimiter.init();
+    }
+
+    private void assertRejected(String email, String address, long now) {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> loginRateLimiter.acquire(email, address, now));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatusCode());
+    }
+
+    @Test
+    void shouldRejectEmailOverItsLimitRegardlessOfCase() {
+        loginRateLimiter.acquire("juan@example.com", "10.0.0.1", START);
+        loginRateLimiter.acquire("JUAN@example.com", "10.0.0.2", START);
+        loginRateLimiter.acquire(" juan@example.com", "10.0.0.3", START);
+
+        assertRejected("juan@example.com", "10.0.0.4", START);
+        loginRateLimiter.acquire("maria@example.com", "10.0.0.4", START);
+
+        LoginThrottleStatsResponse stats = loginRateLimiter.getStats();
+        assertEquals(4, stats.getAllowedAttempts());
+        assertEquals(1, stats.getRejectedByEmail());
+        assertEquals(2, stats.getTrackedEmails());
+    }
+
+    @Test
+    void shouldRejectAddressOverItsLimit() {
+        for (int i = 0; i < 5; i++) {
+            loginRateLimiter.acquire("user" + i + "@example.com", "10.0.0.1", START);
+        }
+
+        assertRejected("other@example.com", "10.0.0.1", START);
+        loginRateLimiter.acquire("other@example.com", "10.0.0.2", START);
+
+        assertEquals(1, loginRateLimiter.getStats().getRejectedByAddress());
+    }
+
+    @Test
+    void shouldNotCountEmailRejectionsAgainstTheAddress() {
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.acquire("juan@example.com", "10.0.0.1", START);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertRejected("juan@example.com", "10.0.0.1", START);
+        }
+
+        // Only the three allowed attempts count, leaving two of the address's five
+        loginRateLimiter.acquire("maria@example.com", "10.0.0.1", START);
+        loginRateLimiter.acquire("maria@example.com", "10.0.0.1", START);
+        assertRejected("pedro@example.com", "10.0.0.1", START);
+
+        LoginThrottleStatsResponse stats = loginRateLimiter.getStats();
+        assertEquals(5, stats.getRejectedByEmail());
+        assertEquals(1, stats.getRejectedByAddress());
+    }
+
+    @Test
+    void shouldClearEmailCountOnSuccessfulLogin() {
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.acquire("juan@example.com", "10.0.0.1", START);
+        }
+
+        loginRateLimiter.succeeded("Juan@example.com");
+
+        loginRateLimiter.acquire("juan@example.com", "10.0.0.1", START);
+    }
+
+    @Test
+    void shouldLetEarlierAttemptsSlideOutOfTheWindow() {
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.acquire("juan@example.com", "10.0.0.1", START);
+        }
+
+        // A quarter into the next window three quarters of the earlier attempts still count
+        long quarter = START + WINDOW + WINDOW / 4;
+        loginRateLimiter.acquire("juan@example.com", "10.0.0.1", quarter);
+        assertRejected("juan@example.com", "10.0.0.1", quarter);
+        // Three quarters in, only a quarter of them do
+        loginRateLimiter.acquire("juan@example.com", "10.0.0.1", START + WINDOW + 3 * WINDOW / 4);
+        // Two windows later they no longer count at all
+        loginRateLimiter.acquire("juan@example.com", "10.0.0.1", START + 3 * WINDOW);
+        loginRateLimiter.acquire("juan@example.com", "10.0.0.1", START + 3 * WINDOW);
+    }
+
+    @Test
+    void shouldBoundTrackedKeys() {
+        for (int i = 0; i < 1_000; i++) {
+            loginRateLimiter.acquire("user" + i + "@example.com", null, START);
+        }
+
+        assertTrue(loginRateLimiter.getStats().getTrackedEmails() <= 128);
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.iodsky.sweldox.security.auth;
+
+import com.iodsky.sweldox.security.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock private RefreshTokenRepository refreshTokenRepository;
+    @InjectMocks private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationTime", 60_000L);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("john.doe@example.com");
+    }
+
+    private RefreshToken stored(String token, Instant expiresAt, Instant revokedAt) {
+        RefreshToken refreshToken = RefreshToken.builder()
+                .user(user)
+                .tokenHash(RefreshTokenService.hash(token))
+                .expiresAt(expiresAt)
+                .revokedAt(revokedAt)
+                .build();
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(token))).thenReturn(Optional.of(refreshToken));
+        return refreshToken;
+    }
+
+    @Test
+    void shouldStoreOnlyTheHashOfIssuedToken() {
+        String token = refreshTokenService.issue(user);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(RefreshTokenService.hash(token), saved.getValue().getTokenHash());
+        assertNotEquals(token, saved.getValue().getTokenHash());
+        assertSame(user, saved.getValue().getUser());
+        assertTrue(saved.getValue().getExpiresAt().isAfter(Instant.now()));
+        assertNotEquals(token, refreshTokenService.issue(user));
+    }
+
+    @Nested
+    class RotateTests {
+
+        @Test
+        void shouldRevokeTokenAndReturnItsUser() {
+            stored("token", Instant.now().plusSeconds(60), null);
+            when(refreshTokenRepository.claim(eq(RefreshTokenService.hash("token")), any(Instant.class))).thenReturn(1);
+
+            User result = refreshTokenService.rotate("token");
+
+            assertSame(user, result);
+            verify(refreshTokenRepository, never()).revokeAllByUserId(any(), any());
+        }
+
+        @Test
+        void shouldTreatLosingConcurrentRotationAsReuse() {
+            RefreshToken refreshToken = stored("token", Instant.now().plusSeconds(60), null);
+            // The first caller claims the token; the second finds it already revoked
+            when(refreshTokenRepository.claim(eq(RefreshTokenService.hash("token")), any(Instant.class)))
+                    .thenAnswer(invocation -> {
+                        refreshToken.setRevokedAt(invocation.getArgument(1));
+                        return 1;
+                    })
+                    .thenReturn(0);
+
+            assertSame(user, refreshTokenService.rotate("token"));
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> refreshTokenService.rotate("token"));
+
+            assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+            verify(refreshTokenRepository).revokeAllByUserId(eq(user.getId()), any(Instant.class));
+        }
+
+        @Test
+        void shouldRejectUnknownToken() {
+            when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> refreshTokenService.rotate("token"));
+
+            assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+        }
+
+        @Test
+        void shouldRejectExpiredToken() {
+            RefreshToken refreshToken = stored("token", Instant.now().minusSeconds(1), null);
+
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> refreshTokenService.rotate("token"));
+
+            assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+            assertEquals("Refresh token expired", ex.getReason());
+            assertFalse(refreshToken.isRevoked());
+            verify(refreshTokenRepository, never()).revokeAllByUserId(any(), any());
+        }
+
+        @Test
+        void shouldRevokeAllTokensOfUserWhenRotatedTokenIsReused() {
+            stored("token", Instant.now().plusSeconds(60), Instant.now().minusSeconds(5));
+
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> refreshTokenService.rotate("token"));
+
+            assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+            verify(refreshTokenRepository).revokeAllByUserId(eq(user.getId()), any(Instant.class));
+        }
+    }
+
+    @Nested
+    class RevokeTests {
+
+        @Test
+        void shouldRevokeTokenOfUser() {
+            RefreshToken refreshToken = stored("token", Instant.now().plusSeconds(60), null);
+
+            refreshTokenService.revoke("token", "john.doe@example.com");
+
+            assertTrue(refreshToken.isRevoked());
+        }
+
+        @Test
+        void shouldIgnoreTokenOfAnotherUser() {
+            RefreshToken refreshToken = stored("token", Instant.now().plusSeconds(60), null);
+
+            refreshTokenService.revoke("token", "jane.doe@example.com");
+
+            assertFalse(refreshToken.isRevoked());
+        }
+    }
+
+}
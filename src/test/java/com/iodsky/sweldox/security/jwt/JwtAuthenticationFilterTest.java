@@ -0,0 +1,101 @@
+package com.iodsky.sweldox.security.jwt;
+
+import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.security.user.User;
+import com.iodsky.sweldox.security.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+    @Mock private UserDetailsService userDetailsService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Employee employee = new Employee();
+        employee.setId(10001L);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("john.doe@example.com");
+        user.setEmployee(employee);
+        user.setUserRole(new UserRole("HR"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private JwtUtil jwtUtil(long expirationTime) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secretKey", SECRET);
+        ReflectionTestUtils.setField(util, "expirationTime", expirationTime);
+        ReflectionTestUtils.setField(util, "cacheSize", 10);
+        util.init();
+        return util;
+    }
+
+    private MockFilterChain filter(JwtUtil jwtUtil, String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", authorization);
+        MockFilterChain filterChain = new MockFilterChain();
+
+        new JwtAuthenticationFilter(jwtUtil, userDetailsService, new TokenDenyList())
+                .doFilter(request, new MockHttpServletResponse(), filterChain);
+        return filterChain;
+    }
+
+    @Test
+    void shouldAuthenticateValidToken() throws Exception {
+        JwtUtil jwtUtil = jwtUtil(60_000L);
+
+        MockFilterChain filterChain = filter(jwtUtil, "Bearer " + jwtUtil.generateToken(user));
+
+        assertNotNull(filterChain.getRequest());
+        assertEquals("john.doe@example.com", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    void shouldContinueUnauthenticatedWithExpiredToken() throws Exception {
+        JwtUtil jwtUtil = jwtUtil(-1_000L);
+
+        MockFilterChain filterChain = filter(jwtUtil, "Bearer " + jwtUtil.generateToken(user));
+
+        assertNotNull(filterChain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void shouldContinueUnauthenticatedWithMalformedToken() throws Exception {
+        for (String authorization : new String[]{"Bearer not-a-jwt", "Bearer "}) {
+            MockFilterChain filterChain = filter(jwtUtil(60_000L), authorization);
+
+            assertNotNull(filterChain.getRequest());
+            assertNull(SecurityContextHolder.getContext().getAuthentication());
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.iodsky.sweldox.security.jwt;
+
+import com.iodsky.sweldox.employee.Employee;
+import com.iodsky.sweldox.security.user.User;
+import com.iodsky.sweldox.security.user.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+    private JwtUtil jwtUtil;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = jwtUtil(60_000L, 2);
+        user = user("john.doe@example.com");
+    }
+
+    private User user(String email) {
+        Employee employee = new Employee();
+        employee.setId(10001L);
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        user.setEmployee(employee);
+        user.setUserRole(new UserRole("HR"));
+        return user;
+    }
+
+    private JwtUtil jwtUtil(long expirationTime, int cacheSize) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secretKey", SECRET);
+        ReflectionTestUtils.setField(util, "expirationTime", expirationTime);
+        ReflectionTestUtils.setField(util, "cacheSize", cacheSize);
+        util.init();
+        return util;
+    }
+
+    private VerifiedTokenCache cache(JwtUtil util) {
+        return (VerifiedTokenCache) ReflectionTestUtils.getField(util, "verifiedTokens");
+    }
+
+    @Nested
+    class VerifyTests {
+
+        @Test
+        void shouldReturnClaimsOfValidToken() {
+            Claims claims = jwtUtil.verify(jwtUtil.generateToken(user));
+
+            assertEquals("john.doe@example.com", claims.getSubject());
+            assertTrue(jwtUtil.isTokenValid(claims, user));
+        }
+
+        @Test
+        void shouldParseTokenOnlyOnce() {
+            String token = jwtUtil.generateToken(user);
+
+            Claims first = jwtUtil.verify(token);
+            Claims second = jwtUtil.verify(token);
+
+            assertSame(first, second);
+            assertEquals(1, cache(jwtUtil).size());
+        }
+
+        @Test
+        void shouldRejectForgedToken() {
+            String token = jwtUtil.generateToken(user);
+            String forged = token.substring(0, token.lastIndexOf('.') + 1) + "c2lnbmF0dXJl";
+
+            assertThrows(JwtException.class, () -> jwtUtil.verify(forged));
+            assertEquals(0, cache(jwtUtil).size());
+        }
+
+        @Test
+        void shouldRejectExpiredToken() {
+            JwtUtil expiring = jwtUtil(-1_000L, 2);
+            String token = expiring.generateToken(user);
+
+            assertThrows(ExpiredJwtException.class, () -> expiring.verify(token));
+        }
+
+        @Test
+        void shouldRejectTokenForAnotherUser() {
+            Claims claims = jwtUtil.verify(jwtUtil.generateToken(user));
+
+            User other = new User();
+            other.setEmail("jane.doe@example.com");
+
+            assertFalse(jwtUtil.isTokenValid(claims, other));
+        }
+    }
+
+    @Nested
+    class PrincipalTests {
+
+        @Test
+        void shouldBuildPrincipalFromIdentityClaims() {
+            User principal = jwtUtil.principal(jwtUtil.verify(jwtUtil.generateToken(user)));
+
+            assertEquals(user.getId(), principal.getId());
+            assertEquals("john.doe@example.com", principal.getUsername());
+            assertEquals(10001L, principal.getEmployee().getId());
+            assertEquals("HR", principal.getUserRole().getRole());
+            assertEquals("ROLE_HR", principal.getAuthorities().iterator().next().getAuthority());
+        }
+
+        @Test
+        void shouldReturnNullForTokenWithoutIdentityClaims() {
+            UserDetails legacy = org.springframework.security.core.userdetails.User
+                    .withUsername("john.doe@example.com").password("").roles("HR").build();
+
+            assertNull(jwtUtil.principal(jwtUtil.verify(jwtUtil.generateToken(legacy))));
+        }
+    }
+
+    @Nested
+    class CacheTests {
+
+        @Test
+        void shouldStayWithinMaximumSize() {
+            for (int i = 0; i < 5; i++) {
+                jwtUtil.verify(jwtUtil.generateToken(user("user" + i + "@example.com")));
+            }
+
+            assertTrue(cache(jwtUtil).size() <= 2);
+        }
+
+        @Test
+        void shouldDropEntryOnceTokenExpires() {
+            VerifiedTokenCache cache = new VerifiedTokenCache(10);
+            Claims claims = jwtUtil.verify(jwtUtil.generateToken(user));
+            long expiresAt = claims.getExpiration().getTime();
+
+            cache.put("key", claims, expiresAt - 1_000);
+
+            assertSame(claims, cache.get("key", expiresAt - 1));
+            assertNull(cache.get("key", expiresAt));
+            assertEquals(0, cache.size());
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.iodsky.sweldox.security.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenDenyListTest {
+
+    private final TokenDenyList tokenDenyList = new TokenDenyList();
+
+    @Test
+    void shouldDenyTokenUntilItExpires() {
+        tokenDenyList.deny("jti-1", System.currentTimeMillis() + 60_000);
+
+        assertTrue(tokenDenyList.isDenied("jti-1"));
+        assertFalse(tokenDenyList.isDenied("jti-2"));
+        assertFalse(tokenDenyList.isDenied(null));
+    }
+
+    @Test
+    void shouldNotKeepExpiredTokens() {
+        tokenDenyList.deny("expired", System.currentTimeMillis() - 1);
+
+        assertFalse(tokenDenyList.isDenied("expired"));
+        assertEquals(0, tokenDenyList.size());
+    }
+
+    @Test
+    void shouldPurgeEntriesOnceTheirTokensExpire() {
+        tokenDenyList.deny("jti-1", System.currentTimeMillis() + 20);
+        tokenDenyList.deny("jti-2", System.currentTimeMillis() + 60_000);
+
+        long deadline = System.currentTimeMillis() + 25;
+        while (System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        tokenDenyList.purge();
+
+        assertEquals(1, tokenDenyList.size());
+        assertFalse(tokenDenyList.isDenied("jti-1"));
+        assertTrue(tokenDenyList.isDenied("jti-2"));
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.iodsky.sweldox.security.user;
 
+import com.iodsky.sweldox.common.ReferenceDataCache;
 import com.iodsky.sweldox.employee.EmployeeService;
 import com.iodsky.sweldox.employee.Employee;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
@@ -26,10 +28,11 @@ import static org.mockito.Mockito.*;
 class UserServiceTest {
 
     @Mock private UserRepository userRepository;
-    @Mock private UserRoleRepository userRoleRepository;
+    @Mock private ReferenceDataCache referenceDataCache;
     @Mock private UserMapper userMapper;
     @Mock private EmployeeService employeeService;
     @Mock private PasswordEncoder passwordEncoder;
+    @Spy private UserCache userCache = new UserCache();
 
     @InjectMocks private UserService userService;
 
@@ -40,6 +43,9 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(userCache, "ttl", 60_000L);
+        ReflectionTestUtils.setField(userCache, "maximumSize", 2);
+
         employee = new Employee();
         employee.setId(1L);
 
@@ -82,6 +88,60 @@ class UserServiceTest {
             assertEquals("User missing@example.com not found", ex.getReason());
         }
 
+        @Test
+        void shouldServeRepeatedLookupsFromCache() {
+            when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+
+            UserDetails first = userService.loadUserByUsername("john.doe@example.com");
+            User second = userService.getUserByEmail("john.doe@example.com");
+
+            assertSame(first, second);
+            verify(userRepository, times(1)).findByEmail("john.doe@example.com");
+        }
+
+        @Test
+        void shouldReloadEvictedUser() {
+            when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+
+            userService.loadUserByUsername("john.doe@example.com");
+            userCache.evict("john.doe@example.com");
+            userService.loadUserByUsername("john.doe@example.com");
+
+            verify(userRepository, times(2)).findByEmail("john.doe@example.com");
+        }
+
+        @Test
+        void shouldReloadExpiredUser() {
+            ReflectionTestUtils.setField(userCache, "ttl", 0L);
+            when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+
+            userService.loadUserByUsername("john.doe@example.com");
+            userService.loadUserByUsername("john.doe@example.com");
+
+            verify(userRepository, times(2)).findByEmail("john.doe@example.com");
+        }
+
+        @Test
+        void shouldNotCacheMissingUser() {
+            when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+            assertThrows(ResponseStatusException.class, () -> userService.loadUserByUsername("missing@example.com"));
+            assertThrows(ResponseStatusException.class, () -> userService.loadUserByUsername("missing@example.com"));
+
+            verify(userRepository, times(2)).findByEmail("missing@example.com");
+        }
+
+        @Test
+        void shouldStayWithinMaximumSize() {
+            for (int i = 0; i < 5; i++) {
+                String email = "user" + i + "@example.com";
+                when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+                userService.loadUserByUsername(email);
+            }
+
+            assertTrue(userCache.size() <= 2);
+        }
+
         @Test
         void shouldHandleNullUsernameGracefully() {
             when(userRepository.findByEmail(null)).thenReturn(Optional.empty());
@@ -105,14 +165,14 @@ class UserServiceTest {
             assertEquals(1, result.getTotalElements());
             assertEquals(1, result.getContent().size());
             verify(userRepository).findAll(any(Pageable.class));
-            verifyNoInteractions(userRoleRepository);
+            verifyNoInteractions(referenceDataCache);
         }
 
         @Test
         void shouldReturnUsersByRoleWhenValidRoleExists() {
             Pageable pageable = PageRequest.of(0, 10);
             Page<User> userPage = new PageImpl<>(List.of(user), pageable, 1);
-            when(userRoleRepository.existsByRole("HR")).thenReturn(true);
+            when(referenceDataCache.findUserRole("HR")).thenReturn(Optional.of(new UserRole("HR")));
             when(userRepository.findUserByUserRole_Role(eq("HR"), any(Pageable.class))).thenReturn(userPage);
 
             Page<User> result = userService.getAllUsers(0, 10, "HR");
@@ -124,7 +184,7 @@ class UserServiceTest {
 
         @Test
         void shouldThrowBadRequestWhenInvalidRoleProvided() {
-            when(userRoleRepository.existsByRole("INVALID")).thenReturn(false);
+            when(referenceDataCache.findUserRole("INVALID")).thenReturn(Optional.empty());
 
             ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> userService.getAllUsers(0, 10, "INVALID"));
             assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
@@ -138,7 +198,7 @@ class UserServiceTest {
         void shouldCreateUserSuccessfully() {
             when(userMapper.toEntity(any(UserRequest.class))).thenReturn(user);
             when(employeeService.getEmployeeById(1L)).thenReturn(employee);
-            when(userRoleRepository.findById("HR")).thenReturn(Optional.of(role));
+            when(referenceDataCache.findUserRole("HR")).thenReturn(Optional.of(role));
             when(passwordEncoder.encode("password123")).thenReturn("encoded-pass");
             when(userRepository.save(any(User.class))).thenReturn(user);
 
@@ -164,7 +224,7 @@ class UserServiceTest {
         void shouldThrowBadRequestWhenRoleNotFound() {
             when(userMapper.toEntity(any(UserRequest.class))).thenReturn(user);
             when(employeeService.getEmployeeById(1L)).thenReturn(employee);
-            when(userRoleRepository.findById("HR")).thenReturn(Optional.empty());
+            when(referenceDataCache.findUserRole("HR")).thenReturn(Optional.empty());
 
             ResponseStatusException ex = assertThrows(ResponseStatusException.class,
                     () -> userService.createUser(userRequest));
@@ -177,7 +237,7 @@ class UserServiceTest {
         void shouldEncodePasswordBeforeSaving() {
             when(userMapper.toEntity(any(UserRequest.class))).thenReturn(user);
             when(employeeService.getEmployeeById(1L)).thenReturn(employee);
-            when(userRoleRepository.findById("HR")).thenReturn(Optional.of(role));
+            when(referenceDataCache.findUserRole("HR")).thenReturn(Optional.of(role));
             when(passwordEncoder.encode("password123")).thenReturn("ENCODED123");
             when(userRepository.save(any(User.class))).thenReturn(user);
 
@@ -191,7 +251,7 @@ class UserServiceTest {
         void shouldPropagateRepositoryErrors() {
             when(userMapper.toEntity(any(UserRequest.class))).thenReturn(user);
             when(employeeService.getEmployeeById(1L)).thenReturn(employee);
-            when(userRoleRepository.findById("HR")).thenReturn(Optional.of(role));
+            when(referenceDataCache.findUserRole("HR")).thenReturn(Optional.of(role));
             when(passwordEncoder.encode(anyString())).thenReturn("encoded");
             when(userRepository.save(any(User.class))).thenThrow(new RuntimeException("DB failure"));
 